@@ -0,0 +1,116 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.api;
+
+import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.runtime.events.LanguageEventData;
+import io.cloudslang.score.events.EventConstants;
+import io.cloudslang.score.events.ScoreEvent;
+import io.cloudslang.score.events.ScoreEventListener;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Gets the events of a single awaited execution from the {@link ExecutionEventDispatcher} and completes its
+ * {@link ExecutionResultFuture} when score finishes or fails it, or finds no worker for it. The result, the exception
+ * and the score error of the execution come in the events before, and are kept until then, so nobody waiting for
+ * the execution returns while its last events are still on their way.
+ */
+class ExecutionCompletionListener implements ScoreEventListener {
+
+    static final Set<String> COMPLETION_EVENT_TYPES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            ScoreLangConstants.EVENT_EXECUTION_FINISHED,
+            ScoreLangConstants.SLANG_EXECUTION_EXCEPTION,
+            ScoreLangConstants.EVENT_OUTPUT_END,
+            EventConstants.SCORE_FINISHED_EVENT,
+            EventConstants.SCORE_ERROR_EVENT,
+            EventConstants.SCORE_FAILURE_EVENT,
+            EventConstants.SCORE_NO_WORKER_FAILURE_EVENT)));
+
+    private static final String EXECUTION_ROOT_PATH = "0";
+
+    private final Long executionId;
+    private final ExecutionResultFuture future = new ExecutionResultFuture();
+    private Map<String, Serializable> outputs = new HashMap<>();
+    private String result;
+    private String exception;
+    private String scoreError;
+    private boolean finished;
+
+    ExecutionCompletionListener(Long executionId) {
+        this.executionId = executionId;
+    }
+
+    ExecutionResultFuture getFuture() {
+        return future;
+    }
+
+    @Override
+    public synchronized void onEvent(ScoreEvent scoreEvent) {
+        if (finished) {
+            return;
+        }
+        @SuppressWarnings("unchecked") Map<String, Serializable> data = (Map<String, Serializable>) scoreEvent.getData();
+        switch (scoreEvent.getEventType()) {
+            case ScoreLangConstants.EVENT_OUTPUT_END:
+                if (EXECUTION_ROOT_PATH.equals(data.get(LanguageEventData.PATH)) &&
+                        data.get(LanguageEventData.OUTPUTS) != null) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Serializable> rootOutputs = (Map<String, Serializable>) data.get(LanguageEventData.OUTPUTS);
+                    outputs = rootOutputs;
+                }
+                break;
+            case ScoreLangConstants.EVENT_EXECUTION_FINISHED:
+                // the output end events are not fired below the full event verbosity
+                if (data.get(LanguageEventData.OUTPUTS) != null) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Serializable> finishOutputs = (Map<String, Serializable>) data.get(LanguageEventData.OUTPUTS);
+                    outputs = finishOutputs;
+                }
+                result = (String) data.get(LanguageEventData.RESULT);
+                break;
+            case ScoreLangConstants.SLANG_EXECUTION_EXCEPTION:
+                if (exception == null) {
+                    exception = String.valueOf(data.get(LanguageEventData.EXCEPTION));
+                }
+                break;
+            case EventConstants.SCORE_ERROR_EVENT:
+                // score fires the failure event after it
+                if (scoreError == null) {
+                    scoreError = getScoreErrorMessage(data);
+                }
+                break;
+            case EventConstants.SCORE_FAILURE_EVENT:
+            case EventConstants.SCORE_NO_WORKER_FAILURE_EVENT:
+                // the exception of the step is more telling than the error score reports for it
+                finish(null, exception != null ? exception : scoreError != null ? scoreError :
+                        getScoreErrorMessage(data));
+                break;
+            case EventConstants.SCORE_FINISHED_EVENT:
+                finish(exception == null ? result : null, exception);
+                break;
+        }
+    }
+
+    private String getScoreErrorMessage(Map<String, Serializable> data) {
+        return data.get(EventConstants.SCORE_ERROR_LOG_MSG) + " , " + data.get(EventConstants.SCORE_ERROR_MSG);
+    }
+
+    private void finish(String result, String errorMessage) {
+        finished = true;
+        future.complete(new ExecutionResult(executionId, result, outputs, errorMessage));
+    }
+
+}
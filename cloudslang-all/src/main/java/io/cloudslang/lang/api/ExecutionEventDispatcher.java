@@ -0,0 +1,259 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.api;
+
+import io.cloudslang.lang.runtime.env.ExecutionPath;
+import io.cloudslang.lang.runtime.events.LanguageEventData;
+import io.cloudslang.score.events.EventConstants;
+import io.cloudslang.score.events.ScoreEvent;
+import io.cloudslang.score.events.ScoreEventListener;
+import org.apache.log4j.Logger;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A single event bus listener that hands every event only to the subscriptions of its execution, looked up by
+ * execution id, event type and execution path, instead of every listener getting every event and filtering it.
+ * The subscriptions of an execution are removed when score finishes or fails it, or finds no worker for it.
+ */
+class ExecutionEventDispatcher implements ScoreEventListener {
+
+    static final Set<String> EXECUTION_END_EVENT_TYPES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            EventConstants.SCORE_FINISHED_EVENT,
+            EventConstants.SCORE_FAILURE_EVENT,
+            EventConstants.SCORE_NO_WORKER_FAILURE_EVENT)));
+
+    private static final Logger logger = Logger.getLogger(ExecutionEventDispatcher.class);
+
+    private final ConcurrentMap<Long, ExecutionSubscriptions> executions = new ConcurrentHashMap<>();
+
+    // the execution is registered under the write lock right after it is triggered, and events wait for it on the
+    // read lock, so the first events of an execution can not get ahead of its subscriptions
+    private final ReadWriteLock registrationLock = new ReentrantReadWriteLock();
+
+    /**
+     * @param trigger triggers the execution and returns its id
+     * @param subscriptions the subscriptions on the events of the execution
+     * @return the result of the execution, completed after the subscriptions got the finishing event
+     */
+    ExecutionResultFuture trigger(Callable<Long> trigger, List<ExecutionEventSubscription> subscriptions) {
+        ExecutionCompletionListener completionListener;
+        registrationLock.writeLock().lock();
+        try {
+            Long executionId = trigger.call();
+            ExecutionSubscriptions executionSubscriptions = getExecutionSubscriptions(executionId);
+            for (ExecutionEventSubscription subscription : subscriptions) {
+                executionSubscriptions.add(subscription);
+            }
+            completionListener = new ExecutionCompletionListener(executionId);
+            executionSubscriptions.completionListener = completionListener;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        } finally {
+            registrationLock.writeLock().unlock();
+        }
+        return completionListener.getFuture();
+    }
+
+    /**
+     * Events the execution fired before the subscription are not passed to it
+     */
+    void subscribe(Long executionId, ExecutionEventSubscription subscription) {
+        getExecutionSubscriptions(executionId).add(subscription);
+    }
+
+    void unsubscribe(Long executionId, ScoreEventListener eventListener) {
+        ExecutionSubscriptions executionSubscriptions = executions.get(executionId);
+        if (executionSubscriptions != null) {
+            executionSubscriptions.remove(eventListener);
+        }
+    }
+
+    @Override
+    public void onEvent(ScoreEvent scoreEvent) throws InterruptedException {
+        @SuppressWarnings("unchecked") Map<String, Serializable> data = (Map<String, Serializable>) scoreEvent.getData();
+        Long executionId = getExecutionId(data);
+        if (executionId == null) {
+            return;
+        }
+        ExecutionSubscriptions executionSubscriptions;
+        registrationLock.readLock().lock();
+        try {
+            executionSubscriptions = executions.get(executionId);
+        } finally {
+            registrationLock.readLock().unlock();
+        }
+        if (executionSubscriptions == null) {
+            return;
+        }
+        executionSubscriptions.dispatch(scoreEvent, data);
+        if (EXECUTION_END_EVENT_TYPES.contains(scoreEvent.getEventType())) {
+            executions.remove(executionId, executionSubscriptions);
+        }
+    }
+
+    int getSubscribedExecutionsCount() {
+        return executions.size();
+    }
+
+    static Long getExecutionId(Map<String, Serializable> data) {
+        if (data == null) {
+            return null;
+        }
+        Serializable executionId = data.get(LanguageEventData.EXECUTION_ID);
+        if (executionId == null) {
+            executionId = data.get(EventConstants.EXECUTION_ID_CONTEXT);
+        }
+        return executionId instanceof Long ? (Long) executionId : null;
+    }
+
+    private ExecutionSubscriptions getExecutionSubscriptions(Long executionId) {
+        ExecutionSubscriptions executionSubscriptions = executions.get(executionId);
+        if (executionSubscriptions == null) {
+            ExecutionSubscriptions newSubscriptions = new ExecutionSubscriptions();
+            executionSubscriptions = executions.putIfAbsent(executionId, newSubscriptions);
+            if (executionSubscriptions == null) {
+                executionSubscriptions = newSubscriptions;
+            }
+        }
+        return executionSubscriptions;
+    }
+
+    private static class ExecutionSubscriptions {
+
+        private final ConcurrentMap<String, EventTypeSubscriptions> byEventType = new ConcurrentHashMap<>();
+
+        // called last, so the subscriptions are done with the finishing event before anyone waiting for it returns
+        private volatile ExecutionCompletionListener completionListener;
+
+        private void add(ExecutionEventSubscription subscription) {
+            for (String eventType : subscription.getEventTypes()) {
+                EventTypeSubscriptions eventTypeSubscriptions = byEventType.get(eventType);
+                if (eventTypeSubscriptions == null) {
+                    EventTypeSubscriptions newSubscriptions = new EventTypeSubscriptions();
+                    eventTypeSubscriptions = byEventType.putIfAbsent(eventType, newSubscriptions);
+                    if (eventTypeSubscriptions == null) {
+                        eventTypeSubscriptions = newSubscriptions;
+                    }
+                }
+                eventTypeSubscriptions.add(subscription);
+            }
+        }
+
+        private void remove(ScoreEventListener eventListener) {
+            for (EventTypeSubscriptions eventTypeSubscriptions : byEventType.values()) {
+                eventTypeSubscriptions.remove(eventListener);
+            }
+        }
+
+        private void dispatch(ScoreEvent scoreEvent, Map<String, Serializable> data) throws InterruptedException {
+            EventTypeSubscriptions eventTypeSubscriptions = byEventType.get(scoreEvent.getEventType());
+            if (eventTypeSubscriptions != null) {
+                Serializable path = data.get(LanguageEventData.PATH);
+                eventTypeSubscriptions.dispatch(scoreEvent, path instanceof String ? (String) path : null);
+            }
+            ExecutionCompletionListener listener = completionListener;
+            if (listener != null) {
+                listener.onEvent(scoreEvent);
+            }
+        }
+    }
+
+    private static class EventTypeSubscriptions {
+
+        private final List<ExecutionEventSubscription> allPaths = new CopyOnWriteArrayList<>();
+        private final ConcurrentMap<String, List<ExecutionEventSubscription>> byPathPrefix = new ConcurrentHashMap<>();
+
+        private void add(ExecutionEventSubscription subscription) {
+            if (subscription.getPathPrefixes().isEmpty()) {
+                allPaths.add(subscription);
+                return;
+            }
+            for (String pathPrefix : subscription.getPathPrefixes()) {
+                List<ExecutionEventSubscription> subscriptions = byPathPrefix.get(pathPrefix);
+                if (subscriptions == null) {
+                    List<ExecutionEventSubscription> newSubscriptions = new CopyOnWriteArrayList<>();
+                    subscriptions = byPathPrefix.putIfAbsent(pathPrefix, newSubscriptions);
+                    if (subscriptions == null) {
+                        subscriptions = newSubscriptions;
+                    }
+                }
+                subscriptions.add(subscription);
+            }
+        }
+
+        private void remove(ScoreEventListener eventListener) {
+            remove(allPaths, eventListener);
+            for (List<ExecutionEventSubscription> subscriptions : byPathPrefix.values()) {
+                remove(subscriptions, eventListener);
+            }
+        }
+
+        private static void remove(List<ExecutionEventSubscription> subscriptions, ScoreEventListener eventListener) {
+            for (ExecutionEventSubscription subscription : subscriptions) {
+                if (subscription.getEventListener() == eventListener) {
+                    subscriptions.remove(subscription);
+                }
+            }
+        }
+
+        private void dispatch(ScoreEvent scoreEvent, String path) throws InterruptedException {
+            dispatch(scoreEvent, allPaths);
+            if (byPathPrefix.isEmpty()) {
+                return;
+            }
+            if (path == null) {
+                // a subscription on several paths is in several lists, but gets the event once
+                Set<ExecutionEventSubscription> subscriptions = new LinkedHashSet<>();
+                for (List<ExecutionEventSubscription> pathSubscriptions : byPathPrefix.values()) {
+                    subscriptions.addAll(pathSubscriptions);
+                }
+                dispatch(scoreEvent, subscriptions);
+                return;
+            }
+            // look up the path and each of its parents, e.g. "0", "0.1" and "0.1.2" for "0.1.2"
+            int separatorIndex = -1;
+            do {
+                separatorIndex = path.indexOf(ExecutionPath.PATH_SEPARATOR, separatorIndex + 1);
+                String pathPrefix = separatorIndex < 0 ? path : path.substring(0, separatorIndex);
+                List<ExecutionEventSubscription> subscriptions = byPathPrefix.get(pathPrefix);
+                if (subscriptions != null) {
+                    dispatch(scoreEvent, subscriptions);
+                }
+            } while (separatorIndex >= 0);
+        }
+
+        private static void dispatch(ScoreEvent scoreEvent, Collection<ExecutionEventSubscription> subscriptions) throws InterruptedException {
+            for (ExecutionEventSubscription subscription : subscriptions) {
+                try {
+                    subscription.getEventListener().onEvent(scoreEvent);
+                } catch (RuntimeException e) {
+                    logger.error("Event listener failed on event: " + scoreEvent.getEventType(), e);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.api;
+
+import io.cloudslang.lang.runtime.env.ExecutionPath;
+import io.cloudslang.score.events.ScoreEventListener;
+import org.apache.commons.lang.Validate;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A subscription of a listener on the events of a single execution, of the given types only, and optionally
+ * of the steps under the given execution paths only (e.g. "0.1" matches "0.1" and "0.1.3" but not "0.10").
+ * Events without an execution path, such as the score events, are not filtered by path.
+ */
+public class ExecutionEventSubscription {
+
+    private final ScoreEventListener eventListener;
+    private final Set<String> eventTypes;
+    private final Set<String> pathPrefixes;
+
+    public ExecutionEventSubscription(ScoreEventListener eventListener, Set<String> eventTypes) {
+        this(eventListener, eventTypes, Collections.<String>emptySet());
+    }
+
+    public ExecutionEventSubscription(ScoreEventListener eventListener, Set<String> eventTypes, Set<String> pathPrefixes) {
+        Validate.notNull(eventListener, "Event listener can not be null");
+        Validate.notEmpty(eventTypes, "Event types can not be empty");
+        this.eventListener = eventListener;
+        this.eventTypes = Collections.unmodifiableSet(new HashSet<>(eventTypes));
+        this.pathPrefixes = pathPrefixes == null ?
+                Collections.<String>emptySet() : Collections.unmodifiableSet(removeNestedPaths(pathPrefixes));
+    }
+
+    public ScoreEventListener getEventListener() {
+        return eventListener;
+    }
+
+    public Set<String> getEventTypes() {
+        return eventTypes;
+    }
+
+    /**
+     * @return the execution paths to get the events under, empty for all of the paths
+     */
+    public Set<String> getPathPrefixes() {
+        return pathPrefixes;
+    }
+
+    // an event under both "0.1" and "0.1.2" must reach the listener once, so only the outermost path is kept
+    private static Set<String> removeNestedPaths(Set<String> pathPrefixes) {
+        Set<String> outermostPaths = new HashSet<>();
+        for (String path : pathPrefixes) {
+            Validate.notEmpty(path, "Path prefix can not be empty");
+            boolean nested = false;
+            for (String otherPath : pathPrefixes) {
+                if (path.startsWith(otherPath + ExecutionPath.PATH_SEPARATOR)) {
+                    nested = true;
+                    break;
+                }
+            }
+            if (!nested) {
+                outermostPaths.add(path);
+            }
+        }
+        return outermostPaths;
+    }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.api;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The outcome of a finished execution of a flow or operation
+ */
+public class ExecutionResult {
+
+    private final Long executionId;
+    private final String result;
+    private final Map<String, Serializable> outputs;
+    private final String errorMessage;
+
+    public ExecutionResult(Long executionId, String result, Map<String, Serializable> outputs, String errorMessage) {
+        this.executionId = executionId;
+        this.result = result;
+        this.outputs = outputs == null ?
+                Collections.<String, Serializable>emptyMap() : Collections.unmodifiableMap(new HashMap<>(outputs));
+        this.errorMessage = errorMessage;
+    }
+
+    public Long getExecutionId() {
+        return executionId;
+    }
+
+    /**
+     * @return the result of the flow or operation, null if it did not finish normally
+     */
+    public String getResult() {
+        return result;
+    }
+
+    /**
+     * @return the outputs of the flow or operation
+     */
+    public Map<String, Serializable> getOutputs() {
+        return outputs;
+    }
+
+    /**
+     * @return the error the execution failed with, null if it did not fail
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public boolean isFailed() {
+        return errorMessage != null;
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutionResult{executionId=" + executionId + ", result=" + result + ", errorMessage=" + errorMessage + "}";
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.api;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The result of an execution, completed by the {@link ExecutionCompletionListener} when the execution finishes.
+ * An execution can not be cancelled through it.
+ */
+class ExecutionResultFuture implements Future<ExecutionResult> {
+
+    private final CountDownLatch completion = new CountDownLatch(1);
+    private volatile ExecutionResult executionResult;
+
+    void complete(ExecutionResult executionResult) {
+        this.executionResult = executionResult;
+        completion.countDown();
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        return false;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return false;
+    }
+
+    @Override
+    public boolean isDone() {
+        return completion.getCount() == 0;
+    }
+
+    @Override
+    public ExecutionResult get() throws InterruptedException, ExecutionException {
+        completion.await();
+        return executionResult;
+    }
+
+    @Override
+    public ExecutionResult get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        if (!completion.await(timeout, unit)) {
+            throw new TimeoutException("Execution did not finish within " + timeout + " " + unit);
+        }
+        return executionResult;
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.api;
+
+import io.cloudslang.lang.entities.EventPayloadMode;
+import io.cloudslang.lang.entities.EventVerbosity;
+import org.apache.commons.lang.Validate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The options of a single run, on top of its inputs and system properties. The defaults are those of a run without
+ * options: all of the events, carrying the whole flow context, and no subscriptions on the events of the run.
+ */
+public class RunOptions {
+
+    public static final RunOptions DEFAULT = new RunOptionsBuilder().build();
+
+    private final EventVerbosity eventVerbosity;
+    private final EventPayloadMode eventPayloadMode;
+    private final List<ExecutionEventSubscription> subscriptions;
+
+    private RunOptions(RunOptionsBuilder builder) {
+        this.eventVerbosity = builder.eventVerbosity;
+        this.eventPayloadMode = builder.eventPayloadMode;
+        this.subscriptions = Collections.unmodifiableList(new ArrayList<>(builder.subscriptions));
+    }
+
+    /**
+     * @return which of the CloudSlang events the run fires, the end of the execution is fired whatever the verbosity
+     */
+    public EventVerbosity getEventVerbosity() {
+        return eventVerbosity;
+    }
+
+    /**
+     * @return whether the events of the run carry the whole flow context or only its changes
+     */
+    public EventPayloadMode getEventPayloadMode() {
+        return eventPayloadMode;
+    }
+
+    /**
+     * @return the subscriptions on the events of the run only, in place before its first event and removed when
+     * it finishes
+     */
+    public List<ExecutionEventSubscription> getSubscriptions() {
+        return subscriptions;
+    }
+
+    public static class RunOptionsBuilder {
+
+        private EventVerbosity eventVerbosity = EventVerbosity.FULL;
+        private EventPayloadMode eventPayloadMode = EventPayloadMode.FULL;
+        private List<ExecutionEventSubscription> subscriptions = new ArrayList<>();
+
+        public RunOptionsBuilder withEventVerbosity(EventVerbosity eventVerbosity) {
+            Validate.notNull(eventVerbosity, "Event verbosity can not be null");
+            this.eventVerbosity = eventVerbosity;
+            return this;
+        }
+
+        public RunOptionsBuilder withEventPayloadMode(EventPayloadMode eventPayloadMode) {
+            Validate.notNull(eventPayloadMode, "Event payload mode can not be null");
+            this.eventPayloadMode = eventPayloadMode;
+            return this;
+        }
+
+        public RunOptionsBuilder withSubscriptions(List<ExecutionEventSubscription> subscriptions) {
+            Validate.notNull(subscriptions, "Subscriptions can not be null");
+            this.subscriptions = new ArrayList<>(subscriptions);
+            return this;
+        }
+
+        public RunOptionsBuilder withSubscription(ExecutionEventSubscription subscription) {
+            Validate.notNull(subscription, "Subscription can not be null");
+            this.subscriptions.add(subscription);
+            return this;
+        }
+
+        public RunOptions build() {
+            return new RunOptions(this);
+        }
+    }
+
+}
@@ -17,6 +17,7 @@ import io.cloudslang.score.events.ScoreEventListener;
 import java.io.Serializable;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Future;
 
 /**
  * API for using CloudSlang
@@ -51,6 +52,48 @@ public interface Slang {
 	 */
 	Long run(CompilationArtifact compilationArtifact, Map<String, ? extends Serializable> runInputs, Set<SystemProperty> systemProperties);
 
+	/**
+	 * Run a flow or operation written in CloudSlang already compiled to a compilationArtifact
+	 * @param compilationArtifact the compiled artifact of the flow or operation
+	 * @param runInputs the inputs for the flow or operation run
+	 * @param systemProperties the system properties for the flow or operation run
+	 * @param runOptions the event verbosity, event payload mode and event subscriptions of the run
+	 * @return the execution ID in score
+	 */
+	Long run(CompilationArtifact compilationArtifact, Map<String, ? extends Serializable> runInputs, Set<SystemProperty> systemProperties,
+			 RunOptions runOptions);
+
+	/**
+	 * Run a flow or operation written in CloudSlang already compiled to a compilationArtifact and wait for it to finish
+	 * @param compilationArtifact the compiled artifact of the flow or operation
+	 * @param runInputs the inputs for the flow or operation run
+	 * @param systemProperties the system properties for the flow or operation run
+	 * @return the result of the execution
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	ExecutionResult runAndWait(CompilationArtifact compilationArtifact, Map<String, ? extends Serializable> runInputs, Set<SystemProperty> systemProperties) throws InterruptedException;
+
+	/**
+	 * Run a flow or operation written in CloudSlang already compiled to a compilationArtifact
+	 * @param compilationArtifact the compiled artifact of the flow or operation
+	 * @param runInputs the inputs for the flow or operation run
+	 * @param systemProperties the system properties for the flow or operation run
+	 * @return the result of the execution, completed when it finishes or fails
+	 */
+	Future<ExecutionResult> runAsync(CompilationArtifact compilationArtifact, Map<String, ? extends Serializable> runInputs, Set<SystemProperty> systemProperties);
+
+	/**
+	 * Run a flow or operation written in CloudSlang already compiled to a compilationArtifact
+	 * @param compilationArtifact the compiled artifact of the flow or operation
+	 * @param runInputs the inputs for the flow or operation run
+	 * @param systemProperties the system properties for the flow or operation run
+	 * @param runOptions the event verbosity, event payload mode and event subscriptions of the run, the subscriptions
+	 *                   are called before the result is completed
+	 * @return the result of the execution, completed when it finishes or fails
+	 */
+	Future<ExecutionResult> runAsync(CompilationArtifact compilationArtifact, Map<String, ? extends Serializable> runInputs, Set<SystemProperty> systemProperties,
+									 RunOptions runOptions);
+
 	/**
 	 * Compile and run a flow or operation written in CloudSlang
 	 * @param source the CloudSlang source containing the flow or operation
@@ -74,6 +117,21 @@ public interface Slang {
      */
     void unSubscribeOnEvents(ScoreEventListener eventListener);
 
+    /**
+     * Subscribe to the events of a single running execution, removed when the execution finishes.
+     * Events the execution fired before are not passed to the listener.
+     * @param executionId the execution ID in score
+     * @param subscription the listener, event types and execution paths to subscribe to
+     */
+    void subscribeOnExecutionEvents(Long executionId, ExecutionEventSubscription subscription);
+
+    /**
+     * Unsubscribe from the events of a single execution
+     * @param executionId the execution ID in score
+     * @param eventListener listener for the events
+     */
+    void unSubscribeOnExecutionEvents(Long executionId, ScoreEventListener eventListener);
+
     /**
      * Subscribe to all of the events of score and CloudSlang
      * @param eventListener listener for the events
@@ -82,4 +140,21 @@ public interface Slang {
 
     Set<SystemProperty> loadSystemProperties(SlangSource source);
 
+    /**
+     * Register system properties shared by many runs, once per process.
+     * The runs given the returned properties share them, and carry their snapshot id instead of a copy of them once a
+     * {@link io.cloudslang.lang.runtime.env.SystemPropertySnapshotResolver} is set.
+     * Registering the same properties again returns the same snapshot.
+     * @param systemProperties the system properties to share
+     * @return the registered snapshot of the system properties, to run flows and operations with
+     */
+    Set<SystemProperty> registerSystemProperties(Set<SystemProperty> systemProperties);
+
+    /**
+     * Unregister system properties registered by {@link #registerSystemProperties}, once no run is given them anymore.
+     * The runs still using them read them from the resolver, if set, or from their own copies.
+     * @param systemProperties the registered snapshot of the system properties
+     */
+    void unregisterSystemProperties(Set<SystemProperty> systemProperties);
+
 }
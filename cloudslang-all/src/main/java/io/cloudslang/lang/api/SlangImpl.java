@@ -8,6 +8,7 @@
  */
 package io.cloudslang.lang.api;
 
+import io.cloudslang.lang.api.events.AsyncEventDispatcher;
 import io.cloudslang.lang.compiler.MetadataExtractor;
 import io.cloudslang.lang.compiler.SlangCompiler;
 import io.cloudslang.lang.compiler.SlangSource;
@@ -18,6 +19,9 @@ import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.runtime.env.RunEnvironment;
+import io.cloudslang.lang.runtime.env.SystemPropertyIndex;
+import io.cloudslang.lang.runtime.env.SystemPropertySnapshots;
+import io.cloudslang.lang.runtime.events.LanguageEventSubscriptions;
 import io.cloudslang.score.api.Score;
 import io.cloudslang.score.api.TriggeringProperties;
 import io.cloudslang.score.events.EventBus;
@@ -28,10 +32,15 @@ import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import static ch.lambdaj.Lambda.filter;
 import static org.hamcrest.Matchers.notNullValue;
@@ -53,6 +62,11 @@ public class SlangImpl implements Slang {
     private Score score;
     @Autowired
     private EventBus eventBus;
+    @Autowired(required = false)
+    private AsyncEventDispatcher asyncEventDispatcher;
+
+    private ExecutionEventDispatcher eventDispatcher;
+    private Set<String> eventDispatcherEventTypes;
 
     @Override
     public CompilationArtifact compile(SlangSource source, Set<SlangSource> dependencies) {
@@ -81,24 +95,53 @@ public class SlangImpl implements Slang {
 
 	@Override
 	public Long run(CompilationArtifact compilationArtifact, Map<String, ? extends Serializable> runInputs, Set<SystemProperty> systemProperties) {
+		return run(compilationArtifact, runInputs, systemProperties, RunOptions.DEFAULT);
+	}
+
+	@Override
+	public Long run(final CompilationArtifact compilationArtifact, final Map<String, ? extends Serializable> runInputs,
+					final Set<SystemProperty> systemProperties, final RunOptions runOptions) {
 		Validate.notNull(compilationArtifact, "Compilation artifact can not be null");
-		if(runInputs == null) {
-			runInputs = new HashMap<>();
+		Validate.notNull(runOptions, "Run options can not be null");
+		if (runOptions.getSubscriptions().isEmpty()) {
+			return trigger(compilationArtifact, runInputs, systemProperties, runOptions);
 		}
+		final Long[] executionId = new Long[1];
+		getEventDispatcher(runOptions.getSubscriptions()).trigger(new Callable<Long>() {
+			@Override
+			public Long call() {
+				executionId[0] = trigger(compilationArtifact, runInputs, systemProperties, runOptions);
+				return executionId[0];
+			}
+		}, runOptions.getSubscriptions());
+		return executionId[0];
+	}
 
-		Map<String, Serializable> executionContext = new HashMap<>();
-		RunEnvironment runEnv = new RunEnvironment(systemProperties);
-		executionContext.put(ScoreLangConstants.RUN_ENV, runEnv);
+	@Override
+	public ExecutionResult runAndWait(CompilationArtifact compilationArtifact, Map<String, ? extends Serializable> runInputs, Set<SystemProperty> systemProperties) throws InterruptedException {
+		try {
+			return runAsync(compilationArtifact, runInputs, systemProperties).get();
+		} catch (ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		}
+	}
 
-        Map<String, Value> clonedRunInputs = new HashMap<>(runInputs.size());
-        for (Map.Entry<String, ? extends Serializable> entry : runInputs.entrySet()) {
-            clonedRunInputs.put(entry.getKey(), ValueFactory.create(entry.getValue(), false));
-        }
+	@Override
+	public Future<ExecutionResult> runAsync(CompilationArtifact compilationArtifact, Map<String, ? extends Serializable> runInputs, Set<SystemProperty> systemProperties) {
+		return runAsync(compilationArtifact, runInputs, systemProperties, RunOptions.DEFAULT);
+	}
 
-		executionContext.put(ScoreLangConstants.USER_INPUTS_KEY, (Serializable) clonedRunInputs);
-		TriggeringProperties triggeringProperties = TriggeringProperties.create(compilationArtifact.getExecutionPlan()).setDependencies(compilationArtifact.getDependencies())
-			.setContext(executionContext);
-		return score.trigger(triggeringProperties);
+	@Override
+	public Future<ExecutionResult> runAsync(final CompilationArtifact compilationArtifact, final Map<String, ? extends Serializable> runInputs,
+											final Set<SystemProperty> systemProperties, final RunOptions runOptions) {
+		Validate.notNull(compilationArtifact, "Compilation artifact can not be null");
+		Validate.notNull(runOptions, "Run options can not be null");
+		return getEventDispatcher(runOptions.getSubscriptions()).trigger(new Callable<Long>() {
+			@Override
+			public Long call() {
+				return trigger(compilationArtifact, runInputs, systemProperties, runOptions);
+			}
+		}, runOptions.getSubscriptions());
 	}
 
 	@Override
@@ -113,12 +156,38 @@ public class SlangImpl implements Slang {
 
     @Override
     public void subscribeOnEvents(ScoreEventListener eventListener, Set<String> eventTypes) {
-        eventBus.subscribe(eventListener, eventTypes);
+        if (asyncEventDispatcher == null) {
+            eventBus.subscribe(eventListener, eventTypes);
+        } else {
+            asyncEventDispatcher.subscribe(eventListener, eventTypes);
+            subscribeAsyncEventDispatcher();
+        }
+        LanguageEventSubscriptions.subscribe(eventListener, eventTypes);
     }
 
     @Override
     public void unSubscribeOnEvents(ScoreEventListener eventListener) {
-        eventBus.unsubscribe(eventListener);
+        if (asyncEventDispatcher == null) {
+            eventBus.unsubscribe(eventListener);
+        } else {
+            asyncEventDispatcher.unsubscribe(eventListener);
+            subscribeAsyncEventDispatcher();
+        }
+        LanguageEventSubscriptions.unsubscribe(eventListener);
+    }
+
+    @Override
+    public void subscribeOnExecutionEvents(Long executionId, ExecutionEventSubscription subscription) {
+        Validate.notNull(executionId, "Execution id can not be null");
+        Validate.notNull(subscription, "Subscription can not be null");
+        getEventDispatcher(Collections.singletonList(subscription)).subscribe(executionId, subscription);
+    }
+
+    @Override
+    public synchronized void unSubscribeOnExecutionEvents(Long executionId, ScoreEventListener eventListener) {
+        if (eventDispatcher != null) {
+            eventDispatcher.unsubscribe(executionId, eventListener);
+        }
     }
 
     @Override
@@ -132,6 +201,79 @@ public class SlangImpl implements Slang {
         return compiler.loadSystemProperties(source);
     }
 
+    @Override
+    public Set<SystemProperty> registerSystemProperties(Set<SystemProperty> systemProperties) {
+        Validate.notNull(systemProperties, "System properties can not be null");
+        return SystemPropertySnapshots.register(systemProperties);
+    }
+
+    @Override
+    public void unregisterSystemProperties(Set<SystemProperty> systemProperties) {
+        Validate.notNull(systemProperties, "System properties can not be null");
+        Validate.isTrue(systemProperties instanceof SystemPropertyIndex &&
+                ((SystemPropertyIndex) systemProperties).getSnapshotId() != null,
+                "System properties are not registered");
+        SystemPropertySnapshots.unregister(((SystemPropertyIndex) systemProperties).getSnapshotId());
+    }
+
+	private Long trigger(CompilationArtifact compilationArtifact, Map<String, ? extends Serializable> runInputs,
+						 Set<SystemProperty> systemProperties, RunOptions runOptions) {
+		if(runInputs == null) {
+			runInputs = new HashMap<>();
+		}
+
+		Map<String, Serializable> executionContext = new HashMap<>();
+		RunEnvironment runEnv = new RunEnvironment(systemProperties);
+		runEnv.setEventVerbosity(runOptions.getEventVerbosity());
+		runEnv.setEventPayloadMode(runOptions.getEventPayloadMode());
+		executionContext.put(ScoreLangConstants.RUN_ENV, runEnv);
+
+        Map<String, Value> clonedRunInputs = new HashMap<>(runInputs.size());
+        for (Map.Entry<String, ? extends Serializable> entry : runInputs.entrySet()) {
+            clonedRunInputs.put(entry.getKey(), ValueFactory.create(entry.getValue(), false));
+        }
+
+		executionContext.put(ScoreLangConstants.USER_INPUTS_KEY, (Serializable) clonedRunInputs);
+		TriggeringProperties triggeringProperties = TriggeringProperties.create(compilationArtifact.getExecutionPlan()).setDependencies(compilationArtifact.getDependencies())
+			.setContext(executionContext);
+		return score.trigger(triggeringProperties);
+	}
+
+    /**
+     * The event dispatcher is subscribed on the first awaited run or execution subscription, as subscribing loads
+     * the score engine, and again whenever a subscription asks for event types it does not get yet
+     */
+    private synchronized ExecutionEventDispatcher getEventDispatcher(List<ExecutionEventSubscription> subscriptions) {
+        boolean subscribe = false;
+        if (eventDispatcher == null) {
+            eventDispatcher = new ExecutionEventDispatcher();
+            eventDispatcherEventTypes = new HashSet<>(ExecutionCompletionListener.COMPLETION_EVENT_TYPES);
+            eventDispatcherEventTypes.addAll(ExecutionEventDispatcher.EXECUTION_END_EVENT_TYPES);
+            subscribe = true;
+        }
+        for (ExecutionEventSubscription subscription : subscriptions) {
+            subscribe |= eventDispatcherEventTypes.addAll(subscription.getEventTypes());
+        }
+        if (subscribe) {
+            // the execution subscriptions are called on the executing thread, as the awaited results depend on them
+            eventBus.subscribe(eventDispatcher, new HashSet<>(eventDispatcherEventTypes));
+            LanguageEventSubscriptions.subscribe(eventDispatcher, eventDispatcherEventTypes);
+        }
+        return eventDispatcher;
+    }
+
+    /**
+     * The async event dispatcher is subscribed to the event types of all of its listeners
+     */
+    private synchronized void subscribeAsyncEventDispatcher() {
+        Set<String> eventTypes = asyncEventDispatcher.getEventTypes();
+        if (eventTypes.isEmpty()) {
+            eventBus.unsubscribe(asyncEventDispatcher);
+        } else {
+            eventBus.subscribe(asyncEventDispatcher, eventTypes);
+        }
+    }
+
     private Set<String> getAllEventTypes() {
         Set<String> eventTypes = new HashSet<>();
         eventTypes.add(EventConstants.SCORE_FINISHED_EVENT);
@@ -0,0 +1,122 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.api.configuration;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.log4j.Logger;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Loads the runtime, the score engine and the worker in their own application context the first time one of their
+ * beans is needed. Booting them (embedded database, schema migration, worker threads) takes most of the startup time
+ * of the CLI, and commands that only compile or inspect content never need them.
+ */
+public class ScoreEngineLoader implements DisposableBean {
+
+    private static final Logger logger = Logger.getLogger(ScoreEngineLoader.class);
+
+    // only score-api is a compile dependency, the worker comes with score-all at runtime
+    private static final String WORKER_MANAGER_CLASS = "io.cloudslang.worker.management.services.WorkerManager";
+    private static final long WORKER_STARTUP_TIMEOUT = 60000;
+    private static final long WORKER_STARTUP_POLLING_INTERVAL = 50;
+
+    private final String[] configLocations;
+    private final List<Runnable> loadListeners = new CopyOnWriteArrayList<>();
+
+    private volatile ConfigurableApplicationContext engineContext;
+
+    public ScoreEngineLoader(String... configLocations) {
+        Validate.notEmpty(configLocations, "Score engine config locations can not be empty");
+        this.configLocations = configLocations;
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return getEngineContext().getBean(type);
+    }
+
+    public boolean isLoaded() {
+        return engineContext != null;
+    }
+
+    /**
+     * @param loadListener called once the engine is loaded, right away if it already is
+     */
+    public synchronized void addLoadListener(Runnable loadListener) {
+        Validate.notNull(loadListener, "Load listener can not be null");
+        if (isLoaded()) {
+            loadListener.run();
+        } else {
+            loadListeners.add(loadListener);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (engineContext != null) {
+            engineContext.close();
+        }
+    }
+
+    private ConfigurableApplicationContext getEngineContext() {
+        ConfigurableApplicationContext context = engineContext;
+        if (context == null) {
+            synchronized (this) {
+                context = engineContext;
+                if (context == null) {
+                    long start = System.currentTimeMillis();
+                    context = new ClassPathXmlApplicationContext(configLocations);
+                    waitForWorkers(context);
+                    engineContext = context;
+                    logger.info("Score engine loaded in " + (System.currentTimeMillis() - start) + " ms");
+                    for (Runnable loadListener : loadListeners) {
+                        loadListener.run();
+                    }
+                    loadListeners.clear();
+                }
+            }
+        }
+        return context;
+    }
+
+    /**
+     * The worker recovers after the context is refreshed, and an execution triggered before it is up would be lost
+     */
+    private void waitForWorkers(ConfigurableApplicationContext context) {
+        ClassLoader classLoader = context.getClassLoader();
+        if (!ClassUtils.isPresent(WORKER_MANAGER_CLASS, classLoader)) {
+            return;
+        }
+        Class<?> workerManagerClass = ClassUtils.resolveClassName(WORKER_MANAGER_CLASS, classLoader);
+        long deadline = System.currentTimeMillis() + WORKER_STARTUP_TIMEOUT;
+        for (Object workerManager : context.getBeansOfType(workerManagerClass).values()) {
+            BeanWrapperImpl worker = new BeanWrapperImpl(workerManager);
+            while (!Boolean.TRUE.equals(worker.getPropertyValue("up"))) {
+                if (System.currentTimeMillis() > deadline) {
+                    context.close();
+                    throw new RuntimeException("Score worker did not start within " + WORKER_STARTUP_TIMEOUT + " ms");
+                }
+                try {
+                    Thread.sleep(WORKER_STARTUP_POLLING_INTERVAL);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    context.close();
+                    throw new RuntimeException("Interrupted while waiting for the score worker to start", e);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.api.configuration;
+
+import org.apache.commons.lang3.Validate;
+import org.springframework.beans.factory.FactoryBean;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Exposes a bean of the score engine, e.g. {@link io.cloudslang.score.api.Score}, through a proxy of its interface
+ * that loads the engine with the {@link ScoreEngineLoader} on its first call
+ */
+public class ScoreEngineProxyFactoryBean implements FactoryBean<Object> {
+
+    private final ScoreEngineLoader scoreEngineLoader;
+    private final Class<?> objectType;
+    private final Object proxy;
+
+    public ScoreEngineProxyFactoryBean(ScoreEngineLoader scoreEngineLoader, Class<?> objectType) {
+        Validate.notNull(scoreEngineLoader, "Score engine loader can not be null");
+        Validate.isTrue(objectType.isInterface(), "Only interfaces can be proxied, but got: " + objectType.getName());
+        this.scoreEngineLoader = scoreEngineLoader;
+        this.objectType = objectType;
+        this.proxy = Proxy.newProxyInstance(objectType.getClassLoader(), new Class<?>[]{objectType}, new EngineInvocationHandler());
+    }
+
+    @Override
+    public Object getObject() {
+        return proxy;
+    }
+
+    @Override
+    public Class<?> getObjectType() {
+        return objectType;
+    }
+
+    @Override
+    public boolean isSingleton() {
+        return true;
+    }
+
+    private class EngineInvocationHandler implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            // the proxy identity must not load the engine
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return "Score engine proxy of: " + objectType.getName();
+                }
+            }
+            try {
+                return method.invoke(scoreEngineLoader.getBean(objectType), args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+}
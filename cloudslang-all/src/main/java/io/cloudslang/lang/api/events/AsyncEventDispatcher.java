@@ -0,0 +1,324 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.api.events;
+
+import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.score.events.EventConstants;
+import io.cloudslang.score.events.ScoreEvent;
+import io.cloudslang.score.events.ScoreEventListener;
+import org.apache.commons.lang.Validate;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Takes the events off the executing threads into a bounded ring buffer, and delivers them in batches to its
+ * listeners on a single dispatch thread, so slow listeners, such as console printing or file logging, do not slow
+ * down the executions. When {@link io.cloudslang.lang.api.SlangImpl} has a dispatcher, the listeners subscribed
+ * through {@link io.cloudslang.lang.api.Slang#subscribeOnEvents} go through it.
+ * <p>
+ * Listeners must not wait for events of their own, as the dispatch thread is the one delivering them.
+ */
+public class AsyncEventDispatcher implements ScoreEventListener {
+
+    public static final int DEFAULT_CAPACITY = 8192;
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    public static final int DEFAULT_SAMPLE_RATE = 10;
+
+    /**
+     * The events an execution's outcome depends on, never dropped. All other events are debug events.
+     */
+    public static final Set<String> NON_DEBUG_EVENT_TYPES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            ScoreLangConstants.EVENT_EXECUTION_FINISHED,
+            ScoreLangConstants.SLANG_EXECUTION_EXCEPTION,
+            ScoreLangConstants.EVENT_ACTION_ERROR,
+            EventConstants.SCORE_FINISHED_EVENT,
+            EventConstants.SCORE_FINISHED_BRANCH_EVENT,
+            EventConstants.SCORE_PAUSED_EVENT,
+            EventConstants.SCORE_ERROR_EVENT,
+            EventConstants.SCORE_FAILURE_EVENT,
+            EventConstants.SCORE_BRANCH_FAILURE_EVENT,
+            EventConstants.SCORE_NO_WORKER_FAILURE_EVENT)));
+
+    private static final Logger logger = Logger.getLogger(AsyncEventDispatcher.class);
+
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final EventRingBuffer<ScoreEvent> buffer;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong publishedEvents = new AtomicLong();
+    private final AtomicLong deliveredEvents = new AtomicLong();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final AtomicLong blockedEvents = new AtomicLong();
+    private final AtomicLong sampledEvents = new AtomicLong();
+    private volatile int maxQueueDepth;
+
+    private volatile Thread dispatchThread;
+    private volatile boolean dispatchThreadIdle;
+    private volatile boolean shutdown;
+
+    public AsyncEventDispatcher() {
+        this(DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, OverflowPolicy.BLOCK);
+    }
+
+    public AsyncEventDispatcher(int capacity, int batchSize, OverflowPolicy overflowPolicy) {
+        this(capacity, batchSize, overflowPolicy, DEFAULT_SAMPLE_RATE);
+    }
+
+    /**
+     * @param capacity the number of events the buffer holds, a power of two
+     * @param batchSize the maximal number of events delivered at once
+     * @param overflowPolicy what to do with an event when the buffer is full
+     * @param sampleRate one of how many debug events is kept by the {@link OverflowPolicy#SAMPLE} policy
+     */
+    public AsyncEventDispatcher(int capacity, int batchSize, OverflowPolicy overflowPolicy, int sampleRate) {
+        Validate.isTrue(batchSize > 0, "Batch size must be a positive number");
+        Validate.isTrue(sampleRate > 0, "Sample rate must be a positive number");
+        Validate.notNull(overflowPolicy, "Overflow policy can not be null");
+        this.buffer = new EventRingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * @param eventListener the listener, replacing the event types it was subscribed to before
+     * @param eventTypes the event types the listener gets
+     */
+    public void subscribe(ScoreEventListener eventListener, Set<String> eventTypes) {
+        Validate.notNull(eventListener, "Event listener can not be null");
+        unsubscribe(eventListener);
+        subscriptions.add(new Subscription(eventListener, new HashSet<>(eventTypes)));
+        startDispatchThread();
+    }
+
+    public void unsubscribe(ScoreEventListener eventListener) {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.eventListener == eventListener) {
+                subscriptions.remove(subscription);
+            }
+        }
+    }
+
+    /**
+     * @return the event types any of the listeners is subscribed to
+     */
+    public Set<String> getEventTypes() {
+        Set<String> eventTypes = new HashSet<>();
+        for (Subscription subscription : subscriptions) {
+            eventTypes.addAll(subscription.eventTypes);
+        }
+        return eventTypes;
+    }
+
+    @Override
+    public void onEvent(ScoreEvent event) throws InterruptedException {
+        if (shutdown) {
+            droppedEvents.incrementAndGet();
+            return;
+        }
+        boolean debugEvent = !NON_DEBUG_EVENT_TYPES.contains(event.getEventType());
+        if (debugEvent && overflowPolicy == OverflowPolicy.SAMPLE && buffer.size() * 2 >= buffer.capacity() &&
+                sampledEvents.incrementAndGet() % sampleRate != 0) {
+            droppedEvents.incrementAndGet();
+            return;
+        }
+        if (!buffer.offer(event)) {
+            if (debugEvent && overflowPolicy != OverflowPolicy.BLOCK) {
+                droppedEvents.incrementAndGet();
+                return;
+            }
+            blockedEvents.incrementAndGet();
+            do {
+                wakeUpDispatchThread();
+                LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            } while (!buffer.offer(event));
+        }
+        publishedEvents.incrementAndGet();
+        updateMaxQueueDepth();
+        if (dispatchThreadIdle) {
+            wakeUpDispatchThread();
+        }
+    }
+
+    /**
+     * Waits until the events published so far are delivered
+     *
+     * @return false if they were not delivered in time
+     */
+    public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+        long target = publishedEvents.get();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (deliveredEvents.get() < target) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            wakeUpDispatchThread();
+            LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stops the dispatch thread after it delivers the events already in the buffer
+     */
+    public void shutdown() {
+        shutdown = true;
+        Thread thread = dispatchThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    public int getQueueDepth() {
+        return buffer.size();
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    public int getQueueCapacity() {
+        return buffer.capacity();
+    }
+
+    public long getPublishedEventsCount() {
+        return publishedEvents.get();
+    }
+
+    public long getDeliveredEventsCount() {
+        return deliveredEvents.get();
+    }
+
+    public long getDroppedEventsCount() {
+        return droppedEvents.get();
+    }
+
+    /**
+     * @return the number of events the executing threads waited for room in the buffer for
+     */
+    public long getBlockedEventsCount() {
+        return blockedEvents.get();
+    }
+
+    private void updateMaxQueueDepth() {
+        int queueDepth = buffer.size();
+        if (queueDepth > maxQueueDepth) {
+            // a racy maximum is good enough for a metric
+            maxQueueDepth = queueDepth;
+        }
+    }
+
+    private void wakeUpDispatchThread() {
+        Thread thread = dispatchThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private synchronized void startDispatchThread() {
+        if (dispatchThread != null || shutdown) {
+            return;
+        }
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                dispatch();
+            }
+        }, "slang-event-dispatcher");
+        thread.setDaemon(true);
+        dispatchThread = thread;
+        thread.start();
+    }
+
+    private void dispatch() {
+        List<ScoreEvent> batch = new ArrayList<>(batchSize);
+        while (true) {
+            if (buffer.drainTo(batch, batchSize) == 0) {
+                if (shutdown) {
+                    return;
+                }
+                dispatchThreadIdle = true;
+                // check again, an event published before the flag was set did not wake this thread up
+                if (buffer.size() == 0) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                dispatchThreadIdle = false;
+                continue;
+            }
+            try {
+                deliver(batch);
+            } catch (InterruptedException e) {
+                logger.warn("Event dispatch thread was interrupted, stopping");
+                return;
+            } finally {
+                deliveredEvents.addAndGet(batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliver(List<ScoreEvent> batch) throws InterruptedException {
+        for (Subscription subscription : subscriptions) {
+            List<ScoreEvent> subscribedEvents = new ArrayList<>(batch.size());
+            for (ScoreEvent event : batch) {
+                if (subscription.eventTypes.contains(event.getEventType())) {
+                    subscribedEvents.add(event);
+                }
+            }
+            if (subscribedEvents.isEmpty()) {
+                continue;
+            }
+            try {
+                if (subscription.eventListener instanceof BatchScoreEventListener) {
+                    ((BatchScoreEventListener) subscription.eventListener).onEvents(subscribedEvents);
+                } else {
+                    for (ScoreEvent event : subscribedEvents) {
+                        subscription.eventListener.onEvent(event);
+                    }
+                }
+            } catch (RuntimeException e) {
+                logger.error("Event listener failed", e);
+            }
+        }
+    }
+
+    private static class Subscription {
+
+        private final ScoreEventListener eventListener;
+        private final Set<String> eventTypes;
+
+        private Subscription(ScoreEventListener eventListener, Set<String> eventTypes) {
+            this.eventListener = eventListener;
+            this.eventTypes = eventTypes;
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.api.events;
+
+import io.cloudslang.score.events.ScoreEvent;
+import io.cloudslang.score.events.ScoreEventListener;
+
+import java.util.List;
+
+/**
+ * A listener the {@link AsyncEventDispatcher} hands a whole batch of events to at once, instead of one by one
+ */
+public interface BatchScoreEventListener extends ScoreEventListener {
+
+    /**
+     * @param events the events of the subscribed types, in the order they were fired
+     */
+    void onEvents(List<ScoreEvent> events) throws InterruptedException;
+
+}
@@ -0,0 +1,32 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.api.events;
+
+/**
+ * What the {@link AsyncEventDispatcher} does with an event when its buffer can not take it.
+ * The events an execution's outcome depends on, such as the finish and error events, are never dropped.
+ */
+public enum OverflowPolicy {
+
+    /**
+     * The execution waits until the buffer has room
+     */
+    BLOCK,
+
+    /**
+     * Debug events are dropped while the buffer is full
+     */
+    DROP_DEBUG,
+
+    /**
+     * Only a sample of the debug events is kept once the buffer is half full, and the rest are dropped
+     */
+    SAMPLE
+
+}
@@ -0,0 +1,118 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.api.journal;
+
+import io.cloudslang.lang.runtime.events.LanguageEventData;
+import org.apache.commons.lang.Validate;
+import org.apache.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Reads the records of a journal file written by {@link ExecutionJournalWriter}, in the order they were written.
+ * A record cut off at the end of the file, by a process that died while writing it, ends the journal.
+ */
+public class ExecutionJournalReader implements Closeable {
+
+    private static final Logger logger = Logger.getLogger(ExecutionJournalReader.class);
+
+    private final File file;
+    private final DataInputStream input;
+
+    public ExecutionJournalReader(File file) throws IOException {
+        Validate.notNull(file, "Journal file can not be null");
+        this.file = file;
+        this.input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            readHeader();
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the next record, or null at the end of the journal
+     */
+    public JournalRecord read() throws IOException {
+        byte[] recordBytes;
+        try {
+            int length = input.readInt();
+            if (length < 0) {
+                throw new IOException("Corrupted record length in the execution journal " + file);
+            }
+            recordBytes = new byte[length];
+            input.readFully(recordBytes);
+        } catch (EOFException e) {
+            // the end of the file, or a record cut off by a process which died while writing it
+            return null;
+        }
+        try {
+            return decode(ByteBuffer.wrap(recordBytes));
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Corrupted record in the execution journal " + file, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    private void readHeader() throws IOException {
+        byte[] magic = new byte[JournalCodec.MAGIC.length];
+        try {
+            input.readFully(magic);
+            if (!Arrays.equals(JournalCodec.MAGIC, magic)) {
+                throw new IOException(file + " is not an execution journal");
+            }
+            byte version = input.readByte();
+            if (version != JournalCodec.VERSION) {
+                throw new IOException("Unsupported execution journal version " + version + " in " + file);
+            }
+        } catch (EOFException e) {
+            throw new IOException(file + " is not an execution journal", e);
+        }
+    }
+
+    private static JournalRecord decode(ByteBuffer recordInput) throws IOException {
+        long timeStamp = recordInput.getLong();
+        long executionId = recordInput.getLong();
+        String eventType = JournalCodec.readString(recordInput);
+        String path = JournalCodec.readString(recordInput);
+        String stepName = JournalCodec.readString(recordInput);
+        String stepType = JournalCodec.readString(recordInput);
+        String description = JournalCodec.readString(recordInput);
+        return new JournalRecord(timeStamp,
+                executionId == JournalCodec.NO_EXECUTION_ID ? null : executionId,
+                eventType, path, stepName, toStepType(stepType), description, JournalCodec.readMap(recordInput));
+    }
+
+    private static LanguageEventData.StepType toStepType(String stepType) {
+        if (stepType == null) {
+            return null;
+        }
+        try {
+            return LanguageEventData.StepType.valueOf(stepType);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown step type in the execution journal: " + stepType);
+            return null;
+        }
+    }
+
+}
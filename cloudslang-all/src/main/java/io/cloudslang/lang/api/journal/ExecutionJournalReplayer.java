@@ -0,0 +1,69 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.api.journal;
+
+import io.cloudslang.score.events.ScoreEventListener;
+import org.apache.commons.lang.Validate;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rebuilds the executions written to a journal offline, or replays their events to a listener
+ */
+public class ExecutionJournalReplayer {
+
+    private ExecutionJournalReplayer() {
+    }
+
+    /**
+     * @param journalFile the journal file
+     * @return the executions in the journal by their execution id, in the order they started
+     */
+    public static Map<Long, ReplayedExecution> rebuild(File journalFile) throws IOException {
+        Map<Long, ReplayedExecution> executions = new LinkedHashMap<>();
+        try (ExecutionJournalReader reader = new ExecutionJournalReader(journalFile)) {
+            for (JournalRecord record = reader.read(); record != null; record = reader.read()) {
+                ReplayedExecution execution = executions.get(record.getExecutionId());
+                if (execution == null) {
+                    execution = new ReplayedExecution(record.getExecutionId());
+                    executions.put(record.getExecutionId(), execution);
+                }
+                execution.apply(record);
+            }
+        }
+        return executions;
+    }
+
+    /**
+     * Fires the journaled events to the listener, as if it was subscribed to them when they were fired
+     *
+     * @param journalFile the journal file
+     * @param executionId the execution to replay, or null to replay all of them
+     * @param eventListener the listener
+     * @return the number of events replayed
+     */
+    public static int replay(File journalFile, Long executionId, ScoreEventListener eventListener)
+            throws IOException, InterruptedException {
+        Validate.notNull(eventListener, "Event listener can not be null");
+        int eventsCount = 0;
+        try (ExecutionJournalReader reader = new ExecutionJournalReader(journalFile)) {
+            for (JournalRecord record = reader.read(); record != null; record = reader.read()) {
+                if (executionId == null || executionId.equals(record.getExecutionId())) {
+                    eventListener.onEvent(record.toScoreEvent());
+                    eventsCount++;
+                }
+            }
+        }
+        return eventsCount;
+    }
+
+}
@@ -0,0 +1,296 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.api.journal;
+
+import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.runtime.events.LanguageEventData;
+import io.cloudslang.score.events.EventConstants;
+import io.cloudslang.score.events.ScoreEvent;
+import io.cloudslang.score.events.ScoreEventListener;
+import org.apache.commons.lang.Validate;
+import org.apache.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends the events to a binary journal file per day (UTC), to be read back by {@link ExecutionJournalReader} and
+ * {@link ExecutionJournalReplayer}. Subscribe it with {@link io.cloudslang.lang.api.Slang#subscribeOnAllEvents}.
+ * <p>
+ * The records are buffered, and written to the file when the buffer is full, when an execution ends and when the
+ * writer is closed. The records still in the buffer are lost when the process dies, and the reader stops at the
+ * last complete record. A record cut off at the end of the file is truncated when a writer opens the file again, so
+ * the records appended after it can be read.
+ */
+public class ExecutionJournalWriter implements ScoreEventListener, Closeable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    public static final String JOURNAL_FILE_EXTENSION = ".journal";
+
+    private static final Set<String> FLUSH_EVENT_TYPES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            ScoreLangConstants.EVENT_EXECUTION_FINISHED,
+            EventConstants.SCORE_FINISHED_EVENT,
+            EventConstants.SCORE_FAILURE_EVENT)));
+
+    private static final Logger logger = Logger.getLogger(ExecutionJournalWriter.class);
+
+    private static final long MILLIS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+
+    private final File directory;
+    private final String filePrefix;
+    private final ByteBuffer buffer;
+
+    private final JournalOutput recordOutput = new JournalOutput(1024);
+
+    private FileChannel channel;
+    private File file;
+    private long day = -1;
+    private boolean closed;
+
+    public ExecutionJournalWriter(File directory) {
+        this(directory, "slang", DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param directory the directory of the journal files
+     * @param filePrefix the prefix of the journal file names, followed by the day they were written in
+     * @param bufferSize the number of bytes buffered before they are written to the file
+     */
+    public ExecutionJournalWriter(File directory, String filePrefix, int bufferSize) {
+        Validate.notNull(directory, "Journal directory can not be null");
+        Validate.notEmpty(filePrefix, "Journal file prefix can not be empty");
+        Validate.isTrue(bufferSize > 0, "Buffer size must be a positive number");
+        this.directory = directory;
+        this.filePrefix = filePrefix;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    @Override
+    public synchronized void onEvent(ScoreEvent event) {
+        if (closed) {
+            return;
+        }
+        try {
+            encode(event);
+            rollFile(System.currentTimeMillis());
+            append();
+            if (FLUSH_EVENT_TYPES.contains(event.getEventType())) {
+                flushBuffer();
+            }
+        } catch (IOException e) {
+            // the journal must never fail the execution
+            logger.error("Failed to write the event to the execution journal " + file, e);
+        }
+    }
+
+    /**
+     * Writes the buffered records to the file
+     */
+    public synchronized void flush() throws IOException {
+        if (!closed) {
+            flushBuffer();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            flushBuffer();
+            closeFile();
+        } finally {
+            closed = true;
+        }
+    }
+
+    /**
+     * @return the file the records are written to, null before the first record
+     */
+    public synchronized File getFile() {
+        return file;
+    }
+
+    private void encode(ScoreEvent event) {
+        recordOutput.reset();
+        // the length is filled in when the record is appended
+        recordOutput.writeInt(0);
+        Serializable data = event.getData();
+        if (data instanceof LanguageEventData) {
+            LanguageEventData eventData = (LanguageEventData) data;
+            Date timeStamp = eventData.getTimeStamp();
+            long time = timeStamp == null ? System.currentTimeMillis() : timeStamp.getTime();
+            Long executionId = eventData.getExecutionId();
+            recordOutput.writeLong(time);
+            recordOutput.writeLong(executionId == null ? JournalCodec.NO_EXECUTION_ID : executionId);
+            JournalCodec.writeString(recordOutput, event.getEventType());
+            JournalCodec.writeString(recordOutput, eventData.getPath());
+            JournalCodec.writeString(recordOutput, eventData.getStepName());
+            JournalCodec.writeString(recordOutput,
+                    eventData.getStepType() == null ? null : eventData.getStepType().name());
+            JournalCodec.writeString(recordOutput, eventData.getDescription());
+            Map<String, Serializable> payload = eventData.getPayload();
+            recordOutput.writeInt(payload.size());
+            for (Map.Entry<String, Serializable> entry : payload.entrySet()) {
+                JournalCodec.writeString(recordOutput, entry.getKey());
+                JournalCodec.writeValue(recordOutput, entry.getValue());
+            }
+            return;
+        }
+        // score events carry the whole execution context, only their occurrence is journaled
+        long time = System.currentTimeMillis();
+        Long executionId = getScoreEventExecutionId(data);
+        recordOutput.writeLong(time);
+        recordOutput.writeLong(executionId == null ? JournalCodec.NO_EXECUTION_ID : executionId);
+        JournalCodec.writeString(recordOutput, event.getEventType());
+        JournalCodec.writeString(recordOutput, null);
+        JournalCodec.writeString(recordOutput, null);
+        JournalCodec.writeString(recordOutput, null);
+        JournalCodec.writeString(recordOutput, null);
+        recordOutput.writeInt(0);
+    }
+
+    private static Long getScoreEventExecutionId(Serializable data) {
+        if (data instanceof Map) {
+            Object executionId = ((Map) data).get(EventConstants.EXECUTION_ID_CONTEXT);
+            if (executionId instanceof Long) {
+                return (Long) executionId;
+            }
+        }
+        return null;
+    }
+
+    private void append() throws IOException {
+        int length = recordOutput.size();
+        recordOutput.putInt(0, length - 4);
+        if (buffer.remaining() < length) {
+            flushBuffer();
+        }
+        if (length > buffer.capacity()) {
+            write(recordOutput.toByteBuffer());
+        } else {
+            recordOutput.copyTo(buffer);
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        try {
+            write(buffer);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    private void write(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    private void rollFile(long now) throws IOException {
+        long today = now / MILLIS_PER_DAY;
+        if (channel != null && today == day) {
+            return;
+        }
+        flushBuffer();
+        closeFile();
+        day = today;
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+        file = new File(directory, filePrefix + "-" + dateFormat.format(new Date(now)) + JOURNAL_FILE_EXTENSION);
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Failed to create the journal directory " + directory);
+        }
+        channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long end = findLastRecordEnd();
+            if (end < channel.size()) {
+                logger.warn("Truncating the incomplete record at the end of the execution journal " + file);
+                channel.truncate(end);
+            }
+            channel.position(end);
+            if (end == 0) {
+                ByteBuffer header = ByteBuffer.allocate(JournalCodec.HEADER_LENGTH);
+                header.put(JournalCodec.MAGIC).put(JournalCodec.VERSION).flip();
+                write(header);
+            }
+        } catch (IOException e) {
+            closeFile();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the position after the last complete record of the file, 0 if it has no complete header
+     */
+    private long findLastRecordEnd() throws IOException {
+        long size = channel.size();
+        if (size < JournalCodec.HEADER_LENGTH) {
+            return 0;
+        }
+        ByteBuffer header = ByteBuffer.allocate(JournalCodec.HEADER_LENGTH);
+        read(header, 0);
+        if (!Arrays.equals(JournalCodec.MAGIC, Arrays.copyOf(header.array(), JournalCodec.MAGIC.length)) ||
+                header.get(JournalCodec.MAGIC.length) != JournalCodec.VERSION) {
+            throw new IOException(file + " is not an execution journal of version " + JournalCodec.VERSION);
+        }
+        // only the length of each record is read
+        ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+        long position = JournalCodec.HEADER_LENGTH;
+        while (size - position >= 4) {
+            lengthBuffer.clear();
+            read(lengthBuffer, position);
+            int length = lengthBuffer.getInt(0);
+            if (length < 0 || size - position - 4 < length) {
+                break;
+            }
+            position += 4 + length;
+        }
+        return position;
+    }
+
+    private void read(ByteBuffer bytes, long position) throws IOException {
+        while (bytes.hasRemaining()) {
+            if (channel.read(bytes, position + bytes.position()) < 0) {
+                throw new IOException("Unexpected end of the execution journal " + file);
+            }
+        }
+    }
+
+    private void closeFile() throws IOException {
+        if (channel != null) {
+            try {
+                channel.close();
+            } finally {
+                channel = null;
+            }
+        }
+    }
+
+}
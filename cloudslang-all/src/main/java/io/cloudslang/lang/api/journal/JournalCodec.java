@@ -0,0 +1,170 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.api.journal;
+
+import io.cloudslang.lang.entities.bindings.values.SensitiveValue;
+import io.cloudslang.lang.entities.bindings.values.Value;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The binary format of the execution journal.
+ * <p>
+ * A journal file starts with the {@link #MAGIC} bytes and the format {@link #VERSION}, followed by the records.
+ * Each record is an int length followed by that many bytes:
+ * <pre>
+ * long   time stamp
+ * long   execution id, {@link #NO_EXECUTION_ID} when the event has none
+ * string event type
+ * string path
+ * string step name
+ * string step type
+ * string description
+ * int    payload size, followed by the payload entries as a string key and a value
+ * </pre>
+ * Strings are an int length, -1 for null, followed by their UTF-8 bytes. Values start with a tag byte. Values of
+ * types the journal does not know are written as their string form.
+ */
+final class JournalCodec {
+
+    static final byte[] MAGIC = {'S', 'L', 'J', 'R'};
+    static final byte VERSION = 1;
+    static final int HEADER_LENGTH = MAGIC.length + 1;
+
+    static final long NO_EXECUTION_ID = Long.MIN_VALUE;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte LONG = 2;
+    private static final byte INTEGER = 3;
+    private static final byte BOOLEAN = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte MAP = 6;
+    private static final byte LIST = 7;
+
+    private JournalCodec() {
+    }
+
+    static void writeString(JournalOutput out, String value) {
+        if (value == null) {
+            out.writeInt(-1);
+        } else if (!out.writeAscii(value)) {
+            byte[] bytes = value.getBytes(UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    static String readString(ByteBuffer in) throws IOException {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    static void writeValue(JournalOutput out, Object value) {
+        if (value instanceof Value) {
+            // the events are masked when they are fired, a sensitive value which was not is masked here
+            Value slangValue = (Value) value;
+            writeValue(out, slangValue.isSensitive() ? SensitiveValue.SENSITIVE_VALUE_MASK : slangValue.get());
+        } else if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            out.writeByte(MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeString(out, String.valueOf(entry.getKey()));
+                writeValue(out, entry.getValue());
+            }
+        } else if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            out.writeByte(LIST);
+            out.writeInt(collection.size());
+            for (Object element : collection) {
+                writeValue(out, element);
+            }
+        } else {
+            out.writeByte(STRING);
+            writeString(out, value.toString());
+        }
+    }
+
+    static Serializable readValue(ByteBuffer in) throws IOException {
+        byte tag = in.get();
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString(in);
+            case LONG:
+                return in.getLong();
+            case INTEGER:
+                return in.getInt();
+            case BOOLEAN:
+                return in.get() != 0;
+            case DOUBLE:
+                return in.getDouble();
+            case MAP:
+                return (Serializable) readMap(in);
+            case LIST:
+                int size = in.getInt();
+                List<Serializable> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                return (Serializable) list;
+            default:
+                throw new IOException("Unknown journal value tag: " + tag);
+        }
+    }
+
+    static Map<String, Serializable> readMap(ByteBuffer in) throws IOException {
+        int size = in.getInt();
+        Map<String, Serializable> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            String key = readString(in);
+            map.put(key, readValue(in));
+        }
+        return map;
+    }
+
+}
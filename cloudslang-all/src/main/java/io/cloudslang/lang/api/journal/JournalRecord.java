@@ -0,0 +1,108 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.api.journal;
+
+import io.cloudslang.lang.runtime.events.LanguageEventData;
+import io.cloudslang.score.events.ScoreEvent;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * An event as it was read back from an execution journal
+ */
+public class JournalRecord {
+
+    private final long timeStamp;
+    private final Long executionId;
+    private final String eventType;
+    private final String path;
+    private final String stepName;
+    private final LanguageEventData.StepType stepType;
+    private final String description;
+    private final Map<String, Serializable> payload;
+
+    public JournalRecord(long timeStamp, Long executionId, String eventType, String path, String stepName,
+                         LanguageEventData.StepType stepType, String description,
+                         Map<String, Serializable> payload) {
+        this.timeStamp = timeStamp;
+        this.executionId = executionId;
+        this.eventType = eventType;
+        this.path = path;
+        this.stepName = stepName;
+        this.stepType = stepType;
+        this.description = description;
+        this.payload = Collections.unmodifiableMap(payload);
+    }
+
+    public long getTimeStamp() {
+        return timeStamp;
+    }
+
+    public Long getExecutionId() {
+        return executionId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getStepName() {
+        return stepName;
+    }
+
+    public LanguageEventData.StepType getStepType() {
+        return stepType;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return the variable part of the event, such as the inputs, the outputs or the result
+     */
+    public Map<String, Serializable> getPayload() {
+        return payload;
+    }
+
+    /**
+     * @return the event as it was fired, for replaying it to the listeners
+     */
+    public ScoreEvent toScoreEvent() {
+        LanguageEventData eventData = new LanguageEventData();
+        eventData.setEventType(eventType);
+        eventData.setTimeStamp(timeStamp);
+        eventData.setExecutionId(executionId);
+        eventData.setPath(path);
+        eventData.setStepName(stepName);
+        eventData.setStepType(stepType);
+        eventData.setDescription(description);
+        eventData.putAll(payload);
+        return new ScoreEvent(eventType, eventData);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("timeStamp", timeStamp)
+                .append("executionId", executionId)
+                .append("eventType", eventType)
+                .append("path", path)
+                .append("stepName", stepName)
+                .toString();
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.api.journal;
+
+import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.runtime.env.ExecutionPath;
+import io.cloudslang.lang.runtime.events.LanguageEventData;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An execution rebuilt from its journal records, with the tree of its steps
+ */
+public class ReplayedExecution {
+
+    private final Long executionId;
+    private final Map<String, ReplayedStep> steps = new HashMap<>();
+    private final List<ReplayedStep> roots = new ArrayList<>();
+
+    private long startTime = Long.MAX_VALUE;
+    private long endTime = Long.MIN_VALUE;
+    private int eventsCount;
+    private boolean finished;
+    private String result;
+
+    ReplayedExecution(Long executionId) {
+        this.executionId = executionId;
+    }
+
+    public Long getExecutionId() {
+        return executionId;
+    }
+
+    /**
+     * @return the top of the path tree, normally the executed flow or operation alone
+     */
+    public List<ReplayedStep> getRootSteps() {
+        return Collections.unmodifiableList(roots);
+    }
+
+    /**
+     * @return the step of the path, or null if no event was journaled for it or below it
+     */
+    public ReplayedStep getStep(String path) {
+        return steps.get(path);
+    }
+
+    public Collection<ReplayedStep> getSteps() {
+        return Collections.unmodifiableCollection(steps.values());
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public long getEndTime() {
+        return endTime;
+    }
+
+    public long getDuration() {
+        return endTime - startTime;
+    }
+
+    public int getEventsCount() {
+        return eventsCount;
+    }
+
+    /**
+     * @return true if the journal has the end of the execution
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    void apply(JournalRecord record) {
+        eventsCount++;
+        startTime = Math.min(startTime, record.getTimeStamp());
+        endTime = Math.max(endTime, record.getTimeStamp());
+        if (ScoreLangConstants.EVENT_EXECUTION_FINISHED.equals(record.getEventType())) {
+            finished = true;
+            result = (String) record.getPayload().get(LanguageEventData.RESULT);
+        }
+        if (record.getPath() == null) {
+            return;
+        }
+        ReplayedStep step = getOrCreateStep(record.getPath());
+        step.apply(record);
+        for (ReplayedStep ancestor = getParent(step); ancestor != null; ancestor = getParent(ancestor)) {
+            ancestor.updateTimes(record.getTimeStamp());
+        }
+    }
+
+    private ReplayedStep getOrCreateStep(String path) {
+        ReplayedStep step = steps.get(path);
+        if (step == null) {
+            step = new ReplayedStep(path);
+            steps.put(path, step);
+            String parentPath = getParentPath(path);
+            if (parentPath == null) {
+                roots.add(step);
+            } else {
+                getOrCreateStep(parentPath).addChild(step);
+            }
+        }
+        return step;
+    }
+
+    private ReplayedStep getParent(ReplayedStep step) {
+        String parentPath = getParentPath(step.getPath());
+        return parentPath == null ? null : steps.get(parentPath);
+    }
+
+    private static String getParentPath(String path) {
+        int separator = path.lastIndexOf(ExecutionPath.PATH_SEPARATOR);
+        return separator < 0 ? null : path.substring(0, separator);
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.api.journal;
+
+import io.cloudslang.lang.runtime.events.LanguageEventData;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A node of the path tree of an execution rebuilt from its journal: the flow, its steps, and their operations and
+ * subflows. The inputs and outputs are masked as they were in the events.
+ */
+public class ReplayedStep {
+
+    private final String path;
+    private final List<ReplayedStep> children = new ArrayList<>();
+
+    private String stepName;
+    private LanguageEventData.StepType stepType;
+    private long startTime = Long.MAX_VALUE;
+    private long endTime = Long.MIN_VALUE;
+    private Map<String, Serializable> inputs;
+    private Map<String, Serializable> arguments;
+    private Map<String, Serializable> outputs;
+    private String result;
+    private String exception;
+
+    ReplayedStep(String path) {
+        this.path = path;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getStepName() {
+        return stepName;
+    }
+
+    public LanguageEventData.StepType getStepType() {
+        return stepType;
+    }
+
+    /**
+     * @return the time of the first event on this path or below it
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @return the time of the last event on this path or below it
+     */
+    public long getEndTime() {
+        return endTime;
+    }
+
+    public long getDuration() {
+        return endTime - startTime;
+    }
+
+    public Map<String, Serializable> getInputs() {
+        return inputs;
+    }
+
+    public Map<String, Serializable> getArguments() {
+        return arguments;
+    }
+
+    public Map<String, Serializable> getOutputs() {
+        return outputs;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public String getException() {
+        return exception;
+    }
+
+    /**
+     * @return the steps below this one, in the order they started
+     */
+    public List<ReplayedStep> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    void addChild(ReplayedStep child) {
+        children.add(child);
+    }
+
+    @SuppressWarnings("unchecked")
+    void apply(JournalRecord record) {
+        updateTimes(record.getTimeStamp());
+        if (stepName == null) {
+            stepName = record.getStepName();
+        }
+        if (stepType == null) {
+            stepType = record.getStepType();
+        }
+        Map<String, Serializable> payload = record.getPayload();
+        if (payload.containsKey(LanguageEventData.BOUND_INPUTS)) {
+            inputs = (Map<String, Serializable>) payload.get(LanguageEventData.BOUND_INPUTS);
+        }
+        if (payload.containsKey(LanguageEventData.BOUND_ARGUMENTS)) {
+            arguments = (Map<String, Serializable>) payload.get(LanguageEventData.BOUND_ARGUMENTS);
+        }
+        if (payload.containsKey(LanguageEventData.OUTPUTS)) {
+            outputs = (Map<String, Serializable>) payload.get(LanguageEventData.OUTPUTS);
+        }
+        if (payload.containsKey(LanguageEventData.RESULT)) {
+            result = (String) payload.get(LanguageEventData.RESULT);
+        }
+        if (payload.containsKey(LanguageEventData.EXCEPTION)) {
+            exception = String.valueOf(payload.get(LanguageEventData.EXCEPTION));
+        }
+    }
+
+    void updateTimes(long timeStamp) {
+        startTime = Math.min(startTime, timeStamp);
+        endTime = Math.max(endTime, timeStamp);
+    }
+
+}
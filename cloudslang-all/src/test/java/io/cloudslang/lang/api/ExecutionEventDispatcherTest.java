@@ -0,0 +1,237 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.api;
+
+import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.runtime.events.LanguageEventData;
+import io.cloudslang.score.events.EventConstants;
+import io.cloudslang.score.events.ScoreEvent;
+import io.cloudslang.score.events.ScoreEventListener;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class ExecutionEventDispatcherTest {
+
+    private final ExecutionEventDispatcher dispatcher = new ExecutionEventDispatcher();
+
+    @Test
+    public void testCompletesWithResultAndRootOutputs() throws Exception {
+        ExecutionResultFuture future = trigger(1L);
+        Assert.assertFalse(future.isDone());
+
+        dispatcher.onEvent(outputEnd(1L, "0.1", Collections.<String, Serializable>singletonMap("step_output", "a")));
+        dispatcher.onEvent(outputEnd(1L, "0", Collections.<String, Serializable>singletonMap("flow_output", "b")));
+        dispatcher.onEvent(executionFinished(1L, "SUCCESS"));
+        Assert.assertFalse(future.isDone());
+        dispatcher.onEvent(scoreEvent(EventConstants.SCORE_FINISHED_EVENT, 1L));
+
+        ExecutionResult executionResult = future.get(1, TimeUnit.SECONDS);
+        Assert.assertEquals(Long.valueOf(1L), executionResult.getExecutionId());
+        Assert.assertEquals("SUCCESS", executionResult.getResult());
+        Assert.assertEquals(Collections.singletonMap("flow_output", "b"), executionResult.getOutputs());
+        Assert.assertFalse(executionResult.isFailed());
+    }
+
+    @Test
+    public void testCompletesWithScoreErrorOnScoreFailure() throws Exception {
+        ExecutionResultFuture future = trigger(2L);
+
+        dispatcher.onEvent(scoreError(EventConstants.SCORE_ERROR_EVENT, 2L, "error"));
+        Assert.assertFalse(future.isDone());
+        dispatcher.onEvent(scoreError(EventConstants.SCORE_FAILURE_EVENT, 2L, "failure"));
+
+        ExecutionResult executionResult = future.get(1, TimeUnit.SECONDS);
+        Assert.assertTrue(executionResult.isFailed());
+        Assert.assertEquals("log message , error", executionResult.getErrorMessage());
+        Assert.assertNull(executionResult.getResult());
+        Assert.assertEquals(0, dispatcher.getSubscribedExecutionsCount());
+    }
+
+    @Test
+    public void testCompletesWhenNoWorkerIsFound() throws Exception {
+        ExecutionResultFuture future = trigger(12L);
+
+        dispatcher.onEvent(scoreError(EventConstants.SCORE_NO_WORKER_FAILURE_EVENT, 12L, "no worker"));
+
+        ExecutionResult executionResult = future.get(1, TimeUnit.SECONDS);
+        Assert.assertTrue(executionResult.isFailed());
+        Assert.assertEquals("log message , no worker", executionResult.getErrorMessage());
+        Assert.assertEquals(0, dispatcher.getSubscribedExecutionsCount());
+    }
+
+    @Test
+    public void testCompletesWithSlangExceptionOnScoreFailure() throws Exception {
+        ExecutionResultFuture future = trigger(11L);
+
+        LanguageEventData exceptionData = new LanguageEventData();
+        exceptionData.setExecutionId(11L);
+        exceptionData.setException("step failed");
+        dispatcher.onEvent(new ScoreEvent(ScoreLangConstants.SLANG_EXECUTION_EXCEPTION, exceptionData));
+        Assert.assertFalse(future.isDone());
+
+        Map<String, Serializable> data = new HashMap<>();
+        data.put(EventConstants.EXECUTION_ID_CONTEXT, 11L);
+        data.put(EventConstants.SCORE_ERROR_LOG_MSG, "log message");
+        data.put(EventConstants.SCORE_ERROR_MSG, "error");
+        dispatcher.onEvent(new ScoreEvent(EventConstants.SCORE_FAILURE_EVENT, (Serializable) data));
+
+        ExecutionResult executionResult = future.get(1, TimeUnit.SECONDS);
+        Assert.assertTrue(executionResult.isFailed());
+        Assert.assertEquals("step failed", executionResult.getErrorMessage());
+    }
+
+    @Test
+    public void testIgnoresEventsOfOtherExecutions() throws Exception {
+        ExecutionResultFuture future = trigger(3L);
+
+        dispatcher.onEvent(executionFinished(4L, "SUCCESS"));
+        dispatcher.onEvent(scoreEvent(EventConstants.SCORE_FINISHED_EVENT, 4L));
+
+        Assert.assertFalse(future.isDone());
+    }
+
+    @Test(expected = TimeoutException.class)
+    public void testGetTimesOutWhenNotFinished() throws Exception {
+        trigger(5L).get(10, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testForwardsSubscribedEventsBeforeCompleting() throws Exception {
+        final List<String> forwardedEventTypes = new ArrayList<>();
+        final ExecutionResultFuture[] future = new ExecutionResultFuture[1];
+        ScoreEventListener executionListener = new ScoreEventListener() {
+            @Override
+            public void onEvent(ScoreEvent event) {
+                Assert.assertFalse(future[0].isDone());
+                forwardedEventTypes.add(event.getEventType());
+            }
+        };
+        future[0] = dispatcher.trigger(executionId(6L), Collections.singletonList(
+                new ExecutionEventSubscription(executionListener, Collections.singleton(ScoreLangConstants.EVENT_EXECUTION_FINISHED))));
+
+        dispatcher.onEvent(outputEnd(6L, "0", new HashMap<String, Serializable>()));
+        dispatcher.onEvent(executionFinished(6L, "SUCCESS"));
+        dispatcher.onEvent(scoreEvent(EventConstants.SCORE_FINISHED_EVENT, 6L));
+
+        Assert.assertTrue(future[0].isDone());
+        Assert.assertEquals(Collections.singletonList(ScoreLangConstants.EVENT_EXECUTION_FINISHED), forwardedEventTypes);
+    }
+
+    @Test
+    public void testDispatchesByEventTypeAndPath() throws Exception {
+        RecordingListener stepListener = new RecordingListener();
+        RecordingListener otherExecutionListener = new RecordingListener();
+        dispatcher.trigger(executionId(7L), Collections.singletonList(new ExecutionEventSubscription(stepListener,
+                Collections.singleton(ScoreLangConstants.EVENT_OUTPUT_END), new HashSet<>(Arrays.asList("0.1", "0.1.2")))));
+        dispatcher.trigger(executionId(8L), Collections.singletonList(new ExecutionEventSubscription(otherExecutionListener,
+                Collections.singleton(ScoreLangConstants.EVENT_OUTPUT_END))));
+
+        dispatcher.onEvent(outputEnd(7L, "0", new HashMap<String, Serializable>()));
+        dispatcher.onEvent(outputEnd(7L, "0.1", new HashMap<String, Serializable>()));
+        dispatcher.onEvent(outputEnd(7L, "0.1.2", new HashMap<String, Serializable>()));
+        dispatcher.onEvent(outputEnd(7L, "0.10", new HashMap<String, Serializable>()));
+        dispatcher.onEvent(executionFinished(7L, "SUCCESS"));
+
+        Assert.assertEquals(Arrays.asList("0.1", "0.1.2"), stepListener.paths);
+        Assert.assertTrue(otherExecutionListener.paths.isEmpty());
+    }
+
+    @Test
+    public void testUnsubscribesWhenExecutionEnds() throws Exception {
+        RecordingListener listener = new RecordingListener();
+        trigger(9L);
+        dispatcher.subscribe(9L, new ExecutionEventSubscription(listener,
+                Collections.singleton(ScoreLangConstants.EVENT_OUTPUT_END)));
+        Assert.assertEquals(1, dispatcher.getSubscribedExecutionsCount());
+
+        dispatcher.onEvent(scoreEvent(EventConstants.SCORE_FINISHED_EVENT, 9L));
+        dispatcher.onEvent(outputEnd(9L, "0", new HashMap<String, Serializable>()));
+
+        Assert.assertEquals(0, dispatcher.getSubscribedExecutionsCount());
+        Assert.assertTrue(listener.paths.isEmpty());
+    }
+
+    @Test
+    public void testUnsubscribe() throws Exception {
+        RecordingListener listener = new RecordingListener();
+        dispatcher.trigger(executionId(10L), Collections.singletonList(new ExecutionEventSubscription(listener,
+                Collections.singleton(ScoreLangConstants.EVENT_OUTPUT_END))));
+
+        dispatcher.onEvent(outputEnd(10L, "0.1", new HashMap<String, Serializable>()));
+        dispatcher.unsubscribe(10L, listener);
+        dispatcher.onEvent(outputEnd(10L, "0", new HashMap<String, Serializable>()));
+
+        Assert.assertEquals(Collections.singletonList("0.1"), listener.paths);
+    }
+
+    private ExecutionResultFuture trigger(Long executionId) {
+        return dispatcher.trigger(executionId(executionId), Collections.<ExecutionEventSubscription>emptyList());
+    }
+
+    private Callable<Long> executionId(final Long executionId) {
+        return new Callable<Long>() {
+            @Override
+            public Long call() {
+                return executionId;
+            }
+        };
+    }
+
+    private ScoreEvent outputEnd(Long executionId, String path, Map<String, Serializable> outputs) {
+        LanguageEventData data = new LanguageEventData();
+        data.setExecutionId(executionId);
+        data.setPath(path);
+        data.setOutputs(outputs);
+        return new ScoreEvent(ScoreLangConstants.EVENT_OUTPUT_END, data);
+    }
+
+    private static class RecordingListener implements ScoreEventListener {
+
+        private final List<String> paths = new ArrayList<>();
+
+        @Override
+        public synchronized void onEvent(ScoreEvent event) {
+            paths.add(((LanguageEventData) event.getData()).getPath());
+        }
+    }
+
+    private ScoreEvent scoreEvent(String eventType, Long executionId) {
+        Map<String, Serializable> data = new HashMap<>();
+        data.put(EventConstants.EXECUTION_ID_CONTEXT, executionId);
+        return new ScoreEvent(eventType, (Serializable) data);
+    }
+
+    private ScoreEvent scoreError(String eventType, Long executionId, String errorMessage) {
+        Map<String, Serializable> data = new HashMap<>();
+        data.put(EventConstants.EXECUTION_ID_CONTEXT, executionId);
+        data.put(EventConstants.SCORE_ERROR_LOG_MSG, "log message");
+        data.put(EventConstants.SCORE_ERROR_MSG, errorMessage);
+        return new ScoreEvent(eventType, (Serializable) data);
+    }
+
+    private ScoreEvent executionFinished(Long executionId, String result) {
+        LanguageEventData data = new LanguageEventData();
+        data.setExecutionId(executionId);
+        data.setResult(result);
+        return new ScoreEvent(ScoreLangConstants.EVENT_EXECUTION_FINISHED, data);
+    }
+
+}
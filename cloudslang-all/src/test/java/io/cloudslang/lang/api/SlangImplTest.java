@@ -14,10 +14,14 @@ import io.cloudslang.lang.compiler.SlangCompiler;
 import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.modeller.model.Metadata;
 import io.cloudslang.lang.entities.CompilationArtifact;
+import io.cloudslang.lang.entities.EventPayloadMode;
+import io.cloudslang.lang.entities.EventVerbosity;
 import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.Input;
 import io.cloudslang.lang.runtime.env.RunEnvironment;
+import io.cloudslang.lang.runtime.env.SystemPropertyIndex;
+import io.cloudslang.lang.runtime.env.SystemPropertySnapshots;
 import io.cloudslang.score.api.ExecutionPlan;
 import io.cloudslang.score.api.Score;
 import io.cloudslang.score.api.TriggeringProperties;
@@ -165,6 +169,34 @@ public class SlangImplTest {
         Assert.assertTrue(runEnv.getSystemProperties().contains(expectedSystemProperty));
     }
 
+    @Test
+    public void testRunWithOptions(){
+        RunOptions runOptions = new RunOptions.RunOptionsBuilder()
+                .withEventVerbosity(EventVerbosity.ERRORS)
+                .withEventPayloadMode(EventPayloadMode.CHANGES)
+                .build();
+        slang.run(emptyCompilationArtifact, new HashMap<String, Serializable>(), new HashSet<SystemProperty>(), runOptions);
+
+        ArgumentCaptor<TriggeringProperties> argumentCaptor = ArgumentCaptor.forClass(TriggeringProperties.class);
+        Mockito.verify(score).trigger(argumentCaptor.capture());
+
+        RunEnvironment runEnv = (RunEnvironment) argumentCaptor.getValue().getContext().get(ScoreLangConstants.RUN_ENV);
+        Assert.assertEquals(EventVerbosity.ERRORS, runEnv.getEventVerbosity());
+        Assert.assertEquals(EventPayloadMode.CHANGES, runEnv.getEventPayloadMode());
+    }
+
+    @Test
+    public void testRunWithDefaultOptions(){
+        slang.run(emptyCompilationArtifact, new HashMap<String, Serializable>(), new HashSet<SystemProperty>());
+
+        ArgumentCaptor<TriggeringProperties> argumentCaptor = ArgumentCaptor.forClass(TriggeringProperties.class);
+        Mockito.verify(score).trigger(argumentCaptor.capture());
+
+        RunEnvironment runEnv = (RunEnvironment) argumentCaptor.getValue().getContext().get(ScoreLangConstants.RUN_ENV);
+        Assert.assertEquals(EventVerbosity.FULL, runEnv.getEventVerbosity());
+        Assert.assertEquals(EventPayloadMode.FULL, runEnv.getEventPayloadMode());
+    }
+
     @Test
     public void testRunWithNullInputs(){
         Long executionId = slang.run(emptyCompilationArtifact, null, new HashSet<SystemProperty>());
@@ -176,6 +208,22 @@ public class SlangImplTest {
         slang.run(null, new HashMap<String, Serializable>(), null);
     }
 
+    @Test
+    public void testUnregisterSystemProperties() {
+        Set<SystemProperty> systemProperties = Sets.newHashSet(new SystemProperty("ns", "unregistered", "value"));
+        SystemPropertyIndex snapshot = (SystemPropertyIndex) slang.registerSystemProperties(systemProperties);
+        Assert.assertSame(snapshot, SystemPropertySnapshots.get(snapshot.getSnapshotId()));
+
+        slang.unregisterSystemProperties(snapshot);
+
+        Assert.assertNull(SystemPropertySnapshots.get(snapshot.getSnapshotId()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnregisterSystemPropertiesNotRegistered() {
+        slang.unregisterSystemProperties(new HashSet<SystemProperty>());
+    }
+
     // tests for compileAndRun() method
 
     @Test
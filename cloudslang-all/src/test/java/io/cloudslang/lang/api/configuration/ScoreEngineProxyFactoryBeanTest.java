@@ -0,0 +1,78 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.api.configuration;
+
+import io.cloudslang.score.api.Score;
+import io.cloudslang.score.api.TriggeringProperties;
+import io.cloudslang.score.events.EventBus;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ScoreEngineProxyFactoryBeanTest {
+
+    private ScoreEngineLoader scoreEngineLoader;
+    private Score score;
+
+    @Before
+    public void setUp() {
+        scoreEngineLoader = mock(ScoreEngineLoader.class);
+        score = mock(Score.class);
+        when(scoreEngineLoader.getBean(Score.class)).thenReturn(score);
+    }
+
+    @Test
+    public void testEngineIsNotLoadedByProxyIdentity() {
+        ScoreEngineProxyFactoryBean factoryBean = new ScoreEngineProxyFactoryBean(scoreEngineLoader, Score.class);
+        Object proxy = factoryBean.getObject();
+
+        assertTrue(proxy instanceof Score);
+        assertTrue(proxy.equals(proxy));
+        assertFalse(proxy.equals(score));
+        assertEquals(System.identityHashCode(proxy), proxy.hashCode());
+        assertEquals(Score.class, factoryBean.getObjectType());
+        proxy.toString();
+        verify(scoreEngineLoader, never()).getBean(any(Class.class));
+    }
+
+    @Test
+    public void testCallIsDelegatedToEngineBean() {
+        TriggeringProperties triggeringProperties = mock(TriggeringProperties.class);
+        when(score.trigger(triggeringProperties)).thenReturn(101L);
+        Score proxy = (Score) new ScoreEngineProxyFactoryBean(scoreEngineLoader, Score.class).getObject();
+
+        assertEquals(Long.valueOf(101L), proxy.trigger(triggeringProperties));
+        verify(scoreEngineLoader).getBean(Score.class);
+    }
+
+    @Test(expected = InterruptedException.class)
+    public void testExceptionOfEngineBeanIsRethrown() throws Exception {
+        EventBus eventBus = mock(EventBus.class);
+        when(scoreEngineLoader.getBean(EventBus.class)).thenReturn(eventBus);
+        doThrow(new InterruptedException()).when(eventBus).dispatch();
+        EventBus proxy = (EventBus) new ScoreEngineProxyFactoryBean(scoreEngineLoader, EventBus.class).getObject();
+
+        proxy.dispatch();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOnlyInterfacesAreProxied() {
+        new ScoreEngineProxyFactoryBean(scoreEngineLoader, Object.class);
+    }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.api.events;
+
+import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.runtime.events.LanguageEventData;
+import io.cloudslang.score.events.ScoreEvent;
+import io.cloudslang.score.events.ScoreEventListener;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncEventDispatcherTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private AsyncEventDispatcher dispatcher;
+
+    @After
+    public void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testDeliversSubscribedEventsOnDispatchThread() throws Exception {
+        dispatcher = new AsyncEventDispatcher(16, 4, OverflowPolicy.BLOCK);
+        final List<String> eventTypes = new ArrayList<>();
+        final List<Thread> threads = new ArrayList<>();
+        dispatcher.subscribe(new ScoreEventListener() {
+            @Override
+            public synchronized void onEvent(ScoreEvent event) {
+                eventTypes.add(event.getEventType());
+                threads.add(Thread.currentThread());
+            }
+        }, Collections.singleton(ScoreLangConstants.EVENT_STEP_START));
+
+        for (int i = 0; i < 10; i++) {
+            dispatcher.onEvent(event(ScoreLangConstants.EVENT_STEP_START));
+            dispatcher.onEvent(event(ScoreLangConstants.EVENT_INPUT_END));
+        }
+
+        Assert.assertTrue(dispatcher.flush(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Assert.assertEquals(Collections.nCopies(10, ScoreLangConstants.EVENT_STEP_START), eventTypes);
+        Assert.assertFalse(threads.contains(Thread.currentThread()));
+        Assert.assertEquals(20, dispatcher.getDeliveredEventsCount());
+        Assert.assertEquals(0, dispatcher.getDroppedEventsCount());
+    }
+
+    @Test(timeout = 10000)
+    public void testDeliversBatches() throws Exception {
+        dispatcher = new AsyncEventDispatcher(16, 8, OverflowPolicy.BLOCK);
+        BlockingListener blockingListener = new BlockingListener();
+        dispatcher.subscribe(blockingListener, Collections.singleton(ScoreLangConstants.EVENT_STEP_START));
+        final List<Integer> batchSizes = new ArrayList<>();
+        dispatcher.subscribe(new BatchScoreEventListener() {
+            @Override
+            public synchronized void onEvents(List<ScoreEvent> events) {
+                batchSizes.add(events.size());
+            }
+
+            @Override
+            public void onEvent(ScoreEvent event) {
+                Assert.fail("Batch listener must get the events in batches");
+            }
+        }, Collections.singleton(ScoreLangConstants.EVENT_INPUT_END));
+
+        // the first event holds the dispatch thread, so the next ones pile up and are delivered together
+        dispatcher.onEvent(event(ScoreLangConstants.EVENT_STEP_START));
+        blockingListener.started.await();
+        for (int i = 0; i < 8; i++) {
+            dispatcher.onEvent(event(ScoreLangConstants.EVENT_INPUT_END));
+        }
+        blockingListener.release.countDown();
+
+        Assert.assertTrue(dispatcher.flush(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Assert.assertEquals(Collections.singletonList(8), batchSizes);
+    }
+
+    @Test(timeout = 10000)
+    public void testDropDebugEventsWhenFull() throws Exception {
+        dispatcher = new AsyncEventDispatcher(4, 1, OverflowPolicy.DROP_DEBUG);
+        BlockingListener blockingListener = new BlockingListener();
+        dispatcher.subscribe(blockingListener, Collections.singleton(ScoreLangConstants.EVENT_STEP_START));
+
+        dispatcher.onEvent(event(ScoreLangConstants.EVENT_STEP_START));
+        blockingListener.started.await();
+        for (int i = 0; i < 10; i++) {
+            dispatcher.onEvent(event(ScoreLangConstants.EVENT_INPUT_END));
+        }
+
+        Assert.assertEquals(4, dispatcher.getQueueDepth());
+        Assert.assertEquals(4, dispatcher.getMaxQueueDepth());
+        Assert.assertEquals(6, dispatcher.getDroppedEventsCount());
+        blockingListener.release.countDown();
+        Assert.assertTrue(dispatcher.flush(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test(timeout = 10000)
+    public void testNonDebugEventsBlockWhenFull() throws Exception {
+        dispatcher = new AsyncEventDispatcher(4, 1, OverflowPolicy.DROP_DEBUG);
+        final BlockingListener blockingListener = new BlockingListener();
+        dispatcher.subscribe(blockingListener, Collections.singleton(ScoreLangConstants.EVENT_STEP_START));
+
+        dispatcher.onEvent(event(ScoreLangConstants.EVENT_STEP_START));
+        blockingListener.started.await();
+        for (int i = 0; i < 4; i++) {
+            dispatcher.onEvent(event(ScoreLangConstants.EVENT_INPUT_END));
+        }
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException ignore) {
+                }
+                blockingListener.release.countDown();
+            }
+        }).start();
+        dispatcher.onEvent(event(ScoreLangConstants.EVENT_EXECUTION_FINISHED));
+
+        Assert.assertEquals(1, dispatcher.getBlockedEventsCount());
+        Assert.assertEquals(0, dispatcher.getDroppedEventsCount());
+        Assert.assertTrue(dispatcher.flush(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test(timeout = 10000)
+    public void testSampleDebugEventsWhenHalfFull() throws Exception {
+        dispatcher = new AsyncEventDispatcher(16, 1, OverflowPolicy.SAMPLE, 2);
+        BlockingListener blockingListener = new BlockingListener();
+        dispatcher.subscribe(blockingListener, Collections.singleton(ScoreLangConstants.EVENT_STEP_START));
+
+        dispatcher.onEvent(event(ScoreLangConstants.EVENT_STEP_START));
+        blockingListener.started.await();
+        for (int i = 0; i < 12; i++) {
+            dispatcher.onEvent(event(ScoreLangConstants.EVENT_INPUT_END));
+        }
+
+        // 8 events fill half of the buffer, then every other one of the next 4 is kept
+        Assert.assertEquals(10, dispatcher.getQueueDepth());
+        Assert.assertEquals(2, dispatcher.getDroppedEventsCount());
+        blockingListener.release.countDown();
+        Assert.assertTrue(dispatcher.flush(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test(timeout = 10000)
+    public void testUnsubscribe() throws Exception {
+        dispatcher = new AsyncEventDispatcher();
+        ScoreEventListener listener = new ScoreEventListener() {
+            @Override
+            public void onEvent(ScoreEvent event) {
+            }
+        };
+        dispatcher.subscribe(listener, Collections.singleton(ScoreLangConstants.EVENT_STEP_START));
+        Assert.assertEquals(Collections.singleton(ScoreLangConstants.EVENT_STEP_START), dispatcher.getEventTypes());
+
+        dispatcher.unsubscribe(listener);
+        Assert.assertTrue(dispatcher.getEventTypes().isEmpty());
+    }
+
+    private static ScoreEvent event(String eventType) {
+        LanguageEventData data = new LanguageEventData();
+        data.setEventType(eventType);
+        return new ScoreEvent(eventType, data);
+    }
+
+    private static class BlockingListener implements ScoreEventListener {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void onEvent(ScoreEvent event) throws InterruptedException {
+            started.countDown();
+            release.await();
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.api.events;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+public class EventRingBufferTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacityNotPowerOfTwo() {
+        new EventRingBuffer<Integer>(6);
+    }
+
+    @Test
+    public void testOfferUntilFull() {
+        EventRingBuffer<Integer> buffer = new EventRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(buffer.offer(i));
+        }
+        Assert.assertFalse(buffer.offer(4));
+        Assert.assertEquals(4, buffer.size());
+    }
+
+    @Test
+    public void testDrainInOrderAndWrapAround() {
+        EventRingBuffer<Integer> buffer = new EventRingBuffer<>(4);
+        List<Integer> batch = new ArrayList<>();
+        for (int round = 0; round < 3; round++) {
+            buffer.offer(round * 10);
+            buffer.offer(round * 10 + 1);
+            buffer.offer(round * 10 + 2);
+            Assert.assertEquals(2, buffer.drainTo(batch, 2));
+            Assert.assertEquals(1, buffer.drainTo(batch, 2));
+            Assert.assertEquals(0, buffer.drainTo(batch, 2));
+        }
+        Assert.assertEquals(Arrays.asList(0, 1, 2, 10, 11, 12, 20, 21, 22), batch);
+        Assert.assertEquals(0, buffer.size());
+    }
+
+    @Test(timeout = 10000)
+    public void testConcurrentProducers() throws Exception {
+        final EventRingBuffer<Integer> buffer = new EventRingBuffer<>(64);
+        final int producersCount = 4;
+        final int elementsPerProducer = 10000;
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < producersCount; p++) {
+            final int producer = p;
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < elementsPerProducer; i++) {
+                        while (!buffer.offer(producer * elementsPerProducer + i)) {
+                            Thread.yield();
+                        }
+                    }
+                }
+            });
+            thread.start();
+            producers.add(thread);
+        }
+        start.countDown();
+
+        Set<Integer> consumed = new HashSet<>();
+        List<Integer> batch = new ArrayList<>();
+        while (consumed.size() < producersCount * elementsPerProducer) {
+            buffer.drainTo(batch, 16);
+            consumed.addAll(batch);
+            batch.clear();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        Assert.assertEquals(producersCount * elementsPerProducer, consumed.size());
+        Assert.assertEquals(0, buffer.size());
+    }
+
+}
@@ -0,0 +1,216 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.api.journal;
+
+import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.entities.bindings.values.SensitiveValue;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.lang.runtime.events.LanguageEventData;
+import io.cloudslang.score.events.EventConstants;
+import io.cloudslang.score.events.ScoreEvent;
+import io.cloudslang.score.events.ScoreEventListener;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ExecutionJournalTest {
+
+    private static final Long EXECUTION_ID = 123L;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        Map<String, Serializable> outputs = new LinkedHashMap<>();
+        outputs.put("message", "hello");
+        outputs.put("count", 3);
+        outputs.put("items", new ArrayList<>(Arrays.asList("a", "b")));
+        outputs.put("password", ValueFactory.create("secret", true));
+
+        File journal;
+        try (ExecutionJournalWriter writer = new ExecutionJournalWriter(folder.getRoot())) {
+            writer.onEvent(event(ScoreLangConstants.EVENT_OUTPUT_END, "0.1", 1000L,
+                    LanguageEventData.OUTPUTS, (Serializable) outputs));
+            writer.onEvent(scoreEvent(EventConstants.SCORE_FINISHED_EVENT));
+            journal = writer.getFile();
+        }
+
+        try (ExecutionJournalReader reader = new ExecutionJournalReader(journal)) {
+            JournalRecord record = reader.read();
+            Assert.assertEquals(ScoreLangConstants.EVENT_OUTPUT_END, record.getEventType());
+            Assert.assertEquals(EXECUTION_ID, record.getExecutionId());
+            Assert.assertEquals("0.1", record.getPath());
+            Assert.assertEquals("step_0.1", record.getStepName());
+            Assert.assertEquals(LanguageEventData.StepType.STEP, record.getStepType());
+            Assert.assertEquals(1000L, record.getTimeStamp());
+
+            Map<String, Serializable> expectedOutputs = new HashMap<>(outputs);
+            expectedOutputs.put("password", SensitiveValue.SENSITIVE_VALUE_MASK);
+            Assert.assertEquals(expectedOutputs, record.getPayload().get(LanguageEventData.OUTPUTS));
+
+            record = reader.read();
+            Assert.assertEquals(EventConstants.SCORE_FINISHED_EVENT, record.getEventType());
+            Assert.assertEquals(EXECUTION_ID, record.getExecutionId());
+            Assert.assertNull(record.getPath());
+
+            Assert.assertNull(reader.read());
+        }
+    }
+
+    @Test
+    public void testTruncatedRecordEndsJournal() throws Exception {
+        File journal;
+        try (ExecutionJournalWriter writer = new ExecutionJournalWriter(folder.getRoot())) {
+            writer.onEvent(event(ScoreLangConstants.EVENT_STEP_START, "0.1", 1000L));
+            writer.onEvent(event(ScoreLangConstants.EVENT_STEP_START, "0.2", 2000L));
+            journal = writer.getFile();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(journal, "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        try (ExecutionJournalReader reader = new ExecutionJournalReader(journal)) {
+            Assert.assertEquals("0.1", reader.read().getPath());
+            Assert.assertNull(reader.read());
+        }
+    }
+
+    @Test
+    public void testAppendAfterTruncatedRecord() throws Exception {
+        File journal;
+        try (ExecutionJournalWriter writer = new ExecutionJournalWriter(folder.getRoot())) {
+            writer.onEvent(event(ScoreLangConstants.EVENT_STEP_START, "0.1", 1000L));
+            writer.onEvent(event(ScoreLangConstants.EVENT_STEP_START, "0.2", 2000L));
+            journal = writer.getFile();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(journal, "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        try (ExecutionJournalWriter writer = new ExecutionJournalWriter(folder.getRoot())) {
+            writer.onEvent(event(ScoreLangConstants.EVENT_STEP_START, "0.3", 3000L));
+            Assert.assertEquals(journal, writer.getFile());
+        }
+
+        try (ExecutionJournalReader reader = new ExecutionJournalReader(journal)) {
+            Assert.assertEquals("0.1", reader.read().getPath());
+            Assert.assertEquals("0.3", reader.read().getPath());
+            Assert.assertNull(reader.read());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testNotAJournal() throws Exception {
+        File file = folder.newFile("not.journal");
+        new ExecutionJournalReader(file).close();
+    }
+
+    @Test
+    public void testRebuild() throws Exception {
+        Map<String, Serializable> inputs = new HashMap<>();
+        inputs.put("input1", "value1");
+        Map<String, Serializable> outputs = new HashMap<>();
+        outputs.put("output1", "value2");
+
+        File journal;
+        try (ExecutionJournalWriter writer = new ExecutionJournalWriter(folder.getRoot())) {
+            writer.onEvent(event(ScoreLangConstants.EVENT_INPUT_END, "0", 1000L,
+                    LanguageEventData.BOUND_INPUTS, (Serializable) inputs));
+            writer.onEvent(event(ScoreLangConstants.EVENT_STEP_START, "0.1", 1100L));
+            writer.onEvent(event(ScoreLangConstants.EVENT_ACTION_START, "0.1.0", 1200L));
+            writer.onEvent(event(ScoreLangConstants.EVENT_OUTPUT_END, "0.1", 1500L,
+                    LanguageEventData.OUTPUTS, (Serializable) outputs, LanguageEventData.RESULT, "SUCCESS"));
+            writer.onEvent(event(ScoreLangConstants.EVENT_STEP_START, "0.2", 1600L));
+            writer.onEvent(event(ScoreLangConstants.EVENT_EXECUTION_FINISHED, "0", 2000L,
+                    LanguageEventData.RESULT, "SUCCESS"));
+            journal = writer.getFile();
+        }
+
+        Map<Long, ReplayedExecution> executions = ExecutionJournalReplayer.rebuild(journal);
+        Assert.assertEquals(1, executions.size());
+        ReplayedExecution execution = executions.get(EXECUTION_ID);
+        Assert.assertTrue(execution.isFinished());
+        Assert.assertEquals("SUCCESS", execution.getResult());
+        Assert.assertEquals(6, execution.getEventsCount());
+        Assert.assertEquals(1000L, execution.getDuration());
+
+        Assert.assertEquals(1, execution.getRootSteps().size());
+        ReplayedStep root = execution.getRootSteps().get(0);
+        Assert.assertEquals(inputs, root.getInputs());
+        Assert.assertEquals(2, root.getChildren().size());
+
+        ReplayedStep step = execution.getStep("0.1");
+        Assert.assertEquals("step_0.1", step.getStepName());
+        Assert.assertEquals(outputs, step.getOutputs());
+        Assert.assertEquals("SUCCESS", step.getResult());
+        Assert.assertEquals(1100L, step.getStartTime());
+        Assert.assertEquals(400L, step.getDuration());
+        Assert.assertEquals(1, step.getChildren().size());
+    }
+
+    @Test
+    public void testReplay() throws Exception {
+        File journal;
+        try (ExecutionJournalWriter writer = new ExecutionJournalWriter(folder.getRoot())) {
+            writer.onEvent(event(ScoreLangConstants.EVENT_STEP_START, "0.1", 1000L));
+            writer.onEvent(event(ScoreLangConstants.EVENT_EXECUTION_FINISHED, "0", 2000L,
+                    LanguageEventData.RESULT, "SUCCESS"));
+            journal = writer.getFile();
+        }
+
+        final List<ScoreEvent> events = new ArrayList<>();
+        int eventsCount = ExecutionJournalReplayer.replay(journal, EXECUTION_ID, new ScoreEventListener() {
+            @Override
+            public void onEvent(ScoreEvent event) {
+                events.add(event);
+            }
+        });
+
+        Assert.assertEquals(2, eventsCount);
+        LanguageEventData data = (LanguageEventData) events.get(1).getData();
+        Assert.assertEquals(ScoreLangConstants.EVENT_EXECUTION_FINISHED, events.get(1).getEventType());
+        Assert.assertEquals("SUCCESS", data.getResult());
+        Assert.assertEquals(EXECUTION_ID, data.getExecutionId());
+        Assert.assertEquals(2000L, data.getTimeStamp().getTime());
+    }
+
+    private static ScoreEvent event(String type, String path, long timeStamp, Object... payload) {
+        LanguageEventData data = new LanguageEventData();
+        data.setEventType(type);
+        data.setPath(path);
+        data.setTimeStamp(timeStamp);
+        data.setExecutionId(EXECUTION_ID);
+        data.setStepName("step_" + path);
+        data.setStepType(LanguageEventData.StepType.STEP);
+        for (int i = 0; i < payload.length; i += 2) {
+            data.put((String) payload[i], (Serializable) payload[i + 1]);
+        }
+        return new ScoreEvent(type, data);
+    }
+
+    private static ScoreEvent scoreEvent(String type) {
+        HashMap<String, Serializable> data = new HashMap<>();
+        data.put(EventConstants.EXECUTION_ID_CONTEXT, EXECUTION_ID);
+        return new ScoreEvent(type, data);
+    }
+
+}
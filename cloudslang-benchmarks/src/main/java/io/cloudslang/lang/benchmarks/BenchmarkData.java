@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.benchmarks;
+
+import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The contexts and system properties the benchmarks run with, shaped like the ones of real flows: short string
+ * variables, a few of them sensitive. The sample files, flows, descriptors and properties, stand in for the long JSON,
+ * XML and log outputs of real flows.
+ */
+final class BenchmarkData {
+
+    static final String VARIABLE_PREFIX = "var_";
+    static final String PROPERTY_NAMESPACE = "io.cloudslang.benchmarks";
+
+    private BenchmarkData() {
+    }
+
+    static Map<String, Value> createContext(int size) {
+        Map<String, Value> context = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            context.put(VARIABLE_PREFIX + i, ValueFactory.create("value of variable " + i, i % 10 == 9));
+        }
+        return context;
+    }
+
+    static Set<SystemProperty> createSystemProperties(int size) {
+        Set<SystemProperty> systemProperties = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            systemProperties.add(new SystemProperty(PROPERTY_NAMESPACE, "property_" + i, "value of property " + i));
+        }
+        return systemProperties;
+    }
+
+    static String createString(int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; builder.length() < length; i++) {
+            builder.append("line ").append(i).append(" of the output\n");
+        }
+        builder.setLength(length);
+        return builder.toString();
+    }
+
+    /**
+     * @return the content of the first flow, descriptor and properties files found in the directory, sorted by path
+     */
+    static List<String> readSamples(File directory, int maxSamples) throws IOException {
+        List<File> files = new ArrayList<>();
+        collectSampleFiles(directory, files);
+        if (files.isEmpty()) {
+            throw new IllegalStateException("No samples found in: " + directory.getAbsolutePath());
+        }
+        Collections.sort(files);
+        List<String> samples = new ArrayList<>();
+        for (File file : files.subList(0, Math.min(files.size(), maxSamples))) {
+            samples.add(new String(Files.readAllBytes(file.toPath()), Charset.forName("UTF-8")));
+        }
+        return samples;
+    }
+
+    private static void collectSampleFiles(File directory, List<File> files) {
+        File[] children = directory.listFiles();
+        if (children == null) {
+            return;
+        }
+        for (File child : children) {
+            String name = child.getName();
+            if (child.isDirectory()) {
+                collectSampleFiles(child, files);
+            } else if (name.endsWith(".sl") || name.endsWith(".xml") || name.endsWith(".yaml") ||
+                    name.endsWith(".properties")) {
+                files.add(child);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.benchmarks;
+
+import io.cloudslang.dependency.api.services.DependencyService;
+import io.cloudslang.dependency.api.services.MavenConfig;
+import io.cloudslang.dependency.impl.services.DependencyServiceImpl;
+import io.cloudslang.dependency.impl.services.MavenConfigImpl;
+import io.cloudslang.lang.runtime.bindings.InputsBinding;
+import io.cloudslang.lang.runtime.bindings.OutputsBinding;
+import io.cloudslang.lang.runtime.bindings.scripts.ScriptEvaluator;
+import io.cloudslang.runtime.api.python.PythonRuntimeService;
+import io.cloudslang.runtime.impl.python.PythonExecutionCachedEngine;
+import io.cloudslang.runtime.impl.python.PythonExecutionEngine;
+import io.cloudslang.runtime.impl.python.PythonRuntimeServiceImpl;
+import org.python.core.Options;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The bindings and the script evaluator of the runtime with the python engine they run with, without the steps and
+ * the maven repository the full runtime configuration needs.
+ */
+@Configuration
+public class BenchmarkRuntimeConfig {
+
+    static {
+        Options.importSite = false;
+    }
+
+    public static AnnotationConfigApplicationContext createContext() {
+        return new AnnotationConfigApplicationContext(BenchmarkRuntimeConfig.class);
+    }
+
+    @Bean
+    public InputsBinding inputsBinding() {
+        return new InputsBinding();
+    }
+
+    @Bean
+    public OutputsBinding outputsBinding() {
+        return new OutputsBinding();
+    }
+
+    @Bean
+    public ScriptEvaluator scriptEvaluator() {
+        return new ScriptEvaluator();
+    }
+
+    @Bean
+    public DependencyService mavenRepositoryService() {
+        return new DependencyServiceImpl();
+    }
+
+    @Bean
+    public MavenConfig mavenConfig() {
+        return new MavenConfigImpl();
+    }
+
+    @Bean
+    public PythonRuntimeService pythonRuntimeService() {
+        return new PythonRuntimeServiceImpl();
+    }
+
+    @Bean
+    public PythonExecutionEngine pythonExecutionEngine() {
+        return new PythonExecutionCachedEngine();
+    }
+
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.benchmarks;
+
+import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.Input;
+import io.cloudslang.lang.entities.bindings.Output;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.lang.runtime.bindings.InputsBinding;
+import io.cloudslang.lang.runtime.bindings.OutputsBinding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The binding of the inputs of an executable and of the outputs of an operation, half of them literals and half
+ * expressions over the context, in a context of a hundred variables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class BindingsBenchmark {
+
+    private static final int CONTEXT_SIZE = 100;
+
+    @Param({"5", "50"})
+    public int bindings;
+
+    private AnnotationConfigApplicationContext applicationContext;
+    private InputsBinding inputsBinding;
+    private OutputsBinding outputsBinding;
+    private Map<String, Value> context;
+    private Map<String, Value> returnContext;
+    private Set<SystemProperty> systemProperties;
+    private List<Input> inputs;
+    private List<Output> outputs;
+
+    @Setup
+    public void setUp() {
+        applicationContext = BenchmarkRuntimeConfig.createContext();
+        inputsBinding = applicationContext.getBean(InputsBinding.class);
+        outputsBinding = applicationContext.getBean(OutputsBinding.class);
+        context = BenchmarkData.createContext(CONTEXT_SIZE);
+        systemProperties = BenchmarkData.createSystemProperties(CONTEXT_SIZE);
+
+        returnContext = new HashMap<>();
+        returnContext.put("returnResult", ValueFactory.create("operation output"));
+        returnContext.put("returnCode", ValueFactory.create("0"));
+
+        inputs = new ArrayList<>();
+        outputs = new ArrayList<>();
+        for (int i = 0; i < bindings; i++) {
+            String variable = BenchmarkData.VARIABLE_PREFIX + (i % CONTEXT_SIZE);
+            if (i % 2 == 0) {
+                inputs.add(new Input.InputBuilder("input_" + i, "literal " + i).build());
+                outputs.add(new Output("output_" + i, ValueFactory.create("${ returnResult }")));
+            } else {
+                inputs.add(new Input.InputBuilder("input_" + i, "${ " + variable + " }").build());
+                outputs.add(new Output("output_" + i, ValueFactory.create("${ " + variable + " + returnCode }")));
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Map<String, Value> bindInputs() {
+        return inputsBinding.bindInputs(inputs, context, systemProperties);
+    }
+
+    @Benchmark
+    public Map<String, Value> bindOutputs() {
+        return outputsBinding.bindOutputs(context, returnContext, systemProperties, outputs);
+    }
+
+}
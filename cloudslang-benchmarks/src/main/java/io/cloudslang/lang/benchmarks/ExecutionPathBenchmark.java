@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.benchmarks;
+
+import io.cloudslang.lang.runtime.env.ExecutionPath;
+import org.apache.commons.lang3.SerializationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The rendering of the execution path of nested flows, read for every event, alone and along with the moves and the
+ * events of a step calling an executable, and its copy into every branch of a parallel loop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ExecutionPathBenchmark {
+
+    private static final int EVENTS_PER_STEP = 4;
+
+    @Param({"3", "30"})
+    public int depth;
+
+    private ExecutionPath executionPath;
+
+    @Setup
+    public void setUp() {
+        executionPath = new ExecutionPath();
+        for (int i = 0; i < depth; i++) {
+            executionPath.forward();
+            executionPath.down();
+        }
+    }
+
+    @Benchmark
+    public String getCurrentPath() {
+        return executionPath.getCurrentPath();
+    }
+
+    @Benchmark
+    public int step() {
+        // the step and the executable it calls
+        executionPath.down();
+        int length = 0;
+        for (int event = 0; event < EVENTS_PER_STEP; event++) {
+            length += executionPath.getCurrentPath().length();
+        }
+        length += executionPath.getParentPath().length();
+        executionPath.up();
+        executionPath.forward();
+        return length + executionPath.getCurrentPath().length();
+    }
+
+    @Benchmark
+    public ExecutionPath cloneBranch() {
+        return SerializationUtils.clone(executionPath);
+    }
+
+}
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.benchmarks;
+
+import io.cloudslang.lang.compiler.SlangCompiler;
+import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.configuration.SlangCompilerSpringConfig;
+import io.cloudslang.lang.entities.CompilationArtifact;
+import io.cloudslang.lang.entities.serialization.CompilationArtifactSerializer;
+import org.apache.commons.lang3.SerializationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Getting the compilation artifact of a flow of a few steps and of one of many, each calling its own operation:
+ * by compiling it from its sources, by reading it java serialized and by reading it precompiled (.slc).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PrecompiledArtifactBenchmark {
+
+    private static final String NAMESPACE = "io.cloudslang.benchmarks";
+
+    @Param({"5", "100"})
+    public int steps;
+
+    private AnnotationConfigApplicationContext applicationContext;
+    private SlangCompiler slangCompiler;
+    private SlangSource flowSource;
+    private Set<SlangSource> operationsSources;
+    private byte[] serializedArtifact;
+    private byte[] precompiledArtifact;
+
+    @Setup
+    public void setUp() {
+        applicationContext = new AnnotationConfigApplicationContext(SlangCompilerSpringConfig.class);
+        slangCompiler = applicationContext.getBean(SlangCompiler.class);
+        flowSource = new SlangSource(createFlow(steps), "flow.sl");
+        operationsSources = new HashSet<>();
+        for (int step = 0; step < steps; step++) {
+            operationsSources.add(new SlangSource(createOperation(step), "operation_" + step + ".sl"));
+        }
+        CompilationArtifact compilationArtifact = compile();
+        serializedArtifact = SerializationUtils.serialize(toSerializable(compilationArtifact));
+        precompiledArtifact = CompilationArtifactSerializer.serialize(compilationArtifact);
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public CompilationArtifact compile() {
+        return slangCompiler.compile(flowSource, operationsSources);
+    }
+
+    @Benchmark
+    public Object deserializeJava() {
+        return SerializationUtils.deserialize(serializedArtifact);
+    }
+
+    @Benchmark
+    public CompilationArtifact deserializePrecompiled() {
+        return CompilationArtifactSerializer.deserialize(precompiledArtifact);
+    }
+
+    private String createFlow(int steps) {
+        StringBuilder flow = new StringBuilder()
+                .append("namespace: ").append(NAMESPACE).append("\n\n")
+                .append("flow:\n")
+                .append("  name: flow\n")
+                .append("  inputs:\n")
+                .append("    - input_0\n")
+                .append("  workflow:\n");
+        for (int step = 0; step < steps; step++) {
+            flow.append("    - step_").append(step).append(":\n")
+                    .append("        do:\n")
+                    .append("          operation_").append(step).append(":\n")
+                    .append("            - input_").append(step).append("\n")
+                    .append("        publish:\n")
+                    .append("          - input_").append(step + 1).append(": ${ output }\n")
+                    .append("        navigate:\n")
+                    .append("          - SUCCESS: ").append(step < steps - 1 ? "step_" + (step + 1) : "SUCCESS").append("\n")
+                    .append("          - FAILURE: FAILURE\n");
+        }
+        return flow.append("  outputs:\n")
+                .append("    - output: ${ input_").append(steps).append(" }\n")
+                .append("  results:\n")
+                .append("    - SUCCESS\n")
+                .append("    - FAILURE\n")
+                .toString();
+    }
+
+    private String createOperation(int step) {
+        return "namespace: " + NAMESPACE + "\n\n" +
+                "operation:\n" +
+                "  name: operation_" + step + "\n" +
+                "  inputs:\n" +
+                "    - input_" + step + "\n" +
+                "  python_action:\n" +
+                "    script: output = input_" + step + " + '" + step + "'\n" +
+                "  outputs:\n" +
+                "    - output\n" +
+                "  results:\n" +
+                "    - SUCCESS: ${ output is not None }\n" +
+                "    - FAILURE\n";
+    }
+
+    // compilation artifacts are not serializable themselves
+    private Serializable toSerializable(CompilationArtifact compilationArtifact) {
+        return new Serializable[]{
+                compilationArtifact.getExecutionPlan(),
+                (Serializable) compilationArtifact.getDependencies(),
+                (Serializable) compilationArtifact.getInputs(),
+                (Serializable) compilationArtifact.getSystemProperties()
+        };
+    }
+
+}
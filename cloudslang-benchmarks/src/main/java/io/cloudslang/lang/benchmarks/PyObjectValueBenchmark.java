@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.benchmarks;
+
+import io.cloudslang.lang.entities.bindings.values.PyObjectValue;
+import io.cloudslang.lang.entities.bindings.values.PyObjectValueProxyFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.python.core.Options;
+import org.python.core.PyObject;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The creation of the proxies the values are passed to the python expressions as, and the calls the expressions
+ * make on them, which go through the method handler of the proxy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PyObjectValueBenchmark {
+
+    private String string;
+    private ArrayList<Serializable> list;
+    private PyObjectValue stringValue;
+
+    @Setup
+    public void setUp() {
+        // as the runtime configuration does
+        Options.importSite = false;
+        string = BenchmarkData.createString(100);
+        list = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            list.add("item " + i);
+        }
+        stringValue = PyObjectValueProxyFactory.create(string, false);
+    }
+
+    @Benchmark
+    public PyObjectValue createString() {
+        return PyObjectValueProxyFactory.create(string, false);
+    }
+
+    @Benchmark
+    public PyObjectValue createList() {
+        return PyObjectValueProxyFactory.create(list, false);
+    }
+
+    @Benchmark
+    public PyObject callMethod() {
+        return ((PyObject) stringValue).__getitem__(0);
+    }
+
+    @Benchmark
+    public PyObject callMethodWithArgument() {
+        return ((PyObject) stringValue).__add__((PyObject) stringValue);
+    }
+
+    @Benchmark
+    public Serializable get() {
+        return stringValue.get();
+    }
+
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.benchmarks;
+
+import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueCompression;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.lang.runtime.env.Context;
+import io.cloudslang.lang.runtime.env.ParentFlowData;
+import io.cloudslang.lang.runtime.env.RunEnvironment;
+import io.cloudslang.lang.runtime.env.SystemPropertySnapshotResolver;
+import io.cloudslang.lang.runtime.env.SystemPropertySnapshots;
+import org.apache.commons.lang3.SerializationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The serialization of the run environment of a step calling an executable in a flow nested in two others, which
+ * happens on every step, and its round trip, which clones it for every branch of a parallel loop. The system
+ * properties are those of a single run, written with the run environment, or a registered snapshot with a resolver,
+ * written by its id. The contexts also hold the sample files of cloudslang-tests as long outputs, every fourth one
+ * sensitive, written as is or compressed. The serialized size of the run environment is printed when it is set up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class RunEnvironmentBenchmark {
+
+    private static final int NESTED_FLOWS = 3;
+    private static final int SYSTEM_PROPERTIES = 1000;
+    private static final int MAX_SAMPLES = 60;
+    private static final int COMPRESSION_THRESHOLD = 1024;
+
+    @Param({"10", "1000"})
+    public int contextSize;
+
+    @Param({"false", "true"})
+    public boolean snapshot;
+
+    @Param({"false", "true"})
+    public boolean compression;
+
+    @Param({"../cloudslang-tests/src/test/resources"})
+    public String samples;
+
+    private RunEnvironment runEnv;
+    private byte[] serializedRunEnv;
+
+    @Setup
+    public void setUp() throws IOException {
+        // sensitive values are compressed when created
+        ValueCompression.setThreshold(compression ? COMPRESSION_THRESHOLD : 0);
+        List<String> longOutputs = BenchmarkData.readSamples(new File(samples), MAX_SAMPLES);
+        final Set<SystemProperty> systemProperties = BenchmarkData.createSystemProperties(SYSTEM_PROPERTIES);
+        SystemPropertySnapshots.setResolver(!snapshot ? null : new SystemPropertySnapshotResolver() {
+            @Override
+            public Set<SystemProperty> resolve(String snapshotId) {
+                return systemProperties;
+            }
+        });
+        runEnv = new RunEnvironment(snapshot ? SystemPropertySnapshots.register(systemProperties) : systemProperties);
+        for (int flow = 0; flow < NESTED_FLOWS; flow++) {
+            runEnv.getExecutionPath().forward();
+            runEnv.getExecutionPath().down();
+            runEnv.getParentFlowStack().pushParentFlowData(new ParentFlowData((long) flow, (long) flow + 1));
+            Map<String, Value> context = BenchmarkData.createContext(contextSize);
+            for (int output = flow; output < longOutputs.size(); output += NESTED_FLOWS) {
+                context.put("output_" + output, ValueFactory.create(longOutputs.get(output), output % 4 == 3));
+            }
+            runEnv.getStack().pushContext(new Context(context));
+        }
+        runEnv.putNextStepPosition(5L);
+        runEnv.putCallArguments(BenchmarkData.createContext(Math.max(contextSize / 5, 1)));
+        serializedRunEnv = SerializationUtils.serialize(runEnv);
+        System.out.println("Serialized run environment: " + serializedRunEnv.length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return SerializationUtils.serialize(runEnv);
+    }
+
+    @Benchmark
+    public RunEnvironment deserialize() {
+        return SerializationUtils.deserialize(serializedRunEnv);
+    }
+
+    @Benchmark
+    public RunEnvironment roundTrip() {
+        return SerializationUtils.clone(runEnv);
+    }
+
+}
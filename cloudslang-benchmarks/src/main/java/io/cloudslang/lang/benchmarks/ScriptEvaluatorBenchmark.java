@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.benchmarks;
+
+import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.ScriptFunction;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.runtime.bindings.scripts.ScriptEvaluator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The evaluation of the expressions of inputs, outputs and results, in contexts of a few variables and of the
+ * hundreds a flow gathers, with and without the system properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ScriptEvaluatorBenchmark {
+
+    @Param({"10", "1000"})
+    public int contextSize;
+
+    private AnnotationConfigApplicationContext applicationContext;
+    private ScriptEvaluator scriptEvaluator;
+    private Map<String, Value> context;
+    private Set<SystemProperty> systemProperties;
+    private Set<ScriptFunction> getSystemProperty;
+
+    @Setup
+    public void setUp() {
+        applicationContext = BenchmarkRuntimeConfig.createContext();
+        scriptEvaluator = applicationContext.getBean(ScriptEvaluator.class);
+        context = BenchmarkData.createContext(contextSize);
+        systemProperties = BenchmarkData.createSystemProperties(contextSize);
+        getSystemProperty = new HashSet<>(Collections.singleton(ScriptFunction.GET_SYSTEM_PROPERTY));
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Value evalVariable() {
+        return scriptEvaluator.evalExpr("var_0", context, systemProperties);
+    }
+
+    @Benchmark
+    public Value evalExpression() {
+        return scriptEvaluator.evalExpr("var_0 + ' and ' + var_1 if var_2 else None", context, systemProperties);
+    }
+
+    @Benchmark
+    public Value evalSystemProperty() {
+        return scriptEvaluator.evalExpr("get_sp('" + BenchmarkData.PROPERTY_NAMESPACE + ".property_0')",
+                context, systemProperties, getSystemProperty);
+    }
+
+}
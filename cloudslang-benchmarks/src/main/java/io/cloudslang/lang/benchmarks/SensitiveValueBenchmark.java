@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.benchmarks;
+
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The reads of sensitive values, which deserialize their content on every call, for a password and for the long
+ * outputs of operations. Run with -jvmArgs -Dcslang.value.compression.threshold=[characters] to include the
+ * decompression of the long ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SensitiveValueBenchmark {
+
+    @Param({"16", "100000"})
+    public int length;
+
+    private String content;
+    private Value value;
+
+    @Setup
+    public void setUp() {
+        content = BenchmarkData.createString(length);
+        value = ValueFactory.create(content, true);
+    }
+
+    @Benchmark
+    public Serializable get() {
+        return value.get();
+    }
+
+    @Benchmark
+    public Value create() {
+        return ValueFactory.create(content, true);
+    }
+
+}
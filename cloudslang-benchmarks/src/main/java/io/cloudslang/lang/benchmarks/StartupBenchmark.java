@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.benchmarks;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The wall time of single CLI commands, each one in a new JVM started the same way the cslang launcher starts it,
+ * on the assembled distribution. Excluded from the default run, as it needs the distribution of cloudslang-cli:
+ * -Dbenchmarks.include=StartupBenchmark -Dbenchmarks.exclude=^$ runs it, and
+ * -Dbenchmarks.options="-p jvmOptions=..." compares JVM options such as GC or class data sharing settings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+    @Param({"version", "inputs", "run"})
+    public String command;
+
+    @Param({"../cloudslang-cli/target/cslang"})
+    public String distribution;
+
+    @Param({""})
+    public String jvmOptions;
+
+    private File distributionDir;
+    private File flowFile;
+    private List<String> processCommand;
+
+    @Setup
+    public void setUp() throws IOException {
+        distributionDir = new File(distribution).getAbsoluteFile();
+        if (!new File(distributionDir, "lib").isDirectory()) {
+            throw new IllegalStateException("The cslang distribution was not found in: " + distributionDir +
+                    ", assemble it with: mvn -pl cloudslang-cli -am package -DskipTests");
+        }
+        flowFile = File.createTempFile("startup_op", ".sl");
+        try (InputStream flow = getClass().getResourceAsStream("/startup/startup_op.sl")) {
+            Files.copy(flow, flowFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        processCommand = new ArrayList<>();
+        processCommand.add(new File(System.getProperty("java.home"), "bin" + File.separator + "java").getAbsolutePath());
+        if (StringUtils.isNotBlank(jvmOptions)) {
+            processCommand.addAll(Arrays.asList(jvmOptions.trim().split("\\s+")));
+        }
+        processCommand.add("-Dapp.home=" + distributionDir.getAbsolutePath());
+        processCommand.add("-Dpython.path=" + new File(distributionDir, "python-lib").getAbsolutePath());
+        // the same class path the launcher uses
+        processCommand.add("-cp");
+        processCommand.add(new File(distributionDir, "etc").getAbsolutePath() + File.pathSeparator +
+                new File(distributionDir, "lib").getAbsolutePath() + File.separator + "*");
+        processCommand.add("io.cloudslang.lang.cli.SlangBootstrap");
+        switch (command) {
+            case "version":
+                processCommand.addAll(Arrays.asList("cslang", "--version"));
+                break;
+            case "inputs":
+                processCommand.addAll(Arrays.asList("inputs", "--f", flowFile.getAbsolutePath()));
+                break;
+            case "run":
+                processCommand.addAll(Arrays.asList("run", "--f", flowFile.getAbsolutePath(), "--i", "name=cloudslang"));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown command: " + command);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(flowFile.toPath());
+    }
+
+    @Benchmark
+    public int execute() throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(processCommand)
+                .directory(distributionDir)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(new File(distributionDir, "startup-benchmark.log")))
+                .start();
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("Command: " + command + " failed with exit code: " + exitCode);
+        }
+        return exitCode;
+    }
+
+}
@@ -11,13 +11,18 @@
  */
 package io.cloudslang.lang.cli;
 
+import io.cloudslang.lang.cli.daemon.SlangDaemon;
+import io.cloudslang.lang.cli.daemon.SlangDaemonClient;
 import org.apache.commons.lang3.StringUtils;
+import org.fusesource.jansi.AnsiConsole;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.shell.Bootstrap;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Properties;
@@ -36,8 +41,14 @@ public class SlangBootstrap {
     private static final String USER_CONFIG_FILEPATH = USER_CONFIG_DIR + File.separator + USER_CONFIG_FILENAME;
     private static final String SUBSTITUTION_REGEX = "\\$\\{([^${}]+)\\}"; // ${system.property.name}
     private static final Pattern SUBSTITUTION_PATTERN = Pattern.compile(SUBSTITUTION_REGEX);
+    private static final String DAEMON_ARG = "--daemon";
+    private static final String CLIENT_ARG = "--client";
 
     public static void main(String[] args) throws IOException {
+        // the client sends the command to a running daemon, without loading the configuration or booting anything
+        if (args.length > 0 && CLIENT_ARG.equals(args[0])) {
+            System.exit(runClient(Arrays.copyOfRange(args, 1, args.length)));
+        }
         try {
             loadUserProperties();
         } catch (Exception ex) {
@@ -45,7 +56,42 @@ public class SlangBootstrap {
             ex.printStackTrace();
         }
         System.out.println("Loading..");
-        Bootstrap.main(args);
+        if (args.length > 0 && DAEMON_ARG.equals(args[0])) {
+            runDaemon(Arrays.copyOfRange(args, 1, args.length));
+        } else {
+            Bootstrap.main(args);
+        }
+    }
+
+    private static void runDaemon(String[] args) throws IOException {
+        Bootstrap bootstrap = new Bootstrap(args);
+        int port = Integer.getInteger(SlangDaemon.PORT_PROPERTY, 0);
+        final SlangDaemon daemon = new SlangDaemon(bootstrap.getJLineShellComponent(), port, SlangDaemon.getDefaultInfoFile());
+        Runtime.getRuntime().addShutdownHook(new Thread() {
+            @Override
+            public void run() {
+                daemon.stop();
+            }
+        });
+        System.out.println("CloudSlang daemon is listening on port: " + daemon.getPort() +
+                ". Run commands with: cslang " + CLIENT_ARG + " <command>, stop it with: cslang " + CLIENT_ARG + " --stop");
+        daemon.run();
+        ((ConfigurableApplicationContext) bootstrap.getApplicationContext()).close();
+        System.exit(0);
+    }
+
+    private static int runClient(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: cslang " + CLIENT_ARG + " <command>, e.g. cslang " + CLIENT_ARG + " run --f c:/.../your_flow.sl");
+            return 1;
+        }
+        try {
+            return new SlangDaemonClient(SlangDaemon.getDefaultInfoFile())
+                    .execute(SlangDaemonClient.toCommand(args), AnsiConsole.out(), AnsiConsole.err());
+        } catch (Exception ex) {
+            System.err.println(ex.getMessage());
+            return 1;
+        }
     }
 
     private static void loadUserProperties() throws IOException {
@@ -32,7 +32,6 @@ import org.springframework.shell.core.annotation.CliCommand;
 import org.springframework.shell.core.annotation.CliOption;
 import org.springframework.stereotype.Component;
 
-import javax.annotation.PostConstruct;
 import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
@@ -53,7 +52,7 @@ public class SlangCLI implements CommandMarker {
     public static final String FLOW_EXECUTION_TIME_TOOK = ", duration: ";
     private static final String CURRENTLY = "You are CURRENTLY running CloudSlang version: ";
     public static final String RUN_HELP = "triggers a CloudSlang flow";
-    public static final String FILE_HELP = "Path to filename. e.g. run --f c:/.../your_flow.sl";
+    public static final String FILE_HELP = "Path to filename, either a source or a precompiled (.slc) file. e.g. run --f c:/.../your_flow.sl";
     public static final String CLASSPATH_HELP = "Classpath, a directory comma separated list to flow dependencies, by default it will take flow file dir. " +
                                                 "e.g. run --f c:/.../your_flow.sl --i input1=root,input2=25 --cp c:/.../yaml";
     public static final String INPUTS_HELP = "inputs in a key=value comma separated list. " +
@@ -88,6 +87,8 @@ public class SlangCLI implements CommandMarker {
      */
     private Boolean triggerAsync = false;
 
+    private boolean eventHandlersRegistered;
+
     @CliCommand(value = "run", help = RUN_HELP)
     public String run(
             @CliOption(key = {"", "f", "file"}, mandatory = true, help = FILE_HELP) final File file,
@@ -112,6 +113,7 @@ public class SlangCLI implements CommandMarker {
         }
         boolean quiet = QUIET.equalsIgnoreCase(verbose);
         boolean debug = DEBUG.equalsIgnoreCase(verbose);
+        registerEventHandlers();
 
         Long id;
         if (!triggerAsync) {
@@ -201,8 +203,12 @@ public class SlangCLI implements CommandMarker {
         return "flow execution ASYNC execution was changed to : " + triggerAsync;
     }
 
-    @PostConstruct
-    private void registerEventHandlers() {
+    // registered on the first run rather than on startup, as subscribing loads the score engine
+    private synchronized void registerEventHandlers() {
+        if (eventHandlersRegistered) {
+            return;
+        }
+        eventHandlersRegistered = true;
         Set<String> slangHandlerTypes = new HashSet<>();
         slangHandlerTypes.add(ScoreLangConstants.EVENT_ACTION_START);
         slangHandlerTypes.add(ScoreLangConstants.EVENT_ACTION_END);
@@ -0,0 +1,271 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.cli.daemon;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.apache.log4j.Logger;
+import org.springframework.shell.core.CommandResult;
+import org.springframework.shell.core.JLineShellComponent;
+import org.springframework.shell.core.SimpleExecutionStrategy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Properties;
+import java.util.logging.Level;
+
+/**
+ * Keeps a booted CLI (Spring context, score engine and worker, Jython) alive and runs the commands sent by
+ * {@link SlangDaemonClient} on it, so that scripted invocations do not pay the startup time on every call.
+ * <p/>
+ * The daemon listens on the loopback interface only. Its port and a random token are written to an info file
+ * readable by its owner, and a request is only served when it carries that token.
+ * Requests are served one at a time: while a command runs, the standard output and error of the daemon are
+ * streamed back to the client, which exits with the status of the command.
+ * <p/>
+ * Protocol - request: token (UTF), command (UTF); response: any number of [{@link #OUT} or {@link #ERR},
+ * length (int), bytes] frames followed by [{@link #EXIT}, status (int)].
+ */
+public class SlangDaemon {
+
+    private static final Logger logger = Logger.getLogger(SlangDaemon.class);
+
+    public static final String PORT_PROPERTY = "cslang.daemon.port";
+    public static final String INFO_FILE_PROPERTY = "cslang.daemon.info.file";
+
+    static final String PORT_KEY = "port";
+    static final String TOKEN_KEY = "token";
+    static final String STOP_REQUEST = "--stop";
+
+    static final byte OUT = 1;
+    static final byte ERR = 2;
+    static final byte EXIT = 3;
+
+    static final int SUCCESS_STATUS = 0;
+    static final int FAILURE_STATUS = 1;
+
+    private static final int REQUEST_TIMEOUT = 10000;
+
+    private static final java.util.logging.Logger shellExecutionLogger =
+            java.util.logging.Logger.getLogger(SimpleExecutionStrategy.class.getName());
+
+    private final JLineShellComponent shell;
+    private final File infoFile;
+    private final ServerSocket serverSocket;
+    private final String token;
+
+    private volatile boolean stopped;
+
+    public SlangDaemon(JLineShellComponent shell, int port, File infoFile) throws IOException {
+        Validate.notNull(shell, "Shell can not be null");
+        Validate.notNull(infoFile, "Daemon info file can not be null");
+        this.shell = shell;
+        this.infoFile = infoFile;
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.token = new BigInteger(130, new SecureRandom()).toString(32);
+        // results and failures are reported to the client by the daemon, instead of being logged once more by the shell
+        java.util.logging.Logger.getLogger(shell.getClass().getName()).setLevel(Level.OFF);
+        shellExecutionLogger.setLevel(Level.OFF);
+        writeInfoFile();
+    }
+
+    /**
+     * @return the file the daemon info is written to, by default under the user home directory
+     */
+    public static File getDefaultInfoFile() {
+        String infoFilePath = System.getProperty(INFO_FILE_PROPERTY);
+        if (StringUtils.isNotEmpty(infoFilePath)) {
+            return new File(infoFilePath);
+        }
+        return new File(System.getProperty("user.home"), ".cslang" + File.separator + "daemon.properties");
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Serves requests until the daemon is stopped, either by {@link #stop()} or by a stop request of a client
+     */
+    public void run() {
+        logger.info("CloudSlang daemon is listening on port: " + getPort());
+        while (!stopped) {
+            try (Socket socket = serverSocket.accept()) {
+                serve(socket);
+            } catch (SocketException e) {
+                if (!stopped) {
+                    logger.error("CloudSlang daemon failed serving a request", e);
+                }
+            } catch (IOException e) {
+                logger.error("CloudSlang daemon failed serving a request", e);
+            }
+        }
+    }
+
+    public void stop() {
+        stopped = true;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            logger.error("Failed closing the CloudSlang daemon socket", e);
+        }
+        if (infoFile.exists() && !infoFile.delete()) {
+            logger.error("Failed deleting CloudSlang daemon info file: " + infoFile.getAbsolutePath());
+        }
+    }
+
+    private void serve(Socket socket) throws IOException {
+        socket.setSoTimeout(REQUEST_TIMEOUT);
+        DataInputStream request = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream response = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        String requestToken = request.readUTF();
+        String command = request.readUTF();
+        socket.setSoTimeout(0);
+
+        int status;
+        if (!MessageDigest.isEqual(token.getBytes("UTF-8"), requestToken.getBytes("UTF-8"))) {
+            writeFrame(response, ERR, "Request rejected: invalid CloudSlang daemon token");
+            status = FAILURE_STATUS;
+        } else if (STOP_REQUEST.equals(command)) {
+            writeFrame(response, OUT, "CloudSlang daemon stopped");
+            status = SUCCESS_STATUS;
+            stopped = true;
+        } else {
+            status = execute(command, response);
+        }
+        synchronized (response) {
+            response.writeByte(EXIT);
+            response.writeInt(status);
+            response.flush();
+        }
+        if (stopped) {
+            stop();
+        }
+    }
+
+    private int execute(String command, DataOutputStream response) throws IOException {
+        logger.info("CloudSlang daemon executing: " + command);
+        PrintStream clientOut = new PrintStream(new FrameOutputStream(response, OUT), true, "UTF-8");
+        PrintStream clientErr = new PrintStream(new FrameOutputStream(response, ERR), true, "UTF-8");
+        PrintStream originalOut = System.out;
+        PrintStream originalErr = System.err;
+        System.setOut(clientOut);
+        System.setErr(clientErr);
+        try {
+            CommandResult result = shell.executeCommand(command);
+            if (result.isSuccess()) {
+                printResult(result.getResult(), clientOut);
+                return SUCCESS_STATUS;
+            }
+            Throwable exception = result.getException();
+            clientErr.println(exception == null ? "Command failed: " + command : "Command failed: " + exception.getMessage());
+            return FAILURE_STATUS;
+        } finally {
+            System.setOut(originalOut);
+            System.setErr(originalErr);
+            clientOut.flush();
+            clientErr.flush();
+        }
+    }
+
+    private void printResult(Object result, PrintStream out) {
+        if (result instanceof Iterable) {
+            for (Object element : (Iterable<?>) result) {
+                out.println(element);
+            }
+        } else if (result != null && StringUtils.isNotEmpty(result.toString())) {
+            out.println(result);
+        }
+    }
+
+    private void writeInfoFile() throws IOException {
+        File infoDirectory = infoFile.getAbsoluteFile().getParentFile();
+        if (!infoDirectory.isDirectory() && !infoDirectory.mkdirs()) {
+            throw new IOException("Failed creating directory: " + infoDirectory.getAbsolutePath());
+        }
+        Properties info = new Properties();
+        info.setProperty(PORT_KEY, Integer.toString(getPort()));
+        info.setProperty(TOKEN_KEY, token);
+        try (OutputStream infoStream = new FileOutputStream(infoFile)) {
+            restrictToOwner(infoFile);
+            info.store(infoStream, "CloudSlang daemon");
+        }
+    }
+
+    private void restrictToOwner(File file) throws IOException {
+        try {
+            Files.setPosixFilePermissions(file.toPath(), PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            if (!(file.setReadable(false, false) && file.setReadable(true, true))) {
+                logger.warn("Failed restricting access to CloudSlang daemon info file: " + file.getAbsolutePath());
+            }
+        }
+    }
+
+    private static void writeFrame(DataOutputStream response, byte type, String message) throws IOException {
+        byte[] bytes = (message + System.lineSeparator()).getBytes("UTF-8");
+        synchronized (response) {
+            response.writeByte(type);
+            response.writeInt(bytes.length);
+            response.write(bytes);
+        }
+    }
+
+    /**
+     * Sends everything written to it as frames of the given type; workers print from their own threads
+     */
+    private static class FrameOutputStream extends OutputStream {
+
+        private final DataOutputStream response;
+        private final byte type;
+
+        FrameOutputStream(DataOutputStream response, byte type) {
+            this.response = response;
+            this.type = type;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            synchronized (response) {
+                response.writeByte(type);
+                response.writeInt(length);
+                response.write(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (response) {
+                response.flush();
+            }
+        }
+    }
+
+}
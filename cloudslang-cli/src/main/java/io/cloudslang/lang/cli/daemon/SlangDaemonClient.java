@@ -0,0 +1,120 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.cli.daemon;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.Properties;
+
+/**
+ * Sends a single command to a running {@link SlangDaemon} and copies its output, without booting the CLI itself
+ */
+public class SlangDaemonClient {
+
+    public static final String DAEMON_NOT_RUNNING_MSG = "CloudSlang daemon is not running. Start it with: cslang --daemon";
+    public static final String CONNECTION_LOST_MSG = "Connection to the CloudSlang daemon was lost";
+
+    private final File infoFile;
+
+    public SlangDaemonClient(File infoFile) {
+        Validate.notNull(infoFile, "Daemon info file can not be null");
+        this.infoFile = infoFile;
+    }
+
+    /**
+     * Joins command line arguments into a shell command, quoting the arguments that contain whitespace
+     * @param args the arguments, e.g. run --f "c:/my flows/flow.sl"
+     * @return the command
+     */
+    public static String toCommand(String[] args) {
+        StringBuilder command = new StringBuilder();
+        for (String arg : args) {
+            if (command.length() > 0) {
+                command.append(' ');
+            }
+            if (StringUtils.containsWhitespace(arg)) {
+                command.append('"').append(arg).append('"');
+            } else {
+                command.append(arg);
+            }
+        }
+        return command.toString();
+    }
+
+    /**
+     * @param command the command to run, e.g. run --f c:/.../your_flow.sl --i input1=root
+     * @param out where the standard output of the command is copied to
+     * @param err where the standard error of the command is copied to
+     * @return the exit status of the command: zero if it succeeded
+     */
+    public int execute(String command, OutputStream out, OutputStream err) throws IOException {
+        Validate.notEmpty(command, "Command can not be empty");
+        Properties info = loadInfo();
+        int port = Integer.parseInt(info.getProperty(SlangDaemon.PORT_KEY));
+        String token = info.getProperty(SlangDaemon.TOKEN_KEY);
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            DataOutputStream request = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            request.writeUTF(token);
+            request.writeUTF(command);
+            request.flush();
+
+            DataInputStream response = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            byte[] buffer = new byte[8192];
+            while (true) {
+                byte type = response.readByte();
+                if (type == SlangDaemon.EXIT) {
+                    out.flush();
+                    err.flush();
+                    return response.readInt();
+                }
+                OutputStream target = type == SlangDaemon.ERR ? err : out;
+                int length = response.readInt();
+                if (length > buffer.length) {
+                    buffer = new byte[length];
+                }
+                response.readFully(buffer, 0, length);
+                target.write(buffer, 0, length);
+            }
+        } catch (ConnectException e) {
+            throw new RuntimeException(DAEMON_NOT_RUNNING_MSG, e);
+        } catch (EOFException e) {
+            throw new RuntimeException(CONNECTION_LOST_MSG, e);
+        }
+    }
+
+    private Properties loadInfo() throws IOException {
+        if (!infoFile.isFile()) {
+            throw new RuntimeException(DAEMON_NOT_RUNNING_MSG);
+        }
+        Properties info = new Properties();
+        try (InputStream infoStream = new FileInputStream(infoFile)) {
+            info.load(infoStream);
+        }
+        if (info.getProperty(SlangDaemon.PORT_KEY) == null || info.getProperty(SlangDaemon.TOKEN_KEY) == null) {
+            throw new RuntimeException("CloudSlang daemon info file is invalid: " + infoFile.getAbsolutePath());
+        }
+        return info;
+    }
+
+}
@@ -12,6 +12,9 @@ import io.cloudslang.lang.entities.SystemProperty;
 import org.apache.commons.lang.StringUtils;
 import io.cloudslang.score.events.EventConstants;
 import io.cloudslang.score.events.ScoreEventListener;
+import io.cloudslang.lang.api.ExecutionEventSubscription;
+import io.cloudslang.lang.api.ExecutionResult;
+import io.cloudslang.lang.api.RunOptions;
 import io.cloudslang.lang.api.Slang;
 import io.cloudslang.lang.entities.CompilationArtifact;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +24,7 @@ import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 
 import static io.cloudslang.lang.entities.ScoreLangConstants.*;
 
@@ -51,7 +55,7 @@ public class ScoreServicesImpl implements ScoreServices{
     }
 
     /**
-     * This method will trigger the flow in a synchronize matter, meaning only one flow can run at a time.
+     * This method will trigger the flow and wait for it to finish, printing its events meanwhile.
      * @param compilationArtifact the artifact to trigger
      * @param inputs : flow inputs
      * @return executionId
@@ -76,18 +80,24 @@ public class ScoreServicesImpl implements ScoreServices{
 
         SyncTriggerEventListener scoreEventListener = new SyncTriggerEventListener();
         scoreEventListener.setIsDebugMode(debug);
-        slang.subscribeOnEvents(scoreEventListener, handlerTypes);
 
-        Long executionId = trigger(compilationArtifact, inputs, systemProperties);
-
-        while(!scoreEventListener.isFlowFinished()){
-            try {
-                Thread.sleep(200);
-            } catch (InterruptedException ignore) {}
+        ExecutionResult executionResult;
+        try {
+            executionResult = slang.runAsync(compilationArtifact, inputs, systemProperties, new RunOptions.RunOptionsBuilder()
+                    .withSubscription(new ExecutionEventSubscription(scoreEventListener, handlerTypes))
+                    .build()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the flow to finish", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
         }
-        slang.unSubscribeOnEvents(scoreEventListener);
 
+        // the listener formats the errors it got, but a quiet run does not pass it any
         String errorMessageFlowExecution = scoreEventListener.getErrorMessage();
+        if (StringUtils.isEmpty(errorMessageFlowExecution) && executionResult.isFailed()) {
+            errorMessageFlowExecution = executionResult.getErrorMessage();
+        }
         if (StringUtils.isNotEmpty(errorMessageFlowExecution)) {
 
             if (errorMessageFlowExecution.contains("supplied using a system property")) {
@@ -97,6 +107,6 @@ public class ScoreServicesImpl implements ScoreServices{
             throw new RuntimeException(errorMessageFlowExecution);
         }
 
-        return executionId;
+        return executionResult.getExecutionId();
     }
 }
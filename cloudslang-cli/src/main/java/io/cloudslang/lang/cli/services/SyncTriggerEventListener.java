@@ -22,11 +22,11 @@ import org.apache.commons.lang.StringUtils;
 import org.fusesource.jansi.Ansi;
 import org.fusesource.jansi.AnsiConsole;
 
+import java.io.PrintStream;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.fusesource.jansi.Ansi.ansi;
@@ -47,17 +47,12 @@ public class SyncTriggerEventListener implements ScoreEventListener{
     public static final String OPERATION_OUTPUTS = "Operation outputs:";
     public static final String FINISHED_WITH_RESULT = " finished with result: ";
 
-    private AtomicBoolean flowFinished = new AtomicBoolean(false);
     private AtomicReference<String> errorMessage = new AtomicReference<>("");
     private boolean isDebugMode = false;
 
     public void setIsDebugMode(boolean isDebugMode){
         this.isDebugMode = isDebugMode;
     }
-    public boolean isFlowFinished() {
-        return flowFinished.get();
-    }
-
     public String getErrorMessage() {
         return errorMessage.get();
     }
@@ -66,16 +61,12 @@ public class SyncTriggerEventListener implements ScoreEventListener{
     public synchronized void onEvent(ScoreEvent scoreEvent) throws InterruptedException {
         @SuppressWarnings("unchecked") Map<String,Serializable> data = (Map<String,Serializable>)scoreEvent.getData();
         switch (scoreEvent.getEventType()){
-            case EventConstants.SCORE_FINISHED_EVENT :
-                flowFinished.set(true);
-                break;
             case EventConstants.SCORE_ERROR_EVENT :
                 errorMessage.set(SCORE_ERROR_EVENT_MSG + data.get(EventConstants.SCORE_ERROR_LOG_MSG) + " , " +
                         data.get(EventConstants.SCORE_ERROR_MSG));
                 break;
             case EventConstants.SCORE_FAILURE_EVENT :
                 printWithColor(Ansi.Color.RED,FLOW_FINISHED_WITH_FAILURE_MSG);
-                flowFinished.set(true);
                 break;
             case ScoreLangConstants.SLANG_EXECUTION_EXCEPTION:
                 errorMessage.set(SLANG_STEP_ERROR_MSG + data.get(LanguageEventData.EXCEPTION));
@@ -119,7 +110,6 @@ public class SyncTriggerEventListener implements ScoreEventListener{
                 }
                 break;
             case ScoreLangConstants.EVENT_EXECUTION_FINISHED :
-                flowFinished.set(true);
                 printFinishEvent(data);
                 break;
         }
@@ -161,9 +151,15 @@ public class SyncTriggerEventListener implements ScoreEventListener{
     }
 
     private void printWithColor(Ansi.Color color, String msg){
-        AnsiConsole.out().print(ansi().fg(color).a(msg).newline());
-        AnsiConsole.out().print(ansi().fg(Ansi.Color.WHITE));
+        PrintStream out = getConsole();
+        out.print(ansi().fg(color).a(msg).newline());
+        out.print(ansi().fg(Ansi.Color.WHITE));
+
+    }
 
+    // the daemon redirects the standard output to its client, which renders the colors on its own console
+    private PrintStream getConsole() {
+        return System.out == AnsiConsole.system_out ? AnsiConsole.out() : System.out;
     }
 }
 
@@ -19,6 +19,12 @@ import java.util.Set;
 
 public interface CompilerHelper {
 
+	/**
+	 * Compiles a CloudSlang source, or loads a precompiled (.slc) compilation artifact
+	 * @param filePath path to the source or to the precompiled artifact
+	 * @param dependencies directories of the source dependencies; not used by precompiled artifacts
+	 * @return the compilation artifact
+	 */
 	CompilationArtifact compile(String filePath, List<String> dependencies) throws IOException;
 
 	/**
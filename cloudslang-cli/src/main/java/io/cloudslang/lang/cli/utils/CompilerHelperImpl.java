@@ -11,9 +11,15 @@ package io.cloudslang.lang.cli.utils;
 import ch.lambdaj.function.convert.Converter;
 import io.cloudslang.lang.api.Slang;
 import io.cloudslang.lang.compiler.Extension;
+import io.cloudslang.lang.compiler.SlangCompiler;
 import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.caching.CompilationCache;
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import io.cloudslang.lang.compiler.scorecompiler.ScoreCompiler;
 import io.cloudslang.lang.entities.CompilationArtifact;
+import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.serialization.CompilationArtifactSerializer;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.io.FileUtils;
@@ -48,14 +54,24 @@ public class CompilerHelperImpl implements CompilerHelper{
     @Autowired
     private Slang slang;
     @Autowired
+    private SlangCompiler slangCompiler;
+    @Autowired
+    private ScoreCompiler scoreCompiler;
+    @Autowired
     private Yaml yaml;
+    @Autowired
+    private CompilationCache compilationCache;
 
     @Override
 	public CompilationArtifact compile(String filePath, List<String> dependencies) throws IOException {
         Validate.notNull(filePath, "File path can not be null");
-        Set<SlangSource> depsSources = new HashSet<>();
         File file = new File(filePath);
         Validate.isTrue(file.isFile(), "File: " + file.getName() + " was not found");
+        if (CompilationArtifactSerializer.isCompilationArtifactFile(file)) {
+            // precompiled artifacts already contain all of their dependencies
+            logger.info("Loading precompiled file: " + file.getName());
+            return CompilationArtifactSerializer.deserialize(file);
+        }
         Extension.validateSlangFileExtension(file.getName());
 
         if (CollectionUtils.isEmpty(dependencies)) {
@@ -72,19 +88,97 @@ public class CompilerHelperImpl implements CompilerHelper{
                 dependencies.add(file.getParent());
             }
         }
-        for (String dependency:dependencies) {
-            Collection<File> dependenciesFiles = listSlangFiles(new File(dependency), true);
-            for (File dependencyCandidate : dependenciesFiles) {
-                SlangSource source = SlangSource.fromFile(dependencyCandidate);
-                depsSources.add(source);
-            }
+        List<File> dependenciesDirectories = new ArrayList<>();
+        for (String dependency : dependencies) {
+            File dependencyDirectory = new File(dependency);
+            Validate.isTrue(dependencyDirectory.isDirectory(), "Parameter '" + dependencyDirectory.getPath() + INVALID_DIRECTORY_ERROR_MESSAGE_SUFFIX);
+            dependenciesDirectories.add(dependencyDirectory);
         }
+        SlangSource source = SlangSource.fromFile(file);
+        Executable executable = preCompileQuietly(source);
+        Set<Executable> dependenciesExecutables = executable == null ? null :
+                resolveDependencies(executable, dependenciesDirectories);
         try {
-            return slang.compile(SlangSource.fromFile(file), depsSources);
+            if (dependenciesExecutables != null) {
+                // the executable and its dependencies were already modelled while resolving them
+                return scoreCompiler.compile(executable, dependenciesExecutables);
+            }
+            Set<SlangSource> depsSources = new HashSet<>();
+            for (File dependencyDirectory : dependenciesDirectories) {
+                for (File dependencyCandidate : listSlangFiles(dependencyDirectory, true)) {
+                    depsSources.add(SlangSource.fromFile(dependencyCandidate));
+                }
+            }
+            return slang.compile(source, depsSources);
         } catch (Exception e) {
             logger.error("Failed compilation for file : "+file.getName() + " ,Exception is : " + e.getMessage());
             throw e;
+        } finally {
+            if (compilationCache.isEnabled()) {
+                logger.info("Compilation cache statistics: " + compilationCache.getStatistics());
+            }
+        }
+    }
+
+    /**
+     * Collects only the executables the executable depends on, directly or transitively, instead of all the sources
+     * of the dependencies directories. The source of a dependency is looked up in the file matching its namespace
+     * and name under one of the dependencies directories.
+     * @return the models of all the dependencies, or null if one of them was not found in its expected file
+     */
+    private Set<Executable> resolveDependencies(Executable executable, List<File> dependenciesDirectories) {
+        Set<Executable> dependenciesExecutables = new HashSet<>();
+        Set<String> visitedDependencies = new HashSet<>();
+        visitedDependencies.add(executable.getId());
+        Deque<String> pendingDependencies = new ArrayDeque<>(executable.getExecutableDependencies());
+        while (!pendingDependencies.isEmpty()) {
+            String dependency = pendingDependencies.pop();
+            if (!visitedDependencies.add(dependency)) {
+                continue;
+            }
+            Executable dependencyExecutable = null;
+            for (File candidateFile : getCandidateFiles(dependency, dependenciesDirectories)) {
+                Executable candidateExecutable = preCompileQuietly(SlangSource.fromFile(candidateFile));
+                if (candidateExecutable != null && dependency.equals(candidateExecutable.getId())) {
+                    dependenciesExecutables.add(candidateExecutable);
+                    dependencyExecutable = candidateExecutable;
+                    break;
+                }
+            }
+            if (dependencyExecutable == null) {
+                logger.info("Dependency: " + dependency + " was not found in a file matching its namespace, " +
+                        "loading all the sources of the dependencies directories");
+                return null;
+            }
+            pendingDependencies.addAll(dependencyExecutable.getExecutableDependencies());
+        }
+        return dependenciesExecutables;
+    }
+
+    private Executable preCompileQuietly(SlangSource source) {
+        try {
+            return slangCompiler.preCompile(source);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private List<File> getCandidateFiles(String executableId, List<File> rootDirectories) {
+        int namespaceEnd = executableId.lastIndexOf(ScoreLangConstants.NAMESPACE_DELIMITER);
+        String namespacePath = executableId.substring(0, Math.max(namespaceEnd, 0))
+                .replace(ScoreLangConstants.NAMESPACE_DELIMITER, File.separator);
+        String name = executableId.substring(namespaceEnd + 1);
+        List<File> candidateFiles = new ArrayList<>();
+        for (File rootDirectory : rootDirectories) {
+            File namespaceDirectory = new File(rootDirectory, namespacePath);
+            for (String extension : Extension.getSlangFileExtensionValues()) {
+                File candidateFile = new File(namespaceDirectory, name + "." + extension);
+                if (candidateFile.isFile()) {
+                    candidateFiles.add(candidateFile);
+                }
+            }
         }
+        return candidateFiles;
     }
 
     @Override
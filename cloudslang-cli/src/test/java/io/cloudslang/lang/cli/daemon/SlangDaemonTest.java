@@ -0,0 +1,165 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.cli.daemon;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.shell.core.CommandResult;
+import org.springframework.shell.core.JLineShellComponent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Matchers.anyString;
+
+public class SlangDaemonTest {
+
+    private static final long DEFAULT_TIMEOUT = 10000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private JLineShellComponent shell;
+    private File infoFile;
+    private SlangDaemon daemon;
+    private Thread daemonThread;
+    private SlangDaemonClient client;
+
+    private ByteArrayOutputStream out;
+    private ByteArrayOutputStream err;
+
+    @Before
+    public void setUp() throws Exception {
+        shell = mock(JLineShellComponent.class);
+        infoFile = new File(folder.getRoot(), "daemon/daemon.properties");
+        daemon = new SlangDaemon(shell, 0, infoFile);
+        daemonThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                daemon.run();
+            }
+        });
+        daemonThread.start();
+        client = new SlangDaemonClient(infoFile);
+        out = new ByteArrayOutputStream();
+        err = new ByteArrayOutputStream();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        daemon.stop();
+        daemonThread.join(DEFAULT_TIMEOUT);
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testCommandResultIsSentToTheClient() throws Exception {
+        when(shell.executeCommand("inputs --f c:/flow.sl")).thenReturn(
+                new CommandResult(true, Arrays.asList("input1", "input2"), null));
+
+        int status = client.execute("inputs --f c:/flow.sl", out, err);
+
+        assertEquals(SlangDaemon.SUCCESS_STATUS, status);
+        assertEquals("input1" + System.lineSeparator() + "input2" + System.lineSeparator(), out.toString("UTF-8"));
+        assertEquals("", err.toString("UTF-8"));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testOutputPrintedWhileExecutingIsSentToTheClient() throws Exception {
+        when(shell.executeCommand(anyString())).thenAnswer(new Answer<CommandResult>() {
+            @Override
+            public CommandResult answer(InvocationOnMock invocation) throws Throwable {
+                System.out.println("step1");
+                System.err.println("warning");
+                return new CommandResult(true, "Execution id: 1", null);
+            }
+        });
+        PrintStream originalOut = System.out;
+
+        int status = client.execute("run --f c:/flow.sl", out, err);
+
+        assertEquals(SlangDaemon.SUCCESS_STATUS, status);
+        assertEquals("step1" + System.lineSeparator() + "Execution id: 1" + System.lineSeparator(), out.toString("UTF-8"));
+        assertEquals("warning" + System.lineSeparator(), err.toString("UTF-8"));
+        assertTrue(System.out == originalOut);
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testFailedCommandReturnsFailureStatus() throws Exception {
+        when(shell.executeCommand(anyString())).thenReturn(
+                new CommandResult(false, null, new IllegalArgumentException("Verbose argument is invalid.")));
+
+        int status = client.execute("run --f c:/flow.sl --v loud", out, err);
+
+        assertEquals(SlangDaemon.FAILURE_STATUS, status);
+        assertEquals("Command failed: Verbose argument is invalid." + System.lineSeparator(), err.toString("UTF-8"));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testRequestWithInvalidTokenIsRejected() throws Exception {
+        Properties info = new Properties();
+        info.setProperty(SlangDaemon.PORT_KEY, Integer.toString(daemon.getPort()));
+        info.setProperty(SlangDaemon.TOKEN_KEY, "invalid");
+        File invalidInfoFile = folder.newFile("invalid.properties");
+        try (OutputStream infoStream = new FileOutputStream(invalidInfoFile)) {
+            info.store(infoStream, null);
+        }
+
+        int status = new SlangDaemonClient(invalidInfoFile).execute("run --f c:/flow.sl", out, err);
+
+        assertEquals(SlangDaemon.FAILURE_STATUS, status);
+        verify(shell, never()).executeCommand(anyString());
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testStopRequestStopsTheDaemon() throws Exception {
+        int status = client.execute(SlangDaemon.STOP_REQUEST, out, err);
+        daemonThread.join();
+
+        assertEquals(SlangDaemon.SUCCESS_STATUS, status);
+        assertFalse(infoFile.exists());
+    }
+
+    @Test
+    public void testClientFailsWhenDaemonIsNotRunning() throws Exception {
+        daemon.stop();
+
+        exception.expect(RuntimeException.class);
+        exception.expectMessage(SlangDaemonClient.DAEMON_NOT_RUNNING_MSG);
+
+        client.execute("run --f c:/flow.sl", out, err);
+    }
+
+    @Test
+    public void testArgumentsWithWhitespaceAreQuoted() {
+        assertEquals("run --f \"c:/my flows/flow.sl\" --i input1=root",
+                SlangDaemonClient.toCommand(new String[]{"run", "--f", "c:/my flows/flow.sl", "--i", "input1=root"}));
+    }
+
+}
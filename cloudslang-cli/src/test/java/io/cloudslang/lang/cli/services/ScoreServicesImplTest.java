@@ -11,6 +11,8 @@
 package io.cloudslang.lang.cli.services;
 
 import com.google.common.collect.Sets;
+import io.cloudslang.lang.api.ExecutionResult;
+import io.cloudslang.lang.api.RunOptions;
 import io.cloudslang.lang.api.Slang;
 import io.cloudslang.lang.entities.CompilationArtifact;
 import io.cloudslang.lang.entities.ScoreLangConstants;
@@ -37,8 +39,12 @@ import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
 import static org.mockito.Matchers.anySetOf;
 import static org.mockito.Mockito.*;
 
@@ -51,7 +57,6 @@ import static org.mockito.Mockito.*;
 @ContextConfiguration(classes = ScoreServicesImplTest.Config.class)
 public class ScoreServicesImplTest {
 
-    private static final long DEFAULT_THREAD_SLEEP_TIME = 100;
     private static final long DEFAULT_TIMEOUT = 5000;
     private final static long DEFAULT_EXECUTION_ID = 1;
 
@@ -110,36 +115,18 @@ public class ScoreServicesImplTest {
                 new SystemProperty("ns", "b", "c")
         );
 
-        /* stubbing subscribeEvents method - mocking the behaviour of the EventBus
-         * After a specific amount of time a finish event needs to be sent
-         * to the ScoreEventListener.onEvent() method in order to finish the execution
-         * of the triggerSync method.
-         */
-        doAnswer(new Answer<Object>() {
-            public Object answer(InvocationOnMock invocation) {
-                final ScoreEventListener scoreEventListener = (ScoreEventListener) invocation.getArguments()[0];
-                Thread eventDispatcherThread = new Thread() {
-                    public void run(){
-                        try {
-                            Thread.sleep(DEFAULT_THREAD_SLEEP_TIME);
-                            ScoreEvent scoreFinishedEvent = new ScoreEvent(EventConstants.SCORE_FINISHED_EVENT, new HashMap<>());
-                            scoreEventListener.onEvent(scoreFinishedEvent);
-                        } catch (InterruptedException ignore) {}
-                    }
-                };
-                eventDispatcherThread.start();
-                return null;
-            }
-        }).when(slang).subscribeOnEvents(any(ScoreEventListener.class), anySetOf(String.class));
+        mockRunAsync(new ExecutionResult(DEFAULT_EXECUTION_ID, "SUCCESS", null, null),
+                new ScoreEvent(EventConstants.SCORE_FINISHED_EVENT, new HashMap<>()));
 
         // invoke method
         long executionID = scoreServicesImpl.triggerSync(compilationArtifact, inputs, systemProperties, false, false);
 
         // verify constraints
-        ArgumentCaptor<ScoreEventListener> scoreEventListenerArg = ArgumentCaptor.forClass(ScoreEventListener.class);
-        verify(slang).subscribeOnEvents(scoreEventListenerArg.capture(), anySetOf(String.class));
-        verify(slang).run(compilationArtifact, inputs, systemProperties);
-        verify(slang).unSubscribeOnEvents(scoreEventListenerArg.getValue());
+        ArgumentCaptor<RunOptions> runOptions = ArgumentCaptor.forClass(RunOptions.class);
+        verify(slang).runAsync(eq(compilationArtifact), eq(inputs), eq(systemProperties), runOptions.capture());
+        assertEquals(1, runOptions.getValue().getSubscriptions().size());
+        assertTrue(runOptions.getValue().getSubscriptions().get(0).getEventListener() instanceof SyncTriggerEventListener);
+        verify(slang, never()).subscribeOnEvents(any(ScoreEventListener.class), anySetOf(String.class));
         assertEquals("execution ID not as expected", DEFAULT_EXECUTION_ID, executionID);
     }
 
@@ -153,35 +140,8 @@ public class ScoreServicesImplTest {
                 new SystemProperty("ns", "b", "c")
         );
 
-        /* stubbing subscribeEvents method - mocking the behaviour of the EventBus
-         * After a specific amount of time a erroneous event followed by a finish event
-         * need to be sent to the ScoreEventListener.onEvent() method in order to
-         * test the error case of the triggerSync method.
-         */
-        doAnswer(new Answer<Object>() {
-            public Object answer(InvocationOnMock invocation) {
-                final ScoreEventListener scoreEventListener = (ScoreEventListener) invocation.getArguments()[0];
-                Thread eventDispatcherThread = new Thread() {
-                    public void run(){
-                        try {
-                            Thread.sleep(DEFAULT_THREAD_SLEEP_TIME);
-
-                            Map<String, Serializable> slangExecutionExceptionEventData = new HashMap<>();
-                            slangExecutionExceptionEventData.put(LanguageEventData.EXCEPTION, "exception message");
-                            ScoreEvent slangExecutionExceptionEvent = new ScoreEvent(
-                                    ScoreLangConstants.SLANG_EXECUTION_EXCEPTION,
-                                    (Serializable) slangExecutionExceptionEventData);
-                            ScoreEvent scoreFinishedEvent = new ScoreEvent(EventConstants.SCORE_FINISHED_EVENT, new HashMap<>());
-
-                            scoreEventListener.onEvent(slangExecutionExceptionEvent);
-                            scoreEventListener.onEvent(scoreFinishedEvent);
-                        } catch (InterruptedException ignore) {}
-                    }
-                };
-                eventDispatcherThread.start();
-                return null;
-            }
-        }).when(slang).subscribeOnEvents(any(ScoreEventListener.class), anySetOf(String.class));
+        mockRunAsync(new ExecutionResult(DEFAULT_EXECUTION_ID, null, null, "exception message"),
+                createSlangExecutionExceptionEvent("exception message"));
 
         exception.expect(RuntimeException.class);
         exception.expectMessage("exception message");
@@ -190,6 +150,25 @@ public class ScoreServicesImplTest {
         scoreServicesImpl.triggerSync(compilationArtifact, inputs, systemProperties, false, false);
     }
 
+    @Test (timeout = DEFAULT_TIMEOUT)
+    public void testTriggerSyncQuietException() throws Exception {
+        //prepare method args
+        CompilationArtifact compilationArtifact = mock(CompilationArtifact.class);
+        Map<String, Serializable > inputs = new HashMap<>();
+        Set<SystemProperty> systemProperties  = Sets.newHashSet(
+                new SystemProperty("ns", "b", "c")
+        );
+
+        // a quiet run does not pass the errors to the listener, they come with the result
+        mockRunAsync(new ExecutionResult(DEFAULT_EXECUTION_ID, null, null, "exception message"));
+
+        exception.expect(RuntimeException.class);
+        exception.expectMessage("exception message");
+
+        // invoke method
+        scoreServicesImpl.triggerSync(compilationArtifact, inputs, systemProperties, true, false);
+    }
+
     @Test (timeout = DEFAULT_TIMEOUT)
     public void testTriggerSyncSpException() throws Exception {
         //prepare method args
@@ -200,30 +179,9 @@ public class ScoreServicesImplTest {
                 new SystemProperty("ns", "b", "c")
         );
 
-        doAnswer(new Answer<Object>() {
-            public Object answer(InvocationOnMock invocation) {
-                final ScoreEventListener scoreEventListener = (ScoreEventListener) invocation.getArguments()[0];
-                Thread eventDispatcherThread = new Thread() {
-                    public void run(){
-                        try {
-                            Thread.sleep(DEFAULT_THREAD_SLEEP_TIME);
-
-                            Map<String, Serializable> slangExecutionExceptionEventData = new HashMap<>();
-                            slangExecutionExceptionEventData.put(LanguageEventData.EXCEPTION, "This value can also be supplied using a system property");
-                            ScoreEvent slangExecutionExceptionEvent = new ScoreEvent(
-                                    ScoreLangConstants.SLANG_EXECUTION_EXCEPTION,
-                                    (Serializable) slangExecutionExceptionEventData);
-                            ScoreEvent scoreFinishedEvent = new ScoreEvent(EventConstants.SCORE_FINISHED_EVENT, new HashMap<>());
-
-                            scoreEventListener.onEvent(slangExecutionExceptionEvent);
-                            scoreEventListener.onEvent(scoreFinishedEvent);
-                        } catch (InterruptedException ignore) {}
-                    }
-                };
-                eventDispatcherThread.start();
-                return null;
-            }
-        }).when(slang).subscribeOnEvents(any(ScoreEventListener.class), anySetOf(String.class));
+        String spErrorMessage = "This value can also be supplied using a system property";
+        mockRunAsync(new ExecutionResult(DEFAULT_EXECUTION_ID, null, null, spErrorMessage),
+                createSlangExecutionExceptionEvent(spErrorMessage));
 
         exception.expect(RuntimeException.class);
         exception.expectMessage("This value can also be supplied using a system property");
@@ -234,6 +192,36 @@ public class ScoreServicesImplTest {
         scoreServicesImpl.triggerSync(compilationArtifact, inputs, systemProperties, false, false);
     }
 
+    private ScoreEvent createSlangExecutionExceptionEvent(String exceptionMessage) {
+        Map<String, Serializable> slangExecutionExceptionEventData = new HashMap<>();
+        slangExecutionExceptionEventData.put(LanguageEventData.EXCEPTION, exceptionMessage);
+        return new ScoreEvent(ScoreLangConstants.SLANG_EXECUTION_EXCEPTION, (Serializable) slangExecutionExceptionEventData);
+    }
+
+    /**
+     * stubbing runAsync - mocking the behaviour of Slang, which passes the events of the execution
+     * to its listener and then completes the result
+     */
+    private void mockRunAsync(final ExecutionResult executionResult, final ScoreEvent... events) {
+        doAnswer(new Answer<Future<ExecutionResult>>() {
+            public Future<ExecutionResult> answer(InvocationOnMock invocation) throws Throwable {
+                RunOptions runOptions = (RunOptions) invocation.getArguments()[3];
+                ScoreEventListener scoreEventListener = runOptions.getSubscriptions().get(0).getEventListener();
+                for (ScoreEvent event : events) {
+                    scoreEventListener.onEvent(event);
+                }
+                FutureTask<ExecutionResult> future = new FutureTask<>(new Callable<ExecutionResult>() {
+                    public ExecutionResult call() {
+                        return executionResult;
+                    }
+                });
+                future.run();
+                return future;
+            }
+        }).when(slang).runAsync(any(CompilationArtifact.class), anyMapOf(String.class, Serializable.class),
+                anySetOf(SystemProperty.class), any(RunOptions.class));
+    }
+
     @Configuration
     static class Config {
 
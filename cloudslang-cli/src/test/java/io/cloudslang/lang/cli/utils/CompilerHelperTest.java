@@ -12,8 +12,16 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 
 import io.cloudslang.lang.api.Slang;
+import io.cloudslang.lang.compiler.SlangCompiler;
 import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.caching.CompilationCache;
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import io.cloudslang.lang.compiler.scorecompiler.ScoreCompiler;
+import io.cloudslang.lang.entities.CompilationArtifact;
 import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.Input;
+import io.cloudslang.lang.entities.serialization.CompilationArtifactSerializer;
+import io.cloudslang.score.api.ExecutionPlan;
 import java.io.File;
 import org.junit.Assert;
 import org.junit.Before;
@@ -21,6 +29,7 @@ import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
@@ -49,8 +58,14 @@ public class CompilerHelperTest {
     private CompilerHelper compilerHelper;
     @Autowired
     private Slang slang;
+    @Autowired
+    private SlangCompiler slangCompiler;
+    @Autowired
+    private ScoreCompiler scoreCompiler;
     @Rule
     public ExpectedException expectedException = ExpectedException.none();
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
 
     @Test(expected = IllegalArgumentException.class)
     public void testFilePathWrong() throws Exception {
@@ -65,6 +80,8 @@ public class CompilerHelperTest {
     @Before
     public void resetMocks() {
         Mockito.reset(slang);
+        Mockito.reset(slangCompiler);
+        Mockito.reset(scoreCompiler);
     }
 
     @Test
@@ -76,6 +93,100 @@ public class CompilerHelperTest {
 
     }
 
+    @Test
+    public void testPrecompiledFileIsLoadedWithoutCompiling() throws Exception {
+        ExecutionPlan executionPlan = new ExecutionPlan();
+        executionPlan.setFlowUuid("io.cloudslang.flow");
+        executionPlan.setName("flow");
+        CompilationArtifact compilationArtifact = new CompilationArtifact(executionPlan, new HashMap<String, ExecutionPlan>(),
+                Lists.newArrayList(new Input.InputBuilder("input1", "value").build()), new HashSet<String>());
+        File precompiledFile = folder.newFile("flow." + CompilationArtifactSerializer.FILE_EXTENSION);
+        CompilationArtifactSerializer.serialize(compilationArtifact, precompiledFile);
+
+        CompilationArtifact loadedArtifact = compilerHelper.compile(precompiledFile.getAbsolutePath(), null);
+
+        Assert.assertEquals(compilationArtifact, loadedArtifact);
+        Mockito.verifyZeroInteractions(slang);
+    }
+
+    @Test
+    public void testOnlyImportedDependenciesAreLoaded() throws Exception {
+        URI contentRoot = getClass().getResource("/namespaced_content/").toURI();
+        Executable parentFlow = mockNamespacedExecutable("flows", "parent_flow", "user.flows.child_flow");
+        Executable childFlow = mockNamespacedExecutable("flows", "child_flow", "user.ops.test_op");
+        Executable operation = mockNamespacedExecutable("ops", "test_op");
+
+        compilerHelper.compile(getNamespacedFilePath("flows", "parent_flow"), Lists.newArrayList(contentRoot.getPath()));
+
+        Mockito.verify(scoreCompiler).compile(parentFlow, Sets.newHashSet(childFlow, operation));
+        Mockito.verifyZeroInteractions(slang);
+    }
+
+    @Test
+    public void testEachDependencyIsPreCompiledOnce() throws Exception {
+        URI contentRoot = getClass().getResource("/namespaced_content/").toURI();
+        mockNamespacedExecutable("flows", "parent_flow", "user.flows.child_flow", "user.ops.test_op");
+        mockNamespacedExecutable("flows", "child_flow", "user.ops.test_op");
+        mockNamespacedExecutable("ops", "test_op");
+
+        compilerHelper.compile(getNamespacedFilePath("flows", "parent_flow"), Lists.newArrayList(contentRoot.getPath()));
+
+        Mockito.verify(slangCompiler).preCompile(getNamespacedSource("flows", "parent_flow"));
+        Mockito.verify(slangCompiler).preCompile(getNamespacedSource("flows", "child_flow"));
+        Mockito.verify(slangCompiler).preCompile(getNamespacedSource("ops", "test_op"));
+        Mockito.verifyNoMoreInteractions(slangCompiler);
+    }
+
+    @Test
+    public void testImportedDependenciesAreNotResolvedOutsideTheDependenciesDirectories() throws Exception {
+        URI flowsDirectory = getClass().getResource("/namespaced_content/user/flows/").toURI();
+        mockNamespacedExecutable("flows", "parent_flow", "user.flows.child_flow");
+        mockNamespacedExecutable("flows", "child_flow", "user.ops.test_op");
+        mockNamespacedExecutable("ops", "test_op");
+
+        compilerHelper.compile(getNamespacedFilePath("flows", "parent_flow"), Lists.newArrayList(flowsDirectory.getPath()));
+
+        SlangSource parentFlow = getNamespacedSource("flows", "parent_flow");
+        Mockito.verify(slang).compile(parentFlow, Sets.newHashSet(parentFlow, getNamespacedSource("flows", "child_flow")));
+        Mockito.verify(slangCompiler, never()).preCompile(getNamespacedSource("ops", "test_op"));
+        Mockito.verifyZeroInteractions(scoreCompiler);
+    }
+
+    @Test
+    public void testAllDependenciesAreLoadedWhenAnImportIsNotFound() throws Exception {
+        URI contentRoot = getClass().getResource("/namespaced_content/").toURI();
+        mockNamespacedExecutable("flows", "parent_flow", "user.flows.child_flow");
+        mockNamespacedExecutable("flows", "child_flow", "user.ops.missing_op");
+
+        compilerHelper.compile(getNamespacedFilePath("flows", "parent_flow"), Lists.newArrayList(contentRoot.getPath()));
+
+        SlangSource parentFlow = getNamespacedSource("flows", "parent_flow");
+        Mockito.verify(slang).compile(parentFlow, Sets.newHashSet(
+                parentFlow,
+                getNamespacedSource("flows", "child_flow"),
+                getNamespacedSource("ops", "test_op"),
+                getNamespacedSource("ops", "unused_op")
+        ));
+    }
+
+    private String getNamespacedFilePath(String namespace, String name) throws Exception {
+        return new File(getClass().getResource("/namespaced_content/user/" + namespace + "/" + name + ".sl").toURI()).getPath();
+    }
+
+    private SlangSource getNamespacedSource(String namespace, String name) throws Exception {
+        return SlangSource.fromFile(new File(getNamespacedFilePath(namespace, name)));
+    }
+
+    private Executable mockNamespacedExecutable(String namespace, String name, String... dependencies) throws Exception {
+        Executable executable = mock(Executable.class);
+        when(executable.getNamespace()).thenReturn("user." + namespace);
+        when(executable.getName()).thenReturn(name);
+        when(executable.getId()).thenReturn("user." + namespace + "." + name);
+        when(executable.getExecutableDependencies()).thenReturn(Sets.newHashSet(dependencies));
+        when(slangCompiler.preCompile(getNamespacedSource(namespace, name))).thenReturn(executable);
+        return executable;
+    }
+
     @Test
 	public void testDependenciesFileParentFolder() throws Exception {
         URI flowPath = getClass().getResource("/executables/dir3/flow.sl").toURI();
@@ -248,6 +359,21 @@ public class CompilerHelperTest {
             return mock(Slang.class);
         }
 
+        @Bean
+        public SlangCompiler slangCompiler() {
+            return mock(SlangCompiler.class);
+        }
+
+        @Bean
+        public ScoreCompiler scoreCompiler() {
+            return mock(ScoreCompiler.class);
+        }
+
+        @Bean
+        public CompilationCache compilationCache() {
+            return mock(CompilationCache.class);
+        }
+
         @Bean
         public CompilerHelper compilerHelper() {
             return new CompilerHelperImpl();
@@ -8,6 +8,7 @@
  */
 package io.cloudslang.lang.compiler;
 
+import io.cloudslang.lang.compiler.caching.CompilationCache;
 import io.cloudslang.lang.compiler.modeller.SlangModeller;
 import io.cloudslang.lang.compiler.modeller.model.Executable;
 import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
@@ -49,6 +50,9 @@ public class SlangCompilerImpl implements SlangCompiler {
     @Autowired
     private ScoreCompiler scoreCompiler;
 
+    @Autowired
+    private CompilationCache compilationCache;
+
     @Override
     public CompilationArtifact compile(SlangSource source, Set<SlangSource> path) {
 
@@ -78,6 +82,12 @@ public class SlangCompilerImpl implements SlangCompiler {
     public ExecutableModellingResult preCompileSource(SlangSource source) {
         Validate.notNull(source, "You must supply a source to compile");
 
+        //an identical source may have already been modelled by a previous compilation
+        Executable cachedExecutable = compilationCache.getExecutable(source);
+        if (cachedExecutable != null) {
+            return new ExecutableModellingResult(cachedExecutable, new ArrayList<RuntimeException>());
+        }
+
         //first thing we parse the yaml file into java maps
         ParsedSlang parsedSlang = yamlParser.parse(source);
 
@@ -86,6 +96,9 @@ public class SlangCompilerImpl implements SlangCompiler {
         if (result.getExecutable().getNamespace() == null || result.getExecutable().getNamespace().length() == 0) {
             result.getErrors().add(new IllegalArgumentException("Operation/Flow " + result.getExecutable().getName() + " must have a namespace"));
         }
+        if (result.getErrors().isEmpty()) {
+            compilationCache.putExecutable(source, result.getExecutable());
+        }
         return result;
     }
 
@@ -0,0 +1,66 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.compiler.caching;
+
+import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import io.cloudslang.score.api.ExecutionPlan;
+
+import java.io.File;
+import java.util.Collection;
+
+/**
+ * On-disk cache of compilation results, shared between compiler runs.
+ * Models are keyed by a hash of their source text and of the compiler version, execution plans by the
+ * key of the model they were created from, and validations by the keys of the model and all of its dependencies,
+ * so changing a source invalidates only its own entries and the validations of the executables depending on it.
+ * While no cache directory is set the cache is disabled: lookups miss and nothing is stored.
+ */
+public interface CompilationCache {
+
+    String CACHE_DIRECTORY_PROPERTY = "cslang.compilation.cache.dir";
+
+    /**
+     * @param cacheDirectory the directory holding the cache entries, created if missing; null disables the cache
+     */
+    void setCacheDirectory(File cacheDirectory);
+
+    boolean isEnabled();
+
+    /**
+     * @param source the source to look up
+     * @return the model created from an identical source, or null if there is none
+     */
+    Executable getExecutable(SlangSource source);
+
+    /**
+     * Stores a valid model of the given source
+     */
+    void putExecutable(SlangSource source, Executable executable);
+
+    /**
+     * @param executable a model created or loaded by this cache
+     * @return the execution plan created from an identical model, or null if there is none
+     */
+    ExecutionPlan getExecutionPlan(Executable executable);
+
+    void putExecutionPlan(Executable executable, ExecutionPlan executionPlan);
+
+    /**
+     * @param executable a model created or loaded by this cache
+     * @param dependencies all the dependencies the model was validated with
+     * @return whether identical models were already validated successfully
+     */
+    boolean isValidated(Executable executable, Collection<Executable> dependencies);
+
+    void putValidated(Executable executable, Collection<Executable> dependencies);
+
+    CompilationCacheStatistics getStatistics();
+
+}
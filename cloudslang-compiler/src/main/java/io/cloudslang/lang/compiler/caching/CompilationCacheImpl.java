@@ -0,0 +1,230 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.compiler.caching;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
+import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import io.cloudslang.score.api.ExecutionPlan;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.log4j.Logger;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.WeakHashMap;
+
+@Component
+public class CompilationCacheImpl implements CompilationCache {
+
+    private static final Logger logger = Logger.getLogger(CompilationCacheImpl.class);
+
+    private static final String VERSION_RESOURCE = "cloudslang-compiler.properties";
+    private static final String VERSION_KEY = "compiler.version";
+    private static final String MODELS_DIR = "models";
+    private static final String EXECUTION_PLANS_DIR = "plans";
+    private static final String VALIDATIONS_DIR = "validations";
+    private static final String ENTRY_SUFFIX = ".ser";
+
+    private volatile File cacheDirectory;
+
+    private String compilerVersion;
+
+    // the keys of the sources the models were created from; models without a key are never cached
+    private final Map<Executable, String> modelKeys = Collections.synchronizedMap(new WeakHashMap<Executable, String>());
+
+    private final CompilationCacheStatistics statistics = new CompilationCacheStatistics();
+
+    @PostConstruct
+    public void init() {
+        compilerVersion = loadCompilerVersion();
+        String cacheDirectoryPath = System.getProperty(CACHE_DIRECTORY_PROPERTY);
+        if (StringUtils.isNotBlank(cacheDirectoryPath)) {
+            setCacheDirectory(new File(cacheDirectoryPath));
+        }
+    }
+
+    @Override
+    public void setCacheDirectory(File cacheDirectory) {
+        if (cacheDirectory != null) {
+            try {
+                FileUtils.forceMkdir(new File(cacheDirectory, MODELS_DIR));
+                FileUtils.forceMkdir(new File(cacheDirectory, EXECUTION_PLANS_DIR));
+                FileUtils.forceMkdir(new File(cacheDirectory, VALIDATIONS_DIR));
+            } catch (IOException e) {
+                throw new RuntimeException("Failed creating compilation cache directory: \'" +
+                        cacheDirectory.getAbsolutePath() + "\'. " + e.getMessage(), e);
+            }
+            logger.info("Compilation cache directory is: " + cacheDirectory.getAbsolutePath());
+        }
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return cacheDirectory != null;
+    }
+
+    @Override
+    public Executable getExecutable(SlangSource source) {
+        if (!isEnabled()) {
+            return null;
+        }
+        String key = getSourceKey(source);
+        Executable executable = readEntry(getEntryFile(MODELS_DIR, key), Executable.class);
+        statistics.recordModel(executable != null);
+        if (executable != null) {
+            modelKeys.put(executable, key);
+        }
+        return executable;
+    }
+
+    @Override
+    public void putExecutable(SlangSource source, Executable executable) {
+        if (!isEnabled()) {
+            return;
+        }
+        String key = getSourceKey(source);
+        modelKeys.put(executable, key);
+        writeEntry(getEntryFile(MODELS_DIR, key), executable);
+    }
+
+    @Override
+    public ExecutionPlan getExecutionPlan(Executable executable) {
+        String key = modelKeys.get(executable);
+        if (!isEnabled() || key == null) {
+            return null;
+        }
+        ExecutionPlan executionPlan = readEntry(getEntryFile(EXECUTION_PLANS_DIR, key), ExecutionPlan.class);
+        statistics.recordExecutionPlan(executionPlan != null);
+        return executionPlan;
+    }
+
+    @Override
+    public void putExecutionPlan(Executable executable, ExecutionPlan executionPlan) {
+        String key = modelKeys.get(executable);
+        if (isEnabled() && key != null) {
+            writeEntry(getEntryFile(EXECUTION_PLANS_DIR, key), executionPlan);
+        }
+    }
+
+    @Override
+    public boolean isValidated(Executable executable, Collection<Executable> dependencies) {
+        String key = getValidationKey(executable, dependencies);
+        if (!isEnabled() || key == null) {
+            return false;
+        }
+        boolean validated = getEntryFile(VALIDATIONS_DIR, key).isFile();
+        statistics.recordValidation(validated);
+        return validated;
+    }
+
+    @Override
+    public void putValidated(Executable executable, Collection<Executable> dependencies) {
+        String key = getValidationKey(executable, dependencies);
+        if (isEnabled() && key != null) {
+            writeEntry(getEntryFile(VALIDATIONS_DIR, key), Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public CompilationCacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    private String getSourceKey(SlangSource source) {
+        return hash(compilerVersion + "\n" + source.getSource());
+    }
+
+    private String getValidationKey(Executable executable, Collection<Executable> dependencies) {
+        String executableKey = modelKeys.get(executable);
+        if (executableKey == null) {
+            return null;
+        }
+        List<String> dependenciesKeys = new ArrayList<>();
+        for (Executable dependency : dependencies) {
+            String dependencyKey = modelKeys.get(dependency);
+            if (dependencyKey == null) {
+                return null;
+            }
+            dependenciesKeys.add(dependency.getId() + "=" + dependencyKey);
+        }
+        Collections.sort(dependenciesKeys);
+        return hash(executableKey + "\n" + StringUtils.join(dependenciesKeys, "\n"));
+    }
+
+    private String hash(String value) {
+        return Hashing.sha256().hashString(value, Charsets.UTF_8).toString();
+    }
+
+    private File getEntryFile(String entriesDirectory, String key) {
+        return new File(new File(cacheDirectory, entriesDirectory), key + ENTRY_SUFFIX);
+    }
+
+    private <T> T readEntry(File entryFile, Class<T> entryType) {
+        if (!entryFile.isFile()) {
+            return null;
+        }
+        try (ObjectInputStream inputStream = new ObjectInputStream(new BufferedInputStream(new FileInputStream(entryFile)))) {
+            return entryType.cast(inputStream.readObject());
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            // an entry written by an incompatible compiler or a partial write; it is simply compiled again
+            logger.warn("Ignoring invalid compilation cache entry: \'" + entryFile.getAbsolutePath() + "\'. " + e.getMessage());
+            FileUtils.deleteQuietly(entryFile);
+            return null;
+        }
+    }
+
+    private void writeEntry(File entryFile, Serializable entry) {
+        // entries are written to a temporary file first, so concurrent readers never see a partial entry
+        File tempFile = new File(entryFile.getParentFile(), entryFile.getName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            try (ObjectOutputStream outputStream = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                outputStream.writeObject(entry);
+            }
+            Files.move(tempFile.toPath(), entryFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed writing compilation cache entry: \'" + entryFile.getAbsolutePath() + "\'. " + e.getMessage());
+            FileUtils.deleteQuietly(tempFile);
+        }
+    }
+
+    private String loadCompilerVersion() {
+        Properties properties = new Properties();
+        try (InputStream versionStream = getClass().getClassLoader().getResourceAsStream(VERSION_RESOURCE)) {
+            if (versionStream != null) {
+                properties.load(versionStream);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed loading compiler version: " + e.getMessage());
+        }
+        return properties.getProperty(VERSION_KEY, "unknown");
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.compiler.caching;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hit and miss counters of a {@link CompilationCache}
+ */
+public class CompilationCacheStatistics {
+
+    private final AtomicLong modelHits = new AtomicLong();
+    private final AtomicLong modelMisses = new AtomicLong();
+    private final AtomicLong executionPlanHits = new AtomicLong();
+    private final AtomicLong executionPlanMisses = new AtomicLong();
+    private final AtomicLong validationHits = new AtomicLong();
+    private final AtomicLong validationMisses = new AtomicLong();
+
+    void recordModel(boolean hit) {
+        (hit ? modelHits : modelMisses).incrementAndGet();
+    }
+
+    void recordExecutionPlan(boolean hit) {
+        (hit ? executionPlanHits : executionPlanMisses).incrementAndGet();
+    }
+
+    void recordValidation(boolean hit) {
+        (hit ? validationHits : validationMisses).incrementAndGet();
+    }
+
+    public long getModelHits() {
+        return modelHits.get();
+    }
+
+    public long getModelMisses() {
+        return modelMisses.get();
+    }
+
+    public long getExecutionPlanHits() {
+        return executionPlanHits.get();
+    }
+
+    public long getExecutionPlanMisses() {
+        return executionPlanMisses.get();
+    }
+
+    public long getValidationHits() {
+        return validationHits.get();
+    }
+
+    public long getValidationMisses() {
+        return validationMisses.get();
+    }
+
+    @Override
+    public String toString() {
+        return "models: " + getModelHits() + " hits, " + getModelMisses() + " misses; " +
+                "execution plans: " + getExecutionPlanHits() + " hits, " + getExecutionPlanMisses() + " misses; " +
+                "validations: " + getValidationHits() + " hits, " + getValidationMisses() + " misses";
+    }
+}
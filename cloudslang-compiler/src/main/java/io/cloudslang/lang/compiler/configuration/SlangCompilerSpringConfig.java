@@ -14,9 +14,11 @@ package io.cloudslang.lang.compiler.configuration;
  * Created by orius123 on 05/11/14.
  */
 
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.introspector.BeanAccess;
 
@@ -24,7 +26,9 @@ import org.yaml.snakeyaml.introspector.BeanAccess;
 @ComponentScan("io.cloudslang.lang.compiler")
 public class SlangCompilerSpringConfig {
 
+    // Yaml is not thread safe, so each consumer (or parsing thread) gets its own instance
     @Bean
+    @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
     public Yaml yaml() {
         Yaml yaml = new Yaml();
         yaml.setBeanAccess(BeanAccess.FIELD);
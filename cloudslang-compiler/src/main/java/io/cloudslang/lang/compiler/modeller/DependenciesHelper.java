@@ -12,7 +12,6 @@ package io.cloudslang.lang.compiler.modeller;
 /*
  * Created by orius123 on 05/11/14.
  */
-import ch.lambdaj.Lambda;
 import io.cloudslang.lang.compiler.SlangTextualKeys;
 import io.cloudslang.lang.compiler.modeller.model.Executable;
 import io.cloudslang.lang.compiler.modeller.model.Step;
@@ -23,6 +22,7 @@ import io.cloudslang.lang.entities.bindings.Input;
 import io.cloudslang.lang.entities.bindings.Output;
 import io.cloudslang.lang.entities.bindings.Result;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.Validate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -30,10 +30,6 @@ import org.springframework.stereotype.Component;
 import java.io.Serializable;
 import java.util.*;
 
-import static ch.lambdaj.Lambda.having;
-import static ch.lambdaj.Lambda.on;
-import static org.hamcrest.Matchers.equalTo;
-
 @Component
 public class DependenciesHelper {
 
@@ -41,37 +37,44 @@ public class DependenciesHelper {
     private PublishTransformer publishTransformer;
 
     /**
-     * recursive matches executables with their references
+     * matches the executable and its (transitive) references with the available executables
      *
-     * @param availableDependencies the executables to match from
+     * @param availableDependencies the executables to match from, mapped by their id
      * @return a map of a the executables that were successfully matched
+     * @throws RuntimeException listing all the references that were not found in the available executables
      */
-    public Map<String, Executable> matchReferences(Executable executable, Collection<Executable> availableDependencies) {
+    public Map<String, Executable> matchReferences(Executable executable, Map<String, Executable> availableDependencies) {
         Validate.isTrue(executable.getType().equals(SlangTextualKeys.FLOW_TYPE), "Executable: \'" + executable.getId() + "\' is not a flow, therefore it has no references");
         Map<String, Executable> resolvedDependencies = new HashMap<>();
-        return fetchFlowReferences(executable, availableDependencies, resolvedDependencies);
-    }
-
-    private Map<String, Executable> fetchFlowReferences(Executable executable,
-                                                                Collection<Executable> availableDependencies,
-                                                                Map<String, Executable> resolvedDependencies) {
-        for (String refId : executable.getExecutableDependencies()) {
-            //if it is already in the references we do nothing
-            if (resolvedDependencies.get(refId) == null) {
-                Executable matchingRef = Lambda.selectFirst(availableDependencies, having(on(Executable.class).getId(), equalTo(refId)));
+        List<String> missingReferences = new ArrayList<>();
+        Deque<Executable> executablesToResolve = new ArrayDeque<>();
+        executablesToResolve.add(executable);
+        while (!executablesToResolve.isEmpty()) {
+            Executable currentExecutable = executablesToResolve.poll();
+            for (String refId : currentExecutable.getExecutableDependencies()) {
+                //if it is already in the references we do nothing
+                if (resolvedDependencies.containsKey(refId)) {
+                    continue;
+                }
+                Executable matchingRef = availableDependencies.get(refId);
                 if (matchingRef == null) {
-                    throw new RuntimeException("Reference: \'" + refId + "\' in executable: \'"
-                            + executable.getName() + "\', wasn't found in path");
+                    missingReferences.add("Reference: \'" + refId + "\' in executable: \'"
+                            + currentExecutable.getName() + "\', wasn't found in path");
+                    continue;
                 }
-
-                //first we put the reference on the map
-                resolvedDependencies.put(matchingRef.getId(), matchingRef);
+                resolvedDependencies.put(refId, matchingRef);
                 if (matchingRef.getType().equals(SlangTextualKeys.FLOW_TYPE)) {
-                    //if it is a flow  we recursively
-                    resolvedDependencies.putAll(fetchFlowReferences(matchingRef, availableDependencies, resolvedDependencies));
+                    //if it is a flow we resolve its references as well
+                    executablesToResolve.add(matchingRef);
                 }
             }
         }
+        if (missingReferences.size() == 1) {
+            throw new RuntimeException(missingReferences.get(0));
+        } else if (missingReferences.size() > 1) {
+            throw new RuntimeException(missingReferences.size() + " references were not found in path:\n" +
+                    StringUtils.join(missingReferences, "\n"));
+        }
         return resolvedDependencies;
     }
 
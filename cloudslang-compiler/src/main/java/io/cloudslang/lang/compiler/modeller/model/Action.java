@@ -16,7 +16,9 @@ package io.cloudslang.lang.compiler.modeller.model;
 import java.io.Serializable;
 import java.util.Map;
 
-public class Action {
+public class Action implements Serializable {
+
+    private static final long serialVersionUID = -5175279640685466096L;
 
     private final Map<String, Serializable> actionData;
 
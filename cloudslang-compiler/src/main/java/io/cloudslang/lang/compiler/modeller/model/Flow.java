@@ -23,6 +23,8 @@ import java.util.Set;
  */
 public class Flow extends Executable {
 
+    private static final long serialVersionUID = -2881118045913156764L;
+
     private final Workflow workflow;
 
     public Flow(Map<String, Serializable> preOpActionData,
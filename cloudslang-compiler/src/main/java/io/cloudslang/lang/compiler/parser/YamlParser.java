@@ -18,6 +18,7 @@ import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.parser.model.ParsedSlang;
 import io.cloudslang.lang.compiler.parser.utils.ParserExceptionHandler;
 import org.apache.commons.lang3.Validate;
+import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.yaml.snakeyaml.Yaml;
@@ -25,17 +26,25 @@ import org.yaml.snakeyaml.Yaml;
 @Component
 public class YamlParser {
 
+    // Yaml instances are not thread safe, so every parsing thread gets its own prototype instance
     @Autowired
-    private Yaml yaml;
+    private ObjectFactory<Yaml> yamlFactory;
     @Autowired
     private ParserExceptionHandler parserExceptionHandler;
 
+    private final ThreadLocal<Yaml> yamlHolder = new ThreadLocal<Yaml>() {
+        @Override
+        protected Yaml initialValue() {
+            return yamlFactory.getObject();
+        }
+    };
+
     public ParsedSlang parse(SlangSource source) {
 
         Validate.notEmpty(source.getSource(), "Source " + source.getFileName() + " cannot be empty");
 
         try {
-            ParsedSlang parsedSlang = yaml.loadAs(source.getSource(), ParsedSlang.class);
+            ParsedSlang parsedSlang = yamlHolder.get().loadAs(source.getSource(), ParsedSlang.class);
             if(parsedSlang == null) {
                 throw new RuntimeException("Source " + source.getFileName() + " does not contain YAML content");
             }
@@ -10,9 +10,12 @@ package io.cloudslang.lang.compiler.scorecompiler;
 
 import io.cloudslang.lang.compiler.modeller.model.Executable;
 import io.cloudslang.lang.entities.CompilationArtifact;
+import io.cloudslang.score.api.ExecutionPlan;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 
 /*
  * Created by stoneo on 2/2/2015.
@@ -36,6 +39,19 @@ public interface ScoreCompiler {
      */
     CompilationArtifact compile(Executable source, Set<Executable> path);
 
+    /**
+     * Compile an {@link io.cloudslang.lang.compiler.modeller.model.Executable} whose dependencies were already
+     * resolved, reusing the {@link io.cloudslang.score.api.ExecutionPlan}s that were already created.
+     * Execution plans that are missing from the given cache are created and added to it, so every
+     * execution plan is created only once and is shared between all the artifacts compiled with the same cache.
+     * @param source the {@link io.cloudslang.lang.compiler.modeller.model.Executable} source
+     * @param dependencies all the (transitive) dependencies of the source, mapped by their id
+     * @param executionPlansCache the already created {@link io.cloudslang.score.api.ExecutionPlan}s, mapped by id
+     * @return the compiled {@link io.cloudslang.lang.entities.CompilationArtifact}
+     */
+    CompilationArtifact compile(Executable source, Map<String, Executable> dependencies,
+                                ConcurrentMap<String, ExecutionPlan> executionPlansCache);
+
     /**
      * Validate that the given {@Link io.cloudslang.lang.compiler.modeller.model.Executable} is valid regarding
      * its wiring to its dependencies
@@ -11,6 +11,7 @@ package io.cloudslang.lang.compiler.scorecompiler;
 import ch.lambdaj.function.convert.Converter;
 import io.cloudslang.lang.compiler.SlangTextualKeys;
 import io.cloudslang.lang.compiler.Validator;
+import io.cloudslang.lang.compiler.caching.CompilationCache;
 import io.cloudslang.lang.compiler.modeller.DependenciesHelper;
 import io.cloudslang.lang.compiler.modeller.model.Executable;
 import io.cloudslang.lang.compiler.modeller.model.Flow;
@@ -22,13 +23,16 @@ import org.apache.commons.lang.Validate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 
 import static ch.lambdaj.Lambda.convertMap;
 
@@ -47,6 +51,9 @@ public class ScoreCompilerImpl implements ScoreCompiler {
     @Autowired
     private Validator validator;
 
+    @Autowired
+    private CompilationCache compilationCache;
+
     @Override
     public CompilationArtifact compile(Executable executable, Set<Executable> path) {
 
@@ -58,17 +65,19 @@ public class ScoreCompilerImpl implements ScoreCompiler {
             Validate.notEmpty(path, "Source " + executable.getName() + " has dependencies but no path was given to the compiler");
             Validate.noNullElements(path, "Source " + executable.getName() + " has empty dependencies");
 
-            //we add the current executable since a dependency can require it
-            List<Executable> availableExecutables = new ArrayList<>(path);
-            availableExecutables.add(executable);
+            //we index the path by id once, and add the current executable since a dependency can require it
+            Map<String, Executable> availableExecutables = new HashMap<>();
+            for (Executable pathExecutable : path) {
+                availableExecutables.put(pathExecutable.getId(), pathExecutable);
+            }
+            if (!availableExecutables.containsKey(executable.getId())) {
+                availableExecutables.put(executable.getId(), executable);
+            }
 
             //than we match the references to the actual dependencies
             filteredDependencies = dependenciesHelper.matchReferences(executable, availableExecutables);
 
-            List<RuntimeException> errors = validator.validateModelWithDependencies(executable, filteredDependencies);
-            if (errors.size() > 0) {
-                throw errors.get(0);
-            }
+            validateModelWithDependencies(executable, filteredDependencies);
 
         }
 
@@ -82,11 +91,84 @@ public class ScoreCompilerImpl implements ScoreCompiler {
                 return compileToExecutionPlan(compiledExecutable);
             }
         });
-        Collection<Executable> executables = new ArrayList<>(filteredDependencies.values());
+        executionPlan.setSubflowsUUIDs(new HashSet<>(dependencies.keySet()));
+        return createCompilationArtifact(executable, executionPlan, filteredDependencies, dependencies);
+    }
+
+    @Override
+    public CompilationArtifact compile(Executable executable, Map<String, Executable> dependencies,
+                                       ConcurrentMap<String, ExecutionPlan> executionPlansCache) {
+        Validate.notNull(dependencies, "Dependencies of source " + executable.getName() + " cannot be null");
+        Validate.notNull(executionPlansCache, "Execution plans cache cannot be null");
+
+        if (executable.getType().equals(SlangTextualKeys.FLOW_TYPE)) {
+            for (String dependencyId : executable.getExecutableDependencies()) {
+                if (!dependencies.containsKey(dependencyId)) {
+                    throw new RuntimeException("Reference: \'" + dependencyId + "\' in executable: \'"
+                            + executable.getName() + "\', wasn't found in path");
+                }
+            }
+            validateModelWithDependencies(executable, dependencies);
+        }
+
+        ExecutionPlan executionPlan = getOrCompileExecutionPlan(executable, dependencies, executionPlansCache);
+        Map<String, ExecutionPlan> dependenciesPlans = new HashMap<>();
+        for (Executable dependency : dependencies.values()) {
+            dependenciesPlans.put(dependency.getId(), getOrCompileExecutionPlan(dependency, dependencies, executionPlansCache));
+        }
+        return createCompilationArtifact(executable, executionPlan, dependencies, dependenciesPlans);
+    }
+
+    private void validateModelWithDependencies(Executable executable, Map<String, Executable> dependencies) {
+        //validation depends on the dependencies, so it is skipped only if neither of them has changed
+        if (compilationCache.isValidated(executable, dependencies.values())) {
+            return;
+        }
+        List<RuntimeException> errors = validator.validateModelWithDependencies(executable, dependencies);
+        if (errors.size() > 0) {
+            throw errors.get(0);
+        }
+        compilationCache.putValidated(executable, dependencies.values());
+    }
+
+    /**
+     * The cached execution plans are shared by the compilations running in parallel, so they are complete, including
+     * the ids of their subflows, before they are cached and never modified afterwards
+     */
+    private ExecutionPlan getOrCompileExecutionPlan(Executable executable, Map<String, Executable> dependencies,
+                                                   ConcurrentMap<String, ExecutionPlan> executionPlansCache) {
+        ExecutionPlan executionPlan = executionPlansCache.get(executable.getId());
+        if (executionPlan == null) {
+            executionPlan = compileToExecutionPlan(executable);
+            executionPlan.setSubflowsUUIDs(getSubflowsIds(executable, dependencies));
+            ExecutionPlan existingPlan = executionPlansCache.putIfAbsent(executable.getId(), executionPlan);
+            if (existingPlan != null) {
+                executionPlan = existingPlan;
+            }
+        }
+        return executionPlan;
+    }
+
+    private Set<String> getSubflowsIds(Executable executable, Map<String, Executable> dependencies) {
+        Set<String> subflowsIds = new HashSet<>();
+        Deque<String> pendingIds = new ArrayDeque<>(executable.getExecutableDependencies());
+        while (!pendingIds.isEmpty()) {
+            String id = pendingIds.pop();
+            Executable dependency = dependencies.get(id);
+            if (dependency != null && subflowsIds.add(id)) {
+                pendingIds.addAll(dependency.getExecutableDependencies());
+            }
+        }
+        return subflowsIds;
+    }
+
+    private CompilationArtifact createCompilationArtifact(Executable executable, ExecutionPlan executionPlan,
+                                                          Map<String, Executable> dependencies,
+                                                          Map<String, ExecutionPlan> dependenciesPlans) {
+        Collection<Executable> executables = new ArrayList<>(dependencies.values());
         executables.add(executable);
 
-        executionPlan.setSubflowsUUIDs(new HashSet<>(dependencies.keySet()));
-        return new CompilationArtifact(executionPlan, dependencies, executable.getInputs(), getSystemPropertiesFromExecutables(executables));
+        return new CompilationArtifact(executionPlan, dependenciesPlans, executable.getInputs(), getSystemPropertiesFromExecutables(executables));
     }
 
     @Override
@@ -106,15 +188,23 @@ public class ScoreCompilerImpl implements ScoreCompiler {
      * @return {@link io.cloudslang.score.api.ExecutionPlan} of the given {@link io.cloudslang.lang.compiler.modeller.model.Executable}
      */
     private ExecutionPlan compileToExecutionPlan(Executable executable) {
+        ExecutionPlan executionPlan = compilationCache.getExecutionPlan(executable);
+        if (executionPlan != null) {
+            return executionPlan;
+        }
 
         switch (executable.getType()){
             case SlangTextualKeys.OPERATION_TYPE:
-                return executionPlanBuilder.createOperationExecutionPlan((Operation) executable);
+                executionPlan = executionPlanBuilder.createOperationExecutionPlan((Operation) executable);
+                break;
             case SlangTextualKeys.FLOW_TYPE:
-                return executionPlanBuilder.createFlowExecutionPlan((Flow) executable);
+                executionPlan = executionPlanBuilder.createFlowExecutionPlan((Flow) executable);
+                break;
             default:
                 throw new RuntimeException("Executable: " + executable.getName() + " cannot be compiled to an ExecutionPlan since it is not a flow and not an operation");
         }
+        compilationCache.putExecutionPlan(executable, executionPlan);
+        return executionPlan;
     }
 
     private Set<String> getSystemPropertiesFromExecutables(Collection<Executable> executables) {
@@ -11,6 +11,8 @@
 package io.cloudslang.lang.compiler;
 
 import io.cloudslang.lang.compiler.configuration.SlangCompilerSpringConfig;
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import io.cloudslang.lang.compiler.scorecompiler.ScoreCompiler;
 import io.cloudslang.lang.entities.CompilationArtifact;
 import io.cloudslang.lang.entities.ScoreLangConstants;
 import org.hamcrest.Matchers;
@@ -26,8 +28,13 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.not;
@@ -45,6 +52,9 @@ public class CompileDependenciesTest {
     @Autowired
     private SlangCompiler compiler;
 
+    @Autowired
+    private ScoreCompiler scoreCompiler;
+
     @Test(expected = RuntimeException.class)
     public void emptyPathButThereAreImports() throws Exception {
         URI flow = getClass().getResource("/basic_flow.yaml").toURI();
@@ -71,6 +81,21 @@ public class CompileDependenciesTest {
         compiler.compile(SlangSource.fromFile(flow), path);
     }
 
+    @Test
+    public void allMissingReferencesAreReported() throws Exception {
+        URI flow = getClass().getResource("/circular-dependencies/parent_flow.yaml").toURI();
+        URI operation = getClass().getResource("/operation_with_data.sl").toURI();
+        Set<SlangSource> path = new HashSet<>();
+        path.add(SlangSource.fromFile(operation));
+
+        exception.expect(RuntimeException.class);
+        exception.expectMessage(containsString("2 references were not found in path"));
+        exception.expectMessage(containsString("user.ops.test_op"));
+        exception.expectMessage(containsString("user.flows.circular.child_flow"));
+
+        compiler.compile(SlangSource.fromFile(flow), path);
+    }
+
     @Test
     public void importHasAKeyThatDoesNotExistInPath() throws Exception {
         URI flow = getClass().getResource("/basic_flow.yaml").toURI();
@@ -155,4 +180,59 @@ public class CompileDependenciesTest {
         Assert.assertNotNull(executionPlan);
         Assert.assertEquals(3, compilationArtifact.getDependencies().size());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void dependenciesExecutionPlansAreShared() throws Exception {
+        Executable parentFlow = compiler.preCompile(SlangSource.fromFile(getClass().getResource("/circular-dependencies/parent_flow.yaml").toURI()));
+        Executable childFlow = compiler.preCompile(SlangSource.fromFile(getClass().getResource("/circular-dependencies/child_flow.yaml").toURI()));
+        Executable operation = compiler.preCompile(SlangSource.fromFile(getClass().getResource("/test_op.sl").toURI()));
+        ConcurrentMap<String, ExecutionPlan> executionPlansCache = new ConcurrentHashMap<>();
+
+        Map<String, Executable> childDependencies = new HashMap<>();
+        childDependencies.put(operation.getId(), operation);
+        CompilationArtifact childArtifact = scoreCompiler.compile(childFlow, childDependencies, executionPlansCache);
+        Map<String, Executable> parentDependencies = new HashMap<>(childDependencies);
+        parentDependencies.put(childFlow.getId(), childFlow);
+        CompilationArtifact parentArtifact = scoreCompiler.compile(parentFlow, parentDependencies, executionPlansCache);
+
+        Assert.assertEquals(3, executionPlansCache.size());
+        Assert.assertEquals(2, parentArtifact.getDependencies().size());
+        Assert.assertSame(childArtifact.getExecutionPlan(), parentArtifact.getDependencies().get(childFlow.getId()));
+        Assert.assertSame(childArtifact.getDependencies().get(operation.getId()), parentArtifact.getDependencies().get(operation.getId()));
+        Assert.assertSame(parentArtifact.getExecutionPlan(), executionPlansCache.get(parentFlow.getId()));
+        Assert.assertEquals(parentDependencies.keySet(), parentArtifact.getExecutionPlan().getSubflowsUUIDs());
+        Assert.assertEquals(childDependencies.keySet(), childArtifact.getExecutionPlan().getSubflowsUUIDs());
+    }
+
+    @Test
+    public void sharedExecutionPlansAreNotModifiedByLaterCompilations() throws Exception {
+        Executable parentFlow = compiler.preCompile(SlangSource.fromFile(getClass().getResource("/circular-dependencies/parent_flow.yaml").toURI()));
+        Executable childFlow = compiler.preCompile(SlangSource.fromFile(getClass().getResource("/circular-dependencies/child_flow.yaml").toURI()));
+        Executable operation = compiler.preCompile(SlangSource.fromFile(getClass().getResource("/test_op.sl").toURI()));
+        ConcurrentMap<String, ExecutionPlan> executionPlansCache = new ConcurrentHashMap<>();
+
+        Map<String, Executable> parentDependencies = new HashMap<>();
+        parentDependencies.put(operation.getId(), operation);
+        parentDependencies.put(childFlow.getId(), childFlow);
+        CompilationArtifact parentArtifact = scoreCompiler.compile(parentFlow, parentDependencies, executionPlansCache);
+        ExecutionPlan childPlan = parentArtifact.getDependencies().get(childFlow.getId());
+        Set<String> childSubflowsIds = childPlan.getSubflowsUUIDs();
+        Map<String, Executable> childDependencies = new HashMap<>();
+        childDependencies.put(operation.getId(), operation);
+        CompilationArtifact childArtifact = scoreCompiler.compile(childFlow, childDependencies, executionPlansCache);
+
+        Assert.assertSame(childPlan, childArtifact.getExecutionPlan());
+        Assert.assertSame(childSubflowsIds, childPlan.getSubflowsUUIDs());
+        Assert.assertEquals(Collections.singleton(operation.getId()), childSubflowsIds);
+    }
+
+    @Test
+    public void referenceDoesNotExistInResolvedDependencies() throws Exception {
+        Executable parentFlow = compiler.preCompile(SlangSource.fromFile(getClass().getResource("/circular-dependencies/parent_flow.yaml").toURI()));
+
+        exception.expect(RuntimeException.class);
+        exception.expectMessage(containsString("user.flows.circular.child_flow"));
+
+        scoreCompiler.compile(parentFlow, new HashMap<String, Executable>(), new ConcurrentHashMap<String, ExecutionPlan>());
+    }
+}
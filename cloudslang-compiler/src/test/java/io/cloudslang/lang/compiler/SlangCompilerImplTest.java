@@ -12,6 +12,7 @@
 package io.cloudslang.lang.compiler;
 
 import com.google.common.collect.Sets;
+import io.cloudslang.lang.compiler.caching.CompilationCache;
 import io.cloudslang.lang.compiler.modeller.SlangModeller;
 import io.cloudslang.lang.compiler.parser.YamlParser;
 import io.cloudslang.lang.compiler.parser.model.ParsedSlang;
@@ -122,6 +123,11 @@ public class SlangCompilerImplTest {
             return mock(ScoreCompiler.class);
         }
 
+        @Bean
+        public CompilationCache compilationCache() {
+            return mock(CompilationCache.class);
+        }
+
         @Bean
         public Yaml yaml() {
             return mock(Yaml.class);
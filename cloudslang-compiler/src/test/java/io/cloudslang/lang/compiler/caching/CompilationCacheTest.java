@@ -0,0 +1,113 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.compiler.caching;
+
+import io.cloudslang.lang.compiler.SlangCompiler;
+import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.configuration.SlangCompilerSpringConfig;
+import io.cloudslang.lang.entities.CompilationArtifact;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = SlangCompilerSpringConfig.class)
+public class CompilationCacheTest {
+
+    @Rule
+    public TemporaryFolder cacheFolder = new TemporaryFolder();
+
+    @Autowired
+    private SlangCompiler compiler;
+
+    @Autowired
+    private CompilationCache compilationCache;
+
+    private SlangSource parentFlow;
+    private SlangSource childFlow;
+    private SlangSource operation;
+
+    @Before
+    public void setUp() throws Exception {
+        compilationCache.setCacheDirectory(cacheFolder.getRoot());
+        parentFlow = SlangSource.fromFile(getClass().getResource("/circular-dependencies/parent_flow.yaml").toURI());
+        childFlow = SlangSource.fromFile(getClass().getResource("/circular-dependencies/child_flow.yaml").toURI());
+        operation = SlangSource.fromFile(getClass().getResource("/test_op.sl").toURI());
+    }
+
+    @After
+    public void disableCache() {
+        // the compiler beans are shared with other tests through the cached application context
+        compilationCache.setCacheDirectory(null);
+    }
+
+    @Test
+    public void unchangedSourcesAreLoadedFromCache() throws Exception {
+        CompilationArtifact firstArtifact = compile(operation);
+        CompilationCacheStatistics statistics = compilationCache.getStatistics();
+        long modelHits = statistics.getModelHits();
+        long executionPlanHits = statistics.getExecutionPlanHits();
+        long validationHits = statistics.getValidationHits();
+
+        CompilationArtifact secondArtifact = compile(operation);
+
+        Assert.assertEquals(3, statistics.getModelHits() - modelHits);
+        Assert.assertEquals(3, statistics.getExecutionPlanHits() - executionPlanHits);
+        Assert.assertEquals(1, statistics.getValidationHits() - validationHits);
+        Assert.assertEquals(firstArtifact.getDependencies().keySet(), secondArtifact.getDependencies().keySet());
+        Assert.assertEquals(firstArtifact.getExecutionPlan().getSteps().keySet(), secondArtifact.getExecutionPlan().getSteps().keySet());
+        Assert.assertEquals(firstArtifact.getExecutionPlan().getSubflowsUUIDs(), secondArtifact.getExecutionPlan().getSubflowsUUIDs());
+    }
+
+    @Test
+    public void changedDependencyInvalidatesDependentsValidation() throws Exception {
+        compile(operation);
+        CompilationCacheStatistics statistics = compilationCache.getStatistics();
+        long modelHits = statistics.getModelHits();
+        long modelMisses = statistics.getModelMisses();
+        long validationMisses = statistics.getValidationMisses();
+
+        SlangSource changedOperation = new SlangSource(operation.getSource() + "\n# changed", operation.getFileName());
+        compile(changedOperation);
+
+        Assert.assertEquals(2, statistics.getModelHits() - modelHits);
+        Assert.assertEquals(1, statistics.getModelMisses() - modelMisses);
+        Assert.assertEquals(1, statistics.getValidationMisses() - validationMisses);
+    }
+
+    @Test
+    public void disabledCacheIsNotUsed() throws Exception {
+        compilationCache.setCacheDirectory(null);
+        CompilationCacheStatistics statistics = compilationCache.getStatistics();
+        long modelMisses = statistics.getModelMisses();
+
+        compile(operation);
+
+        Assert.assertFalse(compilationCache.isEnabled());
+        Assert.assertEquals(modelMisses, statistics.getModelMisses());
+    }
+
+    private CompilationArtifact compile(SlangSource operationSource) {
+        Set<SlangSource> path = new HashSet<>();
+        path.add(childFlow);
+        path.add(operationSource);
+        return compiler.compile(parentFlow, path);
+    }
+
+}
@@ -12,9 +12,13 @@ package io.cloudslang.lang.tools.build;
 import com.beust.jcommander.JCommander;
 import com.beust.jcommander.ParameterException;
 import io.cloudslang.lang.api.Slang;
+import io.cloudslang.lang.api.configuration.ScoreEngineLoader;
+import io.cloudslang.lang.compiler.caching.CompilationCache;
 import io.cloudslang.lang.tools.build.commands.ApplicationArgs;
 import io.cloudslang.lang.tools.build.tester.RunTestsResults;
+import io.cloudslang.lang.tools.build.tester.SlangTestRunner;
 import io.cloudslang.lang.tools.build.tester.TestRun;
+import io.cloudslang.lang.tools.build.verifier.SlangContentVerifier;
 import io.cloudslang.score.events.ScoreEvent;
 import io.cloudslang.score.events.ScoreEventListener;
 import java.io.FileInputStream;
@@ -73,6 +77,8 @@ public class SlangBuildMain {
         String testsPath = StringUtils.defaultIfEmpty(appArgs.getTestRoot(), projectPath + TEST_DIR);
         List<String> testSuites = parseTestSuites(appArgs);
         Boolean shouldPrintCoverageData = parseCoverageArg(appArgs);
+        int compileParallelism = parseCompileParallelism(appArgs);
+        int testParallelism = parseTestParallelism(appArgs);
 
         log.info("");
         log.info("------------------------------------------------------------");
@@ -80,6 +86,8 @@ public class SlangBuildMain {
         log.info("Content root is at: " + contentPath);
         log.info("Test root is at: " + testsPath);
         log.info("Active test suites are: " + Arrays.toString(testSuites.toArray()));
+        log.info("Compile parallelism is: " + compileParallelism);
+        log.info("Test parallelism is: " + testParallelism);
 
         log.info("");
         log.info("Loading...");
@@ -87,11 +95,28 @@ public class SlangBuildMain {
         //load application context
         ApplicationContext context = new ClassPathXmlApplicationContext("spring/testRunnerContext.xml");
         SlangBuilder slangBuilder = context.getBean(SlangBuilder.class);
-        Slang slang = context.getBean(Slang.class);
-        registerEventHandlers(slang);
+        final Slang slang = context.getBean(Slang.class);
+        // subscribing loads the score engine, which is only needed when there are tests to run
+        context.getBean(ScoreEngineLoader.class).addLoadListener(new Runnable() {
+            @Override
+            public void run() {
+                registerEventHandlers(slang);
+            }
+        });
+        CompilationCache compilationCache = context.getBean(CompilationCache.class);
+        if (StringUtils.isNotBlank(appArgs.getCacheDir())) {
+            compilationCache.setCacheDirectory(new File(appArgs.getCacheDir()));
+        }
 
         try {
-            SlangBuildResults buildResults = slangBuilder.buildSlangContent(projectPath, contentPath, testsPath, testSuites);
+            SlangBuildResults buildResults = slangBuilder.buildSlangContent(projectPath, contentPath, testsPath, testSuites,
+                    compileParallelism, testParallelism);
+            if (compilationCache.isEnabled()) {
+                log.info("Compilation cache statistics: " + compilationCache.getStatistics());
+            }
+            if (StringUtils.isNotBlank(appArgs.getOutputDir())) {
+                slangBuilder.writeCompilationArtifacts(buildResults.getCompiledSources(), appArgs.getOutputDir());
+            }
             RunTestsResults runTestsResults = buildResults.getRunTestsResults();
             Map<String, TestRun> skippedTests = runTestsResults.getSkippedTests();
 
@@ -160,6 +185,27 @@ public class SlangBuildMain {
         return shouldOutputCoverageData;
     }
 
+    private static int parseCompileParallelism(ApplicationArgs appArgs) {
+        if (!appArgs.isParallel()) {
+            return SlangContentVerifier.SEQUENTIAL;
+        }
+        Integer threadsCount = appArgs.getThreadsCount();
+        if (threadsCount == null) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        Validate.isTrue(threadsCount > 0, "Threads count must be a positive number, but was: " + threadsCount);
+        return threadsCount;
+    }
+
+    private static int parseTestParallelism(ApplicationArgs appArgs) {
+        Integer testThreadsCount = appArgs.getTestThreadsCount();
+        if (testThreadsCount == null) {
+            return SlangTestRunner.SEQUENTIAL;
+        }
+        Validate.isTrue(testThreadsCount > 0, "Test threads count must be a positive number, but was: " + testThreadsCount);
+        return testThreadsCount;
+    }
+
     private static void printBuildSuccessSummary(String contentPath, SlangBuildResults buildResults, RunTestsResults runTestsResults, Map<String, TestRun> skippedTests) {
         log.info("");
         log.info("------------------------------------------------------------");
@@ -9,8 +9,10 @@
  */
 package io.cloudslang.lang.tools.build;
 
+import io.cloudslang.lang.entities.CompilationArtifact;
 import io.cloudslang.lang.tools.build.tester.RunTestsResults;
 
+import java.util.Collections;
 import java.util.Map;
 
 /**
@@ -24,10 +26,17 @@ public class SlangBuildResults {
 
     private final int numberOfCompiledSources;
     private final RunTestsResults runTestsResults;
+    private final Map<String, CompilationArtifact> compiledSources;
 
     public SlangBuildResults(int numberOfCompiledSources, RunTestsResults runTestsResults) {
+        this(numberOfCompiledSources, runTestsResults, Collections.<String, CompilationArtifact>emptyMap());
+    }
+
+    public SlangBuildResults(int numberOfCompiledSources, RunTestsResults runTestsResults,
+                             Map<String, CompilationArtifact> compiledSources) {
         this.numberOfCompiledSources = numberOfCompiledSources;
         this.runTestsResults = runTestsResults;
+        this.compiledSources = compiledSources;
     }
 
     public int getNumberOfCompiledSources() {
@@ -38,6 +47,13 @@ public class SlangBuildResults {
         return runTestsResults;
     }
 
+    /**
+     * @return the compilation artifacts of the content, by the fully qualified names of the executables
+     */
+    public Map<String, CompilationArtifact> getCompiledSources() {
+        return compiledSources;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o)
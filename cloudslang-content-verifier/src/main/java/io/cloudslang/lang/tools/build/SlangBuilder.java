@@ -11,6 +11,8 @@ package io.cloudslang.lang.tools.build;
 
 import io.cloudslang.lang.compiler.modeller.model.Executable;
 import io.cloudslang.lang.entities.CompilationArtifact;
+import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.entities.serialization.CompilationArtifactSerializer;
 import io.cloudslang.lang.tools.build.tester.RunTestsResults;
 import io.cloudslang.lang.tools.build.tester.SlangTestRunner;
 import io.cloudslang.lang.tools.build.tester.parse.SlangTestCase;
@@ -42,6 +44,21 @@ public class SlangBuilder {
     private final static Logger log = Logger.getLogger(SlangBuilder.class);
 
     public SlangBuildResults buildSlangContent(String projectPath, String contentPath, String testsPath, List<String> testSuits){
+        return buildSlangContent(projectPath, contentPath, testsPath, testSuits, SlangContentVerifier.SEQUENTIAL);
+    }
+
+    public SlangBuildResults buildSlangContent(String projectPath, String contentPath, String testsPath,
+                                               List<String> testSuits, int compileParallelism){
+        return buildSlangContent(projectPath, contentPath, testsPath, testSuits, compileParallelism, SlangTestRunner.SEQUENTIAL);
+    }
+
+    /**
+     * Builds the content and runs the tests
+     * @param compileParallelism the number of threads used for parsing, modelling and compiling the sources
+     * @param testParallelism the number of test cases run at the same time
+     */
+    public SlangBuildResults buildSlangContent(String projectPath, String contentPath, String testsPath,
+                                               List<String> testSuits, int compileParallelism, int testParallelism){
 
         String projectName = FilenameUtils.getName(projectPath);
         log.info("");
@@ -52,25 +69,43 @@ public class SlangBuilder {
         log.info("");
         log.info("--- compiling sources ---");
         Map<String, Executable> slangModels =
-                slangContentVerifier.createModelsAndValidate(contentPath);
+                slangContentVerifier.createModelsAndValidate(contentPath, compileParallelism);
 
-        Map<String, CompilationArtifact> compiledSources = compileModels(slangModels);
+        Map<String, CompilationArtifact> compiledSources = compileModels(slangModels, compileParallelism);
 
         RunTestsResults runTestsResults = new RunTestsResults();
         if (StringUtils.isNotBlank(testsPath) && new File(testsPath).isDirectory()) {
-            runTestsResults = runTests(slangModels, projectPath, testsPath, testSuits);
+            runTestsResults = runTests(slangModels, projectPath, testsPath, testSuits, compileParallelism, testParallelism);
         }
 
-        return new SlangBuildResults(compiledSources.size(), runTestsResults);
+        return new SlangBuildResults(compiledSources.size(), runTestsResults, compiledSources);
+    }
+
+    /**
+     * Writes the compilation artifacts as precompiled (.slc) files, which can be run without compiling the content again.
+     * The file of an executable is placed under the directories of its namespace, e.g. io/cloudslang/base/print/print_text.slc
+     * @param compiledSources the compilation artifacts by the fully qualified names of the executables
+     * @param outputPath the directory to write the files to
+     */
+    public void writeCompilationArtifacts(Map<String, CompilationArtifact> compiledSources, String outputPath) {
+        log.info("");
+        log.info("--- writing precompiled files ---");
+        File outputDirectory = new File(outputPath);
+        for (Map.Entry<String, CompilationArtifact> compiledSource : compiledSources.entrySet()) {
+            String relativePath = compiledSource.getKey().replace(ScoreLangConstants.NAMESPACE_DELIMITER, File.separator) +
+                    "." + CompilationArtifactSerializer.FILE_EXTENSION;
+            CompilationArtifactSerializer.serialize(compiledSource.getValue(), new File(outputDirectory, relativePath));
+        }
+        log.info("Successfully wrote " + compiledSources.size() + " precompiled files to: " + outputDirectory.getAbsolutePath());
     }
 
     /**
      * Compiles all CloudSlang models
      * @return the number of valid CloudSlang files in the given directory
      */
-    private Map<String, CompilationArtifact> compileModels(Map<String, Executable> slangModels){
+    private Map<String, CompilationArtifact> compileModels(Map<String, Executable> slangModels, int compileParallelism){
         Map<String, CompilationArtifact> compiledSlangFiles =
-                slangContentVerifier.compileSlangModels(slangModels);
+                slangContentVerifier.compileSlangModels(slangModels, compileParallelism);
 
         if(compiledSlangFiles.size() != slangModels.size()){
             throw new RuntimeException("Some Slang files were not compiled.\n" +
@@ -83,24 +118,25 @@ public class SlangBuilder {
     }
 
     private RunTestsResults runTests(Map<String, Executable> contentSlangModels,
-                          String projectPath, String testsPath, List<String> testSuites){
+                          String projectPath, String testsPath, List<String> testSuites, int compileParallelism,
+                          int testParallelism){
         log.info("");
         log.info("--- compiling tests sources ---");
         // Compile all slang test flows under the test directory
-        Map<String, Executable> testFlowModels = slangContentVerifier.createModelsAndValidate(testsPath);
+        Map<String, Executable> testFlowModels = slangContentVerifier.createModelsAndValidate(testsPath, compileParallelism);
         // Add also all of the slang models of the content in order to allow for compilation of the test flows
         Map<String, Executable> allTestedFlowModels = new HashMap<>(testFlowModels);
         allTestedFlowModels.putAll(contentSlangModels);
 
         // Compiling all the test flows
-        Map<String, CompilationArtifact> compiledFlows = slangContentVerifier.compileSlangModels(allTestedFlowModels);
+        Map<String, CompilationArtifact> compiledFlows = slangContentVerifier.compileSlangModels(allTestedFlowModels, compileParallelism);
 
         Set<String> allTestedFlowsFQN = mapExecutablesToFullyQualifiedName(allTestedFlowModels.values());
         Map<String, SlangTestCase> testCases = slangTestRunner.createTestCases(testsPath, allTestedFlowsFQN);
         log.info("");
         log.info("--- running tests ---");
         log.info("Found " + testCases.size() + " tests");
-        RunTestsResults runTestsResults = slangTestRunner.runAllTests(projectPath, testCases, compiledFlows, testSuites);
+        RunTestsResults runTestsResults = slangTestRunner.runAllTests(projectPath, testCases, compiledFlows, testSuites, testParallelism);
         addCoverageDataToRunTestsResults(contentSlangModels, testFlowModels, testCases, runTestsResults);
         return runTestsResults;
     }
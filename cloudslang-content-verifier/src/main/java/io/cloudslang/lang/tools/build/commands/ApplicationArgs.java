@@ -44,6 +44,26 @@ public class ApplicationArgs {
             description = "Whether or not test coverage data should be outputted")
     public boolean coverage = false;
 
+    @Parameter(names = {"--parallel", "-par"},
+            description = "Whether or not the sources should be parsed and modelled in parallel")
+    public boolean parallel = false;
+
+    @Parameter(names = {"--threads-count", "-thc"},
+            description = "Number of threads used when running in parallel (default is the number of available processors)")
+    public Integer threadsCount;
+
+    @Parameter(names = {"--test-threads-count", "-tthc"},
+            description = "Number of test cases run at the same time (default is 1)")
+    public Integer testThreadsCount;
+
+    @Parameter(names = {"--cache-dir", "-cd"},
+            description = "Directory of the persistent compilation cache, unchanged sources are not compiled again")
+    public String cacheDir;
+
+    @Parameter(names = {"--output-dir", "-od"},
+            description = "Directory to write the precompiled (.slc) files of the content to")
+    public String outputDir;
+
     @Parameter(names = {"--help", "-h"}, help = true,
             description = "Display help information")
     private boolean help;
@@ -75,6 +95,26 @@ public class ApplicationArgs {
         return coverage;
     }
 
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public Integer getThreadsCount() {
+        return threadsCount;
+    }
+
+    public Integer getTestThreadsCount() {
+        return testThreadsCount;
+    }
+
+    public String getCacheDir() {
+        return cacheDir;
+    }
+
+    public String getOutputDir() {
+        return outputDir;
+    }
+
     public boolean isHelp() {
         return help;
     }
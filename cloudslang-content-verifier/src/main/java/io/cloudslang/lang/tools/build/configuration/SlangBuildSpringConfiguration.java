@@ -11,7 +11,9 @@ package io.cloudslang.lang.tools.build.configuration;
 
 import io.cloudslang.lang.tools.build.tester.SlangTestRunner;
 import io.cloudslang.lang.tools.build.verifier.SlangContentVerifier;
-import io.cloudslang.lang.api.configuration.SlangSpringConfiguration;
+import io.cloudslang.lang.api.Slang;
+import io.cloudslang.lang.api.SlangImpl;
+import io.cloudslang.lang.compiler.configuration.SlangCompilerSpringConfig;
 import io.cloudslang.lang.tools.build.SlangBuilder;
 import io.cloudslang.lang.tools.build.tester.parse.TestCasesYamlParser;
 import org.springframework.context.annotation.Bean;
@@ -22,9 +24,14 @@ import org.springframework.context.annotation.Import;
  * Created by stoneo on 2/9/2015.
  */
 @Configuration
-@Import(SlangSpringConfiguration.class)
+@Import(SlangCompilerSpringConfig.class)
 public class SlangBuildSpringConfiguration {
 
+    @Bean
+    public Slang slang() {
+        return new SlangImpl();
+    }
+
     @Bean
     public SlangBuilder slangBuild(){
         return new SlangBuilder();
@@ -9,9 +9,9 @@
  */
 package io.cloudslang.lang.tools.build.tester;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
 
 /**
@@ -19,7 +19,8 @@ import java.util.TreeSet;
  **/
 
 /**
- * Holds the results of running the content test cases
+ * Holds the results of running the content test cases, sorted by test case name.
+ * Results may be added by concurrently running test cases.
  */
 public class RunTestsResults {
 
@@ -34,9 +35,9 @@ public class RunTestsResults {
     private TreeSet<String> uncoveredExecutables;
 
     public RunTestsResults(){
-        this.passedTests = new HashMap<>();
-        this.failedTests = new HashMap<>();
-        this.skippedTests = new HashMap<>();
+        this.passedTests = new TreeMap<>();
+        this.failedTests = new TreeMap<>();
+        this.skippedTests = new TreeMap<>();
         coveredExecutables = new TreeSet<>();
         uncoveredExecutables = new TreeSet<>();
     }
@@ -61,23 +62,23 @@ public class RunTestsResults {
         return uncoveredExecutables;
     }
 
-    public void addPassedTest(String testCaseName, TestRun testRun){
+    public synchronized void addPassedTest(String testCaseName, TestRun testRun){
         passedTests.put(testCaseName, testRun);
     }
 
-    public void addFailedTest(String testCaseName, TestRun testRun){
+    public synchronized void addFailedTest(String testCaseName, TestRun testRun){
         failedTests.put(testCaseName, testRun);
     }
 
-    public void addSkippedTest(String testCaseName, TestRun testRun){
+    public synchronized void addSkippedTest(String testCaseName, TestRun testRun){
         skippedTests.put(testCaseName, testRun);
     }
 
-    public void addCoveredExecutables(Set<String> coveredExecutables){
+    public synchronized void addCoveredExecutables(Set<String> coveredExecutables){
         this.coveredExecutables.addAll(coveredExecutables);
     }
 
-    public void addUncoveredExecutables(Set<String> uncoveredExecutables){
+    public synchronized void addUncoveredExecutables(Set<String> uncoveredExecutables){
         this.uncoveredExecutables.addAll(uncoveredExecutables);
     }
 
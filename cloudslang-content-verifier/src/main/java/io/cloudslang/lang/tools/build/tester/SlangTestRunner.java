@@ -9,15 +9,14 @@
  */
 package io.cloudslang.lang.tools.build.tester;
 
+import io.cloudslang.lang.api.ExecutionResult;
 import io.cloudslang.lang.api.Slang;
 import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.entities.CompilationArtifact;
-import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.tools.build.SlangBuildMain;
 import io.cloudslang.lang.tools.build.tester.parse.SlangTestCase;
 import io.cloudslang.lang.tools.build.tester.parse.TestCasesYamlParser;
-import io.cloudslang.score.events.EventConstants;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.io.FileUtils;
@@ -30,12 +29,19 @@ import org.springframework.stereotype.Component;
 
 import java.io.File;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Created by stoneo on 3/15/2015.
@@ -43,6 +49,8 @@ import java.util.Set;
 @Component
 public class SlangTestRunner {
 
+    public static final int SEQUENTIAL = 1;
+
     private final static String PROJECT_PATH_TOKEN = "${project_path}";
 
     @Autowired
@@ -104,22 +112,31 @@ public class SlangTestRunner {
         return testCases;
     }
 
+    public RunTestsResults runAllTests(String projectPath, Map<String, SlangTestCase> testCases,
+                            Map<String, CompilationArtifact> compiledFlows, List<String> testSuites) {
+        return runAllTests(projectPath, testCases, compiledFlows, testSuites, SEQUENTIAL);
+    }
+
     /**
      *
      * @param projectPath
      * @param testCases
      * @param compiledFlows
      * @param testSuites
+     * @param parallelism the number of test cases running at the same time; a value of 1 runs them one after the other
      * @return RunTestsResults containing maps of passed, failed & skipped tests
      */
     public RunTestsResults runAllTests(String projectPath, Map<String, SlangTestCase> testCases,
-                            Map<String, CompilationArtifact> compiledFlows, List<String> testSuites) {
+                            Map<String, CompilationArtifact> compiledFlows, List<String> testSuites, int parallelism) {
+        Validate.isTrue(parallelism > 0, "Parallelism level must be a positive number, but was: " + parallelism);
 
         RunTestsResults runTestsResults = new RunTestsResults();
         if(MapUtils.isEmpty(testCases)){
             return runTestsResults;
         }
-        for (Map.Entry<String, SlangTestCase> testCaseEntry : testCases.entrySet()) {
+        // test cases are started and their results are added in name order, so the report does not depend on timing
+        List<SlangTestCase> activeTestCases = new ArrayList<>();
+        for (Map.Entry<String, SlangTestCase> testCaseEntry : new TreeMap<>(testCases).entrySet()) {
             SlangTestCase testCase = testCaseEntry.getValue();
             if (testCase == null) {
                 runTestsResults.addFailedTest(UNAVAILABLE_NAME, new TestRun(testCase, "Test case cannot be null"));
@@ -127,23 +144,74 @@ public class SlangTestRunner {
             }
             if ((CollectionUtils.isEmpty(testCase.getTestSuites()) && testSuites.contains(SlangBuildMain.DEFAULT_TESTS)) ||
                     CollectionUtils.containsAny(testSuites, testCase.getTestSuites())) {
-                log.info("Running test: " + testCaseEntry.getKey() + " - " + testCase.getDescription());
-                try {
-                    CompilationArtifact compiledTestFlow = getCompiledTestFlow(compiledFlows, testCase);
-                    runTest(testCase, compiledTestFlow, projectPath);
-                    runTestsResults.addPassedTest(testCase.getName(), new TestRun(testCase, null));
-                } catch (RuntimeException e) {
-                    runTestsResults.addFailedTest(testCase.getName(), new TestRun(testCase, e.getMessage()));
-                }
+                activeTestCases.add(testCase);
             } else {
                 String message = "Skipping test: " + testCaseEntry.getKey() + " because it is not in active test suites";
                 log.info(message);
                 runTestsResults.addSkippedTest(testCase.getName(), new TestRun(testCase, message));
             }
         }
+        if (activeTestCases.isEmpty()) {
+            return runTestsResults;
+        }
+
+        for (TestCaseResult testCaseResult : runTestCases(activeTestCases, projectPath, compiledFlows, parallelism)) {
+            TestRun testRun = testCaseResult.testRun;
+            if (testCaseResult.passed) {
+                runTestsResults.addPassedTest(testRun.getTestCase().getName(), testRun);
+            } else {
+                runTestsResults.addFailedTest(testRun.getTestCase().getName(), testRun);
+            }
+        }
         return runTestsResults;
     }
 
+    private List<TestCaseResult> runTestCases(List<SlangTestCase> testCases, final String projectPath,
+                                       final Map<String, CompilationArtifact> compiledFlows, int parallelism) {
+        List<TestCaseResult> testCaseResults = new ArrayList<>(testCases.size());
+        if (parallelism == SEQUENTIAL || testCases.size() == 1) {
+            for (SlangTestCase testCase : testCases) {
+                testCaseResults.add(runTestCase(testCase, projectPath, compiledFlows));
+            }
+            return testCaseResults;
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(Math.min(parallelism, testCases.size()));
+        try {
+            List<Future<TestCaseResult>> futureTestCaseResults = new ArrayList<>(testCases.size());
+            for (final SlangTestCase testCase : testCases) {
+                futureTestCaseResults.add(executorService.submit(new Callable<TestCaseResult>() {
+                    @Override
+                    public TestCaseResult call() {
+                        return runTestCase(testCase, projectPath, compiledFlows);
+                    }
+                }));
+            }
+            for (Future<TestCaseResult> futureTestCaseResult : futureTestCaseResults) {
+                testCaseResults.add(futureTestCaseResult.get());
+            }
+            return testCaseResults;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while running the test cases", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed running the test cases: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private TestCaseResult runTestCase(SlangTestCase testCase, String projectPath, Map<String, CompilationArtifact> compiledFlows) {
+        log.info("Running test: " + testCase.getName() + " - " + testCase.getDescription());
+        try {
+            CompilationArtifact compiledTestFlow = getCompiledTestFlow(compiledFlows, testCase);
+            runTest(testCase, compiledTestFlow, projectPath);
+            return new TestCaseResult(new TestRun(testCase, null), true);
+        } catch (RuntimeException e) {
+            return new TestCaseResult(new TestRun(testCase, e.getMessage()), false);
+        }
+    }
+
     private void printTestCasesWithMissingReference(Set<SlangTestCase> testCasesWithMissingReference) {
         int testCasesWithMissingReferenceSize = testCasesWithMissingReference.size();
         if (testCasesWithMissingReferenceSize > 0) {
@@ -213,7 +281,7 @@ public class SlangTestRunner {
     }
 
     /**
-     * This method will trigger the flow in a synchronize matter, meaning only one flow can run at a time.
+     * This method will trigger the flow and wait for it to finish.
      *
      * @param compilationArtifact the artifact to trigger
      * @param inputs              : flow inputs
@@ -228,19 +296,17 @@ public class SlangTestRunner {
         Map<String, Serializable> outputs = getTestCaseOutputsMap(testCase);
         String flowName = testCase.getTestFlowPath();
 
-        TriggerTestCaseEventListener testsEventListener = new TriggerTestCaseEventListener();
-        slang.subscribeOnEvents(testsEventListener, createListenerEventTypesSet());
-
-        Long executionId = slang.run(compilationArtifact, inputs, systemProperties);
-
-        while (!testsEventListener.isFlowFinished()) {
-            try {
-                Thread.sleep(200);
-            } catch (InterruptedException ignore) {}
+        ExecutionResult slangExecutionResult;
+        try {
+            slangExecutionResult = slang.runAndWait(compilationArtifact, inputs, systemProperties);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while running test: " + testCaseName, e);
         }
-        slang.unSubscribeOnEvents(testsEventListener);
-
-        String errorMessageFlowExecution = testsEventListener.getErrorMessage();
+        Long executionId = slangExecutionResult.getExecutionId();
+        String errorMessageFlowExecution = slangExecutionResult.getErrorMessage();
+        String executionResult = slangExecutionResult.getResult();
+        Map<String, Serializable> executionOutputs = slangExecutionResult.getOutputs();
 
         String message;
         if (BooleanUtils.isTrue(testCase.getThrowsException())) {
@@ -261,14 +327,12 @@ public class SlangTestRunner {
             throw new RuntimeException(message);
         }
 
-        String executionResult = testsEventListener.getResult();
         if (result != null && !result.equals(executionResult)){
             message = TEST_CASE_FAILED + testCaseName + " - " + testCase.getDescription() + "\n\tExpected result: " + result + "\n\tActual result: " + executionResult;
             log.error(message);
             throw new RuntimeException(message);
         }
 
-        Map<String, Serializable> executionOutputs = testsEventListener.getOutputs();
         if (MapUtils.isNotEmpty(outputs)){
             for(Map.Entry<String, Serializable> output: outputs.entrySet()) {
                 String outputName = output.getKey();
@@ -292,17 +356,6 @@ public class SlangTestRunner {
                     StringUtils.equals(executionOutputValue.toString(), outputValue.toString());
     }
 
-    private Set<String> createListenerEventTypesSet() {
-        Set<String> handlerTypes = new HashSet<>();
-        handlerTypes.add(ScoreLangConstants.EVENT_EXECUTION_FINISHED);
-        handlerTypes.add(ScoreLangConstants.SLANG_EXECUTION_EXCEPTION);
-        handlerTypes.add(ScoreLangConstants.EVENT_OUTPUT_END);
-        handlerTypes.add(EventConstants.SCORE_ERROR_EVENT);
-        handlerTypes.add(EventConstants.SCORE_FAILURE_EVENT);
-        handlerTypes.add(EventConstants.SCORE_FINISHED_EVENT);
-        return handlerTypes;
-    }
-
     private String getResultFromFileName(String fileName) {
 
         int dashPosition = fileName.lastIndexOf('-');
@@ -312,4 +365,15 @@ public class SlangTestRunner {
             return null;
         }
     }
+
+    private static class TestCaseResult {
+
+        private final TestRun testRun;
+        private final boolean passed;
+
+        private TestCaseResult(TestRun testRun, boolean passed) {
+            this.testRun = testRun;
+            this.passed = passed;
+        }
+    }
 }
@@ -0,0 +1,202 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ */
+package io.cloudslang.lang.tools.build.verifier;
+
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * The dependency graph of a set of Slang models.
+ * Executables that depend on each other (circular dependencies) are grouped into a single {@link Component},
+ * so the graph of components is acyclic and the transitive dependencies of every component are computed only once.
+ * The components are ordered in levels, where every component depends only on components of the previous levels.
+ */
+class ExecutablesDependencyGraph {
+
+    private final Map<String, Executable> executables;
+
+    private final Map<String, Component> componentsByExecutable = new HashMap<>();
+
+    private final List<List<Component>> levels = new ArrayList<>();
+
+    // state of Tarjan's strongly connected components algorithm
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final Map<String, Integer> lowLinks = new HashMap<>();
+    private final Deque<String> stack = new ArrayDeque<>();
+    private final Set<String> onStack = new HashSet<>();
+
+    /**
+     * @param executables the Slang models mapped by their fully qualified name
+     * @throws RuntimeException if one of the models depends on an executable which is not part of the given models
+     */
+    ExecutablesDependencyGraph(Map<String, Executable> executables) {
+        this.executables = executables;
+        for (String executableName : new TreeSet<>(executables.keySet())) {
+            if (!indexes.containsKey(executableName)) {
+                visit(executableName);
+            }
+        }
+    }
+
+    /**
+     * @return the components grouped by levels, starting from the components without dependencies
+     */
+    List<List<Component>> getLevels() {
+        return levels;
+    }
+
+    Component getComponent(String executableName) {
+        return componentsByExecutable.get(executableName);
+    }
+
+    // iterative, as a recursion deep as the longest dependency chain of the content could overflow the stack
+    private void visit(String executableName) {
+        Deque<Visit> visits = new ArrayDeque<>();
+        visits.push(startVisit(executableName));
+        while (!visits.isEmpty()) {
+            Visit visit = visits.peek();
+            if (visit.dependencies.hasNext()) {
+                String dependencyName = visit.dependencies.next();
+                if (!executables.containsKey(dependencyName)) {
+                    throw new RuntimeException("Failed compiling slang source: " + visit.executableName +
+                            ". Missing dependency: " + dependencyName);
+                }
+                if (!indexes.containsKey(dependencyName)) {
+                    visits.push(startVisit(dependencyName));
+                } else if (onStack.contains(dependencyName)) {
+                    lowLinks.put(visit.executableName,
+                            Math.min(lowLinks.get(visit.executableName), indexes.get(dependencyName)));
+                }
+            } else {
+                visits.pop();
+                endVisit(visit.executableName);
+                if (!visits.isEmpty()) {
+                    String parentName = visits.peek().executableName;
+                    lowLinks.put(parentName, Math.min(lowLinks.get(parentName), lowLinks.get(visit.executableName)));
+                }
+            }
+        }
+    }
+
+    private Visit startVisit(String executableName) {
+        int index = indexes.size();
+        indexes.put(executableName, index);
+        lowLinks.put(executableName, index);
+        stack.push(executableName);
+        onStack.add(executableName);
+        return new Visit(executableName,
+                new TreeSet<>(executables.get(executableName).getExecutableDependencies()).iterator());
+    }
+
+    private void endVisit(String executableName) {
+        if (lowLinks.get(executableName).equals(indexes.get(executableName))) {
+            Component component = new Component();
+            String member;
+            do {
+                member = stack.pop();
+                onStack.remove(member);
+                component.executables.put(member, executables.get(member));
+                componentsByExecutable.put(member, component);
+            } while (!member.equals(executableName));
+            // components are completed in reverse topological order, so all of the dependencies are already resolved
+            resolveDependencies(component);
+        }
+    }
+
+    private void resolveDependencies(Component component) {
+        int level = 0;
+        for (Executable executable : component.executables.values()) {
+            for (String dependencyName : executable.getExecutableDependencies()) {
+                Component dependencyComponent = componentsByExecutable.get(dependencyName);
+                if (dependencyComponent == component) {
+                    component.circular = true;
+                } else {
+                    component.dependencies.putAll(dependencyComponent.executables);
+                    component.dependencies.putAll(dependencyComponent.dependencies);
+                    level = Math.max(level, dependencyComponent.level + 1);
+                }
+            }
+        }
+        if (component.circular) {
+            // an executable that is part of a cycle is also a dependency of itself
+            component.dependencies.putAll(component.executables);
+        }
+        component.level = level;
+        if (levels.size() <= level) {
+            levels.add(new ArrayList<Component>());
+        }
+        levels.get(level).add(component);
+    }
+
+    /**
+     * An executable being visited, with the dependencies left to visit
+     */
+    private static class Visit {
+
+        private final String executableName;
+
+        private final Iterator<String> dependencies;
+
+        private Visit(String executableName, Iterator<String> dependencies) {
+            this.executableName = executableName;
+            this.dependencies = dependencies;
+        }
+    }
+
+    /**
+     * A group of executables that (directly or indirectly) depend on each other,
+     * or a single executable which is not part of any cycle.
+     */
+    static class Component {
+
+        private final Map<String, Executable> executables = new TreeMap<>();
+
+        private final Map<String, Executable> dependencies = new HashMap<>();
+
+        private boolean circular;
+
+        private int level;
+
+        /**
+         * @return the executables of the component, sorted by their fully qualified name
+         */
+        Map<String, Executable> getExecutables() {
+            return Collections.unmodifiableMap(executables);
+        }
+
+        /**
+         * @return all the transitive dependencies of the component's executables, mapped by their id
+         */
+        Map<String, Executable> getDependencies() {
+            return Collections.unmodifiableMap(dependencies);
+        }
+
+        boolean isCircular() {
+            return circular;
+        }
+
+        int getLevel() {
+            return level;
+        }
+    }
+
+}
@@ -15,14 +15,20 @@ import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.modeller.model.Executable;
 import io.cloudslang.lang.compiler.scorecompiler.ScoreCompiler;
 import io.cloudslang.lang.entities.CompilationArtifact;
+import io.cloudslang.score.api.ExecutionPlan;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang.Validate;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -34,6 +40,8 @@ public class SlangContentVerifier {
 
     private final static Logger log = Logger.getLogger(SlangContentVerifier.class);
 
+    public static final int SEQUENTIAL = 1;
+
     @Autowired
     private SlangCompiler slangCompiler;
 
@@ -41,74 +49,152 @@ public class SlangContentVerifier {
     private ScoreCompiler scoreCompiler;
 
     public Map<String, Executable> createModelsAndValidate(String directoryPath) {
+        return createModelsAndValidate(directoryPath, SEQUENTIAL);
+    }
+
+    /**
+     * Reads, parses and models all the .sl files under the given directory
+     * @param directoryPath the directory to scan
+     * @param parallelism the number of threads of the fork/join pool used for modelling the files;
+     *                    a value of 1 models the files sequentially on the calling thread
+     * @return the models mapped by their fully qualified name
+     */
+    public Map<String, Executable> createModelsAndValidate(String directoryPath, int parallelism) {
         Validate.notEmpty(directoryPath, "You must specify a path");
         Validate.isTrue(new File(directoryPath).isDirectory(), "Directory path argument \'" + directoryPath + "\' does not lead to a directory");
+        Validate.isTrue(parallelism > 0, "Parallelism level must be a positive number, but was: " + parallelism);
         Map<String, Executable> slangModels = new HashMap<>();
-        Collection<File> slangFiles = listSlangFiles(new File(directoryPath), true);
+        List<File> slangFiles = listSlangFiles(new File(directoryPath), true);
         log.info("Start compiling all slang files under: " + directoryPath);
         log.info(slangFiles.size() + " .sl files were found");
         log.info("");
+
+        ModellingResult[] modellingResults = new ModellingResult[slangFiles.size()];
+        if (parallelism == SEQUENTIAL || slangFiles.size() <= 1) {
+            new ModellingTask(slangFiles, modellingResults, 0, slangFiles.size()).compute();
+        } else {
+            ForkJoinPool forkJoinPool = new ForkJoinPool(parallelism);
+            try {
+                forkJoinPool.invoke(new ModellingTask(slangFiles, modellingResults, 0, slangFiles.size()));
+            } finally {
+                forkJoinPool.shutdown();
+            }
+        }
+
+        // results are handled in sorted file order so errors are reported deterministically
+        List<String> errorMessages = new ArrayList<>();
+        RuntimeException firstError = null;
         int ignoredExecutables = 0;
-        for(File slangFile: slangFiles){
+        for (ModellingResult modellingResult : modellingResults) {
+            if (modellingResult.error != null) {
+                log.error(modellingResult.error.getMessage());
+                errorMessages.add(modellingResult.error.getMessage());
+                if (firstError == null) {
+                    firstError = modellingResult.error;
+                }
+            } else if (modellingResult.executable != null) {
+                slangModels.put(getUniqueName(modellingResult.executable), modellingResult.executable);
+            }
+        }
+        if (errorMessages.size() == 1) {
+            throw firstError;
+        } else if (errorMessages.size() > 1) {
+            throw new RuntimeException(errorMessages.size() + " Slang files failed validation:\n" +
+                    StringUtils.join(errorMessages, "\n"), firstError);
+        }
+
+        int numberOfExecutables = slangFiles.size() - ignoredExecutables;
+        if(numberOfExecutables != slangModels.size()){
+            throw new RuntimeException("Some Slang files were not pre-compiled.\nFound: " + numberOfExecutables +
+                    " executable files in path: \'" + directoryPath + "\' But managed to create slang models for only: " + slangModels.size());
+        }
+        return slangModels;
+    }
+
+    private ModellingResult createModelAndValidate(File slangFile) {
+        try {
             Validate.isTrue(slangFile.isFile(), "file path \'" + slangFile.getAbsolutePath() + "\' must lead to a file");
             Executable sourceModel;
             try {
                 sourceModel = slangCompiler.preCompile(SlangSource.fromFile(slangFile));
             } catch (Exception e) {
                 String errorMessage = "Failed creating Slang models for file: \'" + slangFile.getAbsoluteFile() + "\'.\n" + e.getMessage();
-                log.error(errorMessage);
-                throw new RuntimeException(errorMessage, e);
+                return new ModellingResult(null, new RuntimeException(errorMessage, e));
             }
             if (sourceModel != null) {
                 staticSlangFileValidation(slangFile, sourceModel);
-                slangModels.put(getUniqueName(sourceModel), sourceModel);
             }
+            return new ModellingResult(sourceModel, null);
+        } catch (RuntimeException e) {
+            return new ModellingResult(null, e);
         }
-        int numberOfExecutables = slangFiles.size() - ignoredExecutables;
-        if(numberOfExecutables != slangModels.size()){
-            throw new RuntimeException("Some Slang files were not pre-compiled.\nFound: " + numberOfExecutables +
-                    " executable files in path: \'" + directoryPath + "\' But managed to create slang models for only: " + slangModels.size());
-        }
-        return slangModels;
     }
 
     public Map<String, CompilationArtifact> compileSlangModels(Map<String, Executable> slangModels) {
+        return compileSlangModels(slangModels, SEQUENTIAL);
+    }
+
+    /**
+     * Compiles all the given models in the order of their dependencies.
+     * The execution plan of every model is created only once and is shared by all the artifacts depending on it.
+     * @param slangModels the models mapped by their fully qualified name
+     * @param parallelism the number of threads of the fork/join pool used for compiling models
+     *                    which do not depend on each other; a value of 1 compiles the models sequentially
+     * @return the compilation artifacts mapped by the fully qualified name of their models
+     */
+    public Map<String, CompilationArtifact> compileSlangModels(Map<String, Executable> slangModels, int parallelism) {
+        Validate.isTrue(parallelism > 0, "Parallelism level must be a positive number, but was: " + parallelism);
+        ExecutablesDependencyGraph dependencyGraph = new ExecutablesDependencyGraph(slangModels);
+        ConcurrentMap<String, ExecutionPlan> executionPlans = new ConcurrentHashMap<>();
         Map<String, CompilationArtifact> compiledArtifacts = new HashMap<>();
-        for(Map.Entry<String, Executable> slangModelEntry : slangModels.entrySet()) {
-            Executable slangModel = slangModelEntry.getValue();
-            try {
-                Set<Executable> dependenciesModels = getModelDependenciesRecursively(slangModels, slangModel);
-                CompilationArtifact compiledSource = compiledArtifacts.get(getUniqueName(slangModel));
-                if (compiledSource == null) {
-                    compiledSource = scoreCompiler.compile(slangModel, dependenciesModels);
-                    if(compiledSource != null) {
-                        log.info("Compiled: \'" + slangModel.getNamespace() + "." + slangModel.getName() + "\' successfully");
-                        compiledArtifacts.put(getUniqueName(slangModel), compiledSource);
-                    } else {
-                        log.error("Failed to compile source: \'" + slangModel.getNamespace() + "." + slangModel.getName() + "\'");
+
+        ForkJoinPool forkJoinPool = parallelism == SEQUENTIAL ? null : new ForkJoinPool(parallelism);
+        try {
+            for (List<ExecutablesDependencyGraph.Component> level : dependencyGraph.getLevels()) {
+                CompilationResult[] compilationResults = new CompilationResult[level.size()];
+                CompilationTask compilationTask = new CompilationTask(level, compilationResults, executionPlans, 0, level.size());
+                if (forkJoinPool == null || level.size() <= 1) {
+                    compilationTask.compute();
+                } else {
+                    forkJoinPool.invoke(compilationTask);
+                }
+                for (CompilationResult compilationResult : compilationResults) {
+                    for (Map.Entry<String, CompilationArtifact> artifactEntry : compilationResult.artifacts.entrySet()) {
+                        if (artifactEntry.getValue() != null) {
+                            log.info("Compiled: \'" + artifactEntry.getKey() + "\' successfully");
+                            compiledArtifacts.put(artifactEntry.getKey(), artifactEntry.getValue());
+                        } else {
+                            log.error("Failed to compile source: \'" + artifactEntry.getKey() + "\'");
+                        }
+                    }
+                    if (compilationResult.error != null) {
+                        log.error(compilationResult.error.getMessage());
+                        throw compilationResult.error;
                     }
                 }
-            } catch (Exception e) {
-                String errorMessage = "Failed compiling Slang source: \'" + slangModel.getNamespace() + "." + slangModel.getName() + "\'.\n" + e.getMessage();
-                log.error(errorMessage);
-                throw new RuntimeException(errorMessage, e);
+            }
+        } finally {
+            if (forkJoinPool != null) {
+                forkJoinPool.shutdown();
             }
         }
         return compiledArtifacts;
     }
 
-    private Set<Executable> getModelDependenciesRecursively(Map<String, Executable> slangModels, Executable slangModel) {
-        Set<Executable> dependenciesModels = new HashSet<>();
-        for (String dependencyName : slangModel.getExecutableDependencies()) {
-            Executable dependency = slangModels.get(dependencyName);
-            if(dependency == null){
-                throw new RuntimeException("Failed compiling slang source: " + slangModel.getNamespace() + "." +
-                        slangModel.getName() + ". Missing dependency: " + dependencyName);
+    private CompilationResult compileComponent(ExecutablesDependencyGraph.Component component,
+                                               ConcurrentMap<String, ExecutionPlan> executionPlans) {
+        // executables of a cycle share their execution plans, so they are compiled by the same thread
+        Map<String, CompilationArtifact> artifacts = new LinkedHashMap<>();
+        for (Map.Entry<String, Executable> executableEntry : component.getExecutables().entrySet()) {
+            try {
+                artifacts.put(executableEntry.getKey(),
+                        scoreCompiler.compile(executableEntry.getValue(), component.getDependencies(), executionPlans));
+            } catch (Exception e) {
+                String errorMessage = "Failed compiling Slang source: \'" + executableEntry.getKey() + "\'.\n" + e.getMessage();
+                return new CompilationResult(artifacts, new RuntimeException(errorMessage, e));
             }
-            dependenciesModels.add(dependency);
-            dependenciesModels.addAll(getModelDependenciesRecursively(slangModels, dependency));
         }
-        return dependenciesModels;
+        return new CompilationResult(artifacts, null);
     }
 
     private void staticSlangFileValidation(File slangFile, Executable executable){
@@ -152,15 +238,108 @@ public class SlangContentVerifier {
     }
 
     // e.g. exclude .prop.sl from .sl set
-    private Collection<File> listSlangFiles(File directory, boolean recursive) {
+    private List<File> listSlangFiles(File directory, boolean recursive) {
         Collection<File> dependenciesFiles = FileUtils.listFiles(directory, Extension.getSlangFileExtensionValues(), recursive);
-        Collection<File> result = new ArrayList<>();
+        List<File> result = new ArrayList<>();
         for (File file : dependenciesFiles) {
             if (Extension.SL.equals(Extension.findExtension(file.getName()))) {
                 result.add(file);
             }
         }
+        Collections.sort(result);
         return result;
     }
 
-}
+    private static class ModellingResult {
+
+        private final Executable executable;
+        private final RuntimeException error;
+
+        private ModellingResult(Executable executable, RuntimeException error) {
+            this.executable = executable;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Models a range of the (sorted) slang files, splitting it between the pool threads.
+     * Each file result is stored in its own index, so no synchronization is needed.
+     */
+    private class ModellingTask extends RecursiveAction {
+
+        private static final int FILES_PER_TASK = 16;
+
+        private final List<File> slangFiles;
+        private final ModellingResult[] results;
+        private final int from;
+        private final int to;
+
+        private ModellingTask(List<File> slangFiles, ModellingResult[] results, int from, int to) {
+            this.slangFiles = slangFiles;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= FILES_PER_TASK || getPool() == null) {
+                for (int i = from; i < to; i++) {
+                    results[i] = createModelAndValidate(slangFiles.get(i));
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ModellingTask(slangFiles, results, from, middle),
+                        new ModellingTask(slangFiles, results, middle, to));
+            }
+        }
+    }
+
+    private static class CompilationResult {
+
+        private final Map<String, CompilationArtifact> artifacts;
+        private final RuntimeException error;
+
+        private CompilationResult(Map<String, CompilationArtifact> artifacts, RuntimeException error) {
+            this.artifacts = artifacts;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Compiles a range of independent components of the same dependency level, splitting it between the pool threads.
+     */
+    private class CompilationTask extends RecursiveAction {
+
+        private static final int COMPONENTS_PER_TASK = 4;
+
+        private final List<ExecutablesDependencyGraph.Component> components;
+        private final CompilationResult[] results;
+        private final ConcurrentMap<String, ExecutionPlan> executionPlans;
+        private final int from;
+        private final int to;
+
+        private CompilationTask(List<ExecutablesDependencyGraph.Component> components, CompilationResult[] results,
+                                ConcurrentMap<String, ExecutionPlan> executionPlans, int from, int to) {
+            this.components = components;
+            this.results = results;
+            this.executionPlans = executionPlans;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= COMPONENTS_PER_TASK || getPool() == null) {
+                for (int i = from; i < to; i++) {
+                    results[i] = compileComponent(components.get(i), executionPlans);
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new CompilationTask(components, results, executionPlans, from, middle),
+                        new CompilationTask(components, results, executionPlans, middle, to));
+            }
+        }
+    }
+
+}
\ No newline at end of file
@@ -16,6 +16,7 @@ import io.cloudslang.lang.compiler.modeller.model.Flow;
 import io.cloudslang.lang.compiler.scorecompiler.ScoreCompiler;
 import io.cloudslang.lang.entities.CompilationArtifact;
 import io.cloudslang.lang.entities.bindings.Input;
+import io.cloudslang.lang.entities.serialization.CompilationArtifactSerializer;
 import io.cloudslang.lang.tools.build.tester.RunTestsResults;
 import io.cloudslang.lang.tools.build.tester.SlangTestRunner;
 import io.cloudslang.lang.tools.build.tester.TestRun;
@@ -23,20 +24,29 @@ import io.cloudslang.lang.tools.build.tester.parse.SlangTestCase;
 import io.cloudslang.lang.tools.build.tester.parse.TestCasesYamlParser;
 import io.cloudslang.lang.tools.build.verifier.SlangContentVerifier;
 import io.cloudslang.score.api.ExecutionPlan;
+import java.io.File;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 import junit.framework.Assert;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
+import org.mockito.Matchers;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.mockito.stubbing.OngoingStubbing;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -45,12 +55,14 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.yaml.snakeyaml.Yaml;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyList;
 import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Matchers.anyMap;
 import static org.mockito.Matchers.anyMapOf;
 import static org.mockito.Matchers.anySetOf;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 
 /*
@@ -85,6 +97,9 @@ public class SlangBuildTest {
     @Rule
     public ExpectedException exception = ExpectedException.none();
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Before
     public void resetMocks() {
         Mockito.reset(slangCompiler);
@@ -137,17 +152,31 @@ public class SlangBuildTest {
     public void testCompileValidSlangFileNoDependencies() throws Exception {
         URI resource = getClass().getResource("/no_dependencies").toURI();
         Mockito.when(slangCompiler.preCompile(any(SlangSource.class))).thenReturn(emptyExecutable);
-        Mockito.when(scoreCompiler.compile(emptyExecutable, new HashSet<Executable>())).thenReturn(emptyCompilationArtifact);
+        whenCompiled(emptyExecutable, new HashMap<String, Executable>()).thenReturn(emptyCompilationArtifact);
         SlangBuildResults buildResults = slangBuilder.buildSlangContent(resource.getPath(), resource.getPath(), null, null);
         int numberOfCompiledSlangFiles = buildResults.getNumberOfCompiledSources();
         Assert.assertEquals("Did not compile all Slang files. Expected to compile: 1, but compiled: " + numberOfCompiledSlangFiles, numberOfCompiledSlangFiles, 1);
     }
 
+    @Test
+    public void testCompiledSourcesAreWrittenAsPrecompiledFiles() throws Exception {
+        URI resource = getClass().getResource("/no_dependencies").toURI();
+        Mockito.when(slangCompiler.preCompile(any(SlangSource.class))).thenReturn(emptyExecutable);
+        whenCompiled(emptyExecutable, new HashMap<String, Executable>()).thenReturn(emptyCompilationArtifact);
+        SlangBuildResults buildResults = slangBuilder.buildSlangContent(resource.getPath(), resource.getPath(), null, null);
+
+        slangBuilder.writeCompilationArtifacts(buildResults.getCompiledSources(), folder.getRoot().getPath());
+
+        File precompiledFile = new File(folder.getRoot(), "no_dependencies" + File.separator + "empty_flow.slc");
+        Assert.assertTrue(precompiledFile.isFile());
+        Assert.assertEquals(emptyCompilationArtifact, CompilationArtifactSerializer.deserialize(precompiledFile));
+    }
+
     @Test
     public void testCompileInvalidSlangFile() throws Exception {
         URI resource = getClass().getResource("/no_dependencies").toURI();
         Mockito.when(slangCompiler.preCompile(any(SlangSource.class))).thenReturn(emptyExecutable);
-        Mockito.when(scoreCompiler.compile(emptyExecutable, new HashSet<Executable>())).thenThrow(new RuntimeException());
+        whenCompiled(emptyExecutable, new HashMap<String, Executable>()).thenThrow(new RuntimeException());
         exception.expect(RuntimeException.class);
         slangBuilder.buildSlangContent(resource.getPath(), resource.getPath(), null, null);
     }
@@ -156,7 +185,7 @@ public class SlangBuildTest {
     public void testNotAllSlangFilesWereCompiled() throws Exception {
         URI resource = getClass().getResource("/no_dependencies").toURI();
         Mockito.when(slangCompiler.preCompile(any(SlangSource.class))).thenReturn(emptyExecutable);
-        Mockito.when(scoreCompiler.compile(emptyExecutable, new HashSet<Executable>())).thenReturn(null);
+        whenCompiled(emptyExecutable, new HashMap<String, Executable>()).thenReturn(null);
         exception.expect(RuntimeException.class);
         exception.expectMessage("1");
         exception.expectMessage("0");
@@ -172,7 +201,7 @@ public class SlangBuildTest {
         flowDependencies.add("dep1");
         Flow newExecutable = new Flow(null, null, null, "no_dependencies", "empty_flow", null, null, null, flowDependencies, systemPropertyDependencies);
         Mockito.when(slangCompiler.preCompile(any(SlangSource.class))).thenReturn(newExecutable);
-        Mockito.when(scoreCompiler.compile(newExecutable, new HashSet<Executable>())).thenReturn(emptyCompilationArtifact);
+        whenCompiled(newExecutable, new HashMap<String, Executable>()).thenReturn(emptyCompilationArtifact);
         exception.expect(RuntimeException.class);
         exception.expectMessage("dependency");
         exception.expectMessage("dep1");
@@ -188,16 +217,106 @@ public class SlangBuildTest {
         Mockito.when(slangCompiler.preCompile(new SlangSource("", "empty_flow"))).thenReturn(emptyFlowExecutable);
         Flow dependencyExecutable = new Flow(null, null, null, "dependencies", "dependency", null, null, null, new HashSet<String>(), systemPropertyDependencies);
         Mockito.when(slangCompiler.preCompile(new SlangSource("", "dependency"))).thenReturn(dependencyExecutable);
-        HashSet<Executable> dependencies = new HashSet<>();
-        dependencies.add(dependencyExecutable);
-        Mockito.when(scoreCompiler.compile(emptyFlowExecutable, dependencies)).thenReturn(emptyCompilationArtifact);
-        Mockito.when(scoreCompiler.compile(dependencyExecutable, new HashSet<Executable>())).thenReturn(emptyCompilationArtifact);
+        Map<String, Executable> dependencies = new HashMap<>();
+        dependencies.put(dependencyExecutable.getId(), dependencyExecutable);
+        whenCompiled(emptyFlowExecutable, dependencies).thenReturn(emptyCompilationArtifact);
+        whenCompiled(dependencyExecutable, new HashMap<String, Executable>()).thenReturn(emptyCompilationArtifact);
         SlangBuildResults buildResults = slangBuilder.buildSlangContent(resource.getPath(), resource.getPath(), null, null);
         int numberOfCompiledSlangFiles = buildResults.getNumberOfCompiledSources();
         // properties file should be ignored
         Assert.assertEquals("Did not compile all Slang files. Expected to compile: 2, but compiled: " + numberOfCompiledSlangFiles, numberOfCompiledSlangFiles, 2);
     }
 
+    @Test
+    public void testCompileValidSlangFileWithDependenciesInParallel() throws Exception {
+        URI resource = getClass().getResource("/dependencies").toURI();
+        Set<String> flowDependencies = new HashSet<>();
+        flowDependencies.add("dependencies.dependency");
+        Flow emptyFlowExecutable = new Flow(null, null, null, "dependencies", "empty_flow", null, null, null, flowDependencies, systemPropertyDependencies);
+        Mockito.when(slangCompiler.preCompile(new SlangSource("", "empty_flow"))).thenReturn(emptyFlowExecutable);
+        Flow dependencyExecutable = new Flow(null, null, null, "dependencies", "dependency", null, null, null, new HashSet<String>(), systemPropertyDependencies);
+        Mockito.when(slangCompiler.preCompile(new SlangSource("", "dependency"))).thenReturn(dependencyExecutable);
+        Map<String, Executable> dependencies = new HashMap<>();
+        dependencies.put(dependencyExecutable.getId(), dependencyExecutable);
+        whenCompiled(emptyFlowExecutable, dependencies).thenReturn(emptyCompilationArtifact);
+        whenCompiled(dependencyExecutable, new HashMap<String, Executable>()).thenReturn(emptyCompilationArtifact);
+        SlangBuildResults buildResults = slangBuilder.buildSlangContent(resource.getPath(), resource.getPath(), null, null, 4);
+        int numberOfCompiledSlangFiles = buildResults.getNumberOfCompiledSources();
+        Assert.assertEquals("Did not compile all Slang files. Expected to compile: 2, but compiled: " + numberOfCompiledSlangFiles, numberOfCompiledSlangFiles, 2);
+    }
+
+    @Test
+    public void testParallelPreCompileErrorsAreReportedInFileOrder() throws Exception {
+        URI resource = getClass().getResource("/dependencies").toURI();
+        Mockito.when(slangCompiler.preCompile(new SlangSource("", "empty_flow"))).thenThrow(new RuntimeException("empty_flow error"));
+        Mockito.when(slangCompiler.preCompile(new SlangSource("", "dependency"))).thenThrow(new RuntimeException("dependency error"));
+        try {
+            slangBuilder.buildSlangContent(resource.getPath(), resource.getPath(), null, null, 4);
+            Assert.fail("Build should fail since no file could be pre-compiled");
+        } catch (RuntimeException e) {
+            String message = e.getMessage();
+            Assert.assertTrue(message.contains("2 Slang files failed"));
+            Assert.assertTrue(message.indexOf("dependency error") < message.indexOf("empty_flow error"));
+        }
+    }
+
+    @Test
+    public void testInvalidParallelism() throws Exception {
+        URI resource = getClass().getResource("/no_dependencies").toURI();
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("Parallelism");
+        slangBuilder.buildSlangContent(resource.getPath(), resource.getPath(), null, null, 0);
+    }
+
+    @Test
+    public void testCompileSlangFilesWithCircularDependencies() throws Exception {
+        URI resource = getClass().getResource("/dependencies").toURI();
+        Set<String> flowDependencies = new HashSet<>();
+        flowDependencies.add("dependencies.dependency");
+        Flow emptyFlowExecutable = new Flow(null, null, null, "dependencies", "empty_flow", null, null, null, flowDependencies, systemPropertyDependencies);
+        Mockito.when(slangCompiler.preCompile(new SlangSource("", "empty_flow"))).thenReturn(emptyFlowExecutable);
+        Set<String> dependencyDependencies = new HashSet<>();
+        dependencyDependencies.add("dependencies.empty_flow");
+        Flow dependencyExecutable = new Flow(null, null, null, "dependencies", "dependency", null, null, null, dependencyDependencies, systemPropertyDependencies);
+        Mockito.when(slangCompiler.preCompile(new SlangSource("", "dependency"))).thenReturn(dependencyExecutable);
+        // executables of a cycle depend on all the executables of the cycle, including themselves
+        Map<String, Executable> dependencies = new HashMap<>();
+        dependencies.put(emptyFlowExecutable.getId(), emptyFlowExecutable);
+        dependencies.put(dependencyExecutable.getId(), dependencyExecutable);
+        whenCompiled(emptyFlowExecutable, dependencies).thenReturn(emptyCompilationArtifact);
+        whenCompiled(dependencyExecutable, dependencies).thenReturn(emptyCompilationArtifact);
+        SlangBuildResults buildResults = slangBuilder.buildSlangContent(resource.getPath(), resource.getPath(), null, null, 4);
+        int numberOfCompiledSlangFiles = buildResults.getNumberOfCompiledSources();
+        Assert.assertEquals("Did not compile all Slang files. Expected to compile: 2, but compiled: " + numberOfCompiledSlangFiles, numberOfCompiledSlangFiles, 2);
+    }
+
+    @Test
+    public void testCompiledSlangFilesShareExecutionPlansCache() throws Exception {
+        URI resource = getClass().getResource("/dependencies").toURI();
+        Set<String> flowDependencies = new HashSet<>();
+        flowDependencies.add("dependencies.dependency");
+        Flow emptyFlowExecutable = new Flow(null, null, null, "dependencies", "empty_flow", null, null, null, flowDependencies, systemPropertyDependencies);
+        Mockito.when(slangCompiler.preCompile(new SlangSource("", "empty_flow"))).thenReturn(emptyFlowExecutable);
+        Flow dependencyExecutable = new Flow(null, null, null, "dependencies", "dependency", null, null, null, new HashSet<String>(), systemPropertyDependencies);
+        Mockito.when(slangCompiler.preCompile(new SlangSource("", "dependency"))).thenReturn(dependencyExecutable);
+        final List<ConcurrentMap<String, ExecutionPlan>> usedCaches = new ArrayList<>();
+        final List<Executable> compilationOrder = new ArrayList<>();
+        Mockito.when(scoreCompiler.compile(any(Executable.class), anyMapOf(String.class, Executable.class),
+                Matchers.<ConcurrentMap<String, ExecutionPlan>>any())).thenAnswer(new Answer<CompilationArtifact>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public CompilationArtifact answer(InvocationOnMock invocation) throws Throwable {
+                compilationOrder.add((Executable) invocation.getArguments()[0]);
+                usedCaches.add((ConcurrentMap<String, ExecutionPlan>) invocation.getArguments()[2]);
+                return emptyCompilationArtifact;
+            }
+        });
+        slangBuilder.buildSlangContent(resource.getPath(), resource.getPath(), null, null);
+        // every executable is compiled once, after its dependencies, and with the same execution plans cache
+        Assert.assertEquals(Arrays.<Executable>asList(dependencyExecutable, emptyFlowExecutable), compilationOrder);
+        Assert.assertSame(usedCaches.get(0), usedCaches.get(1));
+    }
+
     @Test
     public void testInvalidNamespaceFlow() throws Exception {
         URI resource = getClass().getResource("/no_dependencies").toURI();
@@ -224,7 +343,7 @@ public class SlangBuildTest {
     public void testValidFlowNameAndNamespace() throws Exception {
         URI resource = getClass().getResource("/no_dependencies").toURI();
         Mockito.when(slangCompiler.preCompile(any(SlangSource.class))).thenReturn(emptyExecutable);
-        Mockito.when(scoreCompiler.compile(emptyExecutable, new HashSet<Executable>())).thenReturn(emptyCompilationArtifact);
+        whenCompiled(emptyExecutable, new HashMap<String, Executable>()).thenReturn(emptyCompilationArtifact);
         SlangBuildResults buildResults = slangBuilder.buildSlangContent(resource.getPath(), resource.getPath(), null, null);
         int numberOfCompiledSlangFiles = buildResults.getNumberOfCompiledSources();
         Assert.assertEquals("Did not compile all Slang files. Expected to compile: 1, but compiled: " + numberOfCompiledSlangFiles, numberOfCompiledSlangFiles, 1);
@@ -235,7 +354,7 @@ public class SlangBuildTest {
         URI resource = getClass().getResource("/no_dependencies-0123456789").toURI();
         Flow executable = new Flow(null, null, null, "no_dependencies-0123456789", "empty_flow", null, null, null, new HashSet<String>(), systemPropertyDependencies);
         Mockito.when(slangCompiler.preCompile(any(SlangSource.class))).thenReturn(executable);
-        Mockito.when(scoreCompiler.compile(executable, new HashSet<Executable>())).thenReturn(emptyCompilationArtifact);
+        whenCompiled(executable, new HashMap<String, Executable>()).thenReturn(emptyCompilationArtifact);
         SlangBuildResults buildResults = slangBuilder.buildSlangContent(resource.getPath(), resource.getPath(), null, null);
         int numberOfCompiledSlangFiles = buildResults.getNumberOfCompiledSources();
         Assert.assertEquals("Did not compile all Slang files. Expected to compile: 1, but compiled: " + numberOfCompiledSlangFiles, numberOfCompiledSlangFiles, 1);
@@ -246,7 +365,7 @@ public class SlangBuildTest {
         URI resource = getClass().getResource("/no_dependencies").toURI();
         Flow executable = new Flow(null, null, null, "No_Dependencies", "empty_flow", null, null, null, new HashSet<String>(), systemPropertyDependencies);
         Mockito.when(slangCompiler.preCompile(any(SlangSource.class))).thenReturn(executable);
-        Mockito.when(scoreCompiler.compile(executable, new HashSet<Executable>())).thenReturn(emptyCompilationArtifact);
+        whenCompiled(executable, new HashMap<String, Executable>()).thenReturn(emptyCompilationArtifact);
         SlangBuildResults buildResults = slangBuilder.buildSlangContent(resource.getPath(), resource.getPath(), null, null);
         int numberOfCompiledSlangFiles = buildResults.getNumberOfCompiledSources();
         Assert.assertEquals("Did not compile all Slang files. Expected to compile: 1, but compiled: " + numberOfCompiledSlangFiles, numberOfCompiledSlangFiles, 1);
@@ -268,10 +387,10 @@ public class SlangBuildTest {
         URI contentResource = getClass().getResource("/no_dependencies").toURI();
         URI testResource = getClass().getResource("/test/valid").toURI();
         Mockito.when(slangCompiler.preCompile(any(SlangSource.class))).thenReturn(emptyExecutable);
-        Mockito.when(scoreCompiler.compile(emptyExecutable, new HashSet<Executable>())).thenReturn(emptyCompilationArtifact);
+        whenCompiled(emptyExecutable, new HashMap<String, Executable>()).thenReturn(emptyCompilationArtifact);
         RunTestsResults runTestsResults = new RunTestsResults();
         runTestsResults.addFailedTest("test1", new TestRun(new SlangTestCase("test1", "", null, null, null, null, null, null, null), "message"));
-        Mockito.when(slangTestRunner.runAllTests(any(String.class), anyMap(), anyMap(), anyList())).thenReturn(runTestsResults);
+        Mockito.when(slangTestRunner.runAllTests(any(String.class), anyMap(), anyMap(), anyList(), anyInt())).thenReturn(runTestsResults);
         SlangBuildResults buildResults = slangBuilder.buildSlangContent(contentResource.getPath(), contentResource.getPath(), testResource.getPath(), null);
         int numberOfCompiledSlangFiles = buildResults.getNumberOfCompiledSources();
         RunTestsResults actualRunTestsResults = buildResults.getRunTestsResults();
@@ -284,7 +403,7 @@ public class SlangBuildTest {
         URI contentResource = getClass().getResource("/no_dependencies").toURI();
         URI testResource = getClass().getResource("/test/valid").toURI();
         Mockito.when(slangCompiler.preCompile(any(SlangSource.class))).thenReturn(emptyExecutable);
-        Mockito.when(scoreCompiler.compile(emptyExecutable, new HashSet<Executable>())).thenReturn(emptyCompilationArtifact);
+        whenCompiled(emptyExecutable, new HashMap<String, Executable>()).thenReturn(emptyCompilationArtifact);
         RunTestsResults runTestsResults = new RunTestsResults();
         runTestsResults.addFailedTest("test1", new TestRun(new SlangTestCase("test1", "", null, null, null, null, null, null, null), "message"));
         Mockito.when(
@@ -292,7 +411,8 @@ public class SlangBuildTest {
                         any(String.class),
                         anyMapOf(String.class, SlangTestCase.class),
                         anyMapOf(String.class, CompilationArtifact.class),
-                        anyListOf(String.class)
+                        anyListOf(String.class),
+                        anyInt()
                 )
         ).thenReturn(runTestsResults);
 
@@ -318,6 +438,11 @@ public class SlangBuildTest {
         Assert.assertEquals(1, buildResults.getRunTestsResults().getUncoveredExecutables().size());
     }
 
+    private OngoingStubbing<CompilationArtifact> whenCompiled(Executable executable, Map<String, Executable> dependencies) {
+        return Mockito.when(scoreCompiler.compile(eq(executable), eq(dependencies),
+                Matchers.<ConcurrentMap<String, ExecutionPlan>>any()));
+    }
+
     @Configuration
     static class Config {
 
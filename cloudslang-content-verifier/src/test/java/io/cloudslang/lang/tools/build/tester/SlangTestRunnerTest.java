@@ -1,17 +1,13 @@
 package io.cloudslang.lang.tools.build.tester;
 
+import io.cloudslang.lang.api.ExecutionResult;
 import io.cloudslang.lang.api.Slang;
 import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.entities.CompilationArtifact;
-import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.entities.bindings.values.Value;
-import io.cloudslang.lang.runtime.events.LanguageEventData;
 import io.cloudslang.lang.tools.build.tester.parse.SlangTestCase;
 import io.cloudslang.lang.tools.build.tester.parse.TestCasesYamlParser;
 import io.cloudslang.score.api.ExecutionPlan;
-import io.cloudslang.score.events.EventConstants;
-import io.cloudslang.score.events.ScoreEvent;
-import io.cloudslang.score.events.ScoreEventListener;
 import junit.framework.Assert;
 import org.apache.commons.collections4.SetUtils;
 import org.junit.Before;
@@ -38,9 +34,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.mockito.Matchers.any;
-import static org.mockito.Matchers.anySetOf;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.anySet;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -462,50 +460,61 @@ public class SlangTestRunnerTest {
         Assert.assertEquals("1 test case should be skipped", 1, runTestsResults.getSkippedTests().size());
     }
 
-    private void prepareMockForEventListenerWithSuccessResult() {
-        Mockito.doAnswer(new Answer() {
-            @Override
-            public Object answer(InvocationOnMock invocationOnMock) throws Throwable {
-                ScoreEventListener listener = (ScoreEventListener) invocationOnMock.getArguments()[0];
-                LanguageEventData data = new LanguageEventData();
-                data.setResult("SUCCESS");
-                listener.onEvent(new ScoreEvent(ScoreLangConstants.EVENT_EXECUTION_FINISHED, data));
-                return listener;
+    @Test
+    public void runTestCasesInParallel() {
+        Map<String, SlangTestCase> testCases = new HashMap<>();
+        HashMap<String, CompilationArtifact> compiledFlows = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            SlangTestCase testCase = new SlangTestCase("test" + i, "testFlowPath" + i, "desc", null, "mock", null, null, false, "SUCCESS");
+            testCases.put("test" + i, testCase);
+            if (i % 2 == 0) {
+                compiledFlows.put("testFlowPath" + i, new CompilationArtifact(new ExecutionPlan(), null, null, null));
             }
-        }).when(slang).subscribeOnEvents(any(ScoreEventListener.class), anySetOf(String.class));
+        }
+        prepareMockForEventListenerWithSuccessResult();
+        RunTestsResults runTestsResults = slangTestRunner.runAllTests("path", testCases, compiledFlows, defaultTestSuite, 4);
+        Assert.assertEquals("10 test cases should pass", 10, runTestsResults.getPassedTests().size());
+        Assert.assertEquals("10 test cases should fail", 10, runTestsResults.getFailedTests().size());
+        Assert.assertTrue(runTestsResults.getPassedTests().containsKey("test0"));
+        Assert.assertTrue(runTestsResults.getFailedTests().containsKey("test1"));
+    }
+
+    @Test
+    public void runTestCasesWithInvalidParallelism() {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("Parallelism");
+        slangTestRunner.runAllTests("path", new HashMap<String, SlangTestCase>(), new HashMap<String, CompilationArtifact>(), defaultTestSuite, 0);
+    }
+
+    private void prepareMockForEventListenerWithSuccessResult() {
+        prepareMockForEventListener("SUCCESS", new HashMap<String, Serializable>(), null);
     }
 
     private void prepareMockForEventListenerWithSuccessResultAndOutputs(final Map<String, Serializable> outputs) {
-        Mockito.doAnswer(new Answer() {
-            @Override
-            public Object answer(InvocationOnMock invocationOnMock) throws Throwable {
-                ScoreEventListener listener = (ScoreEventListener) invocationOnMock.getArguments()[0];
-                LanguageEventData data = new LanguageEventData();
-                data.setOutputs(outputs);
-                data.setPath("0");
-                listener.onEvent(new ScoreEvent(ScoreLangConstants.EVENT_OUTPUT_END, data));
-                data = new LanguageEventData();
-                data.setResult("SUCCESS");
-                listener.onEvent(new ScoreEvent(ScoreLangConstants.EVENT_EXECUTION_FINISHED, data));
-                return listener;
-            }
-        }).when(slang).subscribeOnEvents(any(ScoreEventListener.class), anySetOf(String.class));
+        prepareMockForEventListener("SUCCESS", outputs, null);
     }
 
     private void prepareMockForEventListenerWithSlangExceptionEvent() {
-        Mockito.doAnswer(new Answer() {
-            @Override
-            public Object answer(InvocationOnMock invocationOnMock) throws Throwable {
-                ScoreEventListener listener = (ScoreEventListener) invocationOnMock.getArguments()[0];
-                LanguageEventData data = new LanguageEventData();
-                data.setException("Error");
-                listener.onEvent(new ScoreEvent(EventConstants.SCORE_ERROR_EVENT, data));
-                return listener;
-            }
-        }).when(slang).subscribeOnEvents(any(ScoreEventListener.class), anySetOf(String.class));
+        prepareMockForEventListener(null, new HashMap<String, Serializable>(), "Error");
+    }
+
+    /**
+     * Every run gets a new execution id and completes with the given result, outputs and error message
+     */
+    private void prepareMockForEventListener(final String result, final Map<String, Serializable> outputs, final String errorMessage) {
+        final AtomicLong executionIds = new AtomicLong();
+        try {
+            Mockito.doAnswer(new Answer() {
+                @Override
+                public Object answer(InvocationOnMock invocationOnMock) throws Throwable {
+                    return new ExecutionResult(executionIds.incrementAndGet(), result, outputs, errorMessage);
+                }
+            }).when(slang).runAndWait(any(CompilationArtifact.class), anyMap(), anySet());
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
     }
 
-
     @Configuration
     static class Config {
 
@@ -0,0 +1,121 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ */
+package io.cloudslang.lang.tools.build.verifier;
+
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import io.cloudslang.lang.compiler.modeller.model.Flow;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ExecutablesDependencyGraphTest {
+
+    private static final String NAMESPACE = "dependencies";
+
+    @Test
+    public void testLevels() {
+        Map<String, Executable> executables = new HashMap<>();
+        addFlow(executables, "flow", "first_operation", "second_operation");
+        addFlow(executables, "first_operation");
+        addFlow(executables, "second_operation", "first_operation");
+
+        ExecutablesDependencyGraph graph = new ExecutablesDependencyGraph(executables);
+
+        List<List<ExecutablesDependencyGraph.Component>> levels = graph.getLevels();
+        Assert.assertEquals(3, levels.size());
+        Assert.assertSame(graph.getComponent(getId("first_operation")), levels.get(0).get(0));
+        Assert.assertSame(graph.getComponent(getId("second_operation")), levels.get(1).get(0));
+        ExecutablesDependencyGraph.Component flowComponent = levels.get(2).get(0);
+        Assert.assertSame(graph.getComponent(getId("flow")), flowComponent);
+        Assert.assertEquals(new HashSet<>(Arrays.asList(getId("first_operation"), getId("second_operation"))),
+                flowComponent.getDependencies().keySet());
+        Assert.assertFalse(flowComponent.isCircular());
+    }
+
+    @Test
+    public void testCircularDependencies() {
+        Map<String, Executable> executables = new HashMap<>();
+        addFlow(executables, "flow", "first_subflow");
+        addFlow(executables, "first_subflow", "second_subflow");
+        addFlow(executables, "second_subflow", "first_subflow", "operation");
+        addFlow(executables, "operation");
+
+        ExecutablesDependencyGraph graph = new ExecutablesDependencyGraph(executables);
+
+        ExecutablesDependencyGraph.Component cycle = graph.getComponent(getId("first_subflow"));
+        Assert.assertSame(cycle, graph.getComponent(getId("second_subflow")));
+        Assert.assertTrue(cycle.isCircular());
+        Assert.assertEquals(1, cycle.getLevel());
+        Assert.assertEquals(new HashSet<>(Arrays.asList(getId("first_subflow"), getId("second_subflow"),
+                getId("operation"))), cycle.getDependencies().keySet());
+        Assert.assertEquals(2, graph.getComponent(getId("flow")).getLevel());
+        Assert.assertFalse(graph.getComponent(getId("flow")).isCircular());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testMissingDependency() {
+        Map<String, Executable> executables = new HashMap<>();
+        addFlow(executables, "flow", "missing_operation");
+
+        new ExecutablesDependencyGraph(executables);
+    }
+
+    @Test
+    public void testLongDependencyChainDoesNotOverflowTheStack() throws InterruptedException {
+        final int chainLength = 3000;
+        final Map<String, Executable> executables = new HashMap<>();
+        for (int i = 0; i < chainLength - 1; i++) {
+            addFlow(executables, "flow_" + i, "flow_" + (i + 1));
+        }
+        addFlow(executables, "flow_" + (chainLength - 1));
+
+        // a stack far too small for a recursion as deep as the chain
+        final AtomicReference<Object> result = new AtomicReference<>();
+        Thread thread = new Thread(null, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    result.set(new ExecutablesDependencyGraph(executables));
+                } catch (Throwable e) {
+                    result.set(e);
+                }
+            }
+        }, "dependency-graph", 128 * 1024);
+        thread.start();
+        thread.join();
+
+        Assert.assertTrue(String.valueOf(result.get()), result.get() instanceof ExecutablesDependencyGraph);
+        ExecutablesDependencyGraph graph = (ExecutablesDependencyGraph) result.get();
+        Assert.assertEquals(chainLength, graph.getLevels().size());
+        Assert.assertEquals(chainLength - 1, graph.getComponent(getId("flow_0")).getDependencies().size());
+    }
+
+    private void addFlow(Map<String, Executable> executables, String name, String... dependencies) {
+        HashSet<String> executableDependencies = new HashSet<>();
+        for (String dependency : dependencies) {
+            executableDependencies.add(getId(dependency));
+        }
+        Flow flow = new Flow(null, null, null, NAMESPACE, name, null, null, null, executableDependencies,
+                Collections.<String>emptySet());
+        executables.put(flow.getId(), flow);
+    }
+
+    private String getId(String name) {
+        return NAMESPACE + "." + name;
+    }
+
+}
@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.entities;
+
+/**
+ * How the CloudSlang events of an execution report the flow variables.
+ */
+public enum EventPayloadMode {
+
+    /**
+     * The events carry the whole flow context where they report it, the default
+     */
+    FULL,
+
+    /**
+     * The output end event of a step carries only the flow variables added or changed since the previous step of the
+     * flow, and the events that carried the whole flow context carry only the result
+     */
+    CHANGES
+
+}
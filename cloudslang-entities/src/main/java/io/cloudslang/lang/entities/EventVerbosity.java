@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.entities;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * How many of the CloudSlang events an execution fires. The score events are not affected.
+ * <p>
+ * The {@link ScoreLangConstants#EVENT_EXECUTION_FINISHED} of the executable the execution runs, which carries its
+ * result and outputs, is fired whatever the verbosity. Its parallel loop branches fire theirs only if included.
+ */
+public enum EventVerbosity {
+
+    /**
+     * No CloudSlang events
+     */
+    NONE(Collections.<String>emptySet()),
+
+    /**
+     * Only the execution and action errors
+     */
+    ERRORS(new HashSet<>(Arrays.asList(
+            ScoreLangConstants.SLANG_EXECUTION_EXCEPTION,
+            ScoreLangConstants.EVENT_ACTION_ERROR))),
+
+    /**
+     * The errors, the start of every step and the end of the execution
+     */
+    SUMMARY(new HashSet<>(Arrays.asList(
+            ScoreLangConstants.SLANG_EXECUTION_EXCEPTION,
+            ScoreLangConstants.EVENT_ACTION_ERROR,
+            ScoreLangConstants.EVENT_STEP_START,
+            ScoreLangConstants.EVENT_EXECUTION_FINISHED))),
+
+    /**
+     * All of the events, the default
+     */
+    FULL(null);
+
+    private final Set<String> eventTypes;
+
+    EventVerbosity(Set<String> eventTypes) {
+        this.eventTypes = eventTypes == null ? null : Collections.unmodifiableSet(eventTypes);
+    }
+
+    public boolean isFired(String eventType) {
+        return eventTypes == null || eventTypes.contains(eventType);
+    }
+
+}
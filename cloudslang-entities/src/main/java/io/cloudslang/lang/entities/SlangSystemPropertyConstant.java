@@ -6,7 +6,11 @@ package io.cloudslang.lang.entities;
  */
 public enum SlangSystemPropertyConstant {
     CSLANG_ENCODING("cslang.encoding"),
-    LOG4J_CONFIGURATION("log4j.configuration");
+    LOG4J_CONFIGURATION("log4j.configuration"),
+    CSLANG_LARGE_VALUE_THRESHOLD("cslang.large.value.threshold"),
+    CSLANG_LARGE_VALUE_DIRECTORY("cslang.large.value.directory"),
+    CSLANG_VALUE_COMPRESSION_THRESHOLD("cslang.value.compression.threshold"),
+    CSLANG_EVENTS_SKIP_UNSUBSCRIBED("cslang.events.skip.unsubscribed");
 
     private final String value;
 
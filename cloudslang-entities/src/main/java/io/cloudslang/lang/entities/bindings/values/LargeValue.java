@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.entities.bindings.values;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.ref.SoftReference;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+/**
+ * A string value kept in a file instead of the heap, holding only the file path. The run environment carrying it is
+ * serialized, and cloned for the parallel branches, without the content. The content is read from the file when the
+ * value is read, and kept in a soft reference.
+ * <p>
+ * The value is immutable, and the file is deleted when the execution it was stored for finishes. Large values are never
+ * sensitive, as sensitive values are not written to files.
+ */
+public class LargeValue implements Value {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private String path;
+    private int length;
+    private int contentHashCode;
+
+    private transient SoftReference<String> cache;
+
+    @SuppressWarnings("unused")
+    protected LargeValue() {
+    }
+
+    /**
+     * @param file the file the content was written to in UTF-8
+     * @param content the content of the value
+     */
+    public LargeValue(File file, String content) {
+        this.path = file.getPath();
+        this.length = content.length();
+        this.contentHashCode = content.hashCode();
+        this.cache = new SoftReference<>(content);
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return the number of characters of the content
+     */
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public Serializable get() {
+        String content = cache == null ? null : cache.get();
+        if (content == null) {
+            content = read();
+            cache = new SoftReference<>(content);
+        }
+        return content;
+    }
+
+    @Override
+    public boolean isSensitive() {
+        return false;
+    }
+
+    private String read() {
+        // not mapped, as a mapping holds the file open until it is collected and Windows can not delete it until then
+        try {
+            return new String(Files.readAllBytes(new File(path).toPath()), UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read the large value file " + path +
+                    ", it is deleted when the execution it belongs to finishes", e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        LargeValue that = (LargeValue) o;
+        if (path.equals(that.path)) return true;
+        return length == that.length && contentHashCode == that.contentHashCode && get().equals(that.get());
+    }
+
+    @Override
+    public int hashCode() {
+        return contentHashCode;
+    }
+
+    @Override
+    public String toString() {
+        return (String) get();
+    }
+}
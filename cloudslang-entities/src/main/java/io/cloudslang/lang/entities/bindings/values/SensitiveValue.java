@@ -33,7 +33,8 @@ public class SensitiveValue implements Value {
     }
 
     protected SensitiveValue(Serializable content) {
-        this.content = SerializationUtils.serialize(content);
+        byte[] bytes = SerializationUtils.serialize(content);
+        this.content = ValueCompression.shouldCompress(bytes.length) ? ValueCompression.compress(bytes) : bytes;
     }
 
     public byte[] getContent() {
@@ -46,7 +47,8 @@ public class SensitiveValue implements Value {
 
     @Override
     public Serializable get() {
-        return (Serializable)SerializationUtils.deserialize(content);
+        return (Serializable)SerializationUtils.deserialize(
+                ValueCompression.isCompressed(content) ? ValueCompression.decompress(content) : content);
     }
 
     @JsonIgnore
@@ -13,6 +13,9 @@ package io.cloudslang.lang.entities.bindings.values;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 
 /**
@@ -68,4 +71,31 @@ public class SimpleValue implements Value {
     public String toString() {
         return content == null ? "null" : content.toString();
     }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("content", content instanceof String && ValueCompression.shouldCompress(((String) content).length()) ?
+                new CompressedString(ValueCompression.compress((String) content)) : content);
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        Serializable serializedContent = (Serializable) in.readFields().get("content", null);
+        content = serializedContent instanceof CompressedString ?
+                ValueCompression.decompressString(((CompressedString) serializedContent).bytes) : serializedContent;
+    }
+
+    /**
+     * The serialized form of a string content longer than the compression threshold
+     */
+    private static class CompressedString implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] bytes;
+
+        CompressedString(byte[] bytes) {
+            this.bytes = bytes;
+        }
+    }
 }
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.entities.bindings.values;
+
+import io.cloudslang.lang.entities.SlangSystemPropertyConstant;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.log4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses the serialized content of the values longer than the
+ * {@link SlangSystemPropertyConstant#CSLANG_VALUE_COMPRESSION_THRESHOLD}, in characters for strings and in bytes for
+ * the sensitive values, with gzip at its fastest level. Compression is disabled unless the threshold is set.
+ * <p>
+ * Strings keep their content as is in memory and only their serialized form is compressed. Sensitive values hold
+ * their content serialized, so a long one is kept compressed in memory as well and every
+ * {@link SensitiveValue#get()} decompresses it again, a CPU cost that grows with the length of the content.
+ * The compressed content starts with the gzip header, so it is told apart from the uncompressed content written
+ * before.
+ */
+public final class ValueCompression {
+
+    private static final Logger logger = Logger.getLogger(ValueCompression.class);
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static volatile int threshold = readThreshold();
+
+    private ValueCompression() {
+    }
+
+    public static boolean isEnabled() {
+        return threshold > 0;
+    }
+
+    /**
+     * @param length the number of characters or bytes of the content
+     * @return whether content of the length is compressed
+     */
+    public static boolean shouldCompress(int length) {
+        int minLength = threshold;
+        return minLength > 0 && length > minLength;
+    }
+
+    public static boolean isCompressed(byte[] bytes) {
+        return bytes != null && bytes.length > 1 &&
+                bytes[0] == (byte) GZIPInputStream.GZIP_MAGIC && bytes[1] == (byte) (GZIPInputStream.GZIP_MAGIC >> 8);
+    }
+
+    public static byte[] compress(byte[] bytes) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(bytes.length / 4, 64));
+        try (OutputStream out = new FastGZIPOutputStream(compressed)) {
+            out.write(bytes);
+        } catch (IOException e) {
+            // not thrown by in-memory streams
+            throw new IllegalStateException("Failed to compress value content", e);
+        }
+        return compressed.toByteArray();
+    }
+
+    public static byte[] decompress(byte[] bytes) {
+        ByteArrayOutputStream decompressed = new ByteArrayOutputStream(bytes.length * 4);
+        byte[] buffer = new byte[8192];
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes), buffer.length)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                decompressed.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to decompress value content", e);
+        }
+        return decompressed.toByteArray();
+    }
+
+    public static byte[] compress(String string) {
+        return compress(string.getBytes(UTF_8));
+    }
+
+    public static String decompressString(byte[] bytes) {
+        return new String(decompress(bytes), UTF_8);
+    }
+
+    /**
+     * Overrides the threshold of the system property, for the values created and serialized from now on
+     * @param threshold the minimal length of the compressed content, 0 to disable compression
+     */
+    public static void setThreshold(int threshold) {
+        ValueCompression.threshold = threshold;
+    }
+
+    private static int readThreshold() {
+        String value = System.getProperty(SlangSystemPropertyConstant.CSLANG_VALUE_COMPRESSION_THRESHOLD.getValue());
+        if (StringUtils.isBlank(value)) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid value compression threshold: " + value + ", values are not compressed");
+            return 0;
+        }
+    }
+
+    private static class FastGZIPOutputStream extends GZIPOutputStream {
+
+        FastGZIPOutputStream(OutputStream out) throws IOException {
+            super(out, 8192);
+            def.setLevel(Deflater.BEST_SPEED);
+        }
+    }
+
+}
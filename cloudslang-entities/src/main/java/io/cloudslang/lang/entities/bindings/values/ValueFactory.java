@@ -25,6 +25,10 @@ public abstract class ValueFactory implements Serializable {
     }
 
     public static Value create(Serializable serializable, boolean sensitive) {
+        if (serializable instanceof LargeValue && !sensitive) {
+            // immutable, and keeps the content in its file
+            return (Value) serializable;
+        }
         return serializable != null && serializable instanceof Value ?
                 ValueFactory.createValue(((Value)serializable).get(), ((Value)serializable).isSensitive() || sensitive) :
                 ValueFactory.createValue(serializable, sensitive);
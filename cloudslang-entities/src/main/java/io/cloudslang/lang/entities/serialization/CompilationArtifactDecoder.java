@@ -0,0 +1,312 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.entities.serialization;
+
+import io.cloudslang.lang.entities.CompilationArtifact;
+import io.cloudslang.lang.entities.ListForLoopStatement;
+import io.cloudslang.lang.entities.MapForLoopStatement;
+import io.cloudslang.lang.entities.ParallelLoopStatement;
+import io.cloudslang.lang.entities.ResultNavigation;
+import io.cloudslang.lang.entities.bindings.Argument;
+import io.cloudslang.lang.entities.bindings.Input;
+import io.cloudslang.lang.entities.bindings.Output;
+import io.cloudslang.lang.entities.bindings.Result;
+import io.cloudslang.lang.entities.bindings.ScriptFunction;
+import io.cloudslang.lang.entities.bindings.values.SensitiveValue;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.score.api.ControlActionMetadata;
+import io.cloudslang.score.api.ExecutionPlan;
+import io.cloudslang.score.api.ExecutionStep;
+import org.apache.commons.lang3.SerializationUtils;
+
+import java.io.Serializable;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads a single compilation artifact; see {@link CompilationArtifactSerializer} for the layout
+ */
+class CompilationArtifactDecoder {
+
+    private final ByteBuffer buffer;
+
+    private String[] strings;
+
+    private final Map<String, Class<?>> enumTypes = new HashMap<>();
+
+    CompilationArtifactDecoder(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    CompilationArtifact decode() {
+        try {
+            readHeader();
+            readStrings();
+            ExecutionPlan executionPlan = readExecutionPlan();
+            Map<String, ExecutionPlan> dependencies = null;
+            int dependenciesCount = readVarInt() - 1;
+            if (dependenciesCount >= 0) {
+                dependencies = new HashMap<>(capacityFor(dependenciesCount));
+                for (int i = 0; i < dependenciesCount; i++) {
+                    dependencies.put(readString(), readExecutionPlan());
+                }
+            }
+            @SuppressWarnings("unchecked")
+            List<Input> inputs = (List<Input>) readValue();
+            @SuppressWarnings("unchecked")
+            Set<String> systemProperties = (Set<String>) readValue();
+            return new CompilationArtifact(executionPlan, dependencies, inputs, systemProperties);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | ClassCastException e) {
+            throw new RuntimeException("Compilation artifact is corrupted", e);
+        }
+    }
+
+    private void readHeader() {
+        if (buffer.remaining() < 6 || buffer.getInt() != CompilationArtifactSerializer.MAGIC) {
+            throw new RuntimeException("Not a compilation artifact");
+        }
+        short formatVersion = buffer.getShort();
+        if (formatVersion != CompilationArtifactSerializer.FORMAT_VERSION) {
+            throw new RuntimeException("Unsupported compilation artifact format version: " + formatVersion +
+                    ". Supported version is: " + CompilationArtifactSerializer.FORMAT_VERSION);
+        }
+    }
+
+    private void readStrings() {
+        strings = new String[buffer.getInt()];
+        byte[] stringBytes = new byte[256];
+        for (int i = 0; i < strings.length; i++) {
+            int length = buffer.getInt();
+            if (length > stringBytes.length) {
+                stringBytes = new byte[Math.max(length, stringBytes.length * 2)];
+            }
+            buffer.get(stringBytes, 0, length);
+            strings[i] = new String(stringBytes, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    private ExecutionPlan readExecutionPlan() {
+        if (!readBoolean()) {
+            return null;
+        }
+        ExecutionPlan executionPlan = new ExecutionPlan();
+        executionPlan.setFlowUuid(readString());
+        executionPlan.setBeginStep((Long) readValue());
+        executionPlan.setName(readString());
+        executionPlan.setLanguage(readString());
+        int stepsCount = readVarInt();
+        for (int i = 0; i < stepsCount; i++) {
+            executionPlan.addStep(readExecutionStep());
+        }
+        executionPlan.setSubflowsUUIDs(this.<String>readSet());
+        executionPlan.setSysAccPaths(this.<String>readSet());
+        return executionPlan;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ExecutionStep readExecutionStep() {
+        ExecutionStep step = new ExecutionStep((Long) readValue());
+        step.setAction(readControlActionMetadata());
+        step.setActionData((Map<String, ?>) readValue());
+        step.setNavigation(readControlActionMetadata());
+        step.setNavigationData((Map<String, ?>) readValue());
+        step.setSplitStep(readBoolean());
+        return step;
+    }
+
+    private ControlActionMetadata readControlActionMetadata() {
+        return readBoolean() ? new ControlActionMetadata(readString(), readString()) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Set<T> readSet() {
+        return (Set<T>) readValue();
+    }
+
+    private Serializable readValue() {
+        byte tag = buffer.get();
+        switch (tag) {
+            case ValueTag.NULL:
+                return null;
+            case ValueTag.STRING:
+                return readString();
+            case ValueTag.INTEGER:
+                return (int) readVarLong();
+            case ValueTag.LONG:
+                return readVarLong();
+            case ValueTag.TRUE:
+                return Boolean.TRUE;
+            case ValueTag.FALSE:
+                return Boolean.FALSE;
+            case ValueTag.DOUBLE:
+                return buffer.getDouble();
+            case ValueTag.ENUM:
+                return readEnum();
+            case ValueTag.ARRAY_LIST: {
+                int size = readVarInt();
+                return readElements(new ArrayList<>(size), size);
+            }
+            case ValueTag.HASH_SET: {
+                int size = readVarInt();
+                return readElements(new HashSet<>(capacityFor(size)), size);
+            }
+            case ValueTag.LINKED_HASH_SET: {
+                int size = readVarInt();
+                return readElements(new LinkedHashSet<>(capacityFor(size)), size);
+            }
+            case ValueTag.HASH_MAP: {
+                int size = readVarInt();
+                return readEntries(new HashMap<>(capacityFor(size)), size);
+            }
+            case ValueTag.LINKED_HASH_MAP: {
+                int size = readVarInt();
+                return readEntries(new LinkedHashMap<>(capacityFor(size)), size);
+            }
+            case ValueTag.INPUT:
+                return readInput();
+            case ValueTag.OUTPUT:
+                return new Output(readString(), (Value) readValue(), this.<ScriptFunction>readSet(), this.<String>readSet());
+            case ValueTag.RESULT:
+                return new Result(readString(), (Value) readValue(), this.<ScriptFunction>readSet(), this.<String>readSet());
+            case ValueTag.ARGUMENT:
+                return readArgument();
+            case ValueTag.SIMPLE_VALUE:
+                return ValueFactory.create(readValue(), false);
+            case ValueTag.SENSITIVE_VALUE:
+                return readSensitiveValue();
+            case ValueTag.RESULT_NAVIGATION:
+                return new ResultNavigation(readVarLong(), readString());
+            case ValueTag.LIST_FOR_LOOP:
+                return new ListForLoopStatement(readString(), readString());
+            case ValueTag.MAP_FOR_LOOP:
+                return new MapForLoopStatement(readString(), readString(), readString());
+            case ValueTag.PARALLEL_LOOP:
+                return new ParallelLoopStatement(readString(), readString());
+            case ValueTag.SERIALIZED:
+                return (Serializable) SerializationUtils.deserialize(readBytes());
+            default:
+                throw new RuntimeException("Compilation artifact is corrupted: unknown value tag: " + tag);
+        }
+    }
+
+    private Serializable readElements(Collection<Object> collection, int size) {
+        for (int i = 0; i < size; i++) {
+            collection.add(readValue());
+        }
+        return (Serializable) collection;
+    }
+
+    private Serializable readEntries(Map<Object, Object> map, int size) {
+        for (int i = 0; i < size; i++) {
+            map.put(readValue(), readValue());
+        }
+        return (Serializable) map;
+    }
+
+    private Input readInput() {
+        String name = readString();
+        Value value = (Value) readValue();
+        Set<ScriptFunction> functionDependencies = readSet();
+        Set<String> systemPropertyDependencies = readSet();
+        return new Input.InputBuilder(name, value)
+                .withFunctionDependencies(functionDependencies)
+                .withSystemPropertyDependencies(systemPropertyDependencies)
+                .withRequired(readBoolean())
+                .withPrivateInput(readBoolean())
+                .build();
+    }
+
+    private Argument readArgument() {
+        boolean privateArgument = readBoolean();
+        String name = readString();
+        Value value = (Value) readValue();
+        Set<ScriptFunction> functionDependencies = readSet();
+        Set<String> systemPropertyDependencies = readSet();
+        return privateArgument ?
+                new Argument(name, value, functionDependencies, systemPropertyDependencies) :
+                new Argument(name);
+    }
+
+    private Value readSensitiveValue() {
+        // the content is kept as is, instead of being serialized once more by the value factory
+        SensitiveValue value = (SensitiveValue) ValueFactory.create(null, true);
+        value.setContent(readBytes());
+        return value;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Serializable readEnum() {
+        String typeName = readString();
+        Class type = enumTypes.get(typeName);
+        if (type == null) {
+            try {
+                type = Class.forName(typeName, false, CompilationArtifactDecoder.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new RuntimeException("Compilation artifact refers to unknown type: \'" + typeName + "\'", e);
+            }
+            enumTypes.put(typeName, type);
+        }
+        return Enum.valueOf(type, readString());
+    }
+
+    private byte[] readBytes() {
+        byte[] bytes = new byte[readVarInt()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private boolean readBoolean() {
+        return buffer.get() != 0;
+    }
+
+    private String readString() {
+        int index = readVarInt();
+        return index == 0 ? null : strings[index - 1];
+    }
+
+    private int readVarInt() {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private long readVarLong() {
+        long zigZag = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            zigZag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+
+    private static int capacityFor(int size) {
+        return Math.max((int) (size / .75f) + 1, 16);
+    }
+
+}
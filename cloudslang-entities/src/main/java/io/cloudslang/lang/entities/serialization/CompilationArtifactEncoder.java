@@ -0,0 +1,289 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.entities.serialization;
+
+import io.cloudslang.lang.entities.CompilationArtifact;
+import io.cloudslang.lang.entities.ListForLoopStatement;
+import io.cloudslang.lang.entities.MapForLoopStatement;
+import io.cloudslang.lang.entities.ParallelLoopStatement;
+import io.cloudslang.lang.entities.ResultNavigation;
+import io.cloudslang.lang.entities.bindings.Argument;
+import io.cloudslang.lang.entities.bindings.InOutParam;
+import io.cloudslang.lang.entities.bindings.Input;
+import io.cloudslang.lang.entities.bindings.Output;
+import io.cloudslang.lang.entities.bindings.Result;
+import io.cloudslang.lang.entities.bindings.values.SensitiveValue;
+import io.cloudslang.lang.entities.bindings.values.SimpleValue;
+import io.cloudslang.score.api.ControlActionMetadata;
+import io.cloudslang.score.api.ExecutionPlan;
+import io.cloudslang.score.api.ExecutionStep;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.reflect.FieldUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a single compilation artifact; see {@link CompilationArtifactSerializer} for the layout
+ */
+class CompilationArtifactEncoder {
+
+    // read directly, as the step's getter exposes missing navigation data as a new empty map
+    private static final Field NAVIGATION_DATA_FIELD = FieldUtils.getField(ExecutionStep.class, "navigationData", true);
+
+    private final Map<String, Integer> stringIndexes = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+
+    private final ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream(8192);
+    private final DataOutputStream body = new DataOutputStream(bodyBytes);
+
+    byte[] encode(CompilationArtifact compilationArtifact) {
+        try {
+            writeExecutionPlan(compilationArtifact.getExecutionPlan());
+            Map<String, ExecutionPlan> dependencies = compilationArtifact.getDependencies();
+            if (dependencies == null) {
+                writeVarInt(0);
+            } else {
+                writeVarInt(dependencies.size() + 1);
+                for (Map.Entry<String, ExecutionPlan> dependency : dependencies.entrySet()) {
+                    writeString(dependency.getKey());
+                    writeExecutionPlan(dependency.getValue());
+                }
+            }
+            writeValue(compilationArtifact.getInputs());
+            writeValue(compilationArtifact.getSystemProperties());
+            body.flush();
+
+            ByteArrayOutputStream fileBytes = new ByteArrayOutputStream(bodyBytes.size() + strings.size() * 16 + 16);
+            DataOutputStream file = new DataOutputStream(fileBytes);
+            file.writeInt(CompilationArtifactSerializer.MAGIC);
+            file.writeShort(CompilationArtifactSerializer.FORMAT_VERSION);
+            file.writeInt(strings.size());
+            for (String string : strings) {
+                byte[] stringBytes = string.getBytes(StandardCharsets.UTF_8);
+                file.writeInt(stringBytes.length);
+                file.write(stringBytes);
+            }
+            bodyBytes.writeTo(file);
+            file.flush();
+            return fileBytes.toByteArray();
+        } catch (IOException e) {
+            // in memory streams never fail
+            throw new RuntimeException("Failed encoding compilation artifact. " + e.getMessage(), e);
+        }
+    }
+
+    private void writeExecutionPlan(ExecutionPlan executionPlan) throws IOException {
+        if (executionPlan == null) {
+            body.writeBoolean(false);
+            return;
+        }
+        body.writeBoolean(true);
+        writeString(executionPlan.getFlowUuid());
+        writeValue(executionPlan.getBeginStep());
+        writeString(executionPlan.getName());
+        writeString(executionPlan.getLanguage());
+        Map<Long, ExecutionStep> steps = executionPlan.getSteps();
+        writeVarInt(steps.size());
+        for (ExecutionStep step : steps.values()) {
+            writeExecutionStep(step);
+        }
+        writeValue(executionPlan.getSubflowsUUIDs());
+        writeValue(executionPlan.getSysAccPaths());
+    }
+
+    private void writeExecutionStep(ExecutionStep step) throws IOException {
+        writeValue(step.getExecStepId());
+        writeControlActionMetadata(step.getAction());
+        writeValue(step.getActionData());
+        writeControlActionMetadata(step.getNavigation());
+        writeValue(readNavigationData(step));
+        body.writeBoolean(step.isSplitStep());
+    }
+
+    private Object readNavigationData(ExecutionStep step) throws IOException {
+        if (NAVIGATION_DATA_FIELD == null) {
+            return step.getNavigationData();
+        }
+        try {
+            return NAVIGATION_DATA_FIELD.get(step);
+        } catch (IllegalAccessException e) {
+            throw new IOException("Failed to read the navigation data of step: " + step.getExecStepId(), e);
+        }
+    }
+
+    private void writeControlActionMetadata(ControlActionMetadata metadata) throws IOException {
+        if (metadata == null) {
+            body.writeBoolean(false);
+            return;
+        }
+        body.writeBoolean(true);
+        writeString(metadata.getClassName());
+        writeString(metadata.getMethodName());
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            body.writeByte(ValueTag.NULL);
+            return;
+        }
+        Class<?> type = value.getClass();
+        if (type == String.class) {
+            body.writeByte(ValueTag.STRING);
+            writeString((String) value);
+        } else if (type == Long.class) {
+            body.writeByte(ValueTag.LONG);
+            writeVarLong((Long) value);
+        } else if (type == Integer.class) {
+            body.writeByte(ValueTag.INTEGER);
+            writeVarLong((Integer) value);
+        } else if (type == Boolean.class) {
+            body.writeByte((Boolean) value ? ValueTag.TRUE : ValueTag.FALSE);
+        } else if (type == Double.class) {
+            body.writeByte(ValueTag.DOUBLE);
+            body.writeDouble((Double) value);
+        } else if (value instanceof Enum) {
+            body.writeByte(ValueTag.ENUM);
+            writeString(((Enum<?>) value).getDeclaringClass().getName());
+            writeString(((Enum<?>) value).name());
+        } else if (type == ArrayList.class) {
+            writeCollection(ValueTag.ARRAY_LIST, (Collection<?>) value);
+        } else if (type == HashSet.class) {
+            writeCollection(ValueTag.HASH_SET, (Collection<?>) value);
+        } else if (type == LinkedHashSet.class) {
+            writeCollection(ValueTag.LINKED_HASH_SET, (Collection<?>) value);
+        } else if (type == HashMap.class) {
+            writeMap(ValueTag.HASH_MAP, (Map<?, ?>) value);
+        } else if (type == LinkedHashMap.class) {
+            writeMap(ValueTag.LINKED_HASH_MAP, (Map<?, ?>) value);
+        } else if (type == Input.class) {
+            body.writeByte(ValueTag.INPUT);
+            writeInOutParam((Input) value);
+            body.writeBoolean(((Input) value).isRequired());
+            body.writeBoolean(((Input) value).isPrivateInput());
+        } else if (type == Output.class) {
+            body.writeByte(ValueTag.OUTPUT);
+            writeInOutParam((Output) value);
+        } else if (type == Result.class) {
+            body.writeByte(ValueTag.RESULT);
+            writeInOutParam((Result) value);
+        } else if (type == Argument.class) {
+            body.writeByte(ValueTag.ARGUMENT);
+            body.writeBoolean(((Argument) value).isPrivateArgument());
+            writeInOutParam((Argument) value);
+        } else if (type == SimpleValue.class) {
+            body.writeByte(ValueTag.SIMPLE_VALUE);
+            writeValue(((SimpleValue) value).getContent());
+        } else if (type == SensitiveValue.class) {
+            body.writeByte(ValueTag.SENSITIVE_VALUE);
+            writeBytes(((SensitiveValue) value).getContent());
+        } else if (type == ResultNavigation.class) {
+            body.writeByte(ValueTag.RESULT_NAVIGATION);
+            writeVarLong(((ResultNavigation) value).getNextStepId());
+            writeString(((ResultNavigation) value).getPresetResult());
+        } else if (type == ListForLoopStatement.class) {
+            body.writeByte(ValueTag.LIST_FOR_LOOP);
+            writeString(((ListForLoopStatement) value).getVarName());
+            writeString(((ListForLoopStatement) value).getExpression());
+        } else if (type == MapForLoopStatement.class) {
+            body.writeByte(ValueTag.MAP_FOR_LOOP);
+            writeString(((MapForLoopStatement) value).getKeyName());
+            writeString(((MapForLoopStatement) value).getValueName());
+            writeString(((MapForLoopStatement) value).getExpression());
+        } else if (type == ParallelLoopStatement.class) {
+            body.writeByte(ValueTag.PARALLEL_LOOP);
+            writeString(((ParallelLoopStatement) value).getVarName());
+            writeString(((ParallelLoopStatement) value).getExpression());
+        } else if (value instanceof Serializable) {
+            body.writeByte(ValueTag.SERIALIZED);
+            writeBytes(SerializationUtils.serialize((Serializable) value));
+        } else {
+            throw new RuntimeException("Value of type: \'" + type.getName() + "\' cannot be serialized");
+        }
+    }
+
+    private void writeCollection(byte tag, Collection<?> collection) throws IOException {
+        body.writeByte(tag);
+        writeVarInt(collection.size());
+        for (Object element : collection) {
+            writeValue(element);
+        }
+    }
+
+    private void writeMap(byte tag, Map<?, ?> map) throws IOException {
+        body.writeByte(tag);
+        writeVarInt(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            writeValue(entry.getKey());
+            writeValue(entry.getValue());
+        }
+    }
+
+    private void writeInOutParam(InOutParam inOutParam) throws IOException {
+        writeString(inOutParam.getName());
+        writeValue(inOutParam.getValue());
+        writeValue(inOutParam.getFunctionDependencies());
+        writeValue(inOutParam.getSystemPropertyDependencies());
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        writeVarInt(bytes.length);
+        body.write(bytes);
+    }
+
+    /**
+     * Strings are written as their index in the strings table, shifted by one so that zero stands for null
+     */
+    private void writeString(String string) throws IOException {
+        if (string == null) {
+            writeVarInt(0);
+            return;
+        }
+        Integer index = stringIndexes.get(string);
+        if (index == null) {
+            index = strings.size();
+            strings.add(string);
+            stringIndexes.put(string, index);
+        }
+        writeVarInt(index + 1);
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            body.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        body.writeByte(value);
+    }
+
+    /**
+     * Zig-zag encoded, so small negative numbers stay short as well
+     */
+    private void writeVarLong(long value) throws IOException {
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0) {
+            body.writeByte((int) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        body.writeByte((int) zigZag);
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.entities.serialization;
+
+import io.cloudslang.lang.entities.CompilationArtifact;
+import org.apache.commons.lang3.Validate;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Reads and writes compilation artifacts in the precompiled binary format (.slc files).
+ * <p/>
+ * A file starts with a magic number and a format version, followed by a table of all the distinct strings
+ * of the artifact and by the artifact itself, which refers to the strings by their index in the table.
+ * The execution plans, their steps and the common action data values (strings, numbers, collections,
+ * bindings, values, navigations and loop statements) are written field by field; any other action data
+ * value falls back to java serialization. Files are read through a memory mapped buffer.
+ */
+public final class CompilationArtifactSerializer {
+
+    public static final String FILE_EXTENSION = "slc";
+
+    static final int MAGIC = 0x534C4321;
+    static final short FORMAT_VERSION = 1;
+
+    private CompilationArtifactSerializer() {
+    }
+
+    public static byte[] serialize(CompilationArtifact compilationArtifact) {
+        Validate.notNull(compilationArtifact, "Compilation artifact cannot be null");
+        return new CompilationArtifactEncoder().encode(compilationArtifact);
+    }
+
+    public static void serialize(CompilationArtifact compilationArtifact, OutputStream outputStream) throws IOException {
+        outputStream.write(serialize(compilationArtifact));
+    }
+
+    public static void serialize(CompilationArtifact compilationArtifact, File file) {
+        Validate.notNull(file, "File cannot be null");
+        try {
+            File parentDirectory = file.getAbsoluteFile().getParentFile();
+            if (parentDirectory != null && !parentDirectory.isDirectory() && !parentDirectory.mkdirs()) {
+                throw new IOException("Unable to create directory: \'" + parentDirectory.getAbsolutePath() + "\'");
+            }
+            try (OutputStream outputStream = new FileOutputStream(file)) {
+                serialize(compilationArtifact, outputStream);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed writing compilation artifact to: \'" + file.getAbsolutePath() + "\'. " + e.getMessage(), e);
+        }
+    }
+
+    public static CompilationArtifact deserialize(byte[] bytes) {
+        Validate.notNull(bytes, "Bytes cannot be null");
+        return deserialize(ByteBuffer.wrap(bytes));
+    }
+
+    public static CompilationArtifact deserialize(ByteBuffer buffer) {
+        Validate.notNull(buffer, "Buffer cannot be null");
+        return new CompilationArtifactDecoder(buffer).decode();
+    }
+
+    public static CompilationArtifact deserialize(File file) {
+        Validate.notNull(file, "File cannot be null");
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+             FileChannel channel = randomAccessFile.getChannel()) {
+            return deserialize(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException | RuntimeException e) {
+            throw new RuntimeException("Failed reading compilation artifact from: \'" + file.getAbsolutePath() + "\'. " + e.getMessage(), e);
+        }
+    }
+
+    public static boolean isCompilationArtifactFile(File file) {
+        return file != null && file.getName().endsWith("." + FILE_EXTENSION);
+    }
+
+}
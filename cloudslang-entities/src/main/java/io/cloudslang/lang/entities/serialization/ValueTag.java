@@ -0,0 +1,45 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.entities.serialization;
+
+/**
+ * The type tags preceding every value in the precompiled binary format.
+ * Tags are part of the format: existing tags must never be renumbered.
+ */
+final class ValueTag {
+
+    static final byte NULL = 0;
+    static final byte STRING = 1;
+    static final byte INTEGER = 2;
+    static final byte LONG = 3;
+    static final byte TRUE = 4;
+    static final byte FALSE = 5;
+    static final byte DOUBLE = 6;
+    static final byte ENUM = 7;
+    static final byte ARRAY_LIST = 8;
+    static final byte HASH_SET = 9;
+    static final byte LINKED_HASH_SET = 10;
+    static final byte HASH_MAP = 11;
+    static final byte LINKED_HASH_MAP = 12;
+    static final byte INPUT = 13;
+    static final byte OUTPUT = 14;
+    static final byte RESULT = 15;
+    static final byte ARGUMENT = 16;
+    static final byte SIMPLE_VALUE = 17;
+    static final byte SENSITIVE_VALUE = 18;
+    static final byte RESULT_NAVIGATION = 19;
+    static final byte LIST_FOR_LOOP = 20;
+    static final byte MAP_FOR_LOOP = 21;
+    static final byte PARALLEL_LOOP = 22;
+    static final byte SERIALIZED = 23;
+
+    private ValueTag() {
+    }
+
+}
@@ -47,6 +47,8 @@ public final class ExpressionUtils {
     private final static String GET_REGEX = "get\\((.+)\\)";
     private final static String GET_REGEX_WITH_DEFAULT = "get\\((.+?),(.+?)\\)";
     private final static String CHECK_EMPTY_REGEX = "check_empty\\((.+?),(.+?)\\)";
+    // match the names in an expression, in string literals too, as in get('name')
+    private final static String NAME_REGEX = "[A-Za-z_][A-Za-z0-9_]*";
 
     private final static Pattern EXPRESSION_PATTERN = Pattern.compile(EXPRESSION_REGEX, Pattern.DOTALL);
     private final static Pattern SYSTEM_PROPERTY_PATTERN_SINGLE_QUOTE = Pattern.compile(SYSTEM_PROPERTY_REGEX_SINGLE_QUOTE);
@@ -56,6 +58,7 @@ public final class ExpressionUtils {
     private final static Pattern GET_PATTERN = Pattern.compile(GET_REGEX);
     private final static Pattern GET_PATTERN_WITH_DEFAULT = Pattern.compile(GET_REGEX_WITH_DEFAULT);
     private final static Pattern CHECK_EMPTY_PATTERN = Pattern.compile(CHECK_EMPTY_REGEX);
+    private final static Pattern NAME_PATTERN = Pattern.compile(NAME_REGEX);
 
     public static String extractExpression(Serializable value) {
         String expression = null;
@@ -77,6 +80,13 @@ public final class ExpressionUtils {
         return properties;
     }
 
+    /**
+     * @return the names the expression may refer to variables by, a superset of the variables it reads
+     */
+    public static Set<String> extractNames(String expression) {
+        return matchFunction(NAME_PATTERN, expression, 0);
+    }
+
     public static boolean matchGetFunction(String text) {
         return matchPattern(GET_PATTERN_WITH_DEFAULT, text) || matchPattern(GET_PATTERN, text);
     }
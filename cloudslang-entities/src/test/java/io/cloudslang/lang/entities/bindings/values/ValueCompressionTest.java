@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.entities.bindings.values;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ValueCompressionTest {
+
+    private static final String LARGE_CONTENT = StringUtils.repeat("{\"name\": \"value \u05d0\"}, ", 100);
+
+    @Before
+    public void setUp() {
+        ValueCompression.setThreshold(100);
+    }
+
+    @After
+    public void tearDown() {
+        ValueCompression.setThreshold(0);
+    }
+
+    @Test
+    public void testCompress() {
+        byte[] compressed = ValueCompression.compress(LARGE_CONTENT);
+
+        assertTrue(ValueCompression.isCompressed(compressed));
+        assertTrue(compressed.length < LARGE_CONTENT.length() / 10);
+        assertEquals(LARGE_CONTENT, ValueCompression.decompressString(compressed));
+        assertFalse(ValueCompression.isCompressed(SerializationUtils.serialize(LARGE_CONTENT)));
+    }
+
+    @Test
+    public void testSimpleValue() {
+        Value value = ValueFactory.create(LARGE_CONTENT);
+
+        byte[] bytes = SerializationUtils.serialize(value);
+        Value copy = SerializationUtils.deserialize(bytes);
+
+        assertTrue(bytes.length < LARGE_CONTENT.length() / 5);
+        assertEquals(value, copy);
+        assertEquals(LARGE_CONTENT, copy.get());
+    }
+
+    @Test
+    public void testSmallSimpleValue() {
+        Value value = ValueFactory.create("small value");
+        Value number = ValueFactory.create(1);
+
+        assertEquals(value, SerializationUtils.clone(value));
+        assertEquals(number, SerializationUtils.clone(number));
+    }
+
+    @Test
+    public void testSimpleValueSerializedUncompressed() {
+        ValueCompression.setThreshold(0);
+        byte[] bytes = SerializationUtils.serialize(ValueFactory.create(LARGE_CONTENT));
+        ValueCompression.setThreshold(100);
+
+        Value copy = SerializationUtils.deserialize(bytes);
+
+        assertEquals(LARGE_CONTENT, copy.get());
+    }
+
+    @Test
+    public void testSensitiveValue() {
+        SensitiveValue value = (SensitiveValue) ValueFactory.create(LARGE_CONTENT, true);
+
+        assertTrue(ValueCompression.isCompressed(value.getContent()));
+        assertEquals(LARGE_CONTENT, value.get());
+        assertEquals(LARGE_CONTENT, SerializationUtils.clone(value).get());
+    }
+
+    @Test
+    public void testSensitiveValueCreatedUncompressed() {
+        ValueCompression.setThreshold(0);
+        SensitiveValue value = (SensitiveValue) ValueFactory.create(LARGE_CONTENT, true);
+        ValueCompression.setThreshold(100);
+
+        assertFalse(ValueCompression.isCompressed(value.getContent()));
+        assertEquals(LARGE_CONTENT, value.get());
+    }
+
+}
@@ -0,0 +1,199 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.entities.serialization;
+
+import com.google.common.collect.Sets;
+import io.cloudslang.lang.entities.ActionType;
+import io.cloudslang.lang.entities.CompilationArtifact;
+import io.cloudslang.lang.entities.ListForLoopStatement;
+import io.cloudslang.lang.entities.MapForLoopStatement;
+import io.cloudslang.lang.entities.ParallelLoopStatement;
+import io.cloudslang.lang.entities.ResultNavigation;
+import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.entities.bindings.Argument;
+import io.cloudslang.lang.entities.bindings.Input;
+import io.cloudslang.lang.entities.bindings.Output;
+import io.cloudslang.lang.entities.bindings.Result;
+import io.cloudslang.lang.entities.bindings.ScriptFunction;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.score.api.ControlActionMetadata;
+import io.cloudslang.score.api.ExecutionPlan;
+import io.cloudslang.score.api.ExecutionStep;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CompilationArtifactSerializerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void testRoundTrip() {
+        CompilationArtifact compilationArtifact = createCompilationArtifact();
+
+        CompilationArtifact deserialized = CompilationArtifactSerializer.deserialize(
+                CompilationArtifactSerializer.serialize(compilationArtifact));
+
+        assertEquals(compilationArtifact, deserialized);
+    }
+
+    @Test
+    public void testRoundTripThroughFile() {
+        CompilationArtifact compilationArtifact = createCompilationArtifact();
+        File file = new File(folder.getRoot(), "io/cloudslang/flow." + CompilationArtifactSerializer.FILE_EXTENSION);
+
+        CompilationArtifactSerializer.serialize(compilationArtifact, file);
+
+        assertTrue(CompilationArtifactSerializer.isCompilationArtifactFile(file));
+        assertEquals(compilationArtifact, CompilationArtifactSerializer.deserialize(file));
+    }
+
+    @Test
+    public void testSensitiveValuesKeepTheirContent() {
+        Input input = new Input.InputBuilder("password", "secret", true).build();
+        CompilationArtifact compilationArtifact = new CompilationArtifact(createExecutionPlan("flow"),
+                Collections.<String, ExecutionPlan>emptyMap(), Collections.singletonList(input), Collections.<String>emptySet());
+
+        CompilationArtifact deserialized = CompilationArtifactSerializer.deserialize(
+                CompilationArtifactSerializer.serialize(compilationArtifact));
+
+        Input deserializedInput = deserialized.getInputs().get(0);
+        assertTrue(deserializedInput.isSensitive());
+        assertEquals("secret", deserializedInput.getValue().get());
+    }
+
+    @Test
+    public void testRepeatedStringsAreWrittenOnce() {
+        CompilationArtifact compilationArtifact = createCompilationArtifact();
+        byte[] once = CompilationArtifactSerializer.serialize(compilationArtifact);
+        Map<String, ExecutionPlan> dependencies = new HashMap<>(compilationArtifact.getDependencies());
+        dependencies.put("io.cloudslang.other_flow", createExecutionPlan("io.cloudslang.child_flow"));
+
+        byte[] twice = CompilationArtifactSerializer.serialize(new CompilationArtifact(compilationArtifact.getExecutionPlan(),
+                dependencies, compilationArtifact.getInputs(), compilationArtifact.getSystemProperties()));
+
+        // the second copy of the plan refers to the strings of the first one
+        assertTrue(twice.length - once.length < once.length / 2);
+    }
+
+    @Test
+    public void testSerializationIsDeterministic() {
+        CompilationArtifact compilationArtifact = createCompilationArtifact();
+
+        assertArrayEquals(CompilationArtifactSerializer.serialize(compilationArtifact),
+                CompilationArtifactSerializer.serialize(compilationArtifact));
+    }
+
+    @Test
+    public void testInvalidFileIsRejected() {
+        exception.expect(RuntimeException.class);
+        exception.expectMessage("Not a compilation artifact");
+
+        CompilationArtifactSerializer.deserialize("not an artifact".getBytes());
+    }
+
+    @Test
+    public void testUnsupportedVersionIsRejected() {
+        byte[] bytes = CompilationArtifactSerializer.serialize(createCompilationArtifact());
+        bytes[5] = 99;
+
+        exception.expect(RuntimeException.class);
+        exception.expectMessage("Unsupported compilation artifact format version: 99");
+
+        CompilationArtifactSerializer.deserialize(bytes);
+    }
+
+    @Test
+    public void testTruncatedFileIsRejected() {
+        byte[] bytes = CompilationArtifactSerializer.serialize(createCompilationArtifact());
+
+        exception.expect(RuntimeException.class);
+        exception.expectMessage("Compilation artifact is corrupted");
+
+        CompilationArtifactSerializer.deserialize(Arrays.copyOf(bytes, bytes.length - 10));
+    }
+
+    private CompilationArtifact createCompilationArtifact() {
+        Map<String, ExecutionPlan> dependencies = new HashMap<>();
+        dependencies.put("io.cloudslang.child_flow", createExecutionPlan("io.cloudslang.child_flow"));
+        List<Input> inputs = Arrays.asList(
+                new Input.InputBuilder("input1", "${ get_sp('a.b.c') }")
+                        .withFunctionDependencies(Sets.newHashSet(ScriptFunction.GET_SYSTEM_PROPERTY))
+                        .withSystemPropertyDependencies(Sets.newHashSet("a.b.c"))
+                        .build(),
+                new Input.InputBuilder("input2", 5, false).withRequired(false).withPrivateInput(true).build());
+        return new CompilationArtifact(createExecutionPlan("io.cloudslang.flow"), dependencies, inputs, Sets.newHashSet("a.b.c"));
+    }
+
+    private ExecutionPlan createExecutionPlan(String name) {
+        ExecutionPlan executionPlan = new ExecutionPlan();
+        executionPlan.setFlowUuid(name);
+        executionPlan.setName(name);
+        executionPlan.setLanguage("CloudSlang");
+        executionPlan.setBeginStep(1L);
+        executionPlan.setSubflowsUUIDs(Sets.newHashSet("io.cloudslang.child_flow"));
+
+        Map<String, Serializable> actionData = new HashMap<>();
+        actionData.put(ScoreLangConstants.EXECUTABLE_INPUTS_KEY, new ArrayList<>(Arrays.asList(
+                new Input.InputBuilder("input1", "value").build())));
+        actionData.put(ScoreLangConstants.STEP_INPUTS_KEY, new ArrayList<>(Arrays.asList(
+                new Argument("arg1", ValueFactory.create("${ input1 }")),
+                new Argument("arg2"))));
+        actionData.put(ScoreLangConstants.EXECUTABLE_OUTPUTS_KEY, new ArrayList<>(Arrays.asList(
+                new Output("output1", ValueFactory.create("${ 1 }")))));
+        actionData.put(ScoreLangConstants.EXECUTABLE_RESULTS_KEY, new ArrayList<>(Arrays.asList(
+                new Result("SUCCESS", null),
+                new Result("FAILURE", ValueFactory.create(true)))));
+        actionData.put(ScoreLangConstants.ACTION_TYPE, ActionType.PYTHON);
+        actionData.put(ScoreLangConstants.NEXT_STEP_ID_KEY, 2L);
+        actionData.put(ScoreLangConstants.LOOP_KEY, new ListForLoopStatement("item", "${ items }"));
+        actionData.put("mapLoop", new MapForLoopStatement("k", "v", "${ map }"));
+        actionData.put(ScoreLangConstants.PARALLEL_LOOP_STATEMENT_KEY, new ParallelLoopStatement("branch", "${ branches }"));
+        actionData.put("double", 1.5);
+        actionData.put("negative", -3);
+        actionData.put("nullValue", null);
+        actionData.put("unknownCollection", (Serializable) Collections.singletonList("fallback"));
+        Map<String, ResultNavigation> navigations = new LinkedHashMap<>();
+        navigations.put("SUCCESS", new ResultNavigation(2L, null));
+        navigations.put("FAILURE", new ResultNavigation(0L, "FAILURE"));
+        actionData.put(ScoreLangConstants.STEP_NAVIGATION_KEY, (Serializable) navigations);
+
+        ExecutionStep step = new ExecutionStep(1L);
+        step.setAction(new ControlActionMetadata("io.cloudslang.lang.runtime.steps.ActionExecutionData", "doAction"));
+        step.setActionData(actionData);
+        step.setNavigation(new ControlActionMetadata("io.cloudslang.lang.runtime.navigations.Navigations", "navigate"));
+        step.setNavigationData(new HashMap<String, Object>());
+        executionPlan.addStep(step);
+
+        ExecutionStep splitStep = new ExecutionStep(2L);
+        splitStep.setSplitStep(true);
+        executionPlan.addStep(splitStep);
+        return executionPlan;
+    }
+
+}
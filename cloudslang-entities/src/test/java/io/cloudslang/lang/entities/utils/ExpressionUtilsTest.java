@@ -8,6 +8,7 @@ import java.util.Collections;
 import java.util.Set;
 
 import static io.cloudslang.lang.entities.utils.ExpressionUtils.extractExpression;
+import static io.cloudslang.lang.entities.utils.ExpressionUtils.extractNames;
 import static io.cloudslang.lang.entities.utils.ExpressionUtils.extractSystemProperties;
 import static io.cloudslang.lang.entities.utils.ExpressionUtils.matchGetFunction;
 
@@ -191,4 +192,10 @@ public class ExpressionUtilsTest {
         Assert.assertTrue(matchGetFunction("exec(get(get(var, default_expr), default_expr))"));
     }
 
+    @Test
+    public void testExtractNames() throws Exception {
+        Assert.assertEquals(Sets.newHashSet("output", "get", "response", "var_2", "str"),
+                extractNames("output + get('response', var_2) + str(10)"));
+    }
+
 }
@@ -15,13 +15,16 @@ import io.cloudslang.lang.entities.bindings.ScriptFunction;
 import io.cloudslang.lang.entities.bindings.values.PyObjectValue;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.lang.runtime.env.SystemPropertyIndex;
 import io.cloudslang.runtime.api.python.PythonEvaluationResult;
 import io.cloudslang.runtime.api.python.PythonRuntimeService;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
+import java.util.AbstractMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -48,7 +51,9 @@ public class ScriptEvaluator extends ScriptProcessor {
             "def check_empty(value_to_check, default_value=None):" + LINE_SEPARATOR +
                     "  return default_value if value_to_check is None else value_to_check";
 
+    // resolved on the first evaluation, as creating the python engine initializes Jython
     @Autowired
+    @Lazy
     private PythonRuntimeService pythonRuntimeService;
 
     public Value evalExpr(String expr, Map<String, Value> context, Set<SystemProperty> systemProperties){
@@ -57,9 +62,10 @@ public class ScriptEvaluator extends ScriptProcessor {
 
     public Value evalExpr(String expr, Map<String, Value> context, Set<SystemProperty> systemProperties, Set<ScriptFunction> functionDependencies) {
         try {
-            Map<String, Serializable> pythonContext = createPythonContext(context);
+            Map<String, Serializable> pythonContext = createPythonContext(context, expr);
             if(functionDependencies.contains(ScriptFunction.GET_SYSTEM_PROPERTY)) {
-                pythonContext.put(SYSTEM_PROPERTIES_MAP, (Serializable) prepareSystemProperties(systemProperties));
+                pythonContext.put(SYSTEM_PROPERTIES_MAP,
+                        new SystemPropertyLookup(SystemPropertyIndex.of(systemProperties)));
             }
             PythonEvaluationResult result = pythonRuntimeService.eval(buildAddFunctionsScript(functionDependencies), expr, pythonContext);
             if(functionDependencies.contains(ScriptFunction.GET_SYSTEM_PROPERTY)) {
@@ -101,14 +107,6 @@ public class ScriptEvaluator extends ScriptProcessor {
         return text + LINE_SEPARATOR + LINE_SEPARATOR;
     }
 
-    private Map<String, Serializable> prepareSystemProperties(Set<SystemProperty> properties) {
-        Map<String, Serializable> processedSystemProperties = new HashMap<>();
-        for (SystemProperty property : properties) {
-            processedSystemProperties.put(property.getFullyQualifiedName(), ValueFactory.createPyObjectValue(property.getValue()));
-        }
-        return processedSystemProperties;
-    }
-
     private String handleExceptionSpecialCases(String message) {
         String processedMessage = message;
         if (StringUtils.isNotEmpty(message) && message.contains("get_sp") && message.contains("not defined")) {
@@ -128,4 +126,53 @@ public class ScriptEvaluator extends ScriptProcessor {
         }
         return false;
     }
+
+    /**
+     * The system properties map of get_sp, wrapping only the properties the expression looks up in python values
+     */
+    private static class SystemPropertyLookup extends AbstractMap<String, Serializable> implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final SystemPropertyIndex systemProperties;
+        private final Map<String, Serializable> lookedUpValues = new HashMap<>();
+
+        SystemPropertyLookup(SystemPropertyIndex systemProperties) {
+            this.systemProperties = systemProperties;
+        }
+
+        @Override
+        public Serializable get(Object key) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+            Serializable value = lookedUpValues.get(key);
+            if (value == null && !lookedUpValues.containsKey(key)) {
+                Value propertyValue = systemProperties.getValue((String) key);
+                value = propertyValue == null ? null : ValueFactory.createPyObjectValue(propertyValue);
+                lookedUpValues.put((String) key, value);
+            }
+            return value;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return systemProperties.getValuesByName().containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return systemProperties.getValuesByName().size();
+        }
+
+        @Override
+        public Set<Entry<String, Serializable>> entrySet() {
+            // iterating wraps all the properties
+            Map<String, Serializable> values = new HashMap<>();
+            for (String name : systemProperties.getValuesByName().keySet()) {
+                values.put(name, get(name));
+            }
+            return values.entrySet();
+        }
+    }
 }
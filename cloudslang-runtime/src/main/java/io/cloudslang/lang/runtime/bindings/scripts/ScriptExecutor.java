@@ -15,6 +15,7 @@ import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.runtime.api.python.PythonRuntimeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
@@ -30,6 +31,7 @@ import java.util.Set;
 @Component
 public class ScriptExecutor extends ScriptProcessor {
     @Autowired
+    @Lazy
     private PythonRuntimeService pythonRuntimeService;
 
     public Map<String, Value> executeScript (String script, Map<String, Value> callArguments) {
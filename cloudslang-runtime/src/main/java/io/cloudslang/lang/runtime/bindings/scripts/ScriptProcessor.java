@@ -9,12 +9,15 @@
  *******************************************************************************/
 package io.cloudslang.lang.runtime.bindings.scripts;
 
+import io.cloudslang.lang.entities.bindings.values.LargeValue;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.lang.entities.utils.ExpressionUtils;
 
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Script processor
@@ -30,4 +33,25 @@ public abstract class ScriptProcessor {
         }
         return pythonContext;
     }
+
+    /**
+     * Leaves out the large values whose names are not among the names in the expression, so their content is not read
+     * from the files
+     */
+    protected Map<String, Serializable> createPythonContext(Map<String, Value> context, String expression) {
+        Map<String, Serializable> pythonContext = new HashMap<>();
+        Set<String> names = null;
+        for (Map.Entry<String, ? extends Value> entry : context.entrySet()) {
+            if (entry.getValue() instanceof LargeValue) {
+                if (names == null) {
+                    names = ExpressionUtils.extractNames(expression);
+                }
+                if (!names.contains(entry.getKey())) {
+                    continue;
+                }
+            }
+            pythonContext.put(entry.getKey(), ValueFactory.createPyObjectValue(entry.getValue()));
+        }
+        return pythonContext;
+    }
 }
@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.configuration;
+
+import io.cloudslang.runtime.api.python.PythonRuntimeService;
+import io.cloudslang.runtime.impl.python.PythonExecutionEngine;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+/**
+ * Marks the python runtime beans of score as lazy, so Jython is initialized by the first python evaluation and not
+ * when the context is loaded. The script processors get them through lazy resolution proxies.
+ */
+public class PythonRuntimeLazyInitPostProcessor implements BeanFactoryPostProcessor {
+
+    private static final Class<?>[] LAZY_BEAN_TYPES = {PythonRuntimeService.class, PythonExecutionEngine.class};
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        for (Class<?> lazyBeanType : LAZY_BEAN_TYPES) {
+            for (String beanName : beanFactory.getBeanNamesForType(lazyBeanType, true, false)) {
+                if (beanFactory.containsBeanDefinition(beanName)) {
+                    beanFactory.getBeanDefinition(beanName).setLazyInit(true);
+                }
+            }
+        }
+    }
+
+}
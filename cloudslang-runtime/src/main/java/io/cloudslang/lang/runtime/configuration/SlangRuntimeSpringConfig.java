@@ -16,6 +16,8 @@ import io.cloudslang.runtime.impl.RuntimeManagementConfiguration;
 import org.apache.commons.lang3.StringUtils;
 import org.python.core.Options;
 import org.python.core.PySystemState;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -35,4 +37,9 @@ public class SlangRuntimeSpringConfig {
         if (!StringUtils.isEmpty(encodingValue))
             System.getProperties().setProperty(PySystemState.PYTHON_IO_ENCODING, encodingValue);
     }
+
+    @Bean
+    public static BeanFactoryPostProcessor pythonRuntimeLazyInitPostProcessor() {
+        return new PythonRuntimeLazyInitPostProcessor();
+    }
 }
@@ -13,19 +13,47 @@ import io.cloudslang.lang.entities.bindings.values.Value;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
-import java.io.Serializable;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
-public class Context implements Serializable{
+public class Context implements Externalizable {
 
-    private final Map<String, Value> variables;
-    private final Map<String, Value> langVariables;
+    private static final long serialVersionUID = 1L;
+
+    private Map<String, Value> variables;
+    private Map<String, Value> langVariables;
+
+    // The variables put since the changes were last removed, in the order they were first put, null unless the
+    // changes are tracked, only for the runs reporting them
+    private Set<String> changedVariables;
+
+    /**
+     * only for deserialization
+     */
+    public Context() {
+    }
 
     public Context(Map<String, Value> variables) {
+        this(variables, false);
+    }
+
+    /**
+     * @param trackChanges whether the variables put are tracked, for {@link #removeChangedVariables()}
+     */
+    public Context(Map<String, Value> variables, boolean trackChanges) {
         this.variables = variables;
         langVariables = new HashMap<>();
+        if (trackChanges) {
+            changedVariables = new LinkedHashSet<>();
+        }
     }
 
     public Value getVariable(String name) {
@@ -33,11 +61,36 @@ public class Context implements Serializable{
     }
 
     public void putVariable(String name, Value value) {
-        variables.put(name, value);
+        Value previousValue = variables.put(name, value);
+        if (changedVariables != null &&
+                (previousValue == null || previousValue != value && !previousValue.equals(value))) {
+            changedVariables.add(name);
+        }
     }
 
     public void putVariables(Map<String, ? extends Value> newVariables) {
-        variables.putAll(newVariables);
+        for (Map.Entry<String, ? extends Value> variable : newVariables.entrySet()) {
+            putVariable(variable.getKey(), variable.getValue());
+        }
+    }
+
+    /**
+     * The variables are never removed from the context, so the changes are the variables added, and the variables
+     * put with a value not equal to the one they had
+     *
+     * @return the variables changed since the changes were last removed, with their current values, always empty
+     * if the changes are not tracked
+     */
+    public Map<String, Value> removeChangedVariables() {
+        if (changedVariables == null || changedVariables.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Value> changes = new LinkedHashMap<>();
+        for (String name : changedVariables) {
+            changes.put(name, variables.get(name));
+        }
+        changedVariables.clear();
+        return changes;
     }
 
     public Map<String, Value> getImmutableViewOfLanguageVariables() {
@@ -60,6 +113,36 @@ public class Context implements Serializable{
         return langVariables.remove(key);
     }
 
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeByte(RunEnvironmentCodec.FORMAT_VERSION);
+        RunEnvironmentCodec.writeValues(out, variables);
+        RunEnvironmentCodec.writeValues(out, langVariables);
+        if (changedVariables == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(changedVariables.size());
+        for (String name : changedVariables) {
+            RunEnvironmentCodec.writeString(out, name);
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        byte version = RunEnvironmentCodec.readVersion(in, Context.class);
+        variables = RunEnvironmentCodec.readValues(in);
+        langVariables = RunEnvironmentCodec.readValues(in);
+        changedVariables = null;
+        int changes = version >= 2 ? in.readInt() : -1;
+        if (changes >= 0) {
+            changedVariables = new LinkedHashSet<>();
+            for (int i = 0; i < changes; i++) {
+                changedVariables.add(RunEnvironmentCodec.readString(in));
+            }
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
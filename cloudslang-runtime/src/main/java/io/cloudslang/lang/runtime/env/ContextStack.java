@@ -10,7 +10,10 @@
 
 package io.cloudslang.lang.runtime.env;
 
-import java.io.Serializable;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.Stack;
 
 /**
@@ -18,7 +21,9 @@ import java.util.Stack;
  * Date: 07/10/2014
  * Time: 12:53
  */
-public class ContextStack implements Serializable {
+public class ContextStack implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
 
     private Stack<Context> stack = new Stack<>();
 
@@ -32,4 +37,33 @@ public class ContextStack implements Serializable {
         return stack.pop();
     }
 
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeByte(RunEnvironmentCodec.FORMAT_VERSION);
+        out.writeInt(stack.size());
+        // bottom to top, the order they are pushed back in
+        for (Context context : stack) {
+            out.writeBoolean(context != null);
+            if (context != null) {
+                context.writeExternal(out);
+            }
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        RunEnvironmentCodec.readVersion(in, ContextStack.class);
+        int size = in.readInt();
+        stack = new Stack<>();
+        stack.ensureCapacity(size);
+        for (int i = 0; i < size; i++) {
+            Context context = null;
+            if (in.readBoolean()) {
+                context = new Context();
+                context.readExternal(in);
+            }
+            stack.push(context);
+        }
+    }
+
 }
@@ -9,53 +9,123 @@
  *******************************************************************************/
 package io.cloudslang.lang.runtime.env;
 
-import org.apache.commons.lang3.StringUtils;
-
-import java.io.Serializable;
-import java.util.ArrayDeque;
-import java.util.Deque;
-
-import static org.apache.commons.lang3.StringUtils.join;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
 
 /**
+ * The position of the execution in the nested flows, rendered as the dotted positions of the parents followed by the
+ * current position. The rendered parent path is kept up to date by {@link #down()} and {@link #up()}, and the
+ * rendered paths are cached until the next move, as they are read for every event.
+ *
  * @author moradi
  * @since 06/11/2014
  */
-public class ExecutionPath implements Serializable {
+public class ExecutionPath implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
 
     public static final String PATH_SEPARATOR = ".";
 
-    private Deque<Integer> parentPositions;
+    private static final int INITIAL_CAPACITY = 8;
+
+    // outermost first
+    private int[] parentPositions;
+    private int depth;
     private int position;
 
+    // the rendered parent positions, each followed by the separator, and its length before each of them
+    private StringBuilder parentPathPrefix;
+    private int[] parentPathPrefixLengths;
+
+    private String currentPath;
+    private String parentPath;
+
     public ExecutionPath() {
-        parentPositions = new ArrayDeque<>();
+        init(INITIAL_CAPACITY);
     }
 
     public void forward() {
         position++;
+        currentPath = null;
     }
 
     public void down() {
-        parentPositions.push(position);
+        if (depth == parentPositions.length) {
+            parentPositions = Arrays.copyOf(parentPositions, depth * 2);
+            parentPathPrefixLengths = Arrays.copyOf(parentPathPrefixLengths, depth * 2);
+        }
+        parentPositions[depth] = position;
+        parentPathPrefixLengths[depth] = parentPathPrefix.length();
+        depth++;
+        parentPathPrefix.append(position).append(PATH_SEPARATOR);
         position = 0;
+        currentPath = null;
+        parentPath = null;
     }
 
     public void up() {
-        position = parentPositions.pop();
+        if (depth == 0) {
+            throw new NoSuchElementException();
+        }
+        depth--;
+        position = parentPositions[depth];
+        parentPathPrefix.setLength(parentPathPrefixLengths[depth]);
+        currentPath = null;
+        parentPath = null;
     }
 
     public String getCurrentPath() {
-        return getCurrentPath(position);
+        if (currentPath == null) {
+            currentPath = parentPathPrefix.length() == 0 ?
+                    String.valueOf(position) :
+                    new StringBuilder(parentPathPrefix.length() + 11).append(parentPathPrefix).append(position).toString();
+        }
+        return currentPath;
     }
 
     public String getParentPath() {
-        return join(parentPositions.descendingIterator(), PATH_SEPARATOR);
+        if (parentPath == null) {
+            parentPath = depth == 0 ? "" : parentPathPrefix.substring(0, parentPathPrefix.length() - 1);
+        }
+        return parentPath;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeByte(RunEnvironmentCodec.FORMAT_VERSION);
+        out.writeInt(position);
+        out.writeInt(depth);
+        // outermost first, the order they are pushed back in
+        for (int i = 0; i < depth; i++) {
+            out.writeInt(parentPositions[i]);
+        }
     }
 
-    private String getCurrentPath(int position) {
-        String parents = getParentPath();
-        return StringUtils.isEmpty(parents) ? position + "" : parents + PATH_SEPARATOR + position;
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        RunEnvironmentCodec.readVersion(in, ExecutionPath.class);
+        int currentPosition = in.readInt();
+        int parentsDepth = in.readInt();
+        init(Math.max(parentsDepth, INITIAL_CAPACITY));
+        for (int i = 0; i < parentsDepth; i++) {
+            position = in.readInt();
+            down();
+        }
+        position = currentPosition;
+    }
+
+    private void init(int capacity) {
+        parentPositions = new int[capacity];
+        parentPathPrefixLengths = new int[capacity];
+        parentPathPrefix = new StringBuilder();
+        depth = 0;
+        position = 0;
+        currentPath = null;
+        parentPath = null;
     }
 
 }
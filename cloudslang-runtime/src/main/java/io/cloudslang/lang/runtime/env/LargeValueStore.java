@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.SlangSystemPropertyConstant;
+import io.cloudslang.lang.entities.bindings.values.LargeValue;
+import io.cloudslang.lang.entities.bindings.values.SimpleValue;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Map;
+
+/**
+ * Moves the string values longer than the {@link SlangSystemPropertyConstant#CSLANG_LARGE_VALUE_THRESHOLD} number of
+ * characters out of the heap, to a file per value in a directory per execution, replacing them by a
+ * {@link LargeValue}. The steps store the values an action or a binding produces before they are put in a context,
+ * and release the files of an execution when it finishes. The files of executions which did not finish are deleted
+ * when the JVM exits.
+ * <p>
+ * The store is disabled unless the threshold is set. The files are written to a directory private to this JVM,
+ * created in the temporary directory, or in the {@link SlangSystemPropertyConstant#CSLANG_LARGE_VALUE_DIRECTORY} if
+ * set, so the executions must run in this JVM. Only this private directory is ever deleted, never the configured one.
+ */
+public final class LargeValueStore {
+
+    private static final Logger logger = Logger.getLogger(LargeValueStore.class);
+
+    private static final String DIRECTORY_PREFIX = "cslang-large-values";
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static volatile int threshold = readThreshold();
+
+    private static File directory;
+
+    private LargeValueStore() {
+    }
+
+    public static boolean isEnabled() {
+        return threshold > 0;
+    }
+
+    /**
+     * @return the large value holding the content of the value if it is a string longer than the threshold,
+     * otherwise the value itself
+     */
+    public static Value store(Long executionId, Value value) {
+        int minLength = threshold;
+        // sensitive values are never written to files
+        if (minLength <= 0 || executionId == null || value == null || value.getClass() != SimpleValue.class) {
+            return value;
+        }
+        Serializable content = value.get();
+        if (!(content instanceof String) || ((String) content).length() <= minLength) {
+            return value;
+        }
+        try {
+            File executionDirectory = getExecutionDirectory(executionId);
+            File file = File.createTempFile("value", ".txt", executionDirectory);
+            Files.write(file.toPath(), ((String) content).getBytes(UTF_8));
+            return new LargeValue(file, (String) content);
+        } catch (IOException e) {
+            // the value stays on the heap
+            logger.warn("Failed to store a large value of execution " + executionId + ": " + e.getMessage());
+            return value;
+        }
+    }
+
+    /**
+     * Replaces the values longer than the threshold in the map by large values
+     *
+     * @return the given map
+     */
+    public static Map<String, Value> store(Long executionId, Map<String, Value> values) {
+        if (threshold <= 0 || executionId == null || values == null) {
+            return values;
+        }
+        for (Map.Entry<String, Value> entry : values.entrySet()) {
+            Value value = entry.getValue();
+            Value storedValue = store(executionId, value);
+            if (storedValue != value) {
+                entry.setValue(storedValue);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Deletes the files of the large values stored for the execution
+     */
+    public static void release(Long executionId) {
+        File baseDirectory;
+        synchronized (LargeValueStore.class) {
+            baseDirectory = directory;
+        }
+        if (baseDirectory != null && executionId != null) {
+            delete(new File(baseDirectory, String.valueOf(executionId)));
+        }
+    }
+
+    static void setThreshold(int threshold) {
+        LargeValueStore.threshold = threshold;
+    }
+
+    private static File getExecutionDirectory(Long executionId) throws IOException {
+        File executionDirectory = new File(getDirectory(), String.valueOf(executionId));
+        if (!executionDirectory.isDirectory() && !executionDirectory.mkdirs() && !executionDirectory.isDirectory()) {
+            throw new IOException("Failed to create the large values directory " + executionDirectory);
+        }
+        return executionDirectory;
+    }
+
+    /**
+     * Deletes the directory of this JVM, so the next stored value creates a new one in the directory configured then
+     */
+    static synchronized void resetDirectory() {
+        if (directory != null) {
+            delete(directory);
+            directory = null;
+        }
+    }
+
+    private static synchronized File getDirectory() throws IOException {
+        if (directory == null) {
+            String configuredDirectory =
+                    System.getProperty(SlangSystemPropertyConstant.CSLANG_LARGE_VALUE_DIRECTORY.getValue());
+            // a directory of its own, as the configured one may be shared with other files and other JVMs
+            final File newDirectory = StringUtils.isEmpty(configuredDirectory) ?
+                    Files.createTempDirectory(DIRECTORY_PREFIX).toFile() :
+                    Files.createTempDirectory(Files.createDirectories(new File(configuredDirectory).toPath()),
+                            DIRECTORY_PREFIX).toFile();
+            Runtime.getRuntime().addShutdownHook(new Thread("cslang-large-values-cleanup") {
+                @Override
+                public void run() {
+                    delete(newDirectory);
+                }
+            });
+            directory = newDirectory;
+        }
+        return directory;
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        if (file.exists() && !file.delete()) {
+            logger.warn("Failed to delete the large value file " + file);
+        }
+    }
+
+    private static int readThreshold() {
+        String value = System.getProperty(SlangSystemPropertyConstant.CSLANG_LARGE_VALUE_THRESHOLD.getValue());
+        if (StringUtils.isEmpty(value)) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid large value threshold: " + value + ", large values are kept on the heap");
+            return 0;
+        }
+    }
+
+}
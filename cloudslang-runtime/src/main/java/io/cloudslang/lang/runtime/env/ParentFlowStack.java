@@ -10,7 +10,10 @@
 
 package io.cloudslang.lang.runtime.env;
 
-import java.io.Serializable;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.Stack;
 
 /**
@@ -18,7 +21,9 @@ import java.util.Stack;
  * Date: 22/10/2014
  * Time: 15:37
  */
-public class ParentFlowStack implements Serializable{
+public class ParentFlowStack implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
 
     private Stack<ParentFlowData> stack = new Stack<>();
 
@@ -35,4 +40,34 @@ public class ParentFlowStack implements Serializable{
     public boolean isEmpty(){
         return stack.isEmpty();
     }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeByte(RunEnvironmentCodec.FORMAT_VERSION);
+        out.writeInt(stack.size());
+        // bottom to top, the order they are pushed back in
+        for (ParentFlowData parentFlowData : stack) {
+            out.writeBoolean(parentFlowData != null);
+            if (parentFlowData != null) {
+                RunEnvironmentCodec.writeLong(out, parentFlowData.getRunningExecutionPlanId());
+                RunEnvironmentCodec.writeLong(out, parentFlowData.getPosition());
+            }
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        RunEnvironmentCodec.readVersion(in, ParentFlowStack.class);
+        int size = in.readInt();
+        stack = new Stack<>();
+        stack.ensureCapacity(size);
+        for (int i = 0; i < size; i++) {
+            ParentFlowData parentFlowData = null;
+            if (in.readBoolean()) {
+                Long runningExecutionPlanId = RunEnvironmentCodec.readLong(in);
+                parentFlowData = new ParentFlowData(runningExecutionPlanId, RunEnvironmentCodec.readLong(in));
+            }
+            stack.push(parentFlowData);
+        }
+    }
 }
@@ -12,15 +12,26 @@ package io.cloudslang.lang.runtime.env;
 
 import io.cloudslang.lang.entities.bindings.values.Value;
 
-import java.io.Serializable;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.HashMap;
 import java.util.Map;
 
-public class ReturnValues implements Serializable{
+public class ReturnValues implements Externalizable {
 
-    private final Map<String, Value> outputs;
+    private static final long serialVersionUID = 1L;
 
-    private final String result;
+    private Map<String, Value> outputs;
+
+    private String result;
+
+    /**
+     * only for deserialization
+     */
+    public ReturnValues() {
+    }
 
     public ReturnValues(Map<String, Value> outputs, String result) {
         this.outputs = new HashMap<>(outputs);
@@ -35,6 +46,20 @@ public class ReturnValues implements Serializable{
         return result;
     }
 
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeByte(RunEnvironmentCodec.FORMAT_VERSION);
+        RunEnvironmentCodec.writeValues(out, outputs);
+        RunEnvironmentCodec.writeString(out, result);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        RunEnvironmentCodec.readVersion(in, ReturnValues.class);
+        outputs = RunEnvironmentCodec.readValues(in);
+        result = RunEnvironmentCodec.readString(in);
+    }
+
     @Override
     public String toString() {
         return "ReturnValues{" +
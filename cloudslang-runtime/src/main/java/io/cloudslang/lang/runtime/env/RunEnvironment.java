@@ -11,11 +11,17 @@
 package io.cloudslang.lang.runtime.env;
 
 import com.hp.oo.sdk.content.plugin.SerializableSessionObject;
+import io.cloudslang.lang.entities.EventPayloadMode;
+import io.cloudslang.lang.entities.EventVerbosity;
 import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import org.apache.commons.lang3.Validate;
 
-import java.io.Serializable;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -25,8 +31,12 @@ import java.util.Set;
  * User: stoneo
  * Date: 20/10/2014
  * Time: 10:28
+ *
+ * Serialized in the compact form of {@link RunEnvironmentCodec} with every step of the execution.
  */
-public class RunEnvironment implements Serializable {
+public class RunEnvironment implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
 
     // Call arguments for the current step
     private Map<String, Value> callArguments;
@@ -45,12 +55,18 @@ public class RunEnvironment implements Serializable {
 
     private ExecutionPath executionPath;
 
-    private final Set<SystemProperty> systemProperties;
+    // Indexed by name for the get_sp lookups
+    private SystemPropertyIndex systemProperties;
 
     // Map holding serializable data that is common for the entire run
     // This is data that should be shared between different actions with the ability to change the data
     private Map<String, SerializableSessionObject> serializableDataMap;
 
+    // Which of the CloudSlang events the run fires
+    private EventVerbosity eventVerbosity;
+
+    // How the CloudSlang events of the run report the flow variables
+    private EventPayloadMode eventPayloadMode;
 
     public RunEnvironment(Set<SystemProperty> systemProperties) {
         Validate.notNull(systemProperties, "system properties cannot be null");
@@ -59,7 +75,7 @@ public class RunEnvironment implements Serializable {
         callArguments = new HashMap<>();
         executionPath = new ExecutionPath();
         serializableDataMap = new HashMap<>();
-        this.systemProperties = systemProperties;
+        this.systemProperties = SystemPropertyIndex.of(systemProperties);
     }
 
     public RunEnvironment() {
@@ -116,9 +132,85 @@ public class RunEnvironment implements Serializable {
         return serializableDataMap;
     }
 
+    public EventVerbosity getEventVerbosity() {
+        return eventVerbosity == null ? EventVerbosity.FULL : eventVerbosity;
+    }
+
+    public void setEventVerbosity(EventVerbosity eventVerbosity) {
+        this.eventVerbosity = eventVerbosity;
+    }
+
+    public EventPayloadMode getEventPayloadMode() {
+        return eventPayloadMode == null ? EventPayloadMode.FULL : eventPayloadMode;
+    }
+
+    public void setEventPayloadMode(EventPayloadMode eventPayloadMode) {
+        this.eventPayloadMode = eventPayloadMode;
+    }
+
     public void resetStacks() {
         contextStack = new ContextStack();
         parentFlowStack = new ParentFlowStack();
     }
 
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeByte(RunEnvironmentCodec.FORMAT_VERSION);
+        RunEnvironmentCodec.writeValues(out, callArguments);
+        out.writeBoolean(returnValues != null);
+        if (returnValues != null) {
+            returnValues.writeExternal(out);
+        }
+        RunEnvironmentCodec.writeLong(out, nextStepPosition);
+        contextStack.writeExternal(out);
+        parentFlowStack.writeExternal(out);
+        executionPath.writeExternal(out);
+        // a registered snapshot is written by its id only where the readers can resolve it
+        String snapshotId = SystemPropertySnapshots.isResolvable() ? systemProperties.getSnapshotId() : null;
+        RunEnvironmentCodec.writeString(out, snapshotId);
+        if (snapshotId == null) {
+            out.writeObject(systemProperties);
+        }
+        out.writeObject(serializableDataMap);
+        RunEnvironmentCodec.writeString(out, eventVerbosity == null ? null : eventVerbosity.name());
+        RunEnvironmentCodec.writeString(out, eventPayloadMode == null ? null : eventPayloadMode.name());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        byte version = RunEnvironmentCodec.readVersion(in, RunEnvironment.class);
+        callArguments = RunEnvironmentCodec.readValues(in);
+        returnValues = null;
+        if (in.readBoolean()) {
+            returnValues = new ReturnValues();
+            returnValues.readExternal(in);
+        }
+        nextStepPosition = RunEnvironmentCodec.readLong(in);
+        contextStack = new ContextStack();
+        contextStack.readExternal(in);
+        parentFlowStack = new ParentFlowStack();
+        parentFlowStack.readExternal(in);
+        executionPath = new ExecutionPath();
+        executionPath.readExternal(in);
+        String snapshotId = version >= 4 ? RunEnvironmentCodec.readString(in) : null;
+        if (snapshotId == null) {
+            systemProperties = SystemPropertyIndex.of((Set<SystemProperty>) in.readObject());
+        } else {
+            systemProperties = SystemPropertySnapshots.resolve(snapshotId);
+            if (systemProperties == null) {
+                throw new InvalidObjectException("The system properties snapshot " + snapshotId +
+                        " of the run environment is neither registered nor resolved");
+            }
+        }
+        serializableDataMap = (Map<String, SerializableSessionObject>) in.readObject();
+        String verbosity = RunEnvironmentCodec.readString(in);
+        eventVerbosity = verbosity == null ? null : EventVerbosity.valueOf(verbosity);
+        eventPayloadMode = null;
+        if (version >= 2) {
+            String payloadMode = RunEnvironmentCodec.readString(in);
+            eventPayloadMode = payloadMode == null ? null : EventPayloadMode.valueOf(payloadMode);
+        }
+    }
+
 }
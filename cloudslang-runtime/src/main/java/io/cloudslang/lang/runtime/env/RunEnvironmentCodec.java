@@ -0,0 +1,255 @@
+/*
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ */
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.bindings.values.SensitiveValue;
+import io.cloudslang.lang.entities.bindings.values.SimpleValue;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueCompression;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The compact serialized form of the run environment and its contents, written by their
+ * {@link java.io.Externalizable} methods instead of the default Java serialization, which reflects over every
+ * field and writes the class descriptors of every stack, deque, map and boxed number anew for every step.
+ * <p>
+ * Every class starts its form with the {@link #FORMAT_VERSION} it was written in. A new format must keep reading
+ * the older versions, as they may be found in the persisted executions.
+ * <p>
+ * The common values - simple values of strings, numbers and booleans, and sensitive values - are written inline by
+ * their content, and any other value falls back to the default serialization. A value referenced by two maps is
+ * therefore read back as two equal values. The strings of simple values longer than the {@link ValueCompression}
+ * threshold are written compressed.
+ */
+final class RunEnvironmentCodec {
+
+    // 2: the changed variables of the contexts and the event payload mode
+    // 3: the compressed simple value strings
+    // 4: the system properties snapshot id
+    static final byte FORMAT_VERSION = 4;
+
+    // tags are part of the format, existing tags must never be renumbered
+    private static final byte NULL = 0;
+    private static final byte SERIALIZED = 1;
+    private static final byte STRING = 2;
+    private static final byte SIMPLE_NULL = 3;
+    private static final byte SIMPLE_STRING = 4;
+    private static final byte SIMPLE_LONG = 5;
+    private static final byte SIMPLE_INTEGER = 6;
+    private static final byte SIMPLE_BOOLEAN = 7;
+    private static final byte SIMPLE_SERIALIZED = 8;
+    private static final byte SENSITIVE = 9;
+    private static final byte HASH_MAP = 10;
+    private static final byte LINKED_HASH_MAP = 11;
+    private static final byte SIMPLE_COMPRESSED_STRING = 12;
+
+    // the longest string writeUTF takes for sure, three bytes per char at most
+    private static final int MAX_UTF_STRING_LENGTH = 65535 / 3;
+
+    private RunEnvironmentCodec() {
+    }
+
+    static byte readVersion(ObjectInput in, Class<?> type) throws IOException {
+        byte version = in.readByte();
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new InvalidClassException(type.getName(), "Unsupported serialized form version " + version);
+        }
+        return version;
+    }
+
+    static void writeString(ObjectOutput out, String string) throws IOException {
+        if (string == null) {
+            out.writeByte(NULL);
+        } else if (string.length() <= MAX_UTF_STRING_LENGTH) {
+            out.writeByte(STRING);
+            out.writeUTF(string);
+        } else {
+            out.writeByte(SERIALIZED);
+            out.writeObject(string);
+        }
+    }
+
+    static String readString(ObjectInput in) throws IOException, ClassNotFoundException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                return in.readUTF();
+            case SERIALIZED:
+                return (String) in.readObject();
+            default:
+                throw unknownTag(tag);
+        }
+    }
+
+    static void writeLong(ObjectOutput out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    static Long readLong(ObjectInput in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    static void writeValues(ObjectOutput out, Map<String, Value> values) throws IOException {
+        if (values == null) {
+            out.writeByte(NULL);
+            return;
+        }
+        Class<?> type = values.getClass();
+        if (type != HashMap.class && type != LinkedHashMap.class) {
+            out.writeByte(SERIALIZED);
+            out.writeObject(values);
+            return;
+        }
+        out.writeByte(type == HashMap.class ? HASH_MAP : LINKED_HASH_MAP);
+        out.writeInt(values.size());
+        for (Map.Entry<String, Value> entry : values.entrySet()) {
+            writeString(out, entry.getKey());
+            writeValue(out, entry.getValue());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Value> readValues(ObjectInput in) throws IOException, ClassNotFoundException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case SERIALIZED:
+                return (Map<String, Value>) in.readObject();
+            case HASH_MAP:
+            case LINKED_HASH_MAP:
+                int size = in.readInt();
+                int capacity = Math.max(size * 4 / 3 + 1, 16);
+                Map<String, Value> values = tag == HASH_MAP ?
+                        new HashMap<String, Value>(capacity) : new LinkedHashMap<String, Value>(capacity);
+                for (int i = 0; i < size; i++) {
+                    String key = readString(in);
+                    values.put(key, readValue(in));
+                }
+                return values;
+            default:
+                throw unknownTag(tag);
+        }
+    }
+
+    static void writeValue(ObjectOutput out, Value value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+            return;
+        }
+        Class<?> type = value.getClass();
+        if (type == SensitiveValue.class) {
+            out.writeByte(SENSITIVE);
+            // compressed by the value itself, if long enough
+            writeBytes(out, ((SensitiveValue) value).getContent());
+        } else if (type == SimpleValue.class) {
+            writeSimpleValueContent(out, ((SimpleValue) value).getContent());
+        } else {
+            // python values and such
+            out.writeByte(SERIALIZED);
+            out.writeObject(value);
+        }
+    }
+
+    static Value readValue(ObjectInput in) throws IOException, ClassNotFoundException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case SERIALIZED:
+                return (Value) in.readObject();
+            case SIMPLE_NULL:
+                return ValueFactory.create(null);
+            case SIMPLE_STRING:
+                return ValueFactory.create(in.readUTF());
+            case SIMPLE_COMPRESSED_STRING:
+                return ValueFactory.create(ValueCompression.decompressString(readBytes(in)));
+            case SIMPLE_LONG:
+                return ValueFactory.create(in.readLong());
+            case SIMPLE_INTEGER:
+                return ValueFactory.create(in.readInt());
+            case SIMPLE_BOOLEAN:
+                return ValueFactory.create(in.readBoolean());
+            case SIMPLE_SERIALIZED:
+                return ValueFactory.create((Serializable) in.readObject());
+            case SENSITIVE:
+                return readSensitiveValue(in);
+            default:
+                throw unknownTag(tag);
+        }
+    }
+
+    private static void writeSimpleValueContent(ObjectOutput out, Serializable content) throws IOException {
+        Class<?> type = content == null ? null : content.getClass();
+        if (content == null) {
+            out.writeByte(SIMPLE_NULL);
+        } else if (type == String.class && ValueCompression.shouldCompress(((String) content).length())) {
+            out.writeByte(SIMPLE_COMPRESSED_STRING);
+            writeBytes(out, ValueCompression.compress((String) content));
+        } else if (type == String.class && ((String) content).length() <= MAX_UTF_STRING_LENGTH) {
+            out.writeByte(SIMPLE_STRING);
+            out.writeUTF((String) content);
+        } else if (type == Long.class) {
+            out.writeByte(SIMPLE_LONG);
+            out.writeLong((Long) content);
+        } else if (type == Integer.class) {
+            out.writeByte(SIMPLE_INTEGER);
+            out.writeInt((Integer) content);
+        } else if (type == Boolean.class) {
+            out.writeByte(SIMPLE_BOOLEAN);
+            out.writeBoolean((Boolean) content);
+        } else {
+            out.writeByte(SIMPLE_SERIALIZED);
+            out.writeObject(content);
+        }
+    }
+
+    private static Value readSensitiveValue(ObjectInput in) throws IOException {
+        // the content is kept as is, instead of being serialized once more by the value factory
+        SensitiveValue value = (SensitiveValue) ValueFactory.create(null, true);
+        value.setContent(readBytes(in));
+        return value;
+    }
+
+    private static void writeBytes(ObjectOutput out, byte[] bytes) throws IOException {
+        out.writeInt(bytes == null ? -1 : bytes.length);
+        if (bytes != null) {
+            out.write(bytes);
+        }
+    }
+
+    private static byte[] readBytes(ObjectInput in) throws IOException {
+        int length = in.readInt();
+        byte[] bytes = null;
+        if (length >= 0) {
+            bytes = new byte[length];
+            in.readFully(bytes);
+        }
+        return bytes;
+    }
+
+    private static IOException unknownTag(byte tag) {
+        return new IOException("Unknown serialized run environment tag: " + tag);
+    }
+
+}
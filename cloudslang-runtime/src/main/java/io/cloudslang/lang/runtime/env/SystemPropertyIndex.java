@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import org.apache.commons.lang3.Validate;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The system properties of a run, read only, with their values indexed by fully qualified name. The index is built
+ * on the first lookup, so the expressions calling get_sp look up the properties they use instead of going over all
+ * of them. The last of the properties with the same name wins, as it did when the properties were put in a map.
+ * <p>
+ * An index registered in the {@link SystemPropertySnapshots} has a snapshot id, and the run environments holding it
+ * are serialized with the id only.
+ */
+public class SystemPropertyIndex extends AbstractSet<SystemProperty> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Set<SystemProperty> properties;
+
+    private final String snapshotId;
+
+    private transient volatile Map<String, Value> valuesByName;
+
+    SystemPropertyIndex(Set<SystemProperty> properties, String snapshotId) {
+        this.properties = Collections.unmodifiableSet(properties);
+        this.snapshotId = snapshotId;
+    }
+
+    /**
+     * @return the given properties if already indexed, otherwise an index over them
+     */
+    public static SystemPropertyIndex of(Set<SystemProperty> properties) {
+        Validate.notNull(properties, "system properties cannot be null");
+        return properties instanceof SystemPropertyIndex ?
+                (SystemPropertyIndex) properties : new SystemPropertyIndex(properties, null);
+    }
+
+    /**
+     * @return the id of the snapshot registered with these properties, null for the properties of a single run
+     */
+    public String getSnapshotId() {
+        return snapshotId;
+    }
+
+    /**
+     * @param fullyQualifiedName the fully qualified name of the property
+     * @return the value of the property, null if there is no such property
+     */
+    public Value getValue(String fullyQualifiedName) {
+        return getValuesByName().get(fullyQualifiedName);
+    }
+
+    /**
+     * @return the values of all the properties by their fully qualified names, read only
+     */
+    public Map<String, Value> getValuesByName() {
+        Map<String, Value> index = valuesByName;
+        if (index == null) {
+            index = new HashMap<>(Math.max(properties.size() * 4 / 3 + 1, 16));
+            for (SystemProperty property : properties) {
+                index.put(property.getFullyQualifiedName(), property.getValue());
+            }
+            index = Collections.unmodifiableMap(index);
+            valuesByName = index;
+        }
+        return index;
+    }
+
+    private Object readResolve() throws ObjectStreamException {
+        // the copies of a registered snapshot share it
+        SystemPropertyIndex snapshot = snapshotId == null ? null : SystemPropertySnapshots.get(snapshotId);
+        return snapshot == null ? this : snapshot;
+    }
+
+    @Override
+    public Iterator<SystemProperty> iterator() {
+        return properties.iterator();
+    }
+
+    @Override
+    public int size() {
+        return properties.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return properties.contains(o);
+    }
+
+}
@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.SystemProperty;
+
+import java.util.Set;
+
+/**
+ * Looks up the system properties of the snapshots not registered in this process, e.g. from the configuration the
+ * process that registered them read them from, so the run environments written by their snapshot ids can be read
+ * on any node and after restarts.
+ */
+public interface SystemPropertySnapshotResolver {
+
+    /**
+     * @param snapshotId the id of the snapshot
+     * @return the system properties the snapshot was registered with, null if unknown
+     */
+    Set<SystemProperty> resolve(String snapshotId);
+
+}
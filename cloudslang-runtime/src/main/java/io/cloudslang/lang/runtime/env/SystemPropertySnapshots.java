@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The system property sets shared by the runs of this process. A set registered once is passed to any number of runs,
+ * and their copies share it.
+ * <p>
+ * The id is the version of the id scheme followed by a hash of the properties, so registering the same properties
+ * again, in this process or after a restart, gives the same id and snapshot. The run environments are written with the
+ * snapshot id only, instead of the properties, once a {@link SystemPropertySnapshotResolver} is set, as it can find
+ * the properties of the snapshots not registered where they are read, on another node or after a restart. Without a
+ * resolver the properties are written with the run environments, as they are for the runs which are not registered.
+ */
+public final class SystemPropertySnapshots {
+
+    private static final String ID_VERSION = "1";
+    private static final String ID_SEPARATOR = "-";
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final ConcurrentMap<String, SystemPropertyIndex> snapshots = new ConcurrentHashMap<>();
+
+    private static volatile SystemPropertySnapshotResolver resolver;
+
+    private SystemPropertySnapshots() {
+    }
+
+    /**
+     * @param systemProperties the properties, copied by the snapshot
+     * @return the snapshot of the properties, to pass to the runs in place of the properties
+     */
+    public static SystemPropertyIndex register(Set<SystemProperty> systemProperties) {
+        Validate.notNull(systemProperties, "system properties cannot be null");
+        Set<SystemProperty> properties = new HashSet<>(systemProperties);
+        String snapshotId = createSnapshotId(properties);
+        SystemPropertyIndex snapshot = snapshots.get(snapshotId);
+        if (snapshot == null) {
+            SystemPropertyIndex newSnapshot = new SystemPropertyIndex(properties, snapshotId);
+            snapshot = snapshots.putIfAbsent(snapshotId, newSnapshot);
+            if (snapshot == null) {
+                snapshot = newSnapshot;
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * @return the registered snapshot, null if there is no snapshot with the id
+     */
+    public static SystemPropertyIndex get(String snapshotId) {
+        return snapshots.get(snapshotId);
+    }
+
+    /**
+     * Removes the snapshot. The run environments written with its id are read with the properties the resolver finds.
+     */
+    public static void unregister(String snapshotId) {
+        snapshots.remove(snapshotId);
+    }
+
+    /**
+     * @param snapshotResolver finds the properties of the snapshots not registered in this process, for all of them;
+     *                         null to write the properties with the run environments again
+     */
+    public static void setResolver(SystemPropertySnapshotResolver snapshotResolver) {
+        resolver = snapshotResolver;
+    }
+
+    /**
+     * @return whether the run environments can be written with the snapshot ids only
+     */
+    static boolean isResolvable() {
+        return resolver != null;
+    }
+
+    /**
+     * @return the registered snapshot, registered with the properties from the resolver if it is not registered yet,
+     * null if the resolver does not know it either
+     */
+    static SystemPropertyIndex resolve(String snapshotId) {
+        SystemPropertyIndex snapshot = snapshots.get(snapshotId);
+        SystemPropertySnapshotResolver snapshotResolver = resolver;
+        if (snapshot == null && snapshotResolver != null) {
+            Set<SystemProperty> systemProperties = snapshotResolver.resolve(snapshotId);
+            if (systemProperties != null && snapshotId.equals(createSnapshotId(new HashSet<>(systemProperties)))) {
+                snapshot = register(systemProperties);
+            }
+        }
+        return snapshot;
+    }
+
+    private static String createSnapshotId(Set<SystemProperty> properties) {
+        List<SystemProperty> sortedProperties = new ArrayList<>(properties);
+        Collections.sort(sortedProperties, new Comparator<SystemProperty>() {
+            @Override
+            public int compare(SystemProperty property1, SystemProperty property2) {
+                int result = property1.getFullyQualifiedName().compareTo(property2.getFullyQualifiedName());
+                if (result == 0) {
+                    result = StringUtils.defaultString(property1.getNamespace())
+                            .compareTo(StringUtils.defaultString(property2.getNamespace()));
+                }
+                return result == 0 ? getContent(property1).compareTo(getContent(property2)) : result;
+            }
+        });
+        MessageDigest digest = createDigest();
+        for (SystemProperty property : sortedProperties) {
+            update(digest, StringUtils.defaultString(property.getNamespace()));
+            update(digest, property.getFullyQualifiedName());
+            update(digest, getContent(property));
+        }
+        StringBuilder snapshotId = new StringBuilder(ID_VERSION).append(ID_SEPARATOR);
+        for (byte b : digest.digest()) {
+            snapshotId.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return snapshotId.toString();
+    }
+
+    private static String getContent(SystemProperty property) {
+        Value value = property.getValue();
+        if (value == null) {
+            return "";
+        }
+        // the marks keep the sensitive, null and string values apart
+        return (value.isSensitive() ? "s" : "p") + (value.get() == null ? "" : "=" + value.get());
+    }
+
+    private static void update(MessageDigest digest, String string) {
+        byte[] bytes = string.getBytes(UTF_8);
+        int length = bytes.length;
+        digest.update(new byte[]{(byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8), (byte) length});
+        digest.update(bytes);
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every java platform has SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -12,15 +12,35 @@ package io.cloudslang.lang.runtime.events;
 import io.cloudslang.lang.entities.bindings.values.SensitiveValue;
 import io.cloudslang.lang.entities.bindings.values.Value;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
+ * The data of a language event.
+ * <p>
+ * The attributes every event has - type, description, time stamp, execution id, path, step name and step type -
+ * are kept in typed fields, and only the variable payload, such as the inputs or the outputs, is kept in the map
+ * itself. This keeps the events small in memory and in their serialized form. The map methods still see the fixed
+ * attributes under their keys, so the event can be used as a plain map, except for the functional map methods
+ * ({@code forEach}, {@code compute}, {@code merge} and such), which see only the payload.
+ *
  * @author moradi
  * @version $Id$
  * @since 03/11/2014
@@ -28,6 +48,8 @@ import java.util.Map;
 @SuppressWarnings("unchecked")
 public class LanguageEventData extends HashMap<String, Serializable> {
 
+    private static final long serialVersionUID = -3458815009815937461L;
+
     public static final String TYPE = "TYPE";
     public static final String DESCRIPTION = "DESCRIPTION";
     public static final String TIMESTAMP = "TIMESTAMP";
@@ -35,6 +57,7 @@ public class LanguageEventData extends HashMap<String, Serializable> {
     public static final String PATH = "PATH";
     public static final String EXCEPTION = "EXCEPTION";
     public static final String OUTPUTS = "OUTPUTS";
+    public static final String CHANGED_VARIABLES = "CHANGED_VARIABLES";
     public static final String RESULT = "RESULT";
     public static final String CALL_ARGUMENTS = "CALL_ARGUMENTS";
     public static final String INPUTS = "INPUTS";
@@ -46,6 +69,19 @@ public class LanguageEventData extends HashMap<String, Serializable> {
     public static final String STEP_TYPE = "STEP_TYPE";
     public static final String STEP_NAME = "STEP_NAME";
 
+    /**
+     * The keys kept in typed fields rather than in the map
+     */
+    public static final List<String> FIXED_KEYS = Collections.unmodifiableList(Arrays.asList(
+            TYPE, DESCRIPTION, TIMESTAMP, EXECUTION_ID, PATH, STEP_NAME, STEP_TYPE));
+
+    private static final Set<String> FIXED_KEYS_SET = new HashSet<>(FIXED_KEYS);
+
+    private static final long NO_TIME_STAMP = Long.MIN_VALUE;
+
+    // the payload is usually one to three entries
+    private static final int PAYLOAD_INITIAL_CAPACITY = 4;
+
     public enum StepType {
         STEP,
         EXECUTABLE,
@@ -53,60 +89,77 @@ public class LanguageEventData extends HashMap<String, Serializable> {
         NAVIGATION
     }
 
+    // written by writeObject, without the class descriptors of the Date, Long and enum values
+    private transient String eventType;
+    private transient String description;
+    private transient long timeStamp = NO_TIME_STAMP;
+    private transient Long executionId;
+    private transient String path;
+    private transient String stepName;
+    private transient StepType stepType;
+
+    public LanguageEventData() {
+        super(PAYLOAD_INITIAL_CAPACITY);
+    }
+
     public String getStepName() {
-        return (String) get(STEP_NAME);
+        return stepName;
     }
 
     public void setStepName(String stepName){
-        put(STEP_NAME, stepName);
+        this.stepName = stepName;
     }
 
     public StepType getStepType() {
-        return (StepType) get(STEP_TYPE);
+        return stepType;
     }
 
     public void setStepType(StepType stepType){
-        put(STEP_TYPE, stepType);
+        this.stepType = stepType;
     }
 
     public String getEventType() {
-        return (String) get(TYPE);
+        return eventType;
     }
 
     public void setEventType(String eventType) {
-        put(TYPE, eventType);
+        this.eventType = eventType;
     }
 
     public String getDescription() {
-        return (String) get(DESCRIPTION);
+        return description;
     }
 
     public void setDescription(String description) {
-        put(DESCRIPTION, description);
+        this.description = description;
     }
 
     public Date getTimeStamp() {
-        return (Date) get(TIMESTAMP);
+        return timeStamp == NO_TIME_STAMP ? null : new Date(timeStamp);
     }
 
     public void setTimeStamp(Date timeStamp) {
-        put(TIMESTAMP, timeStamp);
+        this.timeStamp = timeStamp == null ? NO_TIME_STAMP : timeStamp.getTime();
+    }
+
+    public void setTimeStamp(long timeStamp) {
+        this.timeStamp = timeStamp;
     }
 
     public Long getExecutionId() {
-        return (Long) get(EXECUTION_ID);
+        return executionId;
     }
 
     public void setExecutionId(Long executionId) {
-        put(EXECUTION_ID, executionId);
+        this.executionId = executionId;
     }
 
     public String getPath() {
-        return (String) get(PATH);
+        return path;
     }
 
     public void setPath(String path) {
-        put(PATH, path);
+        this.path = path;
     }
 
     public String getResult() {
@@ -165,6 +218,191 @@ public class LanguageEventData extends HashMap<String, Serializable> {
         put(BOUND_PARALLEL_LOOP_EXPRESSION, (Serializable) parallelLoopBoundExpression);
     }
 
+    /**
+     * @return a read only view of the variable payload of the event, without the fixed attributes
+     */
+    public Map<String, Serializable> getPayload() {
+        return Collections.unmodifiableMap(new AbstractMap<String, Serializable>() {
+            @Override
+            public Set<Map.Entry<String, Serializable>> entrySet() {
+                return LanguageEventData.super.entrySet();
+            }
+        });
+    }
+
+    @Override
+    public Serializable get(Object key) {
+        return isFixedKey(key) ? getFixed((String) key) : super.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return isFixedKey(key) ? getFixed((String) key) != null : super.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (String key : FIXED_KEYS) {
+            Serializable fixedValue = getFixed(key);
+            if (fixedValue != null && fixedValue.equals(value)) {
+                return true;
+            }
+        }
+        return super.containsValue(value);
+    }
+
+    /**
+     * The fixed attributes are typed, putting a value of another type under their keys fails with a
+     * {@link ClassCastException}, and putting null under them removes them.
+     */
+    @Override
+    public Serializable put(String key, Serializable value) {
+        return isFixedKey(key) ? setFixed(key, value) : super.put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends Serializable> map) {
+        for (Map.Entry<? extends String, ? extends Serializable> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public Serializable remove(Object key) {
+        return isFixedKey(key) ? setFixed((String) key, null) : super.remove(key);
+    }
+
+    @Override
+    public int size() {
+        int size = super.size();
+        for (String key : FIXED_KEYS) {
+            if (getFixed(key) != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        for (String key : FIXED_KEYS) {
+            setFixed(key, null);
+        }
+    }
+
+    @Override
+    public Object clone() {
+        LanguageEventData clone = (LanguageEventData) super.clone();
+        // the map clone copies all the entries of the view, the fixed attributes are already copied as fields
+        for (String key : FIXED_KEYS) {
+            clone.removeFromPayload(key);
+        }
+        return clone;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Serializable>> entrySet() {
+        return new AbstractSet<Map.Entry<String, Serializable>>() {
+            @Override
+            public Iterator<Map.Entry<String, Serializable>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return LanguageEventData.this.size();
+            }
+
+            @Override
+            public void clear() {
+                LanguageEventData.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return new AbstractSet<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                final Iterator<Map.Entry<String, Serializable>> entryIterator = new EntryIterator();
+                return new Iterator<String>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entryIterator.hasNext();
+                    }
+
+                    @Override
+                    public String next() {
+                        return entryIterator.next().getKey();
+                    }
+
+                    @Override
+                    public void remove() {
+                        entryIterator.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return LanguageEventData.this.size();
+            }
+
+            @Override
+            public boolean contains(Object key) {
+                return containsKey(key);
+            }
+
+            @Override
+            public void clear() {
+                LanguageEventData.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Collection<Serializable> values() {
+        return new AbstractCollection<Serializable>() {
+            @Override
+            public Iterator<Serializable> iterator() {
+                final Iterator<Map.Entry<String, Serializable>> entryIterator = new EntryIterator();
+                return new Iterator<Serializable>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entryIterator.hasNext();
+                    }
+
+                    @Override
+                    public Serializable next() {
+                        return entryIterator.next().getValue();
+                    }
+
+                    @Override
+                    public void remove() {
+                        entryIterator.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return LanguageEventData.this.size();
+            }
+
+            @Override
+            public void clear() {
+                LanguageEventData.this.clear();
+            }
+        };
+    }
+
     @SuppressWarnings("unchecked")
     public static Serializable maskSensitiveValues(Serializable serializable) {
         if (serializable instanceof Map) {
@@ -192,6 +430,151 @@ public class LanguageEventData extends HashMap<String, Serializable> {
         return result;
     }
 
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeObject(eventType);
+        out.writeObject(description);
+        out.writeLong(timeStamp);
+        out.writeBoolean(executionId != null);
+        if (executionId != null) {
+            out.writeLong(executionId);
+        }
+        out.writeObject(path);
+        out.writeObject(stepName);
+        out.writeObject(stepType == null ? null : stepType.name());
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        eventType = (String) in.readObject();
+        description = (String) in.readObject();
+        timeStamp = in.readLong();
+        executionId = in.readBoolean() ? in.readLong() : null;
+        path = (String) in.readObject();
+        stepName = (String) in.readObject();
+        String stepTypeName = (String) in.readObject();
+        stepType = stepTypeName == null ? null : StepType.valueOf(stepTypeName);
+    }
+
+    private static boolean isFixedKey(Object key) {
+        return FIXED_KEYS_SET.contains(key);
+    }
+
+    private Serializable getFixed(String key) {
+        switch (key) {
+            case TYPE:
+                return eventType;
+            case DESCRIPTION:
+                return description;
+            case TIMESTAMP:
+                return getTimeStamp();
+            case EXECUTION_ID:
+                return executionId;
+            case PATH:
+                return path;
+            case STEP_NAME:
+                return stepName;
+            case STEP_TYPE:
+                return stepType;
+            default:
+                throw new IllegalArgumentException("Not a fixed event attribute: " + key);
+        }
+    }
+
+    private Serializable setFixed(String key, Serializable value) {
+        Serializable previous = getFixed(key);
+        switch (key) {
+            case TYPE:
+                eventType = (String) value;
+                break;
+            case DESCRIPTION:
+                description = (String) value;
+                break;
+            case TIMESTAMP:
+                setTimeStamp((Date) value);
+                break;
+            case EXECUTION_ID:
+                executionId = (Long) value;
+                break;
+            case PATH:
+                path = (String) value;
+                break;
+            case STEP_NAME:
+                stepName = (String) value;
+                break;
+            case STEP_TYPE:
+                stepType = (StepType) value;
+                break;
+            default:
+                throw new IllegalArgumentException("Not a fixed event attribute: " + key);
+        }
+        return previous;
+    }
+
+    private void removeFromPayload(String key) {
+        super.remove(key);
+    }
+
+    /**
+     * Iterates the fixed attributes which are set, and then the payload
+     */
+    private class EntryIterator implements Iterator<Map.Entry<String, Serializable>> {
+
+        private final Iterator<Map.Entry<String, Serializable>> payloadIterator =
+                LanguageEventData.super.entrySet().iterator();
+        private int nextFixedKey = findFixedKey(0);
+        private String currentFixedKey;
+
+        @Override
+        public boolean hasNext() {
+            return nextFixedKey < FIXED_KEYS.size() || payloadIterator.hasNext();
+        }
+
+        @Override
+        public Map.Entry<String, Serializable> next() {
+            if (nextFixedKey < FIXED_KEYS.size()) {
+                currentFixedKey = FIXED_KEYS.get(nextFixedKey);
+                nextFixedKey = findFixedKey(nextFixedKey + 1);
+                return new FixedEntry(currentFixedKey);
+            }
+            currentFixedKey = null;
+            return payloadIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            if (currentFixedKey == null) {
+                payloadIterator.remove();
+            } else {
+                setFixed(currentFixedKey, null);
+                currentFixedKey = null;
+            }
+        }
+
+        private int findFixedKey(int from) {
+            int index = from;
+            while (index < FIXED_KEYS.size() && getFixed(FIXED_KEYS.get(index)) == null) {
+                index++;
+            }
+            return index;
+        }
+    }
+
+    private class FixedEntry extends AbstractMap.SimpleEntry<String, Serializable> {
+
+        private static final long serialVersionUID = 5284373385785291873L;
+
+        private FixedEntry(String key) {
+            super(key, getFixed(key));
+        }
+
+        @Override
+        public Serializable setValue(Serializable value) {
+            super.setValue(value);
+            return setFixed(getKey(), value);
+        }
+    }
+
     private static Serializable getMaskedValue(Serializable value) {
         if (value != null && value instanceof Value) {
             return ((Value)value).isSensitive() ? SensitiveValue.SENSITIVE_VALUE_MASK : ((Value)value).get();
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.events;
+
+import io.cloudslang.lang.entities.SlangSystemPropertyConstant;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps track of the event types the listeners subscribed through Slang are subscribed to, so the steps can skip
+ * building the events, and their payloads, nobody gets.
+ * <p>
+ * Skipping is off unless the cslang.events.skip.unsubscribed system property is true, as the listeners subscribed
+ * straight to the event bus, or to the event bus of another JVM, are not known here. While no listener is
+ * registered every event type counts as subscribed.
+ */
+public final class LanguageEventSubscriptions {
+
+    private static final Map<Object, Set<String>> eventTypesByListener = new IdentityHashMap<>();
+
+    private static volatile boolean enabled =
+            Boolean.getBoolean(SlangSystemPropertyConstant.CSLANG_EVENTS_SKIP_UNSUBSCRIBED.getValue());
+
+    // null while no listener is registered, otherwise rebuilt on every change and read without locking
+    private static volatile Set<String> subscribedEventTypes;
+
+    private LanguageEventSubscriptions() {
+    }
+
+    public static boolean isSubscribed(String eventType) {
+        Set<String> eventTypes = subscribedEventTypes;
+        return !enabled || eventTypes == null || eventTypes.contains(eventType);
+    }
+
+    /**
+     * @param listener the listener, replacing the event types it was subscribed to before
+     * @param eventTypes the event types the listener is subscribed to
+     */
+    public static synchronized void subscribe(Object listener, Set<String> eventTypes) {
+        eventTypesByListener.put(listener, new HashSet<>(eventTypes));
+        updateSubscribedEventTypes();
+    }
+
+    public static synchronized void unsubscribe(Object listener) {
+        if (eventTypesByListener.remove(listener) != null) {
+            updateSubscribedEventTypes();
+        }
+    }
+
+    static void setEnabled(boolean enabled) {
+        LanguageEventSubscriptions.enabled = enabled;
+    }
+
+    static synchronized void reset() {
+        eventTypesByListener.clear();
+        subscribedEventTypes = null;
+        enabled = Boolean.getBoolean(SlangSystemPropertyConstant.CSLANG_EVENTS_SKIP_UNSUBSCRIBED.getValue());
+    }
+
+    private static void updateSubscribedEventTypes() {
+        if (eventTypesByListener.isEmpty()) {
+            subscribedEventTypes = null;
+            return;
+        }
+        Set<String> eventTypes = new HashSet<>();
+        for (Set<String> listenerEventTypes : eventTypesByListener.values()) {
+            eventTypes.addAll(listenerEventTypes);
+        }
+        subscribedEventTypes = Collections.unmodifiableSet(eventTypes);
+    }
+
+}
@@ -11,6 +11,7 @@ package io.cloudslang.lang.runtime.navigations;
 
 import com.hp.oo.sdk.content.annotations.Param;
 import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.runtime.env.LargeValueStore;
 import io.cloudslang.lang.runtime.env.RunEnvironment;
 import io.cloudslang.lang.runtime.events.LanguageEventData;
 import io.cloudslang.lang.runtime.steps.AbstractExecutionData;
@@ -42,6 +43,10 @@ public class Navigations {
 			AbstractExecutionData.fireEvent(executionRuntimeServices, runEnv, ScoreLangConstants.SLANG_EXECUTION_EXCEPTION,
 					"Error detected during step", LanguageEventData.StepType.NAVIGATION, null,
 					Pair.of(LanguageEventData.EXCEPTION, executionRuntimeServices.getStepErrorKey()));
+			// the execution fails with the exception, unless it is a parallel loop branch, which fails its parent step
+			if (executionRuntimeServices.getBranchId() == null) {
+				LargeValueStore.release(executionRuntimeServices.getExecutionId());
+			}
 			throw new RuntimeException(executionRuntimeServices.getStepErrorKey());
 		}
 
@@ -19,12 +19,12 @@ import io.cloudslang.lang.runtime.env.ParentFlowData;
 import io.cloudslang.lang.runtime.env.ParentFlowStack;
 import io.cloudslang.lang.runtime.env.RunEnvironment;
 import io.cloudslang.lang.runtime.events.LanguageEventData;
+import io.cloudslang.lang.runtime.events.LanguageEventSubscriptions;
 import io.cloudslang.score.lang.ExecutionRuntimeServices;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +38,9 @@ public abstract class AbstractExecutionData {
                                           String desc,
                                           LanguageEventData.StepType stepType,
                                           String stepName) {
+        if (!shouldFireEvent(runEnv, ScoreLangConstants.EVENT_INPUT_START)) {
+            return;
+        }
         ArrayList<String> inputNames = new ArrayList<>();
         for (Input input : inputs) {
             inputNames.add(input.getName());
@@ -53,6 +56,9 @@ public abstract class AbstractExecutionData {
                                           String desc,
                                           LanguageEventData.StepType stepType,
                                           String stepName) {
+        if (!shouldFireEvent(runEnv, ScoreLangConstants.EVENT_INPUT_END)) {
+            return;
+        }
         Map<String, Value> inputsForEvent = new LinkedHashMap<>();
         for (Input input : inputs) {
             String inputName = input.getName();
@@ -69,6 +75,9 @@ public abstract class AbstractExecutionData {
             ExecutionRuntimeServices executionRuntimeServices,
             String description,
             String stepName) {
+        if (!shouldFireEvent(runEnv, ScoreLangConstants.EVENT_ARGUMENT_START)) {
+            return;
+        }
         ArrayList<String> argumentNames = new ArrayList<>();
         for (Argument argument : arguments) {
             argumentNames.add(argument.getName());
@@ -91,6 +100,9 @@ public abstract class AbstractExecutionData {
             ExecutionRuntimeServices executionRuntimeServices,
             String description,
             String stepName) {
+        if (!shouldFireEvent(runEnv, ScoreLangConstants.EVENT_ARGUMENT_END)) {
+            return;
+        }
         Map<String, Value> argumentsForEvent = new LinkedHashMap<>();
         for (Argument argument : arguments) {
             String argumentName = argument.getName();
@@ -107,6 +119,17 @@ public abstract class AbstractExecutionData {
         );
     }
 
+    /**
+     * Callers building a payload for the event check this first, so the payload is built only if the event is fired
+     *
+     * @param runEnvironment the run environment of the execution
+     * @param type the event type
+     * @return whether the event verbosity of the execution includes the event type and anybody is subscribed to it
+     */
+    public static boolean shouldFireEvent(RunEnvironment runEnvironment, String type) {
+        return runEnvironment.getEventVerbosity().isFired(type) && LanguageEventSubscriptions.isSubscribed(type);
+    }
+
     @SafeVarargs
     public static void fireEvent(ExecutionRuntimeServices runtimeServices,
                                  RunEnvironment runEnvironment,
@@ -115,6 +138,9 @@ public abstract class AbstractExecutionData {
                                  LanguageEventData.StepType stepType,
                                  String stepName,
                                  Map.Entry<String, ? extends Serializable>... fields) {
+        if (!shouldFireEvent(runEnvironment, type)) {
+            return;
+        }
         fireEvent(runtimeServices, type, description,
                 runEnvironment.getExecutionPath().getCurrentPath(), stepType, stepName, fields);
     }
@@ -127,12 +153,16 @@ public abstract class AbstractExecutionData {
                                  LanguageEventData.StepType stepType,
                                  String stepName,
                                  Map.Entry<String, ? extends Serializable>... fields) {
+        // the callers without a run environment at hand checked the event verbosity
+        if (!LanguageEventSubscriptions.isSubscribed(type)) {
+            return;
+        }
         LanguageEventData eventData = new LanguageEventData();
         eventData.setStepType(stepType);
         eventData.setStepName(stepName);
         eventData.setEventType(type);
         eventData.setDescription(description);
-        eventData.setTimeStamp(new Date());
+        eventData.setTimeStamp(System.currentTimeMillis());
         eventData.setExecutionId(runtimeServices.getExecutionId());
         eventData.setPath(path);
         for (Entry<String, ? extends Serializable> field : fields) {
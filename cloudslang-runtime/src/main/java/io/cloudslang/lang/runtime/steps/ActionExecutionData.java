@@ -18,6 +18,7 @@ import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.runtime.bindings.scripts.ScriptExecutor;
+import io.cloudslang.lang.runtime.env.LargeValueStore;
 import io.cloudslang.lang.runtime.env.ReturnValues;
 import io.cloudslang.lang.runtime.env.RunEnvironment;
 import io.cloudslang.lang.runtime.events.LanguageEventData;
@@ -72,16 +73,18 @@ public class ActionExecutionData extends AbstractExecutionData {
 
         Map<String, Value> returnValue = new HashMap<>();
         Map<String, Value> callArguments = runEnv.removeCallArguments();
-        Map<String, Value> callArgumentsDeepCopy = new HashMap<>();
 
-        for (Map.Entry<String, Value> entry : callArguments.entrySet()) {
-            callArgumentsDeepCopy.put(entry.getKey(), ValueFactory.create(entry.getValue()));
+        if (shouldFireEvent(runEnv, ScoreLangConstants.EVENT_ACTION_START)) {
+            Map<String, Value> callArgumentsDeepCopy = new HashMap<>();
+            for (Map.Entry<String, Value> entry : callArguments.entrySet()) {
+                callArgumentsDeepCopy.put(entry.getKey(), ValueFactory.create(entry.getValue()));
+            }
+            fireEvent(executionRuntimeServices, ScoreLangConstants.EVENT_ACTION_START, "Preparing to run action " + actionType,
+                    runEnv.getExecutionPath().getParentPath(), LanguageEventData.StepType.ACTION, null,
+                    Pair.of(LanguageEventData.CALL_ARGUMENTS, (Serializable)callArgumentsDeepCopy));
         }
 
         Map<String, SerializableSessionObject> serializableSessionData = runEnv.getSerializableDataMap();
-        fireEvent(executionRuntimeServices, ScoreLangConstants.EVENT_ACTION_START, "Preparing to run action " + actionType,
-                runEnv.getExecutionPath().getParentPath(), LanguageEventData.StepType.ACTION, null,
-                Pair.of(LanguageEventData.CALL_ARGUMENTS, (Serializable)callArgumentsDeepCopy));
         try {
             switch (actionType) {
                 case JAVA:
@@ -95,17 +98,22 @@ public class ActionExecutionData extends AbstractExecutionData {
                     break;
             }
         } catch (RuntimeException ex) {
-            fireEvent(executionRuntimeServices, ScoreLangConstants.EVENT_ACTION_ERROR, ex.getMessage(),
-                    runEnv.getExecutionPath().getParentPath(), LanguageEventData.StepType.ACTION, null,
-                    Pair.of(LanguageEventData.EXCEPTION, ex.getMessage()));
+            if (shouldFireEvent(runEnv, ScoreLangConstants.EVENT_ACTION_ERROR)) {
+                fireEvent(executionRuntimeServices, ScoreLangConstants.EVENT_ACTION_ERROR, ex.getMessage(),
+                        runEnv.getExecutionPath().getParentPath(), LanguageEventData.StepType.ACTION, null,
+                        Pair.of(LanguageEventData.EXCEPTION, ex.getMessage()));
+            }
             logger.error(ex);
             throw (ex);
         }
 
+        LargeValueStore.store(executionRuntimeServices.getExecutionId(), returnValue);
         ReturnValues returnValues = new ReturnValues(returnValue, null);
         runEnv.putReturnValues(returnValues);
-        fireEvent(executionRuntimeServices, ScoreLangConstants.EVENT_ACTION_END, "Action performed",
-                runEnv.getExecutionPath().getParentPath(), LanguageEventData.StepType.ACTION, null);
+        if (shouldFireEvent(runEnv, ScoreLangConstants.EVENT_ACTION_END)) {
+            fireEvent(executionRuntimeServices, ScoreLangConstants.EVENT_ACTION_END, "Action performed",
+                    runEnv.getExecutionPath().getParentPath(), LanguageEventData.StepType.ACTION, null);
+        }
 
         runEnv.putNextStepPosition(nextStepId);
     }
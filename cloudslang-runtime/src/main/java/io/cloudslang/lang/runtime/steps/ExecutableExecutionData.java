@@ -9,6 +9,7 @@
 package io.cloudslang.lang.runtime.steps;
 
 import com.hp.oo.sdk.content.annotations.Param;
+import io.cloudslang.lang.entities.EventPayloadMode;
 import io.cloudslang.lang.entities.ExecutableType;
 import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.entities.bindings.Input;
@@ -19,6 +20,7 @@ import io.cloudslang.lang.runtime.bindings.InputsBinding;
 import io.cloudslang.lang.runtime.bindings.OutputsBinding;
 import io.cloudslang.lang.runtime.bindings.ResultsBinding;
 import io.cloudslang.lang.runtime.env.Context;
+import io.cloudslang.lang.runtime.env.LargeValueStore;
 import io.cloudslang.lang.runtime.env.ParentFlowData;
 import io.cloudslang.lang.runtime.env.ReturnValues;
 import io.cloudslang.lang.runtime.env.RunEnvironment;
@@ -73,6 +75,7 @@ public class ExecutableExecutionData extends AbstractExecutionData {
                     "Pre Input binding for operation/flow", LanguageEventData.StepType.EXECUTABLE, nodeName);
 
             Map<String, Value> executableContext = inputsBinding.bindInputs(executableInputs, callArguments, runEnv.getSystemProperties());
+            LargeValueStore.store(executionRuntimeServices.getExecutionId(), executableContext);
 
             Map<String, Value> actionArguments = new HashMap<>();
 
@@ -86,7 +89,10 @@ public class ExecutableExecutionData extends AbstractExecutionData {
 
             //todo: hook
 
-            updateCallArgumentsAndPushContextToStack(runEnv, new Context(executableContext), actionArguments);
+            // the changes of the context are tracked only for the runs reporting them
+            updateCallArgumentsAndPushContextToStack(runEnv,
+                    new Context(executableContext, runEnv.getEventPayloadMode() == EventPayloadMode.CHANGES),
+                    actionArguments);
 
             sendEndBindingInputsEvent(executableInputs, executableContext, runEnv, executionRuntimeServices,
                     "Post Input binding for operation/flow", LanguageEventData.StepType.EXECUTABLE, nodeName);
@@ -119,14 +125,17 @@ public class ExecutableExecutionData extends AbstractExecutionData {
             Context operationContext = runEnv.getStack().popContext();
             Map<String, Value> operationVariables = operationContext == null ? null : operationContext.getImmutableViewOfVariables();
             ReturnValues actionReturnValues = runEnv.removeReturnValues();
-            fireEvent(executionRuntimeServices, runEnv, ScoreLangConstants.EVENT_OUTPUT_START, "Output binding started",
-                    LanguageEventData.StepType.EXECUTABLE, nodeName,
-                    Pair.of(ScoreLangConstants.EXECUTABLE_OUTPUTS_KEY, (Serializable)executableOutputs),
-                    Pair.of(ScoreLangConstants.EXECUTABLE_RESULTS_KEY, (Serializable)executableResults),
-                    Pair.of(ACTION_RETURN_VALUES_KEY,
-                            executableType == ExecutableType.OPERATION ?
-                                    new ReturnValues(new HashMap<String, Value>(), actionReturnValues.getResult()) :
-                                    actionReturnValues));
+            if (shouldFireEvent(runEnv, ScoreLangConstants.EVENT_OUTPUT_START)) {
+                fireEvent(executionRuntimeServices, runEnv, ScoreLangConstants.EVENT_OUTPUT_START, "Output binding started",
+                        LanguageEventData.StepType.EXECUTABLE, nodeName,
+                        Pair.of(ScoreLangConstants.EXECUTABLE_OUTPUTS_KEY, (Serializable)executableOutputs),
+                        Pair.of(ScoreLangConstants.EXECUTABLE_RESULTS_KEY, (Serializable)executableResults),
+                        Pair.of(ACTION_RETURN_VALUES_KEY,
+                                executableType == ExecutableType.OPERATION ||
+                                        runEnv.getEventPayloadMode() == EventPayloadMode.CHANGES ?
+                                        new ReturnValues(new HashMap<String, Value>(), actionReturnValues.getResult()) :
+                                        actionReturnValues));
+            }
 
             // Resolving the result of the operation/flow
             String result = resultsBinding.resolveResult(
@@ -144,6 +153,7 @@ public class ExecutableExecutionData extends AbstractExecutionData {
                             runEnv.getSystemProperties(),
                             executableOutputs
                     );
+            LargeValueStore.store(executionRuntimeServices.getExecutionId(), operationReturnOutputs);
 
             //todo: hook
 
@@ -160,11 +170,20 @@ public class ExecutableExecutionData extends AbstractExecutionData {
             if (!runEnv.getParentFlowStack().isEmpty()) {
                 handleNavigationToParent(runEnv, executionRuntimeServices);
             } else {
-                fireEvent(executionRuntimeServices, runEnv, ScoreLangConstants.EVENT_EXECUTION_FINISHED,
-                        "Execution finished running", LanguageEventData.StepType.EXECUTABLE, nodeName,
-                        Pair.of(LanguageEventData.RESULT, returnValues.getResult()),
-                        Pair.of(LanguageEventData.OUTPUTS, (Serializable)operationReturnOutputs),
-                        Pair.of(ScoreLangConstants.EXECUTABLE_TYPE, executableType));
+                // the parallel loop branches finish with an empty parent flow stack too, but below the root path
+                boolean runFinished = runEnv.getExecutionPath().getParentPath().isEmpty();
+                // the end of the run carries its result and outputs, so it is fired whatever the event verbosity
+                if (runFinished || shouldFireEvent(runEnv, ScoreLangConstants.EVENT_EXECUTION_FINISHED)) {
+                    fireEvent(executionRuntimeServices, ScoreLangConstants.EVENT_EXECUTION_FINISHED,
+                            "Execution finished running", runEnv.getExecutionPath().getCurrentPath(),
+                            LanguageEventData.StepType.EXECUTABLE, nodeName,
+                            Pair.of(LanguageEventData.RESULT, returnValues.getResult()),
+                            Pair.of(LanguageEventData.OUTPUTS, (Serializable)operationReturnOutputs),
+                            Pair.of(ScoreLangConstants.EXECUTABLE_TYPE, executableType));
+                }
+                if (runFinished) {
+                    LargeValueStore.release(executionRuntimeServices.getExecutionId());
+                }
             }
         } catch (RuntimeException e){
             logger.error("There was an error running the finish executable execution step of: \'" + nodeName + "\'.\n\tError is: " + e.getMessage());
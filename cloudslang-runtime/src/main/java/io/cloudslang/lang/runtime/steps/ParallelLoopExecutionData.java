@@ -10,6 +10,7 @@
 package io.cloudslang.lang.runtime.steps;
 
 import com.hp.oo.sdk.content.annotations.Param;
+import io.cloudslang.lang.entities.EventPayloadMode;
 import io.cloudslang.lang.entities.ParallelLoopStatement;
 import io.cloudslang.lang.entities.ResultNavigation;
 import io.cloudslang.lang.entities.ScoreLangConstants;
@@ -76,10 +77,12 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
 
             List<Value> splitData = parallelLoopBinding.bindParallelLoopList(parallelLoopStatement, flowContext, runEnv.getSystemProperties(), nodeName);
 
-            fireEvent(executionRuntimeServices, ScoreLangConstants.EVENT_SPLIT_BRANCHES,
-                    "parallel loop expression bound", runEnv.getExecutionPath().getCurrentPath(),
-                    LanguageEventData.StepType.STEP, nodeName,
-                    Pair.of(LanguageEventData.BOUND_PARALLEL_LOOP_EXPRESSION, (Serializable) splitData));
+            if (shouldFireEvent(runEnv, ScoreLangConstants.EVENT_SPLIT_BRANCHES)) {
+                fireEvent(executionRuntimeServices, ScoreLangConstants.EVENT_SPLIT_BRANCHES,
+                        "parallel loop expression bound", runEnv.getExecutionPath().getCurrentPath(),
+                        LanguageEventData.StepType.STEP, nodeName,
+                        Pair.of(LanguageEventData.BOUND_PARALLEL_LOOP_EXPRESSION, (Serializable) splitData));
+            }
 
             runEnv.putNextStepPosition(nextStepId);
             runEnv.getExecutionPath().down();
@@ -87,10 +90,12 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
             for (Value splitItem : splitData) {
 
                 // first fire event
-                fireEvent(executionRuntimeServices, ScoreLangConstants.EVENT_BRANCH_START,
-                        "parallel loop branch created", runEnv.getExecutionPath().getCurrentPath(),
-                        LanguageEventData.StepType.STEP, nodeName, Pair.of(ScoreLangConstants.REF_ID, refId),
-                        Pair.of(RuntimeConstants.SPLIT_ITEM_KEY, splitItem));
+                if (shouldFireEvent(runEnv, ScoreLangConstants.EVENT_BRANCH_START)) {
+                    fireEvent(executionRuntimeServices, ScoreLangConstants.EVENT_BRANCH_START,
+                            "parallel loop branch created", runEnv.getExecutionPath().getCurrentPath(),
+                            LanguageEventData.StepType.STEP, nodeName, Pair.of(ScoreLangConstants.REF_ID, refId),
+                            Pair.of(RuntimeConstants.SPLIT_ITEM_KEY, splitItem));
+                }
                 // take path down one level
                 runEnv.getExecutionPath().down();
 
@@ -250,9 +255,14 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
             // up branch path
             branchRuntimeEnvironment.getExecutionPath().up();
 
+            // the changes of the branch context were fired with the output end event of the branch
+            ReturnValues branchReturnValues =
+                    branchRuntimeEnvironment.getEventPayloadMode() == EventPayloadMode.CHANGES ?
+                            new ReturnValues(new HashMap<String, Value>(), branchResult) :
+                            executableReturnValues;
             fireEvent(executionRuntimeServices, branchRuntimeEnvironment, ScoreLangConstants.EVENT_BRANCH_END,
                     "Parallel loop branch ended", LanguageEventData.StepType.STEP, nodeName,
-                    Pair.of(RuntimeConstants.BRANCH_RETURN_VALUES_KEY, executableReturnValues)
+                    Pair.of(RuntimeConstants.BRANCH_RETURN_VALUES_KEY, branchReturnValues)
             );
         }
     }
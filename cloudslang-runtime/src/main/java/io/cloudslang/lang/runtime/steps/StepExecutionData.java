@@ -33,6 +33,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -114,6 +115,7 @@ public class StepExecutionData extends AbstractExecutionData {
             );
 
             Map<String, Value> boundInputs = argumentsBinding.bindArguments(stepInputs, flowVariables, runEnv.getSystemProperties());
+            LargeValueStore.store(executionRuntimeServices.getExecutionId(), boundInputs);
             saveStepInputsResultContext(flowContext, boundInputs);
 
             sendEndBindingArgumentsEvent(
@@ -177,6 +179,7 @@ public class StepExecutionData extends AbstractExecutionData {
                                 stepPublishValues
                         );
             }
+            LargeValueStore.store(executionRuntimeServices.getExecutionId(), publishValues);
             flowContext.putVariables(publishValues);
 
             //loops
@@ -186,9 +189,8 @@ public class StepExecutionData extends AbstractExecutionData {
                 if (!shouldBreakLoop(breakOn, executableReturnValues) && loopCondition.hasMore()) {
                     runEnv.putNextStepPosition(previousStepId);
                     runEnv.getStack().pushContext(flowContext);
-                    throwEventOutputEnd(runEnv, executionRuntimeServices, nodeName,
-                            publishValues, previousStepId,
-                            new ReturnValues(publishValues, executableReturnValues.getResult()));
+                    throwEventOutputEnd(runEnv, executionRuntimeServices, nodeName, flowContext,
+                            publishValues, previousStepId, executableReturnValues.getResult());
                     runEnv.getExecutionPath().forward();
                     return;
                 } else {
@@ -203,6 +205,7 @@ public class StepExecutionData extends AbstractExecutionData {
             Long nextPosition = null;
             String executableResult = executableReturnValues.getResult();
             String presetResult = executableResult;
+            boolean flowEnd = true;
 
             if (!parallelLoop) {
                 // set the position of the next step - for the use of the navigation
@@ -215,16 +218,20 @@ public class StepExecutionData extends AbstractExecutionData {
 
                 nextPosition = navigation.getNextStepId();
                 presetResult = navigation.getPresetResult();
+                // only the navigations to the flow end have a preset result
+                flowEnd = presetResult != null;
             }
 
             runEnv.putNextStepPosition(nextPosition);
 
-            Map<String, Value> flowVariables = flowContext.getImmutableViewOfVariables();
-            HashMap<String, Value> outputs = new HashMap<>(flowVariables);
-
+            // the flow variables are the outputs the flow end and the branch join bind from, the next step of the
+            // flow drops the return values so only the result is passed to it, instead of a copy of the flow context
+            Map<String, Value> outputs = flowEnd ?
+                    flowContext.getImmutableViewOfVariables() : Collections.<String, Value>emptyMap();
             ReturnValues returnValues = new ReturnValues(outputs, presetResult != null ? presetResult : executableResult);
             runEnv.putReturnValues(returnValues);
-            throwEventOutputEnd(runEnv, executionRuntimeServices, nodeName, publishValues, nextPosition, returnValues);
+            throwEventOutputEnd(runEnv, executionRuntimeServices, nodeName, flowContext, publishValues, nextPosition,
+                    returnValues.getResult());
 
             runEnv.getStack().pushContext(flowContext);
             runEnv.getExecutionPath().forward();
@@ -237,13 +244,18 @@ public class StepExecutionData extends AbstractExecutionData {
     private void throwEventOutputEnd(RunEnvironment runEnv,
                                      ExecutionRuntimeServices executionRuntimeServices,
                                      String nodeName,
+                                     Context flowContext,
                                      Map<String, Value> publishValues,
                                      Long nextPosition,
-                                     ReturnValues returnValues) {
+                                     String result) {
+        // the changes are removed with every step, so they are the changes of the next step whether fired or not
+        Map.Entry<String, Serializable> variables = runEnv.getEventPayloadMode() == EventPayloadMode.CHANGES ?
+                Pair.of(LanguageEventData.CHANGED_VARIABLES, (Serializable) flowContext.removeChangedVariables()) :
+                Pair.of(LanguageEventData.OUTPUTS, (Serializable) publishValues);
         fireEvent(executionRuntimeServices, runEnv, ScoreLangConstants.EVENT_OUTPUT_END, "Output binding finished",
                 LanguageEventData.StepType.STEP, nodeName,
-                Pair.of(LanguageEventData.OUTPUTS, (Serializable)publishValues),
-                Pair.of(LanguageEventData.RESULT, returnValues.getResult()),
+                variables,
+                Pair.of(LanguageEventData.RESULT, result),
                 Pair.of(LanguageEventData.NEXT_STEP_POSITION, nextPosition));
     }
 
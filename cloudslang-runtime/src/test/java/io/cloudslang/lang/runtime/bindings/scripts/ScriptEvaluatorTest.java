@@ -6,7 +6,9 @@ import io.cloudslang.dependency.impl.services.DependencyServiceImpl;
 import io.cloudslang.dependency.impl.services.MavenConfigImpl;
 import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.ScriptFunction;
+import io.cloudslang.lang.entities.bindings.values.LargeValue;
 import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.runtime.api.python.PythonRuntimeService;
 import io.cloudslang.runtime.impl.python.PythonExecutionCachedEngine;
 import io.cloudslang.runtime.impl.python.PythonExecutionEngine;
@@ -27,16 +29,20 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import java.io.File;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
+import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyMap;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -119,6 +125,23 @@ public class ScriptEvaluatorTest {
         Assert.assertEquals(expectedFunctions, actualFunctions);
     }
 
+    @Test
+    public void testEvalExprSkipsUnusedLargeValues() throws Exception {
+        reset(pythonInterpreter);
+        Map<String, Value> context = new HashMap<>();
+        context.put("output", new LargeValue(new File("output.txt"), "large output"));
+        context.put("out", new LargeValue(new File("out.txt"), "other large output"));
+        context.put("response", new LargeValue(new File("response.txt"), "large response"));
+        context.put("status", ValueFactory.create("ok"));
+
+        scriptEvaluator.evalExpr("output + get('response') + status", context, new HashSet<SystemProperty>());
+
+        verify(pythonInterpreter).set(eq("output"), any(Object.class));
+        verify(pythonInterpreter).set(eq("response"), any(Object.class));
+        verify(pythonInterpreter).set(eq("status"), any(Object.class));
+        verify(pythonInterpreter, never()).set(eq("out"), any(Object.class));
+    }
+
     @Configuration
     static class Config {
         @Bean
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.configuration;
+
+import io.cloudslang.runtime.impl.python.PythonExecutionCachedEngine;
+import io.cloudslang.runtime.impl.python.PythonRuntimeServiceImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PythonRuntimeLazyInitPostProcessorTest {
+
+    private DefaultListableBeanFactory beanFactory;
+
+    @Before
+    public void setUp() {
+        beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("pythonRuntimeService", new RootBeanDefinition(PythonRuntimeServiceImpl.class));
+        beanFactory.registerBeanDefinition("pythonExecutionEngine", new RootBeanDefinition(PythonExecutionCachedEngine.class));
+        beanFactory.registerBeanDefinition("list", new RootBeanDefinition(ArrayList.class));
+    }
+
+    @Test
+    public void testPythonRuntimeBeansAreLazy() {
+        new PythonRuntimeLazyInitPostProcessor().postProcessBeanFactory(beanFactory);
+
+        assertTrue(beanFactory.getBeanDefinition("pythonRuntimeService").isLazyInit());
+        assertTrue(beanFactory.getBeanDefinition("pythonExecutionEngine").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("list").isLazyInit());
+    }
+
+    @Test
+    public void testPythonRuntimeBeansAreNotCreated() {
+        new PythonRuntimeLazyInitPostProcessor().postProcessBeanFactory(beanFactory);
+        beanFactory.preInstantiateSingletons();
+
+        assertFalse(beanFactory.containsSingleton("pythonRuntimeService"));
+        assertFalse(beanFactory.containsSingleton("pythonExecutionEngine"));
+        assertTrue(beanFactory.containsSingleton("list"));
+    }
+
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ContextTest {
+
+    @Test
+    public void testChangedVariables() {
+        Map<String, Value> variables = new HashMap<>();
+        variables.put("unchanged", ValueFactory.create("value"));
+        variables.put("changed", ValueFactory.create("old value"));
+        Context context = new Context(variables, true);
+        assertTrue(context.removeChangedVariables().isEmpty());
+
+        context.putVariable("unchanged", ValueFactory.create("value"));
+        context.putVariable("added", ValueFactory.create(1));
+        Map<String, Value> newVariables = new HashMap<>();
+        newVariables.put("changed", ValueFactory.create("new value"));
+        context.putVariables(newVariables);
+        context.putLanguageVariable("language", ValueFactory.create("value"));
+
+        Map<String, Value> changes = context.removeChangedVariables();
+        assertEquals(Arrays.asList("added", "changed"), new ArrayList<>(changes.keySet()));
+        assertEquals(ValueFactory.create(1), changes.get("added"));
+        assertEquals(ValueFactory.create("new value"), changes.get("changed"));
+        assertTrue(context.removeChangedVariables().isEmpty());
+    }
+
+    @Test
+    public void testChangedVariablesAreSerialized() {
+        Context context = new Context(new HashMap<String, Value>(), true);
+        context.putVariable("added", ValueFactory.create("value"));
+
+        Context copy = SerializationUtils.clone(context);
+
+        assertEquals(context.removeChangedVariables(), copy.removeChangedVariables());
+    }
+
+    @Test
+    public void testChangedVariablesAreNotTrackedByDefault() {
+        Context context = new Context(new HashMap<String, Value>());
+        context.putVariable("added", ValueFactory.create("value"));
+        assertTrue(context.removeChangedVariables().isEmpty());
+
+        Context copy = SerializationUtils.clone(context);
+        copy.putVariable("added after copy", ValueFactory.create("value"));
+
+        assertTrue(copy.removeChangedVariables().isEmpty());
+        assertEquals(2, copy.getImmutableViewOfVariables().size());
+    }
+
+}
@@ -9,6 +9,7 @@
 *******************************************************************************/
 package io.cloudslang.lang.runtime.env;
 
+import org.apache.commons.lang3.SerializationUtils;
 import org.junit.Test;
 
 import java.util.NoSuchElementException;
@@ -77,6 +78,52 @@ public class ExecutionPathTest {
 		doAssert(expectedPath, executionPath);
 	}
 
+	@Test
+	@SuppressWarnings("static-method")
+	public void testParentPath() {
+		ExecutionPath executionPath = new ExecutionPath();
+		assertEquals("", executionPath.getParentPath());
+
+		for (int i = 0; i < 20; i++) {
+			executionPath.forward();
+			executionPath.down();
+		}
+		executionPath.forward();
+		assertEquals("1.1.1.1.1.1.1.1.1.1.1.1.1.1.1.1.1.1.1.1", executionPath.getParentPath());
+		assertEquals("1.1.1.1.1.1.1.1.1.1.1.1.1.1.1.1.1.1.1.1.1", executionPath.getCurrentPath());
+
+		for (int i = 0; i < 19; i++) {
+			executionPath.up();
+		}
+		executionPath.forward();
+		assertEquals("1", executionPath.getParentPath());
+		assertEquals("1.2", executionPath.getCurrentPath());
+	}
+
+	@Test
+	@SuppressWarnings("static-method")
+	public void testSerialization() {
+		ExecutionPath executionPath = new ExecutionPath();
+		executionPath.forward();
+		executionPath.down();
+		executionPath.down();
+		executionPath.forward();
+		executionPath.forward();
+		executionPath.down();
+		executionPath.forward();
+
+		ExecutionPath copy = SerializationUtils.clone(executionPath);
+		assertEquals("1.0.2.1", copy.getCurrentPath());
+		assertEquals("1.0.2", copy.getParentPath());
+
+		copy.up();
+		copy.forward();
+		assertEquals("1.0.3", copy.getCurrentPath());
+		copy.up();
+		copy.up();
+		assertEquals("1", copy.getCurrentPath());
+	}
+
 	private static void doAssert(StringBuilder expectedPath, ExecutionPath executionPath) {
 		assertEquals(expectedPath.toString(), executionPath.getCurrentPath());
 	}
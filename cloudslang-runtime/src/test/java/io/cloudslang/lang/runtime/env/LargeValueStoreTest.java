@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.SlangSystemPropertyConstant;
+import io.cloudslang.lang.entities.bindings.values.LargeValue;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LargeValueStoreTest {
+
+    private static final Long EXECUTION_ID = 123L;
+
+    private static final String LARGE_CONTENT = StringUtils.repeat("large value \u05d0 ", 100);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        LargeValueStore.setThreshold(100);
+    }
+
+    @After
+    public void tearDown() {
+        LargeValueStore.release(EXECUTION_ID);
+        LargeValueStore.setThreshold(0);
+    }
+
+    @Test
+    public void testStore() {
+        Value value = LargeValueStore.store(EXECUTION_ID, ValueFactory.create(LARGE_CONTENT));
+
+        assertTrue(value instanceof LargeValue);
+        assertTrue(new File(((LargeValue) value).getPath()).isFile());
+        assertEquals(LARGE_CONTENT, value.get());
+        assertEquals(ValueFactory.create(LARGE_CONTENT).get(), value.toString());
+        assertFalse(value.isSensitive());
+        assertSame(value, ValueFactory.create(value));
+    }
+
+    @Test
+    public void testSmallAndSensitiveValuesAreNotStored() {
+        Value small = ValueFactory.create("small value");
+        Value sensitive = ValueFactory.create(LARGE_CONTENT, true);
+        Value number = ValueFactory.create(1);
+
+        assertSame(small, LargeValueStore.store(EXECUTION_ID, small));
+        assertSame(sensitive, LargeValueStore.store(EXECUTION_ID, sensitive));
+        assertSame(number, LargeValueStore.store(EXECUTION_ID, number));
+    }
+
+    @Test
+    public void testDisabled() {
+        LargeValueStore.setThreshold(0);
+        Value value = ValueFactory.create(LARGE_CONTENT);
+
+        assertFalse(LargeValueStore.isEnabled());
+        assertSame(value, LargeValueStore.store(EXECUTION_ID, value));
+    }
+
+    @Test
+    public void testStoreMap() {
+        Map<String, Value> values = new HashMap<>();
+        values.put("large", ValueFactory.create(LARGE_CONTENT));
+        values.put("small", ValueFactory.create("small value"));
+
+        LargeValueStore.store(EXECUTION_ID, values);
+
+        assertTrue(values.get("large") instanceof LargeValue);
+        assertEquals(ValueFactory.create("small value"), values.get("small"));
+    }
+
+    @Test
+    public void testSerializedWithoutContent() {
+        Value value = LargeValueStore.store(EXECUTION_ID, ValueFactory.create(LARGE_CONTENT));
+
+        byte[] bytes = SerializationUtils.serialize(value);
+        Value copy = (Value) SerializationUtils.deserialize(bytes);
+
+        assertTrue(bytes.length < LARGE_CONTENT.length());
+        assertEquals(value, copy);
+        assertEquals(LARGE_CONTENT, copy.get());
+    }
+
+    @Test
+    public void testRelease() {
+        LargeValue value = (LargeValue) LargeValueStore.store(EXECUTION_ID, ValueFactory.create(LARGE_CONTENT));
+        File file = new File(value.getPath());
+
+        LargeValueStore.release(EXECUTION_ID);
+
+        assertFalse(file.exists());
+        assertFalse(file.getParentFile().exists());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testReadAfterRelease() {
+        LargeValue value = (LargeValue) LargeValueStore.store(EXECUTION_ID, ValueFactory.create(LARGE_CONTENT));
+        LargeValue copy = (LargeValue) SerializationUtils.deserialize(SerializationUtils.serialize(value));
+
+        LargeValueStore.release(EXECUTION_ID);
+
+        copy.get();
+    }
+
+    @Test
+    public void testConfiguredDirectoryIsNotDeleted() throws IOException {
+        File configuredDirectory = temporaryFolder.getRoot();
+        File otherFile = temporaryFolder.newFile("other.txt");
+        File otherExecutionFile = new File(temporaryFolder.newFolder(String.valueOf(EXECUTION_ID)), "value.txt");
+        assertTrue(otherExecutionFile.createNewFile());
+        String directoryProperty = SlangSystemPropertyConstant.CSLANG_LARGE_VALUE_DIRECTORY.getValue();
+        System.setProperty(directoryProperty, configuredDirectory.getAbsolutePath());
+        LargeValueStore.resetDirectory();
+        try {
+            LargeValue value = (LargeValue) LargeValueStore.store(EXECUTION_ID, ValueFactory.create(LARGE_CONTENT));
+            File privateDirectory = new File(value.getPath()).getParentFile().getParentFile();
+
+            assertEquals(configuredDirectory, privateDirectory.getParentFile());
+
+            LargeValueStore.release(EXECUTION_ID);
+            LargeValueStore.resetDirectory();
+
+            assertFalse(privateDirectory.exists());
+            assertTrue(otherFile.isFile());
+            assertTrue(otherExecutionFile.isFile());
+        } finally {
+            System.clearProperty(directoryProperty);
+            LargeValueStore.resetDirectory();
+        }
+    }
+
+}
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.EventVerbosity;
+import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import org.apache.commons.lang3.SerializationException;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+import java.io.InvalidClassException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RunEnvironmentSerializationTest {
+
+    @Test
+    public void testRoundTrip() {
+        Set<SystemProperty> systemProperties = new HashSet<>();
+        systemProperties.add(new SystemProperty("a.b", "host", "localhost"));
+        RunEnvironment runEnv = new RunEnvironment(systemProperties);
+        runEnv.setEventVerbosity(EventVerbosity.ERRORS);
+        runEnv.putNextStepPosition(7L);
+        runEnv.putCallArguments(Collections.singletonMap("arg", ValueFactory.create("value")));
+        runEnv.putReturnValues(new ReturnValues(Collections.singletonMap("out", ValueFactory.create(3L)), "SUCCESS"));
+        runEnv.getParentFlowStack().pushParentFlowData(new ParentFlowData(11L, 2L));
+        runEnv.getParentFlowStack().pushParentFlowData(new ParentFlowData(12L, null));
+        runEnv.getExecutionPath().down();
+        runEnv.getExecutionPath().forward();
+        runEnv.getExecutionPath().down();
+        runEnv.getExecutionPath().forward();
+        runEnv.getExecutionPath().forward();
+        Context flowContext = createContext();
+        Context stepContext = new Context(new LinkedHashMap<String, Value>());
+        stepContext.putVariable("step_var", ValueFactory.create(true));
+        runEnv.getStack().pushContext(flowContext);
+        runEnv.getStack().pushContext(stepContext);
+
+        RunEnvironment copy = SerializationUtils.clone(runEnv);
+
+        assertEquals(EventVerbosity.ERRORS, copy.getEventVerbosity());
+        assertEquals(systemProperties, copy.getSystemProperties());
+        assertEquals(Long.valueOf(7L), copy.removeNextStepPosition());
+        assertEquals(Collections.singletonMap("arg", ValueFactory.create("value")), copy.removeCallArguments());
+        ReturnValues returnValues = copy.removeReturnValues();
+        assertEquals("SUCCESS", returnValues.getResult());
+        assertEquals(Collections.singletonMap("out", ValueFactory.create(3L)), returnValues.getOutputs());
+        assertEquals("0.1.2", copy.getExecutionPath().getCurrentPath());
+        copy.getExecutionPath().up();
+        assertEquals("0.1", copy.getExecutionPath().getCurrentPath());
+
+        ParentFlowData parentFlowData = copy.getParentFlowStack().popParentFlowData();
+        assertEquals(Long.valueOf(12L), parentFlowData.getRunningExecutionPlanId());
+        assertNull(parentFlowData.getPosition());
+        parentFlowData = copy.getParentFlowStack().popParentFlowData();
+        assertEquals(Long.valueOf(11L), parentFlowData.getRunningExecutionPlanId());
+        assertEquals(Long.valueOf(2L), parentFlowData.getPosition());
+        assertTrue(copy.getParentFlowStack().isEmpty());
+
+        assertEquals(stepContext, copy.getStack().popContext());
+        assertEquals(flowContext, copy.getStack().popContext());
+        assertNull(copy.getStack().popContext());
+    }
+
+    @Test
+    public void testValues() {
+        Context context = createContext();
+
+        Context copy = SerializationUtils.clone(context);
+
+        assertEquals(context, copy);
+        assertTrue(copy.getVariable("sensitive").isSensitive());
+        assertEquals("secret", copy.getVariable("sensitive").get());
+        assertFalse(copy.getImmutableViewOfVariables().get("list").isSensitive());
+        assertEquals(Arrays.asList("a", "b"), copy.getVariable("list").get());
+        assertTrue(copy.getImmutableViewOfVariables().containsKey("null"));
+        assertNull(copy.getVariable("null"));
+    }
+
+    @Test
+    public void testMapsKeepTheirType() {
+        Map<String, Value> sorted = new TreeMap<>();
+        sorted.put("b", ValueFactory.create("2"));
+        sorted.put("a", ValueFactory.create("1"));
+        Map<String, Value> ordered = new LinkedHashMap<>();
+        ordered.put("z", ValueFactory.create("1"));
+        ordered.put("y", ValueFactory.create("2"));
+        Context context = new Context(sorted);
+        context.putLanguageVariable("ordered", ValueFactory.create((Serializable) ordered));
+        ContextStack stack = new ContextStack();
+        stack.pushContext(context);
+        stack.pushContext(new Context(ordered));
+
+        ContextStack copy = SerializationUtils.clone(stack);
+
+        assertEquals(new ArrayList<>(ordered.keySet()),
+                new ArrayList<>(copy.popContext().getImmutableViewOfVariables().keySet()));
+        Context sortedCopy = copy.popContext();
+        assertEquals(context, sortedCopy);
+        assertEquals(Arrays.asList("a", "b"), new ArrayList<>(sortedCopy.getImmutableViewOfVariables().keySet()));
+    }
+
+    @Test
+    public void testLongStrings() {
+        String longString = StringUtils.repeat("\u05d0", 70000);
+        ReturnValues returnValues = new ReturnValues(
+                Collections.singletonMap(longString, ValueFactory.create(longString)), longString);
+
+        ReturnValues copy = SerializationUtils.clone(returnValues);
+
+        assertEquals(longString, copy.getResult());
+        assertEquals(returnValues.getOutputs(), copy.getOutputs());
+    }
+
+    @Test
+    public void testUnsupportedVersion() {
+        byte[] bytes = SerializationUtils.serialize(new ExecutionPath());
+        // the version is followed by the position, the depth and the end of the external data
+        int versionIndex = bytes.length - 10;
+        assertEquals(RunEnvironmentCodec.FORMAT_VERSION, bytes[versionIndex]);
+        bytes[versionIndex] = RunEnvironmentCodec.FORMAT_VERSION + 1;
+        try {
+            SerializationUtils.deserialize(bytes);
+            fail("A newer serialized form should not be read");
+        } catch (SerializationException e) {
+            assertTrue(e.getCause() instanceof InvalidClassException);
+        }
+    }
+
+    private static Context createContext() {
+        Map<String, Value> variables = new HashMap<>();
+        variables.put("string", ValueFactory.create("value"));
+        variables.put("long", ValueFactory.create(1L));
+        variables.put("integer", ValueFactory.create(2));
+        variables.put("boolean", ValueFactory.create(false));
+        variables.put("empty", ValueFactory.create(null));
+        variables.put("list", ValueFactory.create(new ArrayList<>(Arrays.asList("a", "b"))));
+        variables.put("sensitive", ValueFactory.create("secret", true));
+        variables.put("null", null);
+        Context context = new Context(variables);
+        context.putLanguageVariable("lang", ValueFactory.create("lang_value"));
+        return context;
+    }
+
+}
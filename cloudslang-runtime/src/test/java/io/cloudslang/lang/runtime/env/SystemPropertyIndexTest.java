@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SystemPropertyIndexTest {
+
+    @Test
+    public void testGetValue() {
+        SystemPropertyIndex index = SystemPropertyIndex.of(createProperties());
+
+        assertEquals(ValueFactory.create("value"), index.getValue("a.b.c.key"));
+        assertEquals(ValueFactory.create("password", true), index.getValue("a.b.password"));
+        assertEquals(ValueFactory.create("no namespace"), index.getValue("key"));
+        assertNull(index.getValue("a.b.missing"));
+    }
+
+    @Test
+    public void testSet() {
+        Set<SystemProperty> properties = createProperties();
+        SystemPropertyIndex index = SystemPropertyIndex.of(properties);
+
+        assertEquals(properties, index);
+        assertEquals(index, properties);
+        assertSame(index, SystemPropertyIndex.of(index));
+        assertTrue(index.contains(new SystemProperty("a.b", "c.key", "value")));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadOnly() {
+        SystemPropertyIndex.of(createProperties()).add(new SystemProperty("key", "other value"));
+    }
+
+    @Test
+    public void testSerialization() {
+        SystemPropertyIndex index = SystemPropertyIndex.of(createProperties());
+        index.getValue("key");
+
+        SystemPropertyIndex copy = SerializationUtils.clone(index);
+
+        assertEquals(index, copy);
+        assertEquals(ValueFactory.create("value"), copy.getValue("a.b.c.key"));
+    }
+
+    private static Set<SystemProperty> createProperties() {
+        Set<SystemProperty> properties = new HashSet<>();
+        properties.add(new SystemProperty("a.b", "c.key", "value"));
+        properties.add(new SystemProperty("a.b", "password", "password", true));
+        properties.add(new SystemProperty("key", "no namespace"));
+        return properties;
+    }
+
+}
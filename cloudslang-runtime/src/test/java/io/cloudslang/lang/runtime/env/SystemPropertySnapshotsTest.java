@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.SystemProperty;
+import org.apache.commons.lang3.SerializationException;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SystemPropertySnapshotsTest {
+
+    @After
+    public void tearDown() {
+        SystemPropertySnapshots.setResolver(null);
+    }
+
+    @Test
+    public void testRegister() {
+        SystemPropertyIndex snapshot = SystemPropertySnapshots.register(createProperties(10, "value"));
+
+        assertTrue(snapshot.getSnapshotId().startsWith("1-"));
+        assertEquals(createProperties(10, "value"), snapshot);
+        assertSame(snapshot, SystemPropertySnapshots.get(snapshot.getSnapshotId()));
+        assertSame(snapshot, SystemPropertySnapshots.register(createProperties(10, "value")));
+        assertNull(SystemPropertyIndex.of(createProperties(10, "value")).getSnapshotId());
+    }
+
+    @Test
+    public void testSnapshotIdIsTheContent() {
+        String snapshotId = SystemPropertySnapshots.register(createProperties(10, "value")).getSnapshotId();
+
+        assertFalse(snapshotId.equals(SystemPropertySnapshots.register(createProperties(10, "other")).getSnapshotId()));
+        assertFalse(snapshotId.equals(SystemPropertySnapshots.register(createProperties(9, "value")).getSnapshotId()));
+
+        Set<SystemProperty> sensitiveProperties = createProperties(9, "value");
+        sensitiveProperties.add(new SystemProperty("a.b", "key_9", "value_9", true));
+        assertFalse(snapshotId.equals(SystemPropertySnapshots.register(sensitiveProperties).getSnapshotId()));
+    }
+
+    @Test
+    public void testRunEnvironmentCarriesTheSnapshotId() {
+        SystemPropertySnapshots.setResolver(createResolver(null));
+        SystemPropertyIndex snapshot = SystemPropertySnapshots.register(createProperties(1000, "value"));
+        RunEnvironment runEnv = new RunEnvironment(snapshot);
+        RunEnvironment adHocRunEnv = new RunEnvironment(createProperties(1000, "value"));
+
+        byte[] bytes = SerializationUtils.serialize(runEnv);
+        RunEnvironment copy = SerializationUtils.deserialize(bytes);
+
+        assertSame(snapshot, copy.getSystemProperties());
+        assertTrue(bytes.length < 1000);
+        assertTrue(SerializationUtils.serialize(adHocRunEnv).length > 10000);
+        assertEquals(adHocRunEnv.getSystemProperties(), SerializationUtils.clone(adHocRunEnv).getSystemProperties());
+    }
+
+    @Test
+    public void testRunEnvironmentCarriesThePropertiesWithoutResolver() {
+        SystemPropertyIndex snapshot = SystemPropertySnapshots.register(createProperties(1000, "inline"));
+        byte[] bytes = SerializationUtils.serialize(new RunEnvironment(snapshot));
+
+        RunEnvironment copy = SerializationUtils.deserialize(bytes);
+        assertSame(snapshot, copy.getSystemProperties());
+
+        SystemPropertySnapshots.unregister(snapshot.getSnapshotId());
+        RunEnvironment unregisteredCopy = SerializationUtils.deserialize(bytes);
+        assertEquals(createProperties(1000, "inline"), unregisteredCopy.getSystemProperties());
+    }
+
+    @Test
+    public void testUnregisteredSnapshotResolved() {
+        Set<SystemProperty> properties = createProperties(10, "resolved");
+        SystemPropertySnapshots.setResolver(createResolver(properties));
+        SystemPropertyIndex snapshot = SystemPropertySnapshots.register(properties);
+        byte[] bytes = SerializationUtils.serialize(new RunEnvironment(snapshot));
+        SystemPropertySnapshots.unregister(snapshot.getSnapshotId());
+
+        RunEnvironment copy = SerializationUtils.deserialize(bytes);
+
+        assertEquals(properties, copy.getSystemProperties());
+        assertSame(copy.getSystemProperties(), SystemPropertySnapshots.get(snapshot.getSnapshotId()));
+    }
+
+    @Test(expected = SerializationException.class)
+    public void testUnresolvedSnapshot() {
+        SystemPropertySnapshots.setResolver(createResolver(createProperties(10, "other")));
+        SystemPropertyIndex snapshot = SystemPropertySnapshots.register(createProperties(10, "unresolved"));
+        byte[] bytes = SerializationUtils.serialize(new RunEnvironment(snapshot));
+        SystemPropertySnapshots.unregister(snapshot.getSnapshotId());
+
+        SerializationUtils.deserialize(bytes);
+    }
+
+    private static SystemPropertySnapshotResolver createResolver(final Set<SystemProperty> properties) {
+        return new SystemPropertySnapshotResolver() {
+            @Override
+            public Set<SystemProperty> resolve(String snapshotId) {
+                return properties;
+            }
+        };
+    }
+
+    private static Set<SystemProperty> createProperties(int size, String value) {
+        Set<SystemProperty> properties = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            properties.add(new SystemProperty("a.b", "key_" + i, value + "_" + i));
+        }
+        return properties;
+    }
+
+}
@@ -16,14 +16,23 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author moradi
@@ -191,4 +200,79 @@ public class LanguageEventDataTest {
         assertEquals(parallelLoopBoundExpression, eventData.getParallelLoopBoundExpression());
         assertEquals(parallelLoopBoundExpression, eventData.get(LanguageEventData.BOUND_PARALLEL_LOOP_EXPRESSION));
     }
+
+	/**
+	 * Test method for {@link LanguageEventData#entrySet()}.
+	 */
+	@Test
+	public void testMapViewOfFixedAttributes() {
+		eventData.setEventType(ScoreLangConstants.EVENT_STEP_START);
+		eventData.setPath("0.1");
+		eventData.setStepType(LanguageEventData.StepType.STEP);
+		eventData.setResult("SUCCESS");
+
+		Map<String, Serializable> expected = new HashMap<>();
+		expected.put(LanguageEventData.TYPE, ScoreLangConstants.EVENT_STEP_START);
+		expected.put(LanguageEventData.PATH, "0.1");
+		expected.put(LanguageEventData.STEP_TYPE, LanguageEventData.StepType.STEP);
+		expected.put(LanguageEventData.RESULT, "SUCCESS");
+		assertEquals(expected, eventData);
+		assertEquals(expected, new HashMap<>(eventData));
+		assertEquals(4, eventData.size());
+		assertEquals(expected.keySet(), eventData.keySet());
+		assertTrue(eventData.containsKey(LanguageEventData.PATH));
+		assertFalse(eventData.containsKey(LanguageEventData.DESCRIPTION));
+		assertEquals(Collections.singletonMap(LanguageEventData.RESULT, "SUCCESS"), eventData.getPayload());
+
+		eventData.remove(LanguageEventData.PATH);
+		assertNull(eventData.getPath());
+		eventData.put(LanguageEventData.STEP_NAME, "step1");
+		assertEquals("step1", eventData.getStepName());
+		assertEquals(4, eventData.size());
+	}
+
+	/**
+	 * Test method for {@link LanguageEventData#clone()}.
+	 */
+	@Test
+	public void testClone() {
+		eventData.setEventType(ScoreLangConstants.EVENT_STEP_START);
+		eventData.setExecutionId(123L);
+		eventData.setResult("SUCCESS");
+
+		LanguageEventData clone = (LanguageEventData) eventData.clone();
+		assertEquals(eventData, clone);
+		assertEquals(3, clone.size());
+		assertEquals(Collections.singletonMap(LanguageEventData.RESULT, "SUCCESS"), clone.getPayload());
+	}
+
+	@Test
+	public void testSerialization() throws Exception {
+		eventData.setEventType(ScoreLangConstants.EVENT_STEP_START);
+		eventData.setDescription("beginStep execution step started");
+		eventData.setTimeStamp(new Date());
+		eventData.setExecutionId(1234567L);
+		eventData.setPath("0.1.2");
+		eventData.setStepName("print_message");
+		eventData.setStepType(LanguageEventData.StepType.STEP);
+		eventData.setResult("SUCCESS");
+
+		byte[] serialized = serialize(eventData);
+		LanguageEventData deserialized = (LanguageEventData) new ObjectInputStream(
+				new ByteArrayInputStream(serialized)).readObject();
+		assertEquals(eventData, deserialized);
+		assertEquals(eventData.getTimeStamp(), deserialized.getTimeStamp());
+		assertEquals(LanguageEventData.StepType.STEP, deserialized.getStepType());
+
+		// the fixed attributes are written without the class descriptors the map entries need
+		assertTrue(serialized.length < serialize(new HashMap<>(eventData)).length);
+	}
+
+	private static byte[] serialize(Serializable serializable) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(serializable);
+		}
+		return bytes.toByteArray();
+	}
 }
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * (c) Copyright 2014 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.events;
+
+import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.runtime.steps.AbstractExecutionData;
+import io.cloudslang.score.events.ScoreEvent;
+import io.cloudslang.score.lang.ExecutionRuntimeServices;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LanguageEventSubscriptionsTest {
+
+    private final Object listener = new Object();
+
+    @Before
+    public void setUp() {
+        LanguageEventSubscriptions.setEnabled(true);
+    }
+
+    @After
+    public void tearDown() {
+        LanguageEventSubscriptions.reset();
+    }
+
+    @Test
+    public void testAllEventTypesSubscribedBeforeFirstListener() {
+        assertTrue(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_INPUT_END));
+    }
+
+    @Test
+    public void testOnlyListenedEventTypesSubscribed() {
+        LanguageEventSubscriptions.subscribe(listener, Collections.singleton(ScoreLangConstants.EVENT_EXECUTION_FINISHED));
+
+        assertTrue(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_EXECUTION_FINISHED));
+        assertFalse(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_INPUT_END));
+    }
+
+    @Test
+    public void testSubscribeReplacesEventTypesOfListener() {
+        LanguageEventSubscriptions.subscribe(listener, Collections.singleton(ScoreLangConstants.EVENT_INPUT_END));
+        LanguageEventSubscriptions.subscribe(listener, Collections.singleton(ScoreLangConstants.EVENT_OUTPUT_END));
+
+        assertFalse(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_INPUT_END));
+        assertTrue(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_OUTPUT_END));
+    }
+
+    @Test
+    public void testUnsubscribe() {
+        Object otherListener = new Object();
+        LanguageEventSubscriptions.subscribe(listener, Collections.singleton(ScoreLangConstants.EVENT_INPUT_END));
+        LanguageEventSubscriptions.subscribe(otherListener, Collections.singleton(ScoreLangConstants.EVENT_OUTPUT_END));
+        LanguageEventSubscriptions.unsubscribe(listener);
+
+        assertFalse(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_INPUT_END));
+        assertTrue(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_OUTPUT_END));
+    }
+
+    @Test
+    public void testAllEventTypesSubscribedAfterLastListener() {
+        LanguageEventSubscriptions.subscribe(listener, Collections.singleton(ScoreLangConstants.EVENT_EXECUTION_FINISHED));
+        LanguageEventSubscriptions.unsubscribe(listener);
+
+        assertTrue(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_INPUT_END));
+    }
+
+    @Test
+    public void testAllEventTypesSubscribedUnlessEnabled() {
+        LanguageEventSubscriptions.setEnabled(false);
+        LanguageEventSubscriptions.subscribe(listener, Collections.singleton(ScoreLangConstants.EVENT_EXECUTION_FINISHED));
+
+        assertTrue(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_INPUT_END));
+    }
+
+    @Test
+    public void testUnsubscribedEventNotFired() {
+        LanguageEventSubscriptions.subscribe(listener, Collections.singleton(ScoreLangConstants.EVENT_EXECUTION_FINISHED));
+        ExecutionRuntimeServices runtimeServices = new ExecutionRuntimeServices();
+
+        AbstractExecutionData.fireEvent(runtimeServices, ScoreLangConstants.EVENT_INPUT_END, "desc", "0",
+                LanguageEventData.StepType.EXECUTABLE, "flow", Pair.of(LanguageEventData.RESULT, "SUCCESS"));
+        AbstractExecutionData.fireEvent(runtimeServices, ScoreLangConstants.EVENT_EXECUTION_FINISHED, "desc", "0",
+                LanguageEventData.StepType.EXECUTABLE, "flow", Pair.of(LanguageEventData.RESULT, "SUCCESS"));
+
+        Collection<ScoreEvent> events = runtimeServices.getEvents();
+        assertEquals(1, events.size());
+        assertEquals(ScoreLangConstants.EVENT_EXECUTION_FINISHED, events.iterator().next().getEventType());
+    }
+
+}
@@ -14,6 +14,7 @@ import io.cloudslang.dependency.api.services.DependencyService;
 import io.cloudslang.dependency.api.services.MavenConfig;
 import io.cloudslang.dependency.impl.services.DependencyServiceImpl;
 import io.cloudslang.dependency.impl.services.MavenConfigImpl;
+import io.cloudslang.lang.entities.EventVerbosity;
 import io.cloudslang.lang.entities.ExecutableType;
 import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.entities.bindings.Input;
@@ -310,6 +311,43 @@ public class ExecutableStepsTest {
 
     }
 
+    @Test
+    public void testFinishExecutableFiresExecutionFinishedWithNoEventVerbosity() {
+        ExecutionRuntimeServices runtimeServices = finishExecutableWithNoEventVerbosity(1);
+
+        Assert.assertEquals(1, runtimeServices.getEvents().size());
+        ScoreEvent event = runtimeServices.getEvents().iterator().next();
+        Assert.assertEquals(ScoreLangConstants.EVENT_EXECUTION_FINISHED, event.getEventType());
+        Assert.assertEquals(ScoreLangConstants.SUCCESS_RESULT, ((LanguageEventData) event.getData()).get(LanguageEventData.RESULT));
+    }
+
+    @Test
+    public void testFinishBranchFiresNoEventWithNoEventVerbosity() {
+        ExecutionRuntimeServices runtimeServices = finishExecutableWithNoEventVerbosity(2);
+
+        Assert.assertTrue(runtimeServices.getEvents().isEmpty());
+    }
+
+    private ExecutionRuntimeServices finishExecutableWithNoEventVerbosity(int depth) {
+        RunEnvironment runEnv = new RunEnvironment();
+        runEnv.setEventVerbosity(EventVerbosity.NONE);
+        runEnv.putReturnValues(new ReturnValues(new HashMap<String, Value>(), null));
+        for (int i = 0; i < depth; i++) {
+            runEnv.getExecutionPath().down();
+        }
+        when(resultsBinding.resolveResult(
+                isNull(Map.class),
+                anyMapOf(String.class, Value.class),
+                eq(runEnv.getSystemProperties()),
+                eq(new ArrayList<Result>()),
+                isNull(String.class)
+        )).thenReturn(ScoreLangConstants.SUCCESS_RESULT);
+
+        ExecutionRuntimeServices runtimeServices = new ExecutionRuntimeServices();
+        executableSteps.finishExecutable(runEnv, new ArrayList<Output>(), new ArrayList<Result>(), runtimeServices, "", ExecutableType.FLOW);
+        return runtimeServices;
+    }
+
     @Configuration
     static class Config{
 
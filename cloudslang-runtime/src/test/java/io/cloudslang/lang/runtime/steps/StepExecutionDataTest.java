@@ -13,6 +13,8 @@ import io.cloudslang.dependency.api.services.DependencyService;
 import io.cloudslang.dependency.api.services.MavenConfig;
 import io.cloudslang.dependency.impl.services.DependencyServiceImpl;
 import io.cloudslang.dependency.impl.services.MavenConfigImpl;
+import io.cloudslang.lang.entities.EventPayloadMode;
+import io.cloudslang.lang.entities.EventVerbosity;
 import io.cloudslang.lang.entities.ListForLoopStatement;
 import io.cloudslang.lang.entities.LoopStatement;
 import io.cloudslang.lang.entities.ResultNavigation;
@@ -38,6 +40,7 @@ import io.cloudslang.runtime.impl.python.PythonExecutionEngine;
 import io.cloudslang.runtime.impl.python.PythonRuntimeServiceImpl;
 import io.cloudslang.score.events.ScoreEvent;
 import io.cloudslang.score.lang.ExecutionRuntimeServices;
+import org.apache.commons.collections4.CollectionUtils;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
@@ -198,6 +201,36 @@ public class StepExecutionDataTest {
         Assert.assertEquals(3,secondInput.getValue());
     }
 
+    @Test
+    public void testBeginStepSummaryEventVerbosity() throws Exception {
+        RunEnvironment runEnv = createRunEnvironment();
+        runEnv.setEventVerbosity(EventVerbosity.SUMMARY);
+        List<Argument> arguments = Collections.singletonList(new Argument("input1", ValueFactory.create("input1")));
+        when(argumentsBinding.bindArguments(
+                eq(arguments),
+                anyMapOf(String.class, Value.class),
+                eq(runEnv.getSystemProperties())
+        )).thenReturn(new HashMap<String, Value>());
+
+        ExecutionRuntimeServices runtimeServices = createRuntimeServices();
+        stepExecutionData.beginStep(arguments, null, runEnv, runtimeServices, "step1", 1L, 2L, "2");
+
+        Collection<ScoreEvent> events = runtimeServices.getEvents();
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals(ScoreLangConstants.EVENT_STEP_START, events.iterator().next().getEventType());
+    }
+
+    @Test
+    public void testBeginStepNoEventVerbosity() throws Exception {
+        RunEnvironment runEnv = createRunEnvironment();
+        runEnv.setEventVerbosity(EventVerbosity.NONE);
+
+        ExecutionRuntimeServices runtimeServices = createRuntimeServices();
+        stepExecutionData.beginStep(new ArrayList<Argument>(), null, runEnv, runtimeServices, "step1", 1L, 2L, "2");
+
+        Assert.assertTrue(CollectionUtils.isEmpty(runtimeServices.getEvents()));
+    }
+
     @Test
     public void testEndStepEvents() throws Exception {
         RunEnvironment runEnv = createRunEnvironment();
@@ -237,6 +270,42 @@ public class StepExecutionDataTest {
 
     }
 
+    @Test
+    public void testEndStepChangedVariablesEvent() throws Exception {
+        List<Output> possiblePublishValues = Collections.singletonList(new Output("name", ValueFactory.create("name")));
+        RunEnvironment runEnv = createRunEnvironment();
+        runEnv.setEventPayloadMode(EventPayloadMode.CHANGES);
+        runEnv.putReturnValues(new ReturnValues(new HashMap<String, Value>(), ScoreLangConstants.SUCCESS_RESULT));
+        Map<String, Value> flowVariables = new HashMap<>();
+        flowVariables.put("name", ValueFactory.create("John"));
+        flowVariables.put("other", ValueFactory.create("value"));
+        runEnv.getStack().pushContext(new Context(flowVariables, true));
+
+        Map<String, Value> boundPublish = new HashMap<>();
+        boundPublish.put("name", ValueFactory.create("Jane"));
+        boundPublish.put("other", ValueFactory.create("value"));
+        when(outputsBinding.bindOutputs(
+                anyMapOf(String.class, Value.class),
+                anyMapOf(String.class, Value.class),
+                eq(runEnv.getSystemProperties()),
+                eq(possiblePublishValues)))
+                .thenReturn(boundPublish);
+
+        ExecutionRuntimeServices runtimeServices = createRuntimeServices();
+        HashMap<String, ResultNavigation> stepNavigationValues = new HashMap<>();
+        stepNavigationValues.put(ScoreLangConstants.SUCCESS_RESULT, new ResultNavigation(5L, null));
+        stepExecutionData.endStep(runEnv, possiblePublishValues, stepNavigationValues,
+                runtimeServices, 1L, new ArrayList<String>(), "step1", false);
+
+        Iterator<ScoreEvent> eventsIter = runtimeServices.getEvents().iterator();
+        eventsIter.next();
+        LanguageEventData outputEnd = (LanguageEventData) eventsIter.next().getData();
+        Assert.assertEquals(ScoreLangConstants.EVENT_OUTPUT_END, outputEnd.getEventType());
+        Assert.assertFalse(outputEnd.containsKey(LanguageEventData.OUTPUTS));
+        Assert.assertEquals(Collections.singletonMap("name", "Jane"), outputEnd.get(LanguageEventData.CHANGED_VARIABLES));
+        Assert.assertTrue(runEnv.getStack().popContext().removeChangedVariables().isEmpty());
+    }
+
     @Test
     public void testEndStepWithPublish() throws Exception {
         List<Output> possiblePublishValues = Collections.singletonList(new Output("name", ValueFactory.create("name")));
@@ -337,6 +406,44 @@ public class StepExecutionDataTest {
         );
     }
 
+    @Test
+    public void testEndStepReturnValuesToFlowEnd() throws Exception {
+        RunEnvironment runEnv = createRunEnvironment();
+        Map<String, Value> flowVariables = new HashMap<>();
+        flowVariables.put("flow_var", ValueFactory.create("value"));
+        runEnv.getStack().pushContext(new Context(flowVariables));
+        runEnv.putReturnValues(new ReturnValues(new HashMap<String, Value>(), ScoreLangConstants.SUCCESS_RESULT));
+
+        HashMap<String, ResultNavigation> stepNavigationValues = new HashMap<>();
+        stepNavigationValues.put(ScoreLangConstants.SUCCESS_RESULT, new ResultNavigation(0, "CUSTOM"));
+        stepExecutionData.endStep(runEnv, new ArrayList<Output>(), stepNavigationValues,
+                createRuntimeServices(), 1L, new ArrayList<String>(), "step1", false);
+
+        ReturnValues returnValues = runEnv.removeReturnValues();
+        Assert.assertEquals("CUSTOM", returnValues.getResult());
+        Assert.assertEquals(flowVariables, returnValues.getOutputs());
+    }
+
+    @Test
+    public void testEndStepReturnValuesToNextStep() throws Exception {
+        RunEnvironment runEnv = createRunEnvironment();
+        Map<String, Value> flowVariables = new HashMap<>();
+        flowVariables.put("flow_var", ValueFactory.create("value"));
+        runEnv.getStack().pushContext(new Context(flowVariables));
+        runEnv.putReturnValues(new ReturnValues(new HashMap<String, Value>(), ScoreLangConstants.SUCCESS_RESULT));
+
+        HashMap<String, ResultNavigation> stepNavigationValues = new HashMap<>();
+        stepNavigationValues.put(ScoreLangConstants.SUCCESS_RESULT, new ResultNavigation(5L, null));
+        stepExecutionData.endStep(runEnv, new ArrayList<Output>(), stepNavigationValues,
+                createRuntimeServices(), 1L, new ArrayList<String>(), "step1", false);
+
+        ReturnValues returnValues = runEnv.removeReturnValues();
+        Assert.assertEquals(ScoreLangConstants.SUCCESS_RESULT, returnValues.getResult());
+        Assert.assertTrue("the flow context should not be copied for the next step",
+                returnValues.getOutputs().isEmpty());
+        Assert.assertEquals(flowVariables, runEnv.getStack().popContext().getImmutableViewOfVariables());
+    }
+
     /////////
     //loops//
     /////////
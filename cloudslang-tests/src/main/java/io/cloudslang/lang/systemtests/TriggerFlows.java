@@ -9,7 +9,10 @@
  *******************************************************************************/
 package io.cloudslang.lang.systemtests;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import io.cloudslang.lang.api.ExecutionEventSubscription;
+import io.cloudslang.lang.api.RunOptions;
 import io.cloudslang.lang.api.Slang;
 import io.cloudslang.lang.entities.CompilationArtifact;
 import io.cloudslang.lang.entities.ScoreLangConstants;
@@ -20,6 +23,7 @@ import io.cloudslang.score.events.ScoreEvent;
 import io.cloudslang.score.events.ScoreEventListener;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -51,39 +55,17 @@ public class TriggerFlows {
             CompilationArtifact compilationArtifact,
             Map<String, Value> userInputs,
             Set<SystemProperty> systemProperties) {
-        final BlockingQueue<ScoreEvent> finishEvent = new LinkedBlockingQueue<>();
-        ScoreEventListener finishListener = new ScoreEventListener() {
-            @Override
-            public synchronized void onEvent(ScoreEvent event) throws InterruptedException {
-                finishEvent.add(event);
-            }
-        };
-        slang.subscribeOnEvents(finishListener, FINISHED_EVENTS);
-
-        slang.run(compilationArtifact, userInputs, systemProperties);
-
-        try {
-            ScoreEvent event = finishEvent.take();
-            if (event.getEventType().equals(ScoreLangConstants.SLANG_EXECUTION_EXCEPTION)){
-                LanguageEventData languageEvent = (LanguageEventData) event.getData();
-                throw new RuntimeException(languageEvent.getException());
-            }
-            slang.unSubscribeOnEvents(finishListener);
-            return event;
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+        return runSync(compilationArtifact, userInputs, systemProperties, new ArrayList<ExecutionEventSubscription>());
     }
 
     public RuntimeInformation runWithData(CompilationArtifact compilationArtifact, Map<String, Value> userInputs, Set<SystemProperty> systemProperties) {
         RunDataAggregatorListener runDataAggregatorListener = new RunDataAggregatorListener();
-        slang.subscribeOnEvents(runDataAggregatorListener, STEP_EVENTS);
-
         BranchAggregatorListener branchAggregatorListener = new BranchAggregatorListener();
-        slang.subscribeOnEvents(branchAggregatorListener, BRANCH_EVENTS);
-
         JoinAggregatorListener joinAggregatorListener = new JoinAggregatorListener();
-        slang.subscribeOnEvents(joinAggregatorListener, PARALLEL_LOOP_EVENTS);
+        List<ExecutionEventSubscription> subscriptions = Lists.newArrayList(
+                new ExecutionEventSubscription(runDataAggregatorListener, STEP_EVENTS),
+                new ExecutionEventSubscription(branchAggregatorListener, BRANCH_EVENTS),
+                new ExecutionEventSubscription(joinAggregatorListener, PARALLEL_LOOP_EVENTS));
 
         try {
             Thread.sleep(2000L);      /* TODO : remove this! only to test unstable navigation tests*/
@@ -91,7 +73,7 @@ public class TriggerFlows {
             e.printStackTrace();
         }
 
-        runSync(compilationArtifact, userInputs, systemProperties);
+        runSync(compilationArtifact, userInputs, systemProperties, subscriptions);
 
         try {
             Thread.sleep(2000L);     /* TODO : remove this! only to test unstable navigation tests*/
@@ -103,13 +85,36 @@ public class TriggerFlows {
         Map<String, List<StepData>> branchesByPath = branchAggregatorListener.aggregate();
         Map<String, StepData> parallelSteps = joinAggregatorListener.aggregate();
 
-        RuntimeInformation runtimeInformation = new RuntimeInformation(steps, branchesByPath, parallelSteps);
+        return new RuntimeInformation(steps, branchesByPath, parallelSteps);
+    }
+
+    private ScoreEvent runSync(
+            CompilationArtifact compilationArtifact,
+            Map<String, Value> userInputs,
+            Set<SystemProperty> systemProperties,
+            List<ExecutionEventSubscription> subscriptions) {
+        final BlockingQueue<ScoreEvent> finishEvent = new LinkedBlockingQueue<>();
+        ScoreEventListener finishListener = new ScoreEventListener() {
+            @Override
+            public synchronized void onEvent(ScoreEvent event) throws InterruptedException {
+                finishEvent.add(event);
+            }
+        };
+        subscriptions.add(new ExecutionEventSubscription(finishListener, FINISHED_EVENTS));
 
-        slang.unSubscribeOnEvents(joinAggregatorListener);
-        slang.unSubscribeOnEvents(branchAggregatorListener);
-        slang.unSubscribeOnEvents(runDataAggregatorListener);
+        slang.runAsync(compilationArtifact, userInputs, systemProperties,
+                new RunOptions.RunOptionsBuilder().withSubscriptions(subscriptions).build());
 
-        return runtimeInformation;
+        try {
+            ScoreEvent event = finishEvent.take();
+            if (event.getEventType().equals(ScoreLangConstants.SLANG_EXECUTION_EXCEPTION)){
+                LanguageEventData languageEvent = (LanguageEventData) event.getData();
+                throw new RuntimeException(languageEvent.getException());
+            }
+            return event;
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
     }
 
 }
@@ -15,6 +15,7 @@ import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.lang.entities.serialization.CompilationArtifactSerializer;
 import io.cloudslang.score.events.ScoreEvent;
 import org.junit.Assert;
 import org.junit.Test;
@@ -54,6 +55,34 @@ public class SubFlowSystemTest extends SystemsTestsParent {
         Assert.assertEquals(ScoreLangConstants.EVENT_EXECUTION_FINISHED, event.getEventType());
     }
 
+    @Test
+    public void testRunPrecompiledSubFlow() throws Exception {
+        URI resource = getClass().getResource("/yaml/sub-flow/parent_flow.sl").toURI();
+        URI subFlow = getClass().getResource("/yaml/sub-flow/child_flow.sl").toURI();
+        URI operation1 = getClass().getResource("/yaml/test_op.sl").toURI();
+        URI operation2 = getClass().getResource("/yaml/check_weather.sl").toURI();
+        URI operation3 = getClass().getResource("/yaml/get_time_zone.sl").toURI();
+        URI operation4 = getClass().getResource("/yaml/check_number.sl").toURI();
+        Set<SlangSource> path = Sets.newHashSet(SlangSource.fromFile(subFlow),
+                SlangSource.fromFile(operation1),
+                SlangSource.fromFile(operation2),
+                SlangSource.fromFile(operation3),
+                SlangSource.fromFile(operation4));
+        CompilationArtifact compilationArtifact = slang.compile(SlangSource.fromFile(resource), path);
+
+        CompilationArtifact precompiledArtifact = CompilationArtifactSerializer.deserialize(
+                CompilationArtifactSerializer.serialize(compilationArtifact));
+
+        Assert.assertEquals(compilationArtifact, precompiledArtifact);
+        Set<SystemProperty> systemProperties = new HashSet<>();
+        systemProperties.add(new SystemProperty("user.sys", "props.port", "22"));
+        systemProperties.add(new SystemProperty("user.sys", "props.alla", "balla"));
+        Map<String, Value> userInputs = new HashMap<>();
+        userInputs.put("input1", ValueFactory.create("value1"));
+        ScoreEvent event = trigger(precompiledArtifact, userInputs, systemProperties);
+        Assert.assertEquals(ScoreLangConstants.EVENT_EXECUTION_FINISHED, event.getEventType());
+    }
+
     @Test
     public void testSubFlowMissingRequiredInputs() throws Exception {
         URI resource = getClass().getResource("/yaml/sub-flow/parent_flow_missing_inputs.sl").toURI();